@@ -1,12 +1,82 @@
 package ai.sunra.client;
 
+import ai.sunra.client.batch.IteratorPublisher;
 import ai.sunra.client.queue.AsyncQueueClient;
+import ai.sunra.client.queue.QueueStatus;
 import jakarta.annotation.Nonnull;
+import java.util.Iterator;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Flow;
 
 public interface AsyncSunraClient {
     <O> CompletableFuture<Output<O>> subscribe(String endpointId, SubscribeOptions<O> options);
 
+    /**
+     * Run the specified endpoint with a single direct request, bypassing the queue. This is the
+     * lowest latency option for endpoints that complete quickly.
+     *
+     * @param <O> Output type.
+     * @param endpointId The endpoint ID to run, e.g. `sunra/lcm`.
+     * @param options The run options.
+     * @return A future of the result of the operation.
+     */
+    @Nonnull
+    <O> CompletableFuture<Output<O>> run(String endpointId, RunOptions<O> options);
+
+    /**
+     * Submit every input to the specified endpoint's queue, keeping at most
+     * {@link BatchOptions#getMaxConcurrency()} submissions in flight. Inputs are requested from
+     * the source only as the subscriber requests results.
+     *
+     * @param endpointId The endpoint ID to submit to, e.g. `sunra/lcm`.
+     * @param inputs The inputs, one job per item.
+     * @param options The batch options.
+     * @return A publisher of the submissions, in completion order.
+     */
+    @Nonnull
+    Flow.Publisher<BatchResult<QueueStatus.InQueue>> submitAll(
+            String endpointId, Flow.Publisher<?> inputs, BatchOptions<?> options);
+
+    /**
+     * Subscribe to the specified endpoint once per input, keeping at most
+     * {@link BatchOptions#getMaxConcurrency()} jobs in flight. Inputs are requested from the
+     * source only as the subscriber requests results, so memory stays flat regardless of the
+     * batch size. Failures are reported per item through {@link BatchResult#getError()}.
+     *
+     * @param <O> Output type.
+     * @param endpointId The endpoint ID to subscribe to, e.g. `sunra/lcm`.
+     * @param inputs The inputs, one job per item.
+     * @param options The batch options.
+     * @return A publisher of the outputs, in completion order.
+     */
+    @Nonnull
+    <O> Flow.Publisher<BatchResult<Output<O>>> subscribeAll(
+            String endpointId, Flow.Publisher<?> inputs, BatchOptions<O> options);
+
+    @Nonnull
+    default Flow.Publisher<BatchResult<QueueStatus.InQueue>> submitAll(
+            String endpointId, Iterator<?> inputs, BatchOptions<?> options) {
+        return submitAll(endpointId, new IteratorPublisher<>(inputs), options);
+    }
+
+    @Nonnull
+    default Flow.Publisher<BatchResult<QueueStatus.InQueue>> submitAll(
+            String endpointId, Iterable<?> inputs, BatchOptions<?> options) {
+        return submitAll(endpointId, inputs.iterator(), options);
+    }
+
+    @Nonnull
+    default <O> Flow.Publisher<BatchResult<Output<O>>> subscribeAll(
+            String endpointId, Iterator<?> inputs, BatchOptions<O> options) {
+        return subscribeAll(endpointId, new IteratorPublisher<>(inputs), options);
+    }
+
+    @Nonnull
+    default <O> Flow.Publisher<BatchResult<Output<O>>> subscribeAll(
+            String endpointId, Iterable<?> inputs, BatchOptions<O> options) {
+        return subscribeAll(endpointId, inputs.iterator(), options);
+    }
+
     AsyncQueueClient queue();
 
     /**
@@ -1,43 +1,134 @@
 package ai.sunra.client;
-import ai.sunra.client.http.ClientProxyInterceptor;
-import ai.sunra.client.http.CredentialsInterceptor;
+import ai.sunra.client.batch.BatchPublisher;
 import ai.sunra.client.http.HttpClient;
+import ai.sunra.client.metrics.Phase;
+import ai.sunra.client.metrics.QueueTracer;
+import ai.sunra.client.metrics.SubscribeTimer;
 import ai.sunra.client.queue.*;
+import java.util.Map;
 import java.util.concurrent.CompletableFuture;
-import okhttp3.OkHttpClient;
+import java.util.concurrent.Flow;
 
 public class AsyncSunraClientImpl implements AsyncSunraClient {
     private final HttpClient httpClient;
 
     private final AsyncQueueClient queueClient;
 
+    private final QueueTracer tracer;
+
     public AsyncSunraClientImpl(ClientConfig config) {
-        final var builder = new OkHttpClient.Builder().addInterceptor(new CredentialsInterceptor(config));
-        if (config.getProxyUrl() != null) {
-            builder.addInterceptor(new ClientProxyInterceptor(config));
-        }
-        this.httpClient = new HttpClient(config, builder.build());
+        this.httpClient = new HttpClient(config, HttpClient.newClientBuilder(config).build());
         this.queueClient = new AsyncQueueClientImpl(this.httpClient);
+        this.tracer = config.getQueueTracer();
     }
 
     @Override
     public <O> CompletableFuture<Output<O>> subscribe(String endpointId, SubscribeOptions<O> options) {
-        return queueClient
-                .submit(
+        final var timer = new SubscribeTimer(httpClient.getMetricsRecorder(), endpointId, options.getOnQueueUpdate());
+        // The continuations run on the threads completing the calls, so the trace is passed along.
+        return tracer.<Output<O>>callAsync(null, QueueTracer.Step.SUBSCRIBE, endpointId, trace -> {
+                    final var enqueued = tracer.callAsync(
+                            trace,
+                            QueueTracer.Step.SUBMIT,
+                            endpointId,
+                            submitTrace -> queueClient
+                                    .submit(
+                                            endpointId,
+                                            QueueSubmitOptions.builder()
+                                                    .input(options.getInput())
+                                                    .webhookUrl(options.getWebhookUrl())
+                                                    .build())
+                                    .thenApply((submitted) -> {
+                                        submitTrace.requestId(submitted.getRequestId());
+                                        return submitted;
+                                    }));
+                    return enqueued.thenCompose((submitted) -> {
+                                trace.requestId(submitted.getRequestId());
+                                timer.submitted();
+                                return tracer.callAsync(
+                                        trace,
+                                        QueueTracer.Step.STATUS_STREAM,
+                                        endpointId,
+                                        streamTrace -> queueClient.subscribeToStatus(QueueSubscribeOptions.builder()
+                                                .requestId(submitted.getRequestId())
+                                                .logs(options.getLogs())
+                                                .onQueueUpdate(update -> {
+                                                    streamTrace.queueUpdate(update);
+                                                    timer.accept(update);
+                                                })
+                                                .endpointId(endpointId)
+                                                .build()));
+                            })
+                            .thenCompose((completed) -> tracer.callAsync(
+                                    trace,
+                                    QueueTracer.Step.RESULT,
+                                    endpointId,
+                                    resultTrace -> queueClient.result(QueueResultOptions.<O>builder()
+                                            .requestId(completed.getRequestId())
+                                            .resultType(options.getResultType())
+                                            .endpointId(endpointId)
+                                            .build())));
+                })
+                .whenComplete((output, error) -> {
+                    if (error != null) {
+                        timer.failed(error);
+                    } else {
+                        timer.fetched();
+                    }
+                });
+    }
+
+    @Override
+    public <O> CompletableFuture<Output<O>> run(String endpointId, RunOptions<O> options) {
+        return tracer.callAsync(null, QueueTracer.Step.RUN, endpointId, trace -> {
+            final var url = QueueRequests.RUN_URL + endpointId;
+            final var request = httpClient.prepareRequest(url, options, Map.of(), endpointId);
+            final var recorder = httpClient.getMetricsRecorder();
+            final long start = System.nanoTime();
+            return httpClient
+                    .executeRequestAsync(request)
+                    .thenApply((response) -> httpClient.wrapInResult(response, options.getResultType()))
+                    .whenComplete((output, error) -> {
+                        if (error != null) {
+                            recorder.recordError(endpointId, SubscribeTimer.codeOf(error));
+                        } else {
+                            recorder.recordPhase(endpointId, Phase.RUN, System.nanoTime() - start);
+                        }
+                    });
+        });
+    }
+
+    @Override
+    public Flow.Publisher<BatchResult<QueueStatus.InQueue>> submitAll(
+            String endpointId, Flow.Publisher<?> inputs, BatchOptions<?> options) {
+        return new BatchPublisher<Object, QueueStatus.InQueue>(
+                inputs,
+                options.getMaxConcurrency(),
+                input -> tracer.callAsync(null, QueueTracer.Step.SUBMIT, endpointId, trace -> queueClient
+                        .submit(
+                                endpointId,
+                                QueueSubmitOptions.builder()
+                                        .input(input)
+                                        .webhookUrl(options.getWebhookUrl())
+                                        .build())
+                        .thenApply((submitted) -> {
+                            trace.requestId(submitted.getRequestId());
+                            return submitted;
+                        })));
+    }
+
+    @Override
+    public <O> Flow.Publisher<BatchResult<Output<O>>> subscribeAll(
+            String endpointId, Flow.Publisher<?> inputs, BatchOptions<O> options) {
+        return new BatchPublisher<Object, Output<O>>(
+                inputs,
+                options.getMaxConcurrency(),
+                input -> subscribe(
                         endpointId,
-                        QueueSubmitOptions.builder()
-                                .input(options.getInput())
+                        SubscribeOptions.<O>builder()
+                                .input(input)
                                 .webhookUrl(options.getWebhookUrl())
-                                .build())
-                .thenCompose((submitted) -> queueClient.subscribeToStatus(
-                        QueueSubscribeOptions.builder()
-                                .requestId(submitted.getRequestId())
                                 .logs(options.getLogs())
-                                .onQueueUpdate(options.getOnQueueUpdate())
-                                .build()))
-                .thenCompose((completed) -> queueClient.result(
-                        QueueResultOptions.<O>builder()
-                                .requestId(completed.getRequestId())
                                 .resultType(options.getResultType())
                                 .build()));
     }
@@ -1,8 +1,10 @@
 package ai.sunra.client.queue;
 
+import ai.sunra.client.LazyOutput;
 import ai.sunra.client.Output;
 import jakarta.annotation.Nonnull;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Flow;
 
 public interface AsyncQueueClient {
 
@@ -15,9 +17,30 @@ public interface AsyncQueueClient {
     @Nonnull
     CompletableFuture<QueueStatus.Completed> subscribeToStatus(@Nonnull QueueSubscribeOptions options);
 
+    /**
+     * Stream every event of the status stream of a submission as it arrives. The stream is
+     * opened on subscription and completes after the request completes or is canceled. Payloads
+     * are kept raw and decoded only on access, see {@link StreamEvent}.
+     *
+     * @param options the stream options
+     * @return a publisher of the events of the status stream
+     */
+    @Nonnull
+    Flow.Publisher<StreamEvent> stream(@Nonnull QueueStreamOptions options);
+
     @Nonnull
     <O> CompletableFuture<Output<O>> result(@Nonnull QueueResultOptions<O> options);
 
+    /**
+     * Get the result of a submission without decoding it. The raw body is decoded on demand,
+     * either fully or one field at a time, see {@link LazyOutput}.
+     *
+     * @param options the response options
+     * @return a future of the lazily decoded result
+     */
+    @Nonnull
+    <O> CompletableFuture<LazyOutput<O>> lazyResult(@Nonnull QueueResultOptions<O> options);
+
     @Nonnull
     CompletableFuture<Object> cancel(@Nonnull QueueCancelOptions options);
 }
@@ -1,17 +1,22 @@
 package ai.sunra.client.queue;
 
+import ai.sunra.client.LazyOutput;
 import ai.sunra.client.Output;
 import ai.sunra.client.exception.SunraException;
 import ai.sunra.client.http.HttpClient;
-import com.google.gson.JsonObject;
+import ai.sunra.client.jfr.JfrSupport;
+import ai.sunra.client.jfr.QueueCancelEvent;
+import ai.sunra.client.jfr.QueueCompletedEvent;
+import ai.sunra.client.jfr.QueueResultEvent;
+import ai.sunra.client.jfr.QueueStatusEvent;
+import ai.sunra.client.jfr.QueueSubmitEvent;
 import jakarta.annotation.Nonnull;
 import jakarta.annotation.Nullable;
-import java.util.HashMap;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Flow;
 import okhttp3.Response;
 import okhttp3.sse.EventSource;
 import okhttp3.sse.EventSourceListener;
-import okhttp3.sse.EventSources;
 
 public class AsyncQueueClientImpl implements AsyncQueueClient {
 
@@ -24,52 +29,52 @@ public class AsyncQueueClientImpl implements AsyncQueueClient {
     @Nonnull
     @Override
     public CompletableFuture<QueueStatus.InQueue> submit(String endpointId, QueueSubmitOptions options) {
-        final var url = "https://api.sunra.ai/v1/queue/" + endpointId;
-        final var queryParams = new HashMap<String, Object>();
-        if (options.getWebhookUrl() != null) {
-            queryParams.put("sunra_webhook", options.getWebhookUrl());
+        final var event = JfrSupport.AVAILABLE ? new QueueSubmitEvent() : null;
+        if (event != null) {
+            event.begin();
         }
-        final var request = httpClient.prepareRequest(url, options, queryParams);
+        final var request = httpClient.prepareRequest(
+                QueueRequests.SUBMIT, endpointId, options, QueueRequests.QUERY_WEBHOOK, options.getWebhookUrl(), endpointId);
         return httpClient
                 .executeRequestAsync(request)
-                .thenApply(response -> httpClient.handleResponse(response, QueueStatus.InQueue.class));
+                .thenApply(response -> httpClient.handleResponse(response, QueueStatus.InQueue.class))
+                .thenApply(enqueued -> {
+                    if (event != null && event.shouldCommit()) {
+                        event.endpointId = endpointId;
+                        event.requestId = enqueued.getRequestId();
+                        event.requestBytes = HttpClient.requestBytes(request);
+                        event.commit();
+                    }
+                    return enqueued;
+                });
     }
 
     @Nonnull
     @Override
     public CompletableFuture<QueueStatus.StatusUpdate> status(@Nonnull QueueStatusOptions options) {
-        final var url = String.format("https://api.sunra.ai/v1/queue/requests/%s/status", options.getRequestId());
-
-        final var queryParams = new HashMap<String, Object>();
-        if (options.getLogs() != null && options.getLogs()) {
-            queryParams.put("logs", "1");
-        }
-
-        final var request = httpClient.prepareRequest(url, options, queryParams);
+        final var request = httpClient.prepareRequest(QueueRequests.STATUS, options.getRequestId(), options,
+                QueueRequests.QUERY_LOGS, QueueRequests.logs(options.getLogs()), null);
         return httpClient.executeRequestAsync(request).thenApply((response) -> {
-            final var result = httpClient.handleResponse(response, JsonObject.class);
-            return httpClient.fromJson(result, QueueStatus.resolveType(result));
+            final var status = httpClient.handleStatusResponse(response);
+            if (JfrSupport.AVAILABLE) {
+                QueueStatusEvent.emit(null, status);
+            }
+            return status;
         });
     }
 
     @Nonnull
     @Override
     public CompletableFuture<QueueStatus.Completed> subscribeToStatus(@Nonnull QueueSubscribeOptions options) {
-        final var url = String.format("https://api.sunra.ai/v1/queue/requests/%s/status/stream", options.getRequestId());
-
-        final var queryParams = new HashMap<String, Object>();
-        if (options.getLogs() != null && options.getLogs()) {
-            queryParams.put("logs", "1");
-        }
-        final var request = httpClient
-                .prepareRequest(url, options, queryParams)
-                .newBuilder()
-                .addHeader("Accept", "text/event-stream")
-                .build();
+        final var request = httpClient.prepareRequest(QueueRequests.STATUS_STREAM, options.getRequestId(), options,
+                QueueRequests.QUERY_LOGS, QueueRequests.logs(options.getLogs()), options.getEndpointId());
 
         final var future = new CompletableFuture<QueueStatus.Completed>();
+        final var completedEvent = JfrSupport.AVAILABLE ? new QueueCompletedEvent() : null;
+        if (completedEvent != null) {
+            completedEvent.begin();
+        }
 
-        final var factory = EventSources.createFactory(httpClient.getUnderlyingClient());
         final var listener = new EventSourceListener() {
             private QueueStatus.StatusUpdate currentStatus;
 
@@ -79,8 +84,10 @@ public class AsyncQueueClientImpl implements AsyncQueueClient {
                     @Nullable String id,
                     @Nullable String type,
                     @Nonnull String data) {
-                final var json = httpClient.fromJson(data, JsonObject.class);
-                final var status = httpClient.fromJson(json, QueueStatus.resolveType(json));
+                final var status = httpClient.decodeStatus(data);
+                if (JfrSupport.AVAILABLE) {
+                    QueueStatusEvent.emit(options.getEndpointId(), status);
+                }
                 final var onUpdate = options.getOnQueueUpdate();
                 if (onUpdate != null) {
                     onUpdate.accept(status);
@@ -88,6 +95,12 @@ public class AsyncQueueClientImpl implements AsyncQueueClient {
                 this.currentStatus = status;
                 if (currentStatus != null && currentStatus instanceof QueueStatus.Completed) {
                     final var completed = (QueueStatus.Completed) currentStatus;
+                    if (completedEvent != null && completedEvent.shouldCommit()) {
+                        completedEvent.endpointId = options.getEndpointId();
+                        completedEvent.requestId = options.getRequestId();
+                        completedEvent.success = completed.isSuccess();
+                        completedEvent.commit();
+                    }
                     if (!completed.isSuccess()) {
                         String errorMessage = "Request failed";
                         String code = null;
@@ -160,33 +173,90 @@ public class AsyncQueueClientImpl implements AsyncQueueClient {
             @Override
             public void onFailure(
                     @Nonnull EventSource eventSource, @Nullable Throwable t, @Nullable Response response) {
-                future.completeExceptionally(t);
+                if (response != null && !response.isSuccessful()) {
+                    future.completeExceptionally(httpClient.responseToException(response));
+                } else {
+                    future.completeExceptionally(
+                            t != null ? t : new SunraException("Streaming failed", options.getRequestId()));
+                }
             }
         };
-        factory.newEventSource(request, listener);
+        final var eventSource = httpClient.newEventSource(request, listener);
+        // Release the streaming connection once done, also when the future is cancelled.
+        future.whenComplete((result, error) -> eventSource.cancel());
         return future;
     }
 
+    @Nonnull
+    @Override
+    public Flow.Publisher<StreamEvent> stream(@Nonnull QueueStreamOptions options) {
+        final var request = httpClient.prepareRequest(QueueRequests.STATUS_STREAM, options.getRequestId(), options,
+                QueueRequests.QUERY_LOGS, QueueRequests.logs(options.getLogs()), null);
+        return new StatusStreamPublisher(httpClient, request, options.getRequestId());
+    }
+
     @Nonnull
     @Override
     public <O> CompletableFuture<Output<O>> result(@Nonnull QueueResultOptions<O> options) {
-        final var url = String.format("https://api.sunra.ai/v1/queue/requests/%s", options.getRequestId());
-        final var request = httpClient.prepareRequest(url, options);
+        final var request = httpClient.prepareRequest(
+                QueueRequests.RESULT, options.getRequestId(), options, null, null, options.getEndpointId());
 
-        return httpClient
-                .executeRequestAsync(request)
-                .thenApply((response) -> httpClient.wrapInResult(response, options.getResultType()));
+        final var event = JfrSupport.AVAILABLE ? new QueueResultEvent() : null;
+        if (event != null) {
+            event.begin();
+        }
+        return httpClient.executeRequestAsync(request).thenApply((response) -> {
+            final var responseBytes = HttpClient.responseBytes(response);
+            final var output = httpClient.wrapInResult(response, options.getResultType());
+            if (event != null && event.shouldCommit()) {
+                event.endpointId = options.getEndpointId();
+                event.requestId = options.getRequestId();
+                event.responseBytes = responseBytes;
+                event.commit();
+            }
+            return output;
+        });
     }
 
     @Nonnull
     @Override
-    public CompletableFuture<Object> cancel(@Nonnull QueueCancelOptions options) {
-        final var url = String.format("https://api.sunra.ai/v1/queue/requests/%s/cancel", options.getRequestId());
+    public <O> CompletableFuture<LazyOutput<O>> lazyResult(@Nonnull QueueResultOptions<O> options) {
+        final var request = httpClient.prepareRequest(
+                QueueRequests.RESULT, options.getRequestId(), options, null, null, options.getEndpointId());
+
+        final var event = JfrSupport.AVAILABLE ? new QueueResultEvent() : null;
+        if (event != null) {
+            event.begin();
+        }
+        return httpClient.executeRequestAsync(request).thenApply((response) -> {
+            final var responseBytes = HttpClient.responseBytes(response);
+            final var output = httpClient.wrapInLazyResult(response, options.getResultType());
+            if (event != null && event.shouldCommit()) {
+                event.endpointId = options.getEndpointId();
+                event.requestId = options.getRequestId();
+                event.responseBytes = responseBytes;
+                event.commit();
+            }
+            return output;
+        });
+    }
 
-        final var request = httpClient.prepareRequest(url, options);
+    @Nonnull
+    @Override
+    public CompletableFuture<Object> cancel(@Nonnull QueueCancelOptions options) {
+        final var event = JfrSupport.AVAILABLE ? new QueueCancelEvent() : null;
+        if (event != null) {
+            event.begin();
+        }
+        final var request = httpClient.prepareRequest(
+                QueueRequests.CANCEL, options.getRequestId(), options, null, null, null);
         return httpClient.executeRequestAsync(request).thenApply((response) -> {
-            final var result = httpClient.handleResponse(response, JsonObject.class);
-            return httpClient.fromJson(result, QueueStatus.resolveType(result));
+            final var result = httpClient.handleStatusResponse(response);
+            if (event != null && event.shouldCommit()) {
+                event.requestId = options.getRequestId();
+                event.commit();
+            }
+            return result;
         });
     }
 }
@@ -0,0 +1,48 @@
+package ai.sunra.client;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import ai.sunra.client.exception.SunraException;
+import ai.sunra.client.http.AnsweringInterceptor;
+import ai.sunra.client.queue.QueueRequests;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.Test;
+
+public class AsyncRunTest {
+
+    private AnsweringInterceptor answering;
+
+    private AsyncSunraClient client(int code, String body) {
+        answering = AnsweringInterceptor.json(code, body).withHeader("x-request-id", "req-1");
+        return AsyncSunraClient.withConfig(ClientConfig.builder()
+                .withCredentials(CredentialsResolver.fromApiKey("test-key"))
+                .withTransport(answering.transport())
+                .build());
+    }
+
+    @Test
+    void testRunPostsInputToEndpoint() throws Exception {
+        final var output = client(200, "{\"seed\":42}")
+                .run("owner/app/text-to-image", RunOptions.withInput(Map.of("prompt", "a cat")))
+                .get(5, TimeUnit.SECONDS);
+
+        assertEquals(42, output.getData().get("seed").getAsInt());
+        assertEquals("req-1", output.getRequestId());
+        assertEquals(1, answering.getRequests().size());
+        final var request = answering.getRequests().get(0);
+        assertEquals("POST", request.method());
+        assertEquals(QueueRequests.RUN_URL + "owner/app/text-to-image", request.url().toString());
+        assertEquals("Key test-key", request.header("Authorization"));
+    }
+
+    @Test
+    void testRunFailure() {
+        final var future = client(422, "{\"error\":{\"message\":\"bad input\",\"code\":\"E422\"}}")
+                .run("owner/app", RunOptions.withInput(Map.of()));
+        final var exception = assertThrows(ExecutionException.class, () -> future.get(5, TimeUnit.SECONDS));
+        assertInstanceOf(SunraException.class, exception.getCause());
+        assertEquals("bad input", exception.getCause().getMessage());
+    }
+}
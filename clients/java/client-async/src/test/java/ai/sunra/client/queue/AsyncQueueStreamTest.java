@@ -0,0 +1,95 @@
+package ai.sunra.client.queue;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import ai.sunra.client.ClientConfig;
+import ai.sunra.client.CredentialsResolver;
+import ai.sunra.client.http.HttpClient;
+import ai.sunra.client.http.Transport;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Flow;
+import java.util.concurrent.atomic.AtomicBoolean;
+import okhttp3.Call;
+import okhttp3.OkHttpClient;
+import okhttp3.Request;
+import okhttp3.sse.EventSource;
+import okhttp3.sse.EventSourceListener;
+import org.junit.jupiter.api.Test;
+
+public class AsyncQueueStreamTest {
+
+    private final List<Request> requests = new CopyOnWriteArrayList<>();
+    private final List<EventSourceListener> listeners = new CopyOnWriteArrayList<>();
+    private final AtomicBoolean canceled = new AtomicBoolean();
+    private final EventSource eventSource = new EventSource() {
+        @Override
+        public Request request() {
+            return requests.get(0);
+        }
+
+        @Override
+        public void cancel() {
+            canceled.set(true);
+        }
+    };
+
+    private final HttpClient httpClient = new HttpClient(
+            ClientConfig.builder()
+                    .withCredentials(CredentialsResolver.fromApiKey("test"))
+                    .withTransport(client -> new Transport() {
+                        @Override
+                        public Call newCall(Request request) {
+                            throw new UnsupportedOperationException();
+                        }
+
+                        @Override
+                        public EventSource newEventSource(Request request, EventSourceListener listener) {
+                            requests.add(request);
+                            listeners.add(listener);
+                            return eventSource;
+                        }
+                    })
+                    .build(),
+            new OkHttpClient());
+
+    @Test
+    void testStreamOpensOnSubscribeAndCompletesOnTerminalEvent() {
+        final var publisher = new AsyncQueueClientImpl(httpClient).stream(QueueStreamOptions.withRequestId("req-1"));
+        assertTrue(listeners.isEmpty());
+
+        final List<String> statuses = new CopyOnWriteArrayList<>();
+        final var completed = new AtomicBoolean();
+        publisher.subscribe(new Flow.Subscriber<StreamEvent>() {
+            @Override
+            public void onSubscribe(Flow.Subscription subscription) {
+                subscription.request(Long.MAX_VALUE);
+            }
+
+            @Override
+            public void onNext(StreamEvent item) {
+                statuses.add(item.getData());
+            }
+
+            @Override
+            public void onError(Throwable throwable) {
+                throw new AssertionError(throwable);
+            }
+
+            @Override
+            public void onComplete() {
+                completed.set(true);
+            }
+        });
+        assertEquals(1, requests.size());
+        assertTrue(requests.get(0).url().encodedPath().endsWith("/requests/req-1/status/stream"));
+
+        final var listener = listeners.get(0);
+        listener.onEvent(eventSource, null, null, "{\"status\":\"IN_QUEUE\",\"queue_position\":1}");
+        listener.onEvent(eventSource, null, null, "{\"status\":\"COMPLETED\"}");
+
+        assertEquals(2, statuses.size());
+        assertTrue(completed.get());
+        assertTrue(canceled.get());
+    }
+}
@@ -0,0 +1,35 @@
+plugins {
+    java
+    id("me.champeau.jmh") version "0.7.2"
+}
+
+java {
+    sourceCompatibility = JavaVersion.VERSION_11
+    targetCompatibility = JavaVersion.VERSION_11
+}
+
+repositories {
+    mavenCentral()
+}
+
+dependencies {
+    implementation(project(":sunra-client"))
+}
+
+tasks.withType<JavaCompile> {
+    options.encoding = "UTF-8"
+}
+
+// Run with `./gradlew :sunra-client-benchmarks:jmh`, optionally `-Pjmh.includes=<regex>`.
+jmh {
+    val includesPattern = providers.gradleProperty("jmh.includes")
+    if (includesPattern.isPresent) {
+        includes.add(includesPattern.get())
+    }
+    warmupIterations.set(3)
+    iterations.set(5)
+    fork.set(1)
+    // Reports the allocation rate per operation, e.g. gc.alloc.rate.norm.
+    profilers.add("gc")
+    resultFormat.set("JSON")
+}
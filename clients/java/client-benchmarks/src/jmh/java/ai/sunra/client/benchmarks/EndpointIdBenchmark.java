@@ -0,0 +1,25 @@
+package ai.sunra.client.benchmarks;
+
+import ai.sunra.client.util.EndpointId;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class EndpointIdBenchmark {
+
+    @Param({"owner/app", "black-forest-labs/flux.1-schnell/text-to-image", "workflows/owner/app/path/to/step"})
+    public String endpointId;
+
+    @Benchmark
+    public EndpointId fromString() {
+        return EndpointId.fromString(endpointId);
+    }
+}
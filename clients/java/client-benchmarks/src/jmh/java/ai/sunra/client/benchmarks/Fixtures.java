@@ -0,0 +1,62 @@
+package ai.sunra.client.benchmarks;
+
+import ai.sunra.client.ClientConfig;
+import ai.sunra.client.CredentialsResolver;
+import ai.sunra.client.http.HttpClient;
+import okhttp3.MediaType;
+import okhttp3.OkHttpClient;
+import okhttp3.Protocol;
+import okhttp3.Request;
+import okhttp3.Response;
+import okhttp3.ResponseBody;
+
+/**
+ * Shared setup of the benchmarks. Nothing here touches the network.
+ */
+final class Fixtures {
+
+    static final String REQUEST_ID = "0193c4d5-2a4b-7c8e-9f10-1a2b3c4d5e6f";
+
+    private Fixtures() {}
+
+    static HttpClient newHttpClient() {
+        final var config = ClientConfig.builder()
+                .withCredentials(CredentialsResolver.fromApiKey("benchmark"))
+                .build();
+        return new HttpClient(config, new OkHttpClient());
+    }
+
+    static String status(String status) {
+        final var common = "\"request_id\":\"" + REQUEST_ID + "\","
+                + "\"status_url\":\"https://api.sunra.ai/v1/queue/requests/" + REQUEST_ID + "/status\","
+                + "\"response_url\":\"https://api.sunra.ai/v1/queue/requests/" + REQUEST_ID + "\","
+                + "\"cancel_url\":\"https://api.sunra.ai/v1/queue/requests/" + REQUEST_ID + "/cancel\"";
+        switch (status) {
+            case "IN_QUEUE":
+                return "{\"status\":\"IN_QUEUE\"," + common + ",\"queue_position\":3}";
+            case "IN_PROGRESS":
+                return "{\"status\":\"IN_PROGRESS\"," + common + ",\"logs\":\"step 12/50\"}";
+            case "COMPLETED":
+                return "{\"status\":\"COMPLETED\"," + common + ",\"success\":true,\"logs\":null,\"error\":null}";
+            case "CANCELED":
+                return "{\"status\":\"CANCELED\"," + common + "}";
+            default:
+                throw new IllegalArgumentException(status);
+        }
+    }
+
+    static Response response(int code, String contentType, String body) {
+        return new Response.Builder()
+                .request(new Request.Builder().url("https://api.sunra.ai/v1/queue/requests/" + REQUEST_ID).build())
+                .protocol(Protocol.HTTP_1_1)
+                .code(code)
+                .message("benchmark")
+                .header("content-type", contentType)
+                .header("x-request-id", REQUEST_ID)
+                .header("x-ratelimit-limit", "100")
+                .header("x-ratelimit-remaining", "42")
+                .header("x-ratelimit-reset", "30")
+                .body(ResponseBody.create(body, MediaType.parse(contentType)))
+                .build();
+    }
+}
@@ -0,0 +1,28 @@
+package ai.sunra.client.benchmarks;
+
+import ai.sunra.client.JsonInput;
+import com.google.gson.JsonObject;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class JsonInputBenchmark {
+
+    @Benchmark
+    public JsonObject build() {
+        return JsonInput.input()
+                .set("prompt", "A cute shih-tzu puppy sitting in a field of flowers, golden hour")
+                .set("num_images", 2)
+                .set("guidance_scale", 3.5)
+                .set("enable_safety_checker", true)
+                .set("seed", 42L)
+                .build();
+    }
+}
@@ -0,0 +1,56 @@
+package ai.sunra.client.benchmarks;
+
+import ai.sunra.client.RunOptions;
+import ai.sunra.client.http.HttpClient;
+import com.google.gson.JsonObject;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import okhttp3.Request;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * Building a request, including the encoding of its input.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class PrepareRequestBenchmark {
+
+    private static final String URL = "https://api.sunra.ai/v1/queue/black-forest-labs/flux.1-schnell/text-to-image";
+
+    /**
+     * The number of input fields: a typical prompt, or a large structured input.
+     */
+    @Param({"small", "large"})
+    public String input;
+
+    private HttpClient httpClient;
+    private RunOptions<JsonObject> options;
+
+    @Setup
+    public void setup() {
+        httpClient = Fixtures.newHttpClient();
+        final Map<String, Object> values = new HashMap<>();
+        values.put("prompt", "A cute shih-tzu puppy sitting in a field of flowers, golden hour");
+        values.put("num_images", 1);
+        if (input.equals("large")) {
+            for (int i = 0; i < 500; i++) {
+                values.put("field_" + i, Map.of("weight", i / 10.0, "label", "label number " + i));
+            }
+        }
+        options = RunOptions.withInput(values);
+    }
+
+    @Benchmark
+    public Request prepareRequest() {
+        return httpClient.prepareRequest(URL, options);
+    }
+}
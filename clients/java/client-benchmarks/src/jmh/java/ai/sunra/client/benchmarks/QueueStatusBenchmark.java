@@ -0,0 +1,48 @@
+package ai.sunra.client.benchmarks;
+
+import ai.sunra.client.http.HttpClient;
+import ai.sunra.client.queue.QueueStatus;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * Resolving and decoding the status updates of each kind.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class QueueStatusBenchmark {
+
+    @Param({"IN_QUEUE", "IN_PROGRESS", "COMPLETED", "CANCELED"})
+    public String status;
+
+    private HttpClient httpClient;
+    private String json;
+    private JsonObject payload;
+
+    @Setup
+    public void setup() {
+        httpClient = Fixtures.newHttpClient();
+        json = Fixtures.status(status);
+        payload = JsonParser.parseString(json).getAsJsonObject();
+    }
+
+    @Benchmark
+    public Class<? extends QueueStatus.StatusUpdate> resolveType() {
+        return QueueStatus.resolveType(payload);
+    }
+
+    @Benchmark
+    public QueueStatus.StatusUpdate decodeStatus() {
+        return httpClient.decodeStatus(json);
+    }
+}
@@ -0,0 +1,90 @@
+package ai.sunra.client.benchmarks;
+
+import ai.sunra.client.ClientConfig;
+import ai.sunra.client.CredentialsResolver;
+import ai.sunra.client.http.HttpClient;
+import ai.sunra.client.queue.QueueRequests;
+import ai.sunra.client.queue.QueueStatusOptions;
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.concurrent.TimeUnit;
+import okhttp3.MediaType;
+import okhttp3.OkHttpClient;
+import okhttp3.Protocol;
+import okhttp3.Request;
+import okhttp3.Response;
+import okhttp3.ResponseBody;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * Building a status poll and passing it through the interceptors, from a formatted URL as the
+ * queue clients used to, and from the request template. Compare gc.alloc.rate.norm.
+ *
+ * <p>The call is answered by a last interceptor, so nothing touches the network, and the cost of
+ * the call itself is the same for both.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class RequestTemplateBenchmark {
+
+    /**
+     * Whether requests are sent through a proxy, which the interceptors otherwise rewrite them for.
+     */
+    @Param({"false", "true"})
+    public boolean proxy;
+
+    private HttpClient httpClient;
+    private OkHttpClient okHttpClient;
+    private QueueStatusOptions options;
+
+    @Setup
+    public void setup() {
+        final var builder = ClientConfig.builder().withCredentials(CredentialsResolver.fromApiKey("benchmark"));
+        if (proxy) {
+            builder.withProxyUrl("http://localhost:8080/api/sunra/proxy");
+        }
+        final var config = builder.build();
+        okHttpClient = HttpClient.newClientBuilder(config)
+                .addInterceptor(chain -> new Response.Builder()
+                        .request(chain.request())
+                        .protocol(Protocol.HTTP_1_1)
+                        .code(200)
+                        .message("benchmark")
+                        .body(ResponseBody.create("{}", MediaType.get("application/json")))
+                        .build())
+                .build();
+        httpClient = new HttpClient(config, okHttpClient);
+        options = QueueStatusOptions.builder().requestId(Fixtures.REQUEST_ID).logs(true).build();
+    }
+
+    @Benchmark
+    public Request formatted() throws IOException {
+        final var url = String.format("https://api.sunra.ai/v1/queue/requests/%s/status", options.getRequestId());
+        final var queryParams = new HashMap<String, Object>();
+        if (options.getLogs() != null && options.getLogs()) {
+            queryParams.put("logs", "1");
+        }
+        return send(httpClient.prepareRequest(url, options, queryParams));
+    }
+
+    @Benchmark
+    public Request template() throws IOException {
+        return send(httpClient.prepareRequest(QueueRequests.STATUS, options.getRequestId(), options,
+                QueueRequests.QUERY_LOGS, QueueRequests.logs(options.getLogs()), null));
+    }
+
+    private Request send(Request request) throws IOException {
+        try (var response = okHttpClient.newCall(request).execute()) {
+            // The request as it left the interceptors.
+            return response.request();
+        }
+    }
+}
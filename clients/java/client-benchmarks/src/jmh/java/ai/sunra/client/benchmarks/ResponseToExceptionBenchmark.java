@@ -0,0 +1,62 @@
+package ai.sunra.client.benchmarks;
+
+import ai.sunra.client.exception.SunraException;
+import ai.sunra.client.http.HttpClient;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * Converting typical error responses into exceptions. The response is built in the benchmark
+ * since its body can only be read once.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class ResponseToExceptionBenchmark {
+
+    @Param({"error", "validation", "text"})
+    public String body;
+
+    private HttpClient httpClient;
+    private int code;
+    private String contentType;
+    private String content;
+
+    @Setup
+    public void setup() {
+        httpClient = Fixtures.newHttpClient();
+        switch (body) {
+            case "error":
+                code = 429;
+                contentType = "application/json";
+                content = "{\"error\":{\"message\":\"Rate limit exceeded\",\"code\":\"rate_limited\","
+                        + "\"type\":\"rate_limit_error\",\"timestamp\":\"2025-01-01T00:00:00Z\"}}";
+                break;
+            case "validation":
+                code = 422;
+                contentType = "application/json";
+                content = "{\"detail\":[{\"loc\":[\"body\",\"prompt\"],\"msg\":\"field required\","
+                        + "\"type\":\"value_error.missing\"},{\"loc\":[\"body\",\"num_images\"],"
+                        + "\"msg\":\"ensure this value is less than or equal to 4\",\"type\":\"value_error\"}]}";
+                break;
+            default:
+                code = 502;
+                contentType = "text/html";
+                content = "<html><body><h1>502 Bad Gateway</h1></body></html>";
+        }
+    }
+
+    @Benchmark
+    public SunraException responseToException() {
+        try (var response = Fixtures.response(code, contentType, content)) {
+            return httpClient.responseToException(response);
+        }
+    }
+}
@@ -0,0 +1,53 @@
+package ai.sunra.client.benchmarks;
+
+import ai.sunra.client.http.HttpClient;
+import java.util.concurrent.TimeUnit;
+import okhttp3.sse.EventSource;
+import okhttp3.sse.EventSourceListener;
+import okhttp3.sse.EventSources;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Parsing a status stream and decoding its events, as the status subscription does: a few queue
+ * position updates, progress logs, then the completion.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class StatusStreamBenchmark {
+
+    private HttpClient httpClient;
+    private String stream;
+
+    @Setup
+    public void setup() {
+        httpClient = Fixtures.newHttpClient();
+        final var builder = new StringBuilder();
+        for (int i = 0; i < 5; i++) {
+            builder.append("data: ").append(Fixtures.status("IN_QUEUE")).append("\n\n");
+        }
+        for (int i = 0; i < 20; i++) {
+            builder.append("data: ").append(Fixtures.status("IN_PROGRESS")).append("\n\n");
+        }
+        builder.append("data: ").append(Fixtures.status("COMPLETED")).append("\n\n");
+        stream = builder.toString();
+    }
+
+    @Benchmark
+    public void handleStream(Blackhole blackhole) {
+        final var response = Fixtures.response(200, "text/event-stream", stream);
+        EventSources.processResponse(response, new EventSourceListener() {
+            @Override
+            public void onEvent(EventSource eventSource, String id, String type, String data) {
+                blackhole.consume(httpClient.decodeStatus(data));
+            }
+        });
+    }
+}
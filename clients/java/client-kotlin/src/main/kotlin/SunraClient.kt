@@ -76,8 +76,6 @@ internal class SunraClientKotlinImpl(
         options: SubscribeOptions,
         onQueueUpdate: OnStatusUpdate?,
     ): RequestOutput<Output> {
-        println(resultType)
-        println(options)
         val internalOptions =
             InternalSubscribeOptions.builder<Output>()
                 .input(input)
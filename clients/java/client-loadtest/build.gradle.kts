@@ -0,0 +1,36 @@
+plugins {
+    kotlin("jvm")
+    application
+}
+
+repositories {
+    mavenCentral()
+}
+
+tasks.withType<JavaCompile> {
+    sourceCompatibility = JavaVersion.VERSION_11.toString()
+    targetCompatibility = JavaVersion.VERSION_11.toString()
+    options.encoding = "UTF-8"
+}
+
+tasks.withType<org.jetbrains.kotlin.gradle.tasks.KotlinCompile> {
+    kotlinOptions {
+        jvmTarget = "11"
+    }
+}
+
+dependencies {
+    implementation(project(":sunra-client"))
+    implementation(project(":sunra-client-async"))
+    implementation(project(":sunra-client-kotlin"))
+    implementation(project(":sunra-client-test-fixtures"))
+    implementation("jakarta.annotation:jakarta.annotation-api:3.0.0")
+    implementation(kotlin("stdlib"))
+    implementation("org.jetbrains.kotlinx:kotlinx-coroutines-core:1.8.1")
+}
+
+// Run with `./gradlew :sunra-client-loadtest:run --args="--rate=200 --duration=30s"`.
+application {
+    mainClass.set("ai.sunra.client.loadtest.LoadTest")
+    applicationDefaultJvmArgs = listOf("-Xms512m", "-Xmx512m")
+}
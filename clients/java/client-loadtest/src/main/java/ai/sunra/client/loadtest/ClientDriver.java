@@ -0,0 +1,102 @@
+package ai.sunra.client.loadtest;
+
+import ai.sunra.client.AsyncSunraClient;
+import ai.sunra.client.ClientConfig;
+import ai.sunra.client.SubscribeOptions;
+import ai.sunra.client.SunraClient;
+import com.google.gson.JsonObject;
+import jakarta.annotation.Nonnull;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Runs subscribe flows through one of the clients, completing a future when each one ends.
+ */
+public interface ClientDriver extends AutoCloseable {
+
+    /**
+     * Get the name of the client in the report.
+     *
+     * @return The client name.
+     */
+    @Nonnull
+    String getName();
+
+    /**
+     * Start a subscribe flow. Must not block for the duration of the flow.
+     *
+     * @param endpointId The endpoint ID.
+     * @param input The input.
+     * @return A future completed when the result was fetched.
+     */
+    @Nonnull
+    CompletableFuture<?> subscribe(@Nonnull String endpointId, @Nonnull Map<String, Object> input);
+
+    @Override
+    void close();
+
+    /**
+     * Drive the blocking {@link SunraClient}, one flow per thread of a fixed pool. Arrivals beyond
+     * the pool size wait for a thread, which counts towards their latency.
+     *
+     * @param config The client config.
+     * @param threads The number of threads.
+     * @return The driver.
+     */
+    static ClientDriver sync(@Nonnull ClientConfig config, int threads) {
+        final SunraClient client = SunraClient.withConfig(config);
+        final ExecutorService pool = Executors.newFixedThreadPool(threads, runnable -> {
+            final var thread = new Thread(runnable, "loadtest-sync");
+            thread.setDaemon(true);
+            return thread;
+        });
+        return new ClientDriver() {
+            @Nonnull
+            @Override
+            public String getName() {
+                return "sync";
+            }
+
+            @Nonnull
+            @Override
+            public CompletableFuture<?> subscribe(@Nonnull String endpointId, @Nonnull Map<String, Object> input) {
+                return CompletableFuture.supplyAsync(
+                        () -> client.subscribe(endpointId, SubscribeOptions.withInput(input, JsonObject.class)),
+                        pool);
+            }
+
+            @Override
+            public void close() {
+                pool.shutdownNow();
+            }
+        };
+    }
+
+    /**
+     * Drive the {@link AsyncSunraClient}.
+     *
+     * @param config The client config.
+     * @return The driver.
+     */
+    static ClientDriver async(@Nonnull ClientConfig config) {
+        final AsyncSunraClient client = AsyncSunraClient.withConfig(config);
+        return new ClientDriver() {
+            @Nonnull
+            @Override
+            public String getName() {
+                return "async";
+            }
+
+            @Nonnull
+            @Override
+            public CompletableFuture<?> subscribe(@Nonnull String endpointId, @Nonnull Map<String, Object> input) {
+                return client.subscribe(endpointId, SubscribeOptions.withInput(input, JsonObject.class));
+            }
+
+            @Override
+            public void close() {}
+        };
+    }
+}
@@ -0,0 +1,251 @@
+package ai.sunra.client.loadtest;
+
+import ai.sunra.client.ClientConfig;
+import ai.sunra.client.CredentialsResolver;
+import ai.sunra.client.testing.FakeSunraServer;
+import ai.sunra.client.testing.LatencyDistribution;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Compares the throughput, latency and resource usage of the sync, async and Kotlin clients
+ * under the same open-loop load.
+ *
+ * <pre>
+ * ./gradlew :sunra-client-loadtest:run --args="--rate=200 --duration=30s --processing-time=500ms"
+ * </pre>
+ *
+ * <p>By default every client runs against an in-process {@link FakeSunraServer}. Start one in its
+ * own process with {@code --serve} and pass its URL with {@code --target=<url>} to keep the
+ * server out of the heap and allocation figures. With {@code --max-p99=<ms>} or
+ * {@code --max-error-rate=<ratio>} the exit code is 1 when a client exceeds the limit, so the run
+ * can gate a release.
+ */
+public final class LoadTest {
+
+    private static final String ENDPOINT_ID = "loadtest/echo";
+
+    private LoadTest() {}
+
+    public static void main(String[] args) throws Exception {
+        final var options = parse(args);
+        if (options.containsKey("help")) {
+            usage();
+            return;
+        }
+        if (options.containsKey("serve")) {
+            try (var server = startServer(options)) {
+                System.out.println("Fake Sunra server listening on " + server.getUrl());
+                Thread.currentThread().join();
+            }
+            return;
+        }
+
+        final double rate = Double.parseDouble(options.getOrDefault("rate", "100"));
+        final var duration = parseDuration(options.getOrDefault("duration", "30s"));
+        final var warmup = parseDuration(options.getOrDefault("warmup", "5s"));
+        final var drain = parseDuration(options.getOrDefault("drain-timeout", "30s"));
+        final boolean poisson = !"constant".equals(options.getOrDefault("arrivals", "poisson"));
+        final int threads = Integer.parseInt(options.getOrDefault("sync-threads", "256"));
+        final int maxConcurrentRequests = Integer.parseInt(options.getOrDefault("max-concurrent-requests", "1024"));
+        final long seed = Long.parseLong(options.getOrDefault("seed", "42"));
+        final var clients = Arrays.asList(options.getOrDefault("clients", "sync,async,kotlin").split(","));
+
+        FakeSunraServer server = null;
+        String target = options.get("target");
+        if (target == null) {
+            server = startServer(options);
+            target = server.getUrl();
+        }
+        final var config = ClientConfig.builder()
+                .withCredentials(CredentialsResolver.fromApiKey("fake-key"))
+                .withProxyUrl(target)
+                .withMaxConcurrentRequests(maxConcurrentRequests)
+                .build();
+
+        System.out.printf(Locale.ROOT, "Target %s, %.1f req/s %s arrivals for %ss after %ss warmup%n",
+                target, rate, poisson ? "poisson" : "constant", duration.toSeconds(), warmup.toSeconds());
+
+        final var reports = new ArrayList<String[]>();
+        boolean passed = true;
+        try (var sampler = new ResourceSampler()) {
+            for (final var name : clients) {
+                try (var driver = createDriver(name.trim(), config, threads)) {
+                    final var generator = new OpenLoopGenerator(rate, poisson, seed);
+                    generator.warmUp(driver, ENDPOINT_ID, warmup);
+                    System.gc();
+                    sampler.start();
+                    final var result = generator.run(driver, ENDPOINT_ID, duration, drain);
+                    final var usage = sampler.stop();
+                    reports.add(row(driver.getName(), result, usage));
+                    passed &= check(driver.getName(), result, options);
+                }
+            }
+        } finally {
+            if (server != null) {
+                server.close();
+            }
+        }
+        print(reports);
+        if (!passed) {
+            System.exit(1);
+        }
+    }
+
+    private static ClientDriver createDriver(String name, ClientConfig config, int threads) {
+        switch (name) {
+            case "sync":
+                return ClientDriver.sync(config, threads);
+            case "async":
+                return ClientDriver.async(config);
+            case "kotlin":
+                return new KotlinDriver(config);
+            default:
+                throw new IllegalArgumentException("Unknown client: " + name);
+        }
+    }
+
+    private static FakeSunraServer startServer(Map<String, String> options) {
+        final var builder = FakeSunraServer.builder()
+                .withWorkers(Integer.parseInt(options.getOrDefault("workers", "10000")))
+                .withProcessingTime(LatencyDistribution.logNormal(
+                        parseDuration(options.getOrDefault("processing-time", "200ms")),
+                        Double.parseDouble(options.getOrDefault("processing-sigma", "0.5"))))
+                .withServerErrorRate(Double.parseDouble(options.getOrDefault("server-error-rate", "0")))
+                .withThrottleRate(Double.parseDouble(options.getOrDefault("throttle-rate", "0")))
+                .withSeed(Long.parseLong(options.getOrDefault("seed", "42")));
+        return builder.start();
+    }
+
+    private static boolean check(String client, OpenLoopGenerator.Result result, Map<String, String> options) {
+        boolean passed = true;
+        if (options.containsKey("max-p99")) {
+            final double limit = Double.parseDouble(options.get("max-p99"));
+            final double p99 = millis(result.latencyNanos.getValueAtPercentile(99));
+            if (p99 > limit) {
+                System.err.printf(Locale.ROOT, "%s: p99 %.1fms exceeds %.1fms%n", client, p99, limit);
+                passed = false;
+            }
+        }
+        if (options.containsKey("max-error-rate")) {
+            final double limit = Double.parseDouble(options.get("max-error-rate"));
+            if (result.getErrorRate() > limit) {
+                System.err.printf(Locale.ROOT, "%s: error rate %.4f exceeds %.4f%n",
+                        client, result.getErrorRate(), limit);
+                passed = false;
+            }
+        }
+        return passed;
+    }
+
+    private static String[] row(String client, OpenLoopGenerator.Result result, ResourceSampler.Usage usage) {
+        final var latency = result.latencyNanos;
+        return new String[] {
+            client,
+            String.valueOf(result.scheduled),
+            String.valueOf(result.succeeded.get()),
+            String.valueOf(result.failed.get() + result.unfinished),
+            format(result.getThroughput()),
+            format(millis(latency.getValueAtPercentile(50))),
+            format(millis(latency.getValueAtPercentile(99))),
+            format(millis(latency.getValueAtPercentile(99.9))),
+            format(millis(latency.getMax())),
+            String.valueOf(result.maxInFlight.get()),
+            String.valueOf(usage.peakThreads),
+            format(usage.peakHeapBytes / 1048576.0),
+            format(usage.getAllocationRate() / 1048576.0),
+            usage.gcCount + " / " + usage.gcMillis + "ms",
+        };
+    }
+
+    private static void print(List<String[]> rows) {
+        final var all = new ArrayList<String[]>();
+        all.add(new String[] {
+            "client", "sent", "ok", "failed", "req/s", "p50 ms", "p99 ms", "p999 ms", "max ms",
+            "in-flight", "threads", "heap MB", "alloc MB/s", "gc",
+        });
+        all.addAll(rows);
+        final int[] widths = new int[all.get(0).length];
+        for (final var row : all) {
+            for (int i = 0; i < row.length; i++) {
+                widths[i] = Math.max(widths[i], row[i].length());
+            }
+        }
+        System.out.println();
+        for (final var row : all) {
+            final var line = new StringBuilder();
+            for (int i = 0; i < row.length; i++) {
+                final var pad = " ".repeat(widths[i] - row[i].length());
+                line.append(i == 0 ? row[i] + pad : pad + row[i]).append("  ");
+            }
+            System.out.println(line.toString().stripTrailing());
+        }
+    }
+
+    private static Map<String, String> parse(String[] args) {
+        final var options = new HashMap<String, String>();
+        for (final var arg : args) {
+            if (!arg.startsWith("--")) {
+                throw new IllegalArgumentException("Unexpected argument: " + arg);
+            }
+            final int eq = arg.indexOf('=');
+            if (eq < 0) {
+                options.put(arg.substring(2), "true");
+            } else {
+                options.put(arg.substring(2, eq), arg.substring(eq + 1));
+            }
+        }
+        return options;
+    }
+
+    /**
+     * Parse a duration such as {@code 500ms}, {@code 30s} or {@code 2m}.
+     */
+    static Duration parseDuration(String value) {
+        if (value.endsWith("ms")) {
+            return Duration.ofMillis(Long.parseLong(value.substring(0, value.length() - 2)));
+        }
+        if (value.endsWith("s")) {
+            return Duration.ofSeconds(Long.parseLong(value.substring(0, value.length() - 1)));
+        }
+        if (value.endsWith("m")) {
+            return Duration.ofMinutes(Long.parseLong(value.substring(0, value.length() - 1)));
+        }
+        return Duration.ofSeconds(Long.parseLong(value));
+    }
+
+    private static double millis(long nanos) {
+        return nanos / 1e6;
+    }
+
+    private static String format(double value) {
+        return String.format(Locale.ROOT, "%.1f", value);
+    }
+
+    private static void usage() {
+        System.out.println(String.join(System.lineSeparator(),
+                "Options:",
+                "  --clients=sync,async,kotlin    Clients to compare, in order",
+                "  --rate=100                     Arrivals per second",
+                "  --arrivals=poisson|constant    Arrival process",
+                "  --duration=30s --warmup=5s     Measured and warmup durations",
+                "  --drain-timeout=30s            Wait for running flows after the run",
+                "  --sync-threads=256             Threads running the blocking client",
+                "  --max-concurrent-requests=1024 Concurrent HTTP calls per client",
+                "  --target=<url>                 Server to use instead of an in-process one",
+                "  --serve                        Only run the fake server",
+                "  --workers=10000                Fake server processing concurrency",
+                "  --processing-time=200ms        Median fake processing time (log-normal)",
+                "  --processing-sigma=0.5         Spread of the fake processing time",
+                "  --server-error-rate=0          Fraction of calls answered with 500",
+                "  --throttle-rate=0              Fraction of calls answered with 429",
+                "  --seed=42                      Random seed",
+                "  --max-p99=<ms>                 Fail when a client's p99 exceeds it",
+                "  --max-error-rate=<ratio>       Fail when a client's error rate exceeds it"));
+    }
+}
@@ -0,0 +1,127 @@
+package ai.sunra.client.loadtest;
+
+import ai.sunra.client.metrics.Histogram;
+import jakarta.annotation.Nonnull;
+import java.time.Duration;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Starts subscribe flows at a fixed arrival rate regardless of how many are still running.
+ *
+ * <p>The latency of a flow is measured from the time it was scheduled to start, not the time it
+ * actually started, so a client that falls behind is charged for the delay it causes instead of
+ * silently lowering the offered load (coordinated omission).
+ */
+final class OpenLoopGenerator {
+
+    /**
+     * The outcome of a run.
+     */
+    static final class Result {
+        final Histogram latencyNanos = new Histogram();
+        final AtomicLong succeeded = new AtomicLong();
+        final AtomicLong failed = new AtomicLong();
+        final AtomicInteger inFlight = new AtomicInteger();
+        final AtomicInteger maxInFlight = new AtomicInteger();
+        long scheduled;
+        long unfinished;
+        long elapsedNanos;
+
+        double getThroughput() {
+            return elapsedNanos == 0 ? 0 : succeeded.get() * 1e9 / elapsedNanos;
+        }
+
+        double getErrorRate() {
+            return scheduled == 0 ? 0 : (double) (failed.get() + unfinished) / scheduled;
+        }
+    }
+
+    private final double ratePerSecond;
+    private final boolean poisson;
+    private final Random random;
+
+    OpenLoopGenerator(double ratePerSecond, boolean poisson, long seed) {
+        this.ratePerSecond = ratePerSecond;
+        this.poisson = poisson;
+        this.random = new Random(seed);
+    }
+
+    /**
+     * Offer load for the given duration, then wait for the flows still running.
+     *
+     * @param driver The client driver.
+     * @param endpointId The endpoint ID.
+     * @param duration How long to start new flows.
+     * @param drainTimeout How long to wait for the running flows afterwards.
+     * @return The outcome.
+     */
+    Result run(@Nonnull ClientDriver driver, @Nonnull String endpointId, @Nonnull Duration duration,
+            @Nonnull Duration drainTimeout) throws InterruptedException {
+        final var result = new Result();
+        final long start = System.nanoTime();
+        final long end = start + duration.toNanos();
+        final var lastCompletion = new AtomicLong(start);
+        long intended = start;
+        long sequence = 0;
+        while (intended < end) {
+            long now;
+            while ((now = System.nanoTime()) < intended) {
+                LockSupport.parkNanos(intended - now);
+            }
+            final long scheduledAt = intended;
+            final int running = result.inFlight.incrementAndGet();
+            result.maxInFlight.accumulateAndGet(running, Math::max);
+            try {
+                driver.subscribe(endpointId, Map.of("prompt", "load test", "sequence", sequence))
+                        .whenComplete((output, error) -> {
+                            final long completedAt = System.nanoTime();
+                            if (error == null) {
+                                result.latencyNanos.record(completedAt - scheduledAt);
+                                result.succeeded.incrementAndGet();
+                            } else {
+                                result.failed.incrementAndGet();
+                            }
+                            lastCompletion.accumulateAndGet(completedAt, Math::max);
+                            result.inFlight.decrementAndGet();
+                        });
+            } catch (RuntimeException e) {
+                result.failed.incrementAndGet();
+                result.inFlight.decrementAndGet();
+            }
+            sequence++;
+            intended += nextIntervalNanos();
+        }
+        result.scheduled = sequence;
+
+        final long drainDeadline = System.nanoTime() + drainTimeout.toNanos();
+        while (result.inFlight.get() > 0 && System.nanoTime() < drainDeadline) {
+            TimeUnit.MILLISECONDS.sleep(10);
+        }
+        result.unfinished = result.inFlight.get();
+        result.elapsedNanos = lastCompletion.get() - start;
+        return result;
+    }
+
+    /**
+     * Offer load without recording anything, to let the JIT and the connection pool settle.
+     */
+    void warmUp(@Nonnull ClientDriver driver, @Nonnull String endpointId, @Nonnull Duration duration)
+            throws InterruptedException {
+        if (!duration.isZero()) {
+            run(driver, endpointId, duration, duration);
+        }
+    }
+
+    private long nextIntervalNanos() {
+        final double mean = 1e9 / ratePerSecond;
+        if (!poisson) {
+            return Math.max(1, Math.round(mean));
+        }
+        return Math.max(1, Math.round(-mean * Math.log(1 - random.nextDouble())));
+    }
+}
@@ -0,0 +1,150 @@
+package ai.sunra.client.loadtest;
+
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+import java.lang.management.ThreadInfo;
+import java.lang.management.ThreadMXBean;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Samples the threads, heap and allocations of the client side of the process while a run is in
+ * progress.
+ *
+ * <p>Threads of the in-process fake server and of the harness itself are left out, so only the
+ * cost of the client under test is reported. The heap is shared and cannot be split, run the
+ * server in its own process ({@code --serve}) for a clean figure.
+ */
+final class ResourceSampler implements AutoCloseable {
+
+    private static final long PERIOD_MILLIS = 100;
+
+    /**
+     * The resource usage over a run.
+     */
+    static final class Usage {
+        int peakThreads;
+        long peakHeapBytes;
+        long allocatedBytes;
+        long gcCount;
+        long gcMillis;
+        long elapsedNanos;
+
+        double getAllocationRate() {
+            return elapsedNanos == 0 ? 0 : allocatedBytes * 1e9 / elapsedNanos;
+        }
+    }
+
+    private final ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+    private final MemoryMXBean memory = ManagementFactory.getMemoryMXBean();
+    private final ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        final var thread = new Thread(runnable, "loadtest-sampler");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    // The last allocation counter seen per thread, so threads that ended still count.
+    private final Map<Long, Long> baseline = new HashMap<>();
+    private final Map<Long, Long> allocated = new HashMap<>();
+    private Usage usage;
+    private long startNanos;
+    private long startGcCount;
+    private long startGcMillis;
+    private ScheduledFuture<?> task;
+
+    /**
+     * Start sampling, discarding the previous run.
+     */
+    synchronized void start() {
+        usage = new Usage();
+        baseline.clear();
+        allocated.clear();
+        sampleAllocations(baseline);
+        startGcCount = gcCount();
+        startGcMillis = gcMillis();
+        startNanos = System.nanoTime();
+        task = scheduler.scheduleAtFixedRate(this::sample, 0, PERIOD_MILLIS, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Stop sampling.
+     *
+     * @return The usage since {@link #start()}.
+     */
+    synchronized Usage stop() {
+        task.cancel(false);
+        sample();
+        usage.elapsedNanos = System.nanoTime() - startNanos;
+        usage.gcCount = gcCount() - startGcCount;
+        usage.gcMillis = gcMillis() - startGcMillis;
+        long total = 0;
+        for (final var entry : allocated.entrySet()) {
+            total += entry.getValue() - baseline.getOrDefault(entry.getKey(), 0L);
+        }
+        usage.allocatedBytes = total;
+        return usage;
+    }
+
+    private synchronized void sample() {
+        usage.peakHeapBytes = Math.max(usage.peakHeapBytes, memory.getHeapMemoryUsage().getUsed());
+        usage.peakThreads = Math.max(usage.peakThreads, sampleAllocations(allocated));
+    }
+
+    /**
+     * Record the allocation counter of every client thread.
+     *
+     * @return The number of client threads.
+     */
+    private int sampleAllocations(Map<Long, Long> into) {
+        final ThreadInfo[] infos = threads.getThreadInfo(threads.getAllThreadIds());
+        final boolean counting = threads instanceof com.sun.management.ThreadMXBean
+                && ((com.sun.management.ThreadMXBean) threads).isThreadAllocatedMemoryEnabled();
+        int count = 0;
+        for (final var info : infos) {
+            if (info == null || isExcluded(info.getThreadName())) {
+                continue;
+            }
+            count++;
+            if (counting) {
+                final long bytes = ((com.sun.management.ThreadMXBean) threads).getThreadAllocatedBytes(info.getThreadId());
+                if (bytes >= 0) {
+                    into.put(info.getThreadId(), bytes);
+                }
+            }
+        }
+        return count;
+    }
+
+    private static boolean isExcluded(String name) {
+        return name.startsWith("sunra-fake-")
+                || name.equals("HTTP-Dispatcher")
+                || name.startsWith("loadtest-sampler")
+                || name.equals("main");
+    }
+
+    private static long gcCount() {
+        long count = 0;
+        for (final GarbageCollectorMXBean gc : ManagementFactory.getGarbageCollectorMXBeans()) {
+            count += Math.max(0, gc.getCollectionCount());
+        }
+        return count;
+    }
+
+    private static long gcMillis() {
+        long millis = 0;
+        for (final GarbageCollectorMXBean gc : ManagementFactory.getGarbageCollectorMXBeans()) {
+            millis += Math.max(0, gc.getCollectionTime());
+        }
+        return millis;
+    }
+
+    @Override
+    public void close() {
+        scheduler.shutdownNow();
+    }
+}
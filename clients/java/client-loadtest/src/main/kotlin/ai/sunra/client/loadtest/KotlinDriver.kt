@@ -0,0 +1,30 @@
+package ai.sunra.client.loadtest
+
+import ai.sunra.client.ClientConfig
+import ai.sunra.client.kt.createSunraClient
+import com.google.gson.JsonObject
+import kotlinx.coroutines.CoroutineScope
+import kotlinx.coroutines.Dispatchers
+import kotlinx.coroutines.SupervisorJob
+import kotlinx.coroutines.cancel
+import kotlinx.coroutines.future.future
+import java.util.concurrent.CompletableFuture
+
+/**
+ * Drives the Kotlin client, one coroutine per flow on the default dispatcher.
+ */
+class KotlinDriver(config: ClientConfig) : ClientDriver {
+    private val client = createSunraClient(config)
+    private val scope = CoroutineScope(SupervisorJob() + Dispatchers.Default)
+
+    override fun getName(): String = "kotlin"
+
+    override fun subscribe(
+        endpointId: String,
+        input: Map<String, Any>,
+    ): CompletableFuture<*> = scope.future { client.subscribe(endpointId, input, JsonObject::class) }
+
+    override fun close() {
+        scope.cancel()
+    }
+}
@@ -0,0 +1,42 @@
+plugins {
+    `java-library`
+}
+
+java {
+    sourceCompatibility = JavaVersion.VERSION_11
+    targetCompatibility = JavaVersion.VERSION_11
+    withSourcesJar()
+    withJavadocJar()
+}
+
+repositories {
+    mavenCentral()
+}
+
+dependencies {
+    api(project(":sunra-client"))
+    api(project(":sunra-client-async"))
+    api(platform("io.opentelemetry:opentelemetry-bom:1.42.1"))
+    // The SDK and exporters are left to the application.
+    api("io.opentelemetry:opentelemetry-api")
+    implementation("jakarta.annotation:jakarta.annotation-api:3.0.0")
+
+    // 测试依赖
+    testImplementation("io.opentelemetry:opentelemetry-sdk")
+    testImplementation("io.opentelemetry:opentelemetry-sdk-testing")
+    testImplementation(testFixtures(project(":sunra-client")))
+    testImplementation("org.junit.jupiter:junit-jupiter-api:5.10.1")
+    testRuntimeOnly("org.junit.jupiter:junit-jupiter-engine:5.10.1")
+}
+
+tasks.withType<JavaCompile> {
+    options.encoding = "UTF-8"
+}
+
+tasks.withType<Test> {
+    useJUnitPlatform()
+}
+
+sonatypeCentralPublishExtension {
+    artifactId.set("sunra-client-otel")
+}
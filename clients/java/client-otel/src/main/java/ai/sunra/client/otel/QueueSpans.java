@@ -0,0 +1,138 @@
+package ai.sunra.client.otel;
+
+import ai.sunra.client.metrics.QueueTracer;
+import ai.sunra.client.metrics.SubscribeTimer;
+import ai.sunra.client.queue.QueueStatus;
+import io.opentelemetry.api.common.AttributeKey;
+import io.opentelemetry.api.common.Attributes;
+import io.opentelemetry.api.trace.Span;
+import io.opentelemetry.api.trace.SpanKind;
+import io.opentelemetry.api.trace.StatusCode;
+import io.opentelemetry.api.trace.Tracer;
+import io.opentelemetry.context.Context;
+import jakarta.annotation.Nonnull;
+import jakarta.annotation.Nullable;
+import java.util.Map;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.function.Supplier;
+
+/**
+ * Creates the spans of the client calls and their queue phases, hooked into the clients as their
+ * {@link QueueTracer}.
+ */
+class QueueSpans implements QueueTracer {
+
+    static final String SUBSCRIBE = "sunra.subscribe";
+    static final String SUBMIT = "sunra.queue.submit";
+    static final String STATUS_STREAM = "sunra.queue.status_stream";
+    static final String RESULT = "sunra.queue.result";
+    static final String RUN = "sunra.run";
+
+    static final AttributeKey<String> ENDPOINT_ID = AttributeKey.stringKey("sunra.endpoint_id");
+    static final AttributeKey<String> REQUEST_ID = AttributeKey.stringKey("sunra.request_id");
+    static final AttributeKey<String> STATUS = AttributeKey.stringKey("sunra.status");
+    static final AttributeKey<Long> QUEUE_POSITION = AttributeKey.longKey("sunra.queue_position");
+    static final AttributeKey<String> ERROR_CODE = AttributeKey.stringKey("sunra.error.code");
+
+    private static final Map<Step, String> NAMES = Map.of(
+            Step.RUN, RUN,
+            Step.SUBSCRIBE, SUBSCRIBE,
+            Step.SUBMIT, SUBMIT,
+            Step.STATUS_STREAM, STATUS_STREAM,
+            Step.RESULT, RESULT);
+
+    private final Tracer tracer;
+
+    QueueSpans(@Nonnull Tracer tracer) {
+        this.tracer = tracer;
+    }
+
+    /**
+     * Start the span of a step, a child of the span of the enclosing step or, for a call of the
+     * client, of the current context.
+     */
+    @Override
+    @Nonnull
+    public Trace start(@Nullable Trace parent, @Nonnull Step step, @Nonnull String endpointId) {
+        final var parentContext = parent instanceof SpanTrace ? ((SpanTrace) parent).context : Context.current();
+        final var span = tracer.spanBuilder(NAMES.get(step))
+                .setParent(parentContext)
+                .setSpanKind(step == Step.SUBSCRIBE ? SpanKind.INTERNAL : SpanKind.CLIENT)
+                .setAttribute(ENDPOINT_ID, endpointId)
+                .startSpan();
+        return new SpanTrace(span, parentContext.with(span));
+    }
+
+    /**
+     * Carry the context of the thread submitting a bulk job to the job.
+     */
+    @Override
+    @Nonnull
+    public ExecutorService wrap(@Nonnull ExecutorService executor) {
+        return Context.taskWrapping(executor);
+    }
+
+    /**
+     * The span of a step, current while the step is started so its requests carry it.
+     */
+    private static final class SpanTrace implements Trace {
+
+        private final Span span;
+        private final Context context;
+        private QueueStatus.Status status;
+        private Integer position;
+
+        private SpanTrace(Span span, Context context) {
+            this.span = span;
+            this.context = context;
+        }
+
+        @Override
+        public <T> T wrap(@Nonnull Supplier<T> step) {
+            try (var scope = context.makeCurrent()) {
+                return step.get();
+            }
+        }
+
+        @Override
+        public void requestId(@Nonnull String requestId) {
+            span.setAttribute(REQUEST_ID, requestId);
+        }
+
+        /**
+         * Add an event to the span for each status change and queue position change.
+         */
+        @Override
+        public void queueUpdate(@Nonnull QueueStatus.StatusUpdate update) {
+            if (update.getStatus() != status) {
+                status = update.getStatus();
+                span.setAttribute(REQUEST_ID, update.getRequestId());
+                span.addEvent("status", Attributes.of(STATUS, String.valueOf(status)));
+            }
+            if (update instanceof QueueStatus.InQueue) {
+                final var next = ((QueueStatus.InQueue) update).getQueuePosition();
+                if (next != null && !next.equals(position)) {
+                    position = next;
+                    span.addEvent("queue_position", Attributes.of(QUEUE_POSITION, next.longValue()));
+                }
+            }
+        }
+
+        @Override
+        public void end(@Nullable Throwable error) {
+            if (error != null) {
+                final var cause = error instanceof CompletionException && error.getCause() != null
+                        ? error.getCause()
+                        : error;
+                final var code = SubscribeTimer.codeOf(cause);
+                if (code != null) {
+                    span.setAttribute(ERROR_CODE, code);
+                }
+                span.recordException(cause);
+                span.setStatus(StatusCode.ERROR, String.valueOf(cause.getMessage()));
+            }
+            span.end();
+        }
+    }
+}
@@ -0,0 +1,132 @@
+package ai.sunra.client.otel;
+
+import ai.sunra.client.AsyncSunraClient;
+import ai.sunra.client.ClientConfig;
+import ai.sunra.client.SunraClient;
+import ai.sunra.client.http.VirtualThreads;
+import io.opentelemetry.api.OpenTelemetry;
+import io.opentelemetry.context.Context;
+import jakarta.annotation.Nonnull;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Entry point of the OpenTelemetry tracing of the Sunra clients.
+ *
+ * <pre>{@code
+ * var telemetry = SunraTelemetry.create(GlobalOpenTelemetry.get());
+ * var sunra = telemetry.newClient(ClientConfig.builder());
+ * }</pre>
+ *
+ * <p>The module only depends on the OpenTelemetry API, the SDK and exporters are those of the
+ * application.
+ */
+public class SunraTelemetry {
+
+    /**
+     * The name of the tracer of the client spans.
+     */
+    public static final String INSTRUMENTATION_NAME = "ai.sunra.client";
+
+    private final QueueSpans spans;
+    private final TracePropagationInterceptor propagationInterceptor;
+
+    // Shared by the clients without an executor of their own, created with the first of them.
+    private volatile ExecutorService dispatcherExecutor;
+
+    private SunraTelemetry(@Nonnull OpenTelemetry openTelemetry) {
+        this.spans = new QueueSpans(openTelemetry.getTracer(INSTRUMENTATION_NAME));
+        this.propagationInterceptor =
+                new TracePropagationInterceptor(openTelemetry.getPropagators().getTextMapPropagator());
+    }
+
+    /**
+     * Create the tracing of the clients from an OpenTelemetry instance.
+     *
+     * @param openTelemetry The OpenTelemetry instance.
+     * @return The client tracing.
+     */
+    @Nonnull
+    public static SunraTelemetry create(@Nonnull OpenTelemetry openTelemetry) {
+        return new SunraTelemetry(openTelemetry);
+    }
+
+    /**
+     * Configure a client config builder to trace the calls, with a span per call and child spans
+     * for the queue phases of {@code subscribe}, and to propagate the trace context of the calls
+     * into their requests. The executor of the asynchronous calls, if any, is wrapped to carry the context of
+     * the thread enqueueing a call; without one, the clients of this instance share a default
+     * executor. Configuring the same builder again has no effect.
+     *
+     * @param builder The client config builder.
+     * @return The builder instance.
+     */
+    @Nonnull
+    public ClientConfig.Builder configure(@Nonnull ClientConfig.Builder builder) {
+        final var config = builder.build();
+        if (config.getInterceptors().contains(propagationInterceptor)) {
+            return builder;
+        }
+        return builder.withQueueTracer(spans)
+                .withInterceptor(propagationInterceptor)
+                .withDispatcherExecutor(dispatcherExecutor(config));
+    }
+
+    /**
+     * Create a traced synchronous client. The builder is left unchanged.
+     *
+     * @param builder The client config builder.
+     * @return The client.
+     */
+    @Nonnull
+    public SunraClient newClient(@Nonnull ClientConfig.Builder builder) {
+        return SunraClient.withConfig(configure(builder.build().toBuilder()).build());
+    }
+
+    /**
+     * Create a traced asynchronous client. The builder is left unchanged.
+     *
+     * @param builder The client config builder.
+     * @return The client.
+     */
+    @Nonnull
+    public AsyncSunraClient newAsyncClient(@Nonnull ClientConfig.Builder builder) {
+        return AsyncSunraClient.withConfig(configure(builder.build().toBuilder()).build());
+    }
+
+    private ExecutorService dispatcherExecutor(ClientConfig config) {
+        if (config.getDispatcherExecutor() != null) {
+            return Context.taskWrapping(config.getDispatcherExecutor());
+        }
+        if (config.isVirtualThreads()) {
+            return Context.taskWrapping(VirtualThreads.newThreadPerTaskExecutor("sunra-dispatcher-"));
+        }
+        var executor = dispatcherExecutor;
+        if (executor == null) {
+            synchronized (this) {
+                executor = dispatcherExecutor;
+                if (executor == null) {
+                    executor = Context.taskWrapping(newDispatcherExecutor());
+                    dispatcherExecutor = executor;
+                }
+            }
+        }
+        return executor;
+    }
+
+    /**
+     * Create an executor like OkHttp's default dispatcher one, to be wrapped to propagate the
+     * context of the thread enqueueing a call.
+     */
+    private static ExecutorService newDispatcherExecutor() {
+        final var count = new AtomicInteger();
+        return new ThreadPoolExecutor(0, Integer.MAX_VALUE, 60, TimeUnit.SECONDS, new SynchronousQueue<>(), runnable -> {
+            final var thread = new Thread(runnable, "sunra-otel-dispatcher-" + count.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+}
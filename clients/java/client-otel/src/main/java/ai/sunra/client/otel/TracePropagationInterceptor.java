@@ -0,0 +1,37 @@
+package ai.sunra.client.otel;
+
+import io.opentelemetry.context.Context;
+import io.opentelemetry.context.propagation.TextMapPropagator;
+import io.opentelemetry.context.propagation.TextMapSetter;
+import jakarta.annotation.Nonnull;
+import java.io.IOException;
+import okhttp3.Interceptor;
+import okhttp3.Request;
+import okhttp3.Response;
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * Injects the current trace context, e.g. the {@code traceparent} header, into outgoing requests.
+ */
+public class TracePropagationInterceptor implements Interceptor {
+
+    private static final TextMapSetter<Request.Builder> SETTER = (builder, key, value) -> {
+        if (builder != null) {
+            builder.header(key, value);
+        }
+    };
+
+    private final TextMapPropagator propagator;
+
+    public TracePropagationInterceptor(@Nonnull TextMapPropagator propagator) {
+        this.propagator = propagator;
+    }
+
+    @Override
+    @Nonnull
+    public Response intercept(@NotNull Chain chain) throws IOException {
+        final var builder = chain.request().newBuilder();
+        propagator.inject(Context.current(), builder, SETTER);
+        return chain.proceed(builder.build());
+    }
+}
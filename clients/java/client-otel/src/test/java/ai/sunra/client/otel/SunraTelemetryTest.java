@@ -0,0 +1,164 @@
+package ai.sunra.client.otel;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import ai.sunra.client.ClientConfig;
+import ai.sunra.client.CredentialsResolver;
+import ai.sunra.client.SubscribeOptions;
+import ai.sunra.client.http.AnsweringInterceptor;
+import ai.sunra.client.metrics.QueueTracer;
+import com.google.gson.JsonObject;
+import io.opentelemetry.api.OpenTelemetry;
+import io.opentelemetry.api.trace.SpanId;
+import io.opentelemetry.api.trace.propagation.W3CTraceContextPropagator;
+import io.opentelemetry.context.propagation.ContextPropagators;
+import io.opentelemetry.sdk.OpenTelemetrySdk;
+import io.opentelemetry.sdk.trace.SdkTracerProvider;
+import io.opentelemetry.sdk.testing.exporter.InMemorySpanExporter;
+import io.opentelemetry.sdk.trace.data.SpanData;
+import io.opentelemetry.sdk.trace.export.SimpleSpanProcessor;
+import io.opentelemetry.sdk.trace.export.SpanExporter;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import org.junit.jupiter.api.Test;
+
+public class SunraTelemetryTest {
+
+    private static final String ENDPOINT_ID = "owner/app";
+
+    private final InMemorySpanExporter exporter = InMemorySpanExporter.create();
+
+    private final List<String> traceparents = new CopyOnWriteArrayList<>();
+
+    private static OpenTelemetry openTelemetry(SpanExporter exporter) {
+        return OpenTelemetrySdk.builder()
+                .setTracerProvider(SdkTracerProvider.builder()
+                        .addSpanProcessor(SimpleSpanProcessor.create(exporter))
+                        .build())
+                .setPropagators(ContextPropagators.create(W3CTraceContextPropagator.getInstance()))
+                .build();
+    }
+
+    private static String status(String status, String extra) {
+        return "{\"status\":\"" + status + "\",\"request_id\":\"r1\""
+                + ",\"status_url\":\"s\",\"response_url\":\"r\",\"cancel_url\":\"c\"" + extra + "}";
+    }
+
+    /**
+     * Answers the queue calls in place, after the trace context was injected, recording the trace
+     * context header of each request.
+     */
+    private ClientConfig.Builder fakeQueue(SunraTelemetry telemetry) {
+        return telemetry.configure(ClientConfig.builder().withCredentials(CredentialsResolver.fromApiKey("test")))
+                .withInterceptor(AnsweringInterceptor.answering(request -> {
+                    traceparents.add(String.valueOf(request.header("traceparent")));
+                    final var path = request.url().encodedPath();
+                    if (path.equals("/v1/queue/" + ENDPOINT_ID)) {
+                        return AnsweringInterceptor.Answer.json(200, status("IN_QUEUE", ",\"queue_position\":2"));
+                    }
+                    if (path.endsWith("/status/stream")) {
+                        return AnsweringInterceptor.Answer.eventStream(
+                                "data: " + status("IN_QUEUE", ",\"queue_position\":1") + "\n\n"
+                                        + "data: " + status("IN_PROGRESS", "") + "\n\n"
+                                        + "data: " + status("COMPLETED", "") + "\n\n");
+                    }
+                    return AnsweringInterceptor.Answer.json(200, "{\"images\":[]}");
+                }));
+    }
+
+    @Test
+    void subscribeCreatesSpanPerQueuePhase() {
+        final var telemetry = SunraTelemetry.create(openTelemetry(exporter));
+        final var client = telemetry.newClient(fakeQueue(telemetry));
+
+        final var output = client.subscribe(
+                ENDPOINT_ID,
+                SubscribeOptions.<JsonObject>builder()
+                        .input(Map.of("prompt", "test"))
+                        .resultType(JsonObject.class)
+                        .build());
+
+        assertNotNull(output);
+        final Map<String, SpanData> spans = exporter.getFinishedSpanItems().stream()
+                .collect(Collectors.toMap(SpanData::getName, span -> span));
+        final var parent = spans.get(QueueSpans.SUBSCRIBE);
+        assertNotNull(parent);
+        assertEquals(SpanId.getInvalid(), parent.getParentSpanId());
+        assertEquals("r1", parent.getAttributes().get(QueueSpans.REQUEST_ID));
+        for (final var name : List.of(QueueSpans.SUBMIT, QueueSpans.STATUS_STREAM, QueueSpans.RESULT)) {
+            assertEquals(parent.getSpanId(), spans.get(name).getParentSpanId(), name);
+            assertEquals(parent.getTraceId(), spans.get(name).getTraceId(), name);
+        }
+
+        final var events = spans.get(QueueSpans.STATUS_STREAM).getEvents();
+        assertEquals(
+                List.of("status", "queue_position", "status", "status"),
+                events.stream().map(event -> event.getName()).collect(Collectors.toList()));
+
+        assertEquals(3, traceparents.size());
+        for (final var traceparent : traceparents) {
+            assertTrue(traceparent.contains(parent.getTraceId()), traceparent);
+        }
+    }
+
+    @Test
+    void asyncSubscribePropagatesContextToDispatcher() throws Exception {
+        final var openTelemetry = openTelemetry(exporter);
+        final var telemetry = SunraTelemetry.create(openTelemetry);
+        final var client = telemetry.newAsyncClient(fakeQueue(telemetry));
+
+        final var outer = openTelemetry.getTracer("test").spanBuilder("outer").startSpan();
+        try (var scope = outer.makeCurrent()) {
+            final var output = client.subscribe(
+                            ENDPOINT_ID,
+                            SubscribeOptions.<JsonObject>builder()
+                                    .input(Map.of("prompt", "test"))
+                                    .resultType(JsonObject.class)
+                                    .build())
+                    .get(10, TimeUnit.SECONDS);
+            assertNotNull(output);
+        } finally {
+            outer.end();
+        }
+
+        final Map<String, SpanData> spans = exporter.getFinishedSpanItems().stream()
+                .collect(Collectors.toMap(SpanData::getName, span -> span));
+        final var parent = spans.get(QueueSpans.SUBSCRIBE);
+        assertEquals(outer.getSpanContext().getSpanId(), parent.getParentSpanId());
+        assertEquals("r1", parent.getAttributes().get(QueueSpans.REQUEST_ID));
+
+        // The requests run on the dispatcher threads, each carrying the span of its phase.
+        final var phases = List.of(QueueSpans.SUBMIT, QueueSpans.STATUS_STREAM, QueueSpans.RESULT);
+        assertEquals(phases.size(), traceparents.size());
+        for (int i = 0; i < phases.size(); i++) {
+            final var span = spans.get(phases.get(i));
+            assertEquals(parent.getSpanId(), span.getParentSpanId(), phases.get(i));
+            assertEquals(
+                    "00-" + span.getTraceId() + "-" + span.getSpanId() + "-01", traceparents.get(i), phases.get(i));
+        }
+    }
+
+    @Test
+    void newClientLeavesBuilderUnchanged() {
+        final var telemetry = SunraTelemetry.create(openTelemetry(exporter));
+        final var builder = ClientConfig.builder().withCredentials(CredentialsResolver.fromApiKey("test"));
+        telemetry.newClient(builder);
+        telemetry.newAsyncClient(builder);
+
+        final var config = builder.build();
+        assertTrue(config.getInterceptors().isEmpty());
+        assertNull(config.getDispatcherExecutor());
+
+        assertSame(QueueTracer.NOOP, config.getQueueTracer());
+
+        final var configured = telemetry.configure(telemetry.configure(config.toBuilder())).build();
+        assertEquals(1, configured.getInterceptors().size());
+        assertInstanceOf(QueueSpans.class, configured.getQueueTracer());
+        // One default executor for all the clients of the telemetry.
+        final var other = telemetry.configure(config.toBuilder()).build();
+        assertSame(configured.getDispatcherExecutor(), other.getDispatcherExecutor());
+    }
+}
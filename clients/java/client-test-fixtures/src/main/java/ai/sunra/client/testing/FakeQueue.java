@@ -0,0 +1,252 @@
+package ai.sunra.client.testing;
+
+import ai.sunra.client.queue.QueueStatus;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import jakarta.annotation.Nonnull;
+import jakarta.annotation.Nullable;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.Map;
+import java.util.Random;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+/**
+ * The queue behind {@link FakeSunraServer}. Requests wait in a FIFO until one of a fixed number of
+ * workers is free, then stay in progress for a duration drawn from the processing time
+ * distribution. Every change bumps the version of the job so status streams can wait for it.
+ */
+class FakeQueue implements AutoCloseable {
+
+    /**
+     * A single queued request. All mutable fields are guarded by the queue monitor.
+     */
+    static final class Job {
+        final String requestId;
+        final String endpointId;
+        final JsonElement input;
+        final int submitPosition;
+        final Random random;
+        QueueStatus.Status status = QueueStatus.Status.IN_QUEUE;
+        int version;
+        boolean failed;
+
+        @Nullable
+        JsonElement output;
+
+        @Nullable
+        ScheduledFuture<?> completion;
+
+        Job(String requestId, String endpointId, JsonElement input, int submitPosition, Random random) {
+            this.requestId = requestId;
+            this.endpointId = endpointId;
+            this.input = input;
+            this.submitPosition = submitPosition;
+            this.random = random;
+        }
+    }
+
+    /**
+     * The snapshot of a job, taken under the queue monitor.
+     */
+    static final class Snapshot {
+        final QueueStatus.Status status;
+        final int version;
+        final int queuePosition;
+        final boolean failed;
+
+        @Nullable
+        final JsonElement output;
+
+        Snapshot(QueueStatus.Status status, int version, int queuePosition, boolean failed, JsonElement output) {
+            this.status = status;
+            this.version = version;
+            this.queuePosition = queuePosition;
+            this.failed = failed;
+            this.output = output;
+        }
+
+        boolean isTerminal() {
+            return status == QueueStatus.Status.COMPLETED || status == QueueStatus.Status.CANCELED;
+        }
+    }
+
+    private final Map<String, Job> jobs = new ConcurrentHashMap<>();
+    private final Deque<Job> pending = new ArrayDeque<>();
+    private final ScheduledExecutorService scheduler;
+    private final int workers;
+    private final int maxQueueDepth;
+    private final LatencyDistribution processingTime;
+    private final double failureRate;
+    private final Function<JsonElement, JsonElement> resultFactory;
+    private final RandomSources randomSources;
+    private long submittedCount;
+    private int running;
+
+    FakeQueue(
+            int workers,
+            int maxQueueDepth,
+            @Nonnull LatencyDistribution processingTime,
+            double failureRate,
+            @Nonnull Function<JsonElement, JsonElement> resultFactory,
+            @Nonnull RandomSources randomSources) {
+        this.workers = workers;
+        this.maxQueueDepth = maxQueueDepth;
+        this.processingTime = processingTime;
+        this.failureRate = failureRate;
+        this.resultFactory = resultFactory;
+        this.randomSources = randomSources;
+        this.scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            final var thread = new Thread(runnable, "sunra-fake-queue");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Enqueue a request.
+     *
+     * @return The job, or {@code null} when the queue is full.
+     */
+    @Nullable
+    synchronized Job submit(@Nonnull String endpointId, @Nonnull JsonElement input) {
+        if (pending.size() >= maxQueueDepth) {
+            return null;
+        }
+        final var job = new Job(
+                UUID.randomUUID().toString(),
+                endpointId,
+                input,
+                pending.size(),
+                randomSources.forJob(submittedCount++));
+        jobs.put(job.requestId, job);
+        pending.addLast(job);
+        dispatch();
+        return job;
+    }
+
+    /**
+     * The snapshot answered to the submission, which is always queued first like the real API.
+     */
+    static Snapshot submitted(@Nonnull Job job) {
+        return new Snapshot(QueueStatus.Status.IN_QUEUE, 0, job.submitPosition, false, null);
+    }
+
+    @Nullable
+    Job get(@Nonnull String requestId) {
+        return jobs.get(requestId);
+    }
+
+    synchronized Snapshot snapshot(@Nonnull Job job) {
+        int position = 0;
+        if (job.status == QueueStatus.Status.IN_QUEUE) {
+            for (final var queued : pending) {
+                if (queued == job) {
+                    break;
+                }
+                position++;
+            }
+        }
+        return new Snapshot(job.status, job.version, position, job.failed, job.output);
+    }
+
+    /**
+     * Wait until the job moves past the given version, or the timeout elapses.
+     */
+    synchronized Snapshot awaitChange(@Nonnull Job job, int version, long timeoutMillis)
+            throws InterruptedException {
+        final long deadline = System.currentTimeMillis() + timeoutMillis;
+        long remaining = timeoutMillis;
+        while (job.version == version && remaining > 0) {
+            wait(remaining);
+            remaining = deadline - System.currentTimeMillis();
+        }
+        return snapshot(job);
+    }
+
+    /**
+     * Cancel a job that has not completed yet.
+     *
+     * @return Whether the job was canceled.
+     */
+    synchronized boolean cancel(@Nonnull Job job) {
+        if (job.status == QueueStatus.Status.IN_QUEUE) {
+            pending.remove(job);
+        } else if (job.status == QueueStatus.Status.IN_PROGRESS) {
+            if (job.completion != null) {
+                job.completion.cancel(false);
+            }
+            running--;
+        } else {
+            return false;
+        }
+        job.status = QueueStatus.Status.CANCELED;
+        job.version++;
+        pending.forEach(queued -> queued.version++);
+        dispatch();
+        return true;
+    }
+
+    synchronized int getPendingCount() {
+        return pending.size();
+    }
+
+    synchronized int getRunningCount() {
+        return running;
+    }
+
+    private void dispatch() {
+        boolean moved = false;
+        while (running < workers && !pending.isEmpty()) {
+            final var job = pending.removeFirst();
+            job.status = QueueStatus.Status.IN_PROGRESS;
+            job.version++;
+            running++;
+            moved = true;
+            final long millis = Math.max(0, processingTime.sampleMillis(job.random));
+            job.completion = scheduler.schedule(() -> complete(job), millis, TimeUnit.MILLISECONDS);
+        }
+        if (moved) {
+            // The positions of everything still waiting moved up.
+            pending.forEach(queued -> queued.version++);
+        }
+        notifyAll();
+    }
+
+    private synchronized void complete(Job job) {
+        if (job.status != QueueStatus.Status.IN_PROGRESS) {
+            return;
+        }
+        running--;
+        job.status = QueueStatus.Status.COMPLETED;
+        if (job.random.nextDouble() < failureRate) {
+            job.failed = true;
+        } else {
+            job.output = resultFactory.apply(job.input);
+        }
+        job.version++;
+        dispatch();
+    }
+
+    /**
+     * The failure reported for jobs completed with an injected error.
+     */
+    static JsonObject failure() {
+        final var error = new JsonObject();
+        error.addProperty("message", "Injected failure");
+        error.addProperty("code", "internal_error");
+        error.addProperty("type", "internal_error");
+        return error;
+    }
+
+    @Override
+    public void close() {
+        scheduler.shutdownNow();
+    }
+}
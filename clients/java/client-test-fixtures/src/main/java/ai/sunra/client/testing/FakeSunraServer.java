@@ -0,0 +1,642 @@
+package ai.sunra.client.testing;
+
+import ai.sunra.client.ClientConfig;
+import ai.sunra.client.CredentialsResolver;
+import ai.sunra.client.http.ClientProxyInterceptor;
+import ai.sunra.client.queue.QueueStatus;
+import com.google.gson.Gson;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParseException;
+import com.google.gson.JsonParser;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import jakarta.annotation.Nonnull;
+import jakarta.annotation.Nullable;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Map;
+import java.util.Random;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+
+/**
+ * An in-process fake of the Sunra queue and storage APIs, for integration and load tests that
+ * need no network and no API key.
+ *
+ * <p>The server listens on a loopback port and is meant to be used as the proxy of the client, see
+ * {@link #clientConfig()}. It also answers direct requests, routing by path either way. Supported
+ * calls are submit, status, the status stream, result, cancel, upload initiation and the upload
+ * itself.
+ *
+ * <pre>{@code
+ * try (var server = FakeSunraServer.builder()
+ *         .withWorkers(4)
+ *         .withProcessingTime(LatencyDistribution.logNormal(Duration.ofMillis(200), 0.5))
+ *         .start()) {
+ *     var client = SunraClient.withConfig(server.clientConfig().build());
+ *     ...
+ * }
+ * }</pre>
+ */
+public class FakeSunraServer implements AutoCloseable {
+
+    private static final String QUEUE_PREFIX = "/v1/queue/";
+    private static final String REQUESTS_PREFIX = "/v1/queue/requests/";
+    private static final String UPLOAD_INITIATE = "/v1/storage/upload/initiate";
+    private static final String FILES_PREFIX = "/v1/storage/files/";
+    private static final long KEEP_ALIVE_MILLIS = 15_000;
+
+    private static final Gson GSON = new Gson();
+
+    private final HttpServer server;
+    private final ExecutorService executor;
+    private final FakeQueue queue;
+    private final RandomSources randomSources;
+    private final double serverErrorRate;
+    private final double throttleRate;
+
+    @Nullable
+    private final RateLimit rateLimit;
+
+    private final String url;
+    private final Map<String, StoredFile> files = new ConcurrentHashMap<>();
+    private final AtomicLong requestCount = new AtomicLong();
+    private final AtomicLong rateLimitedCount = new AtomicLong();
+    private final AtomicLong serverErrorCount = new AtomicLong();
+
+    private static final class StoredFile {
+        final byte[] content;
+        final String contentType;
+
+        StoredFile(byte[] content, String contentType) {
+            this.content = content;
+            this.contentType = contentType;
+        }
+    }
+
+    /**
+     * A fixed window request budget.
+     */
+    private static final class RateLimit {
+        final int limit;
+        final long windowMillis;
+        long windowStart;
+        int used;
+
+        RateLimit(int limit, Duration window) {
+            this.limit = limit;
+            this.windowMillis = Math.max(1, window.toMillis());
+        }
+
+        /**
+         * Take a request from the budget.
+         *
+         * @return The remaining budget, or {@code -1} when it is exhausted.
+         */
+        synchronized int acquire(long now) {
+            if (now - windowStart >= windowMillis) {
+                windowStart = now;
+                used = 0;
+            }
+            if (used >= limit) {
+                return -1;
+            }
+            used++;
+            return limit - used;
+        }
+
+        synchronized long resetSeconds(long now) {
+            return Math.max(1, (windowStart + windowMillis - now + 999) / 1000);
+        }
+    }
+
+    private FakeSunraServer(Builder builder) throws IOException {
+        this.randomSources = builder.seed != null ? new RandomSources(builder.seed) : RandomSources.unseeded();
+        this.queue = new FakeQueue(
+                builder.workers,
+                builder.maxQueueDepth,
+                builder.processingTime,
+                builder.failureRate,
+                builder.resultFactory,
+                randomSources);
+        this.serverErrorRate = builder.serverErrorRate;
+        this.throttleRate = builder.throttleRate;
+        this.rateLimit = builder.rateLimit;
+        this.executor = Executors.newCachedThreadPool(runnable -> {
+            final var thread = new Thread(runnable, "sunra-fake-server");
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 0);
+        this.server.createContext("/", this::handle);
+        this.server.setExecutor(executor);
+        this.server.start();
+        this.url = "http://127.0.0.1:" + server.getAddress().getPort();
+    }
+
+    /**
+     * Create a new builder instance.
+     *
+     * @return The builder instance.
+     */
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    /**
+     * Get the base URL of the server, e.g. {@code http://127.0.0.1:54321}.
+     *
+     * @return The base URL.
+     */
+    @Nonnull
+    public String getUrl() {
+        return url;
+    }
+
+    /**
+     * Create a client config builder routing every call to this server, with a placeholder key.
+     *
+     * @return The client config builder.
+     */
+    @Nonnull
+    public ClientConfig.Builder clientConfig() {
+        return ClientConfig.builder()
+                .withCredentials(CredentialsResolver.fromApiKey("fake-key"))
+                .withProxyUrl(url);
+    }
+
+    /**
+     * Get the content uploaded to the given file URL.
+     *
+     * @param fileUrl The file URL returned by the upload initiation.
+     * @return The content, or {@code null} if nothing was uploaded there.
+     */
+    @Nullable
+    public byte[] getUploadedFile(@Nonnull String fileUrl) {
+        final var file = files.get(URI.create(fileUrl).getRawPath());
+        return file != null ? file.content : null;
+    }
+
+    /**
+     * Get the number of requests received, including rejected ones.
+     *
+     * @return The number of requests.
+     */
+    public long getRequestCount() {
+        return requestCount.get();
+    }
+
+    /**
+     * Get the number of requests answered with 429, whether by the rate limit, the queue depth or
+     * injection.
+     *
+     * @return The number of throttled requests.
+     */
+    public long getRateLimitedCount() {
+        return rateLimitedCount.get();
+    }
+
+    /**
+     * Get the number of requests answered with an injected 500.
+     *
+     * @return The number of server errors.
+     */
+    public long getServerErrorCount() {
+        return serverErrorCount.get();
+    }
+
+    /**
+     * Get the number of requests waiting for a worker.
+     *
+     * @return The queue depth.
+     */
+    public int getQueueDepth() {
+        return queue.getPendingCount();
+    }
+
+    /**
+     * Get the number of requests being processed.
+     *
+     * @return The number of busy workers.
+     */
+    public int getInProgressCount() {
+        return queue.getRunningCount();
+    }
+
+    @Override
+    public void close() {
+        server.stop(0);
+        executor.shutdownNow();
+        queue.close();
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+        final var random = randomSources.forRequest(requestCount.incrementAndGet());
+        try (exchange) {
+            final var target = exchange.getRequestHeaders().getFirst(ClientProxyInterceptor.HEADER_TARGET_URL);
+            final var path = target != null
+                    ? URI.create(target).getRawPath()
+                    : exchange.getRequestURI().getRawPath();
+            final var method = exchange.getRequestMethod();
+
+            if (path.startsWith(FILES_PREFIX)) {
+                handleFile(exchange, method, path);
+                return;
+            }
+            if (!admit(exchange, random)) {
+                return;
+            }
+            if (random.nextDouble() < serverErrorRate) {
+                serverErrorCount.incrementAndGet();
+                sendError(exchange, 500, "Injected server error", "internal_error");
+                return;
+            }
+            if (path.equals(UPLOAD_INITIATE)) {
+                if (requireMethod(exchange, "POST")) {
+                    initiateUpload(exchange);
+                }
+            } else if (path.startsWith(REQUESTS_PREFIX)) {
+                handleRequest(exchange, method, path.substring(REQUESTS_PREFIX.length()));
+            } else if (path.startsWith(QUEUE_PREFIX) && path.length() > QUEUE_PREFIX.length()) {
+                if (requireMethod(exchange, "POST")) {
+                    submit(exchange, path.substring(QUEUE_PREFIX.length()));
+                }
+            } else {
+                sendError(exchange, 404, "Not found: " + path, "not_found");
+            }
+        } catch (RuntimeException e) {
+            sendError(exchange, 500, String.valueOf(e.getMessage()), "internal_error");
+        }
+    }
+
+    /**
+     * Apply the rate limit and the injected throttling, adding the rate limit headers.
+     *
+     * @return Whether the request may proceed.
+     */
+    private boolean admit(HttpExchange exchange, Random random) throws IOException {
+        int remaining = Integer.MAX_VALUE;
+        if (rateLimit != null) {
+            final long now = System.currentTimeMillis();
+            remaining = rateLimit.acquire(now);
+            final var headers = exchange.getResponseHeaders();
+            headers.set("x-ratelimit-limit", String.valueOf(rateLimit.limit));
+            headers.set("x-ratelimit-remaining", String.valueOf(Math.max(0, remaining)));
+            headers.set("x-ratelimit-reset", String.valueOf(rateLimit.resetSeconds(now)));
+        }
+        if (remaining < 0 || random.nextDouble() < throttleRate) {
+            if (rateLimit == null) {
+                final var headers = exchange.getResponseHeaders();
+                headers.set("x-ratelimit-limit", "0");
+                headers.set("x-ratelimit-remaining", "0");
+                headers.set("x-ratelimit-reset", "1");
+            }
+            rateLimitedCount.incrementAndGet();
+            sendError(exchange, 429, "Rate limit exceeded", "rate_limit_exceeded");
+            return false;
+        }
+        return true;
+    }
+
+    private void submit(HttpExchange exchange, String endpointId) throws IOException {
+        final var input = readJson(exchange);
+        if (input == null) {
+            sendError(exchange, 400, "Invalid JSON input", "invalid_input");
+            return;
+        }
+        final var job = queue.submit(endpointId, input);
+        if (job == null) {
+            rateLimitedCount.incrementAndGet();
+            sendError(exchange, 429, "Queue is full", "queue_full");
+            return;
+        }
+        exchange.getResponseHeaders().set("x-request-id", job.requestId);
+        sendJson(exchange, 200, statusJson(job, FakeQueue.submitted(job)));
+    }
+
+    private void handleRequest(HttpExchange exchange, String method, String rest) throws IOException {
+        final int slash = rest.indexOf('/');
+        final var requestId = slash < 0 ? rest : rest.substring(0, slash);
+        final var action = slash < 0 ? "" : rest.substring(slash + 1);
+        final var job = queue.get(requestId);
+        if (job == null) {
+            sendError(exchange, 404, "Request not found: " + requestId, "not_found");
+            return;
+        }
+        exchange.getResponseHeaders().set("x-request-id", requestId);
+        switch (action) {
+            case "status":
+                if (requireMethod(exchange, "GET")) {
+                    sendJson(exchange, 200, statusJson(job, queue.snapshot(job)));
+                }
+                break;
+            case "status/stream":
+                if (requireMethod(exchange, "GET")) {
+                    streamStatus(exchange, job);
+                }
+                break;
+            case "cancel":
+                if (requireMethod(exchange, "PUT")) {
+                    cancel(exchange, job);
+                }
+                break;
+            case "":
+                if (requireMethod(exchange, "GET")) {
+                    result(exchange, job);
+                }
+                break;
+            default:
+                sendError(exchange, 404, "Not found: " + action, "not_found");
+        }
+    }
+
+    private void streamStatus(HttpExchange exchange, FakeQueue.Job job) throws IOException {
+        exchange.getResponseHeaders().set("Content-Type", "text/event-stream");
+        exchange.getResponseHeaders().set("Cache-Control", "no-cache");
+        exchange.sendResponseHeaders(200, 0);
+        final OutputStream out = exchange.getResponseBody();
+        var snapshot = queue.snapshot(job);
+        int sent = -1;
+        try {
+            while (true) {
+                if (snapshot.version != sent) {
+                    write(out, "data: " + GSON.toJson(statusJson(job, snapshot)) + "\n\n");
+                    sent = snapshot.version;
+                    if (snapshot.isTerminal()) {
+                        return;
+                    }
+                } else {
+                    write(out, ": keep-alive\n\n");
+                }
+                snapshot = queue.awaitChange(job, sent, KEEP_ALIVE_MILLIS);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void cancel(HttpExchange exchange, FakeQueue.Job job) throws IOException {
+        if (!queue.cancel(job) && queue.snapshot(job).status != QueueStatus.Status.CANCELED) {
+            sendError(exchange, 400, "Request is already completed", "already_completed");
+            return;
+        }
+        sendJson(exchange, 200, statusJson(job, queue.snapshot(job)));
+    }
+
+    private void result(HttpExchange exchange, FakeQueue.Job job) throws IOException {
+        final var snapshot = queue.snapshot(job);
+        if (snapshot.status != QueueStatus.Status.COMPLETED) {
+            sendError(exchange, 400, "Request is " + snapshot.status, "request_not_completed");
+        } else if (snapshot.failed || snapshot.output == null) {
+            sendJson(exchange, 500, FakeQueue.failure());
+        } else {
+            sendJson(exchange, 200, snapshot.output);
+        }
+    }
+
+    private void initiateUpload(HttpExchange exchange) throws IOException {
+        final var input = readJson(exchange);
+        String fileName = "file";
+        if (input != null && input.isJsonObject() && input.getAsJsonObject().has("file_name")) {
+            fileName = input.getAsJsonObject().get("file_name").getAsString();
+        }
+        final var fileUrl = url + FILES_PREFIX + UUID.randomUUID() + "/" + fileName;
+        final var payload = new JsonObject();
+        payload.addProperty("upload_url", fileUrl);
+        payload.addProperty("file_url", fileUrl);
+        sendJson(exchange, 200, payload);
+    }
+
+    private void handleFile(HttpExchange exchange, String method, String path) throws IOException {
+        if (method.equals("PUT")) {
+            final var contentType = exchange.getRequestHeaders().getFirst("Content-Type");
+            files.put(path, new StoredFile(
+                    exchange.getRequestBody().readAllBytes(),
+                    contentType != null ? contentType : "application/octet-stream"));
+            send(exchange, 200, "text/plain", new byte[0]);
+        } else if (method.equals("GET")) {
+            final var file = files.get(path);
+            if (file == null) {
+                sendError(exchange, 404, "File not found", "not_found");
+            } else {
+                send(exchange, 200, file.contentType, file.content);
+            }
+        } else {
+            sendError(exchange, 405, "Method not allowed: " + method, "method_not_allowed");
+        }
+    }
+
+    private JsonObject statusJson(FakeQueue.Job job, FakeQueue.Snapshot snapshot) {
+        final var base = url + REQUESTS_PREFIX + job.requestId;
+        final var payload = new JsonObject();
+        payload.addProperty("status", snapshot.status.name());
+        payload.addProperty("request_id", job.requestId);
+        payload.addProperty("status_url", base + "/status");
+        payload.addProperty("response_url", base);
+        payload.addProperty("cancel_url", base + "/cancel");
+        if (snapshot.status == QueueStatus.Status.IN_QUEUE) {
+            payload.addProperty("queue_position", snapshot.queuePosition);
+        }
+        if (snapshot.status == QueueStatus.Status.COMPLETED) {
+            payload.addProperty("success", !snapshot.failed);
+            if (snapshot.failed) {
+                payload.add("error", FakeQueue.failure());
+            }
+        }
+        return payload;
+    }
+
+    private static boolean requireMethod(HttpExchange exchange, String expected) throws IOException {
+        if (exchange.getRequestMethod().equals(expected)) {
+            return true;
+        }
+        sendError(exchange, 405, "Method not allowed: " + exchange.getRequestMethod(), "method_not_allowed");
+        return false;
+    }
+
+    @Nullable
+    private static JsonElement readJson(HttpExchange exchange) throws IOException {
+        final var body = new String(exchange.getRequestBody().readAllBytes(), StandardCharsets.UTF_8);
+        if (body.isBlank()) {
+            return new JsonObject();
+        }
+        try {
+            return JsonParser.parseString(body);
+        } catch (JsonParseException e) {
+            return null;
+        }
+    }
+
+    private static void sendError(HttpExchange exchange, int code, String message, String errorCode)
+            throws IOException {
+        final var payload = new JsonObject();
+        payload.addProperty("message", message);
+        payload.addProperty("code", errorCode);
+        payload.addProperty("type", errorCode);
+        sendJson(exchange, code, payload);
+    }
+
+    private static void sendJson(HttpExchange exchange, int code, JsonElement payload) throws IOException {
+        send(exchange, code, "application/json", GSON.toJson(payload).getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static void send(HttpExchange exchange, int code, String contentType, byte[] body) throws IOException {
+        exchange.getResponseHeaders().set("Content-Type", contentType);
+        exchange.sendResponseHeaders(code, body.length == 0 ? -1 : body.length);
+        if (body.length > 0) {
+            try (var out = exchange.getResponseBody()) {
+                out.write(body);
+            }
+        }
+    }
+
+    private static void write(OutputStream out, String chunk) throws IOException {
+        out.write(chunk.getBytes(StandardCharsets.UTF_8));
+        out.flush();
+    }
+
+    public static class Builder {
+
+        private int workers = 16;
+        private int maxQueueDepth = Integer.MAX_VALUE;
+        private LatencyDistribution processingTime = LatencyDistribution.constant(Duration.ofMillis(10));
+        private double failureRate;
+        private double serverErrorRate;
+        private double throttleRate;
+        private RateLimit rateLimit;
+        private Function<JsonElement, JsonElement> resultFactory = Function.identity();
+        private Long seed;
+
+        /**
+         * Set the number of requests processed concurrently, the rest wait in the queue.
+         *
+         * @param workers The number of workers.
+         * @return The builder instance.
+         */
+        public Builder withWorkers(int workers) {
+            if (workers < 1) {
+                throw new IllegalArgumentException("workers must be positive");
+            }
+            this.workers = workers;
+            return this;
+        }
+
+        /**
+         * Set the number of requests that may wait for a worker. Submissions beyond it are answered
+         * with 429.
+         *
+         * @param maxQueueDepth The maximum queue depth.
+         * @return The builder instance.
+         */
+        public Builder withMaxQueueDepth(int maxQueueDepth) {
+            this.maxQueueDepth = maxQueueDepth;
+            return this;
+        }
+
+        /**
+         * Set the distribution of the time a request stays in progress.
+         *
+         * @param processingTime The processing time distribution.
+         * @return The builder instance.
+         */
+        public Builder withProcessingTime(@Nonnull LatencyDistribution processingTime) {
+            this.processingTime = processingTime;
+            return this;
+        }
+
+        /**
+         * Set the fraction of requests that complete unsuccessfully.
+         *
+         * @param failureRate The failure rate, between 0 and 1.
+         * @return The builder instance.
+         */
+        public Builder withFailureRate(double failureRate) {
+            this.failureRate = failureRate;
+            return this;
+        }
+
+        /**
+         * Set the fraction of calls answered with a 500.
+         *
+         * @param serverErrorRate The server error rate, between 0 and 1.
+         * @return The builder instance.
+         */
+        public Builder withServerErrorRate(double serverErrorRate) {
+            this.serverErrorRate = serverErrorRate;
+            return this;
+        }
+
+        /**
+         * Set the fraction of calls answered with a 429, on top of the rate limit.
+         *
+         * @param throttleRate The throttle rate, between 0 and 1.
+         * @return The builder instance.
+         */
+        public Builder withThrottleRate(double throttleRate) {
+            this.throttleRate = throttleRate;
+            return this;
+        }
+
+        /**
+         * Allow at most the given number of calls per window, answering the rest with 429. Every
+         * response then carries the {@code x-ratelimit-*} headers.
+         *
+         * @param limit The number of calls per window.
+         * @param window The window length.
+         * @return The builder instance.
+         */
+        public Builder withRateLimit(int limit, @Nonnull Duration window) {
+            this.rateLimit = new RateLimit(limit, window);
+            return this;
+        }
+
+        /**
+         * Set how the result of a request is derived from its input. The input is echoed by
+         * default.
+         *
+         * @param resultFactory The result factory.
+         * @return The builder instance.
+         */
+        public Builder withResultFactory(@Nonnull Function<JsonElement, JsonElement> resultFactory) {
+            this.resultFactory = resultFactory;
+            return this;
+        }
+
+        /**
+         * Seed the random sources of the injections and distributions, for reproducible runs. Each
+         * request and each job draws from a source derived from the seed and its sequence number,
+         * so a run repeats as long as the requests arrive in the same order.
+         *
+         * @param seed The seed.
+         * @return The builder instance.
+         */
+        public Builder withSeed(long seed) {
+            this.seed = seed;
+            return this;
+        }
+
+        /**
+         * Start the server on a free loopback port.
+         *
+         * @return The running server.
+         */
+        public FakeSunraServer start() {
+            try {
+                return new FakeSunraServer(this);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+    }
+}
@@ -0,0 +1,68 @@
+package ai.sunra.client.testing;
+
+import jakarta.annotation.Nonnull;
+import java.time.Duration;
+import java.util.Random;
+
+/**
+ * A distribution of durations, e.g. the processing time of the fake queue.
+ */
+@FunctionalInterface
+public interface LatencyDistribution {
+
+    /**
+     * Draw a duration.
+     *
+     * @param random The random source.
+     * @return The duration in milliseconds, not negative.
+     */
+    long sampleMillis(@Nonnull Random random);
+
+    /**
+     * Always the same duration.
+     *
+     * @param duration The duration.
+     * @return The distribution.
+     */
+    static LatencyDistribution constant(@Nonnull Duration duration) {
+        final long millis = duration.toMillis();
+        return random -> millis;
+    }
+
+    /**
+     * Durations spread evenly between two bounds.
+     *
+     * @param min The lower bound.
+     * @param max The upper bound.
+     * @return The distribution.
+     */
+    static LatencyDistribution uniform(@Nonnull Duration min, @Nonnull Duration max) {
+        final long low = min.toMillis();
+        final long span = Math.max(0, max.toMillis() - low);
+        return random -> low + (long) (random.nextDouble() * span);
+    }
+
+    /**
+     * Durations whose logarithm is normally distributed, the usual shape of service latencies: most
+     * values near the median with a long tail.
+     *
+     * @param median The median duration.
+     * @param sigma The standard deviation of the logarithm, e.g. 0.5 for a moderate tail.
+     * @return The distribution.
+     */
+    static LatencyDistribution logNormal(@Nonnull Duration median, double sigma) {
+        final double mu = Math.log(Math.max(1, median.toMillis()));
+        return random -> Math.round(Math.exp(mu + sigma * random.nextGaussian()));
+    }
+
+    /**
+     * Exponentially distributed durations, e.g. the gaps between Poisson arrivals.
+     *
+     * @param mean The mean duration.
+     * @return The distribution.
+     */
+    static LatencyDistribution exponential(@Nonnull Duration mean) {
+        final double millis = mean.toMillis();
+        return random -> Math.round(-millis * Math.log(1 - random.nextDouble()));
+    }
+}
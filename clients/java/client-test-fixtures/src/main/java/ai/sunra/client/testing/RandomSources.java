@@ -0,0 +1,57 @@
+package ai.sunra.client.testing;
+
+import jakarta.annotation.Nonnull;
+import java.util.Random;
+import java.util.SplittableRandom;
+
+/**
+ * The random sources of a {@link FakeSunraServer}: one per request and one per job, derived from
+ * the seed and their sequence number alone. A seeded run thus draws the same values for the n-th
+ * request or job whichever handler or worker thread gets to it first.
+ */
+final class RandomSources {
+
+    private static final long REQUESTS = 1;
+    private static final long JOBS = 2;
+
+    private final long seed;
+
+    RandomSources(long seed) {
+        this.seed = seed;
+    }
+
+    /**
+     * Create the random sources of an unseeded run.
+     */
+    static RandomSources unseeded() {
+        return new RandomSources(new SplittableRandom().nextLong());
+    }
+
+    /**
+     * The random source of a request, drawing the injected errors and throttling.
+     *
+     * @param sequence The sequence number of the request.
+     */
+    @Nonnull
+    Random forRequest(long sequence) {
+        return derive(REQUESTS, sequence);
+    }
+
+    /**
+     * The random source of a job, drawing its processing time, then whether it fails.
+     *
+     * @param sequence The sequence number of the job.
+     */
+    @Nonnull
+    Random forJob(long sequence) {
+        return derive(JOBS, sequence);
+    }
+
+    private Random derive(long stream, long sequence) {
+        return new Random(mix(mix(seed + stream) + sequence));
+    }
+
+    private static long mix(long value) {
+        return new SplittableRandom(value).nextLong();
+    }
+}
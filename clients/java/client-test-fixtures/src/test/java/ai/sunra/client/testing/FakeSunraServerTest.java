@@ -0,0 +1,162 @@
+package ai.sunra.client.testing;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import ai.sunra.client.SubscribeOptions;
+import ai.sunra.client.SunraClient;
+import ai.sunra.client.exception.SunraException;
+import ai.sunra.client.http.JdkHttpTransport;
+import ai.sunra.client.queue.QueueStatus;
+import ai.sunra.client.queue.QueueSubmitOptions;
+import com.google.gson.JsonObject;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import org.junit.jupiter.api.Test;
+
+public class FakeSunraServerTest {
+
+    @Test
+    void testSubscribeEchoesInput() {
+        try (var server = FakeSunraServer.builder()
+                .withProcessingTime(LatencyDistribution.constant(Duration.ofMillis(50)))
+                .start()) {
+            final var client = SunraClient.withConfig(server.clientConfig().build());
+            final List<QueueStatus.Status> updates = new CopyOnWriteArrayList<>();
+
+            final var output = client.subscribe(
+                    "owner/app",
+                    SubscribeOptions.<JsonObject>builder()
+                            .input(Map.of("prompt", "a cat"))
+                            .resultType(JsonObject.class)
+                            .onQueueUpdate(update -> updates.add(update.getStatus()))
+                            .build());
+
+            assertEquals("a cat", output.getData().get("prompt").getAsString());
+            assertTrue(updates.contains(QueueStatus.Status.IN_PROGRESS));
+            assertEquals(QueueStatus.Status.COMPLETED, updates.get(updates.size() - 1));
+        }
+    }
+
+    @Test
+    void testSubscribeOverJdkTransport() {
+        try (var server = FakeSunraServer.builder().start()) {
+            final var client = SunraClient.withConfig(
+                    server.clientConfig().withTransport(JdkHttpTransport.factory()).build());
+
+            final var output = client.subscribe(
+                    "owner/app",
+                    SubscribeOptions.<JsonObject>builder()
+                            .input(Map.of("prompt", "a dog"))
+                            .resultType(JsonObject.class)
+                            .build());
+
+            assertEquals("a dog", output.getData().get("prompt").getAsString());
+        }
+    }
+
+    @Test
+    void testRejectsSubmitBeyondQueueDepth() {
+        try (var server = FakeSunraServer.builder()
+                .withWorkers(1)
+                .withMaxQueueDepth(1)
+                .withProcessingTime(LatencyDistribution.constant(Duration.ofSeconds(30)))
+                .start()) {
+            final var queue = SunraClient.withConfig(server.clientConfig().build()).queue();
+            final var input = QueueSubmitOptions.withInput(Map.of());
+
+            queue.submit("owner/app", input);
+            final var waiting = queue.submit("owner/app", input);
+            assertEquals(0, waiting.getQueuePosition());
+
+            final var e = assertThrows(SunraException.class, () -> queue.submit("owner/app", input));
+            assertEquals("queue_full", e.getCode());
+            assertEquals(1, server.getQueueDepth());
+            assertEquals(1, server.getInProgressCount());
+        }
+    }
+
+    @Test
+    void testRateLimitHeaders() {
+        try (var server = FakeSunraServer.builder()
+                .withRateLimit(1, Duration.ofMinutes(1))
+                .start()) {
+            final var queue = SunraClient.withConfig(server.clientConfig().build()).queue();
+            final var input = QueueSubmitOptions.withInput(Map.of());
+
+            queue.submit("owner/app", input);
+            final var e = assertThrows(SunraException.class, () -> queue.submit("owner/app", input));
+
+            assertNotNull(e.getRateLimit());
+            assertEquals(1, e.getRateLimit().getLimit());
+            assertEquals(0, e.getRateLimit().getRemaining());
+            assertEquals(1, server.getRateLimitedCount());
+        }
+    }
+
+    @Test
+    void testSeedRepeatsServerErrors() {
+        final var first = serverErrors(42);
+
+        assertEquals(first, serverErrors(42));
+        assertTrue(first.contains("ok") && first.contains("internal_error"), first.toString());
+    }
+
+    @Test
+    void testSeedRepeatsJobFailures() {
+        final var first = jobFailures(42);
+
+        assertEquals(first, jobFailures(42));
+        assertTrue(first.contains("done") && first.contains("failed"), first.toString());
+    }
+
+    /**
+     * Submit in turn, recording which requests got an injected server error.
+     */
+    private static List<String> serverErrors(long seed) {
+        try (var server = FakeSunraServer.builder()
+                .withServerErrorRate(0.5)
+                .withSeed(seed)
+                .start()) {
+            final var queue = SunraClient.withConfig(server.clientConfig().build()).queue();
+            final List<String> outcomes = new ArrayList<>();
+            for (int i = 0; i < 16; i++) {
+                try {
+                    queue.submit("owner/app", QueueSubmitOptions.withInput(Map.of()));
+                    outcomes.add("ok");
+                } catch (SunraException e) {
+                    outcomes.add(e.getCode());
+                }
+            }
+            return outcomes;
+        }
+    }
+
+    /**
+     * Subscribe in turn with several workers, recording which jobs got an injected failure.
+     */
+    private static List<String> jobFailures(long seed) {
+        try (var server = FakeSunraServer.builder()
+                .withWorkers(4)
+                .withFailureRate(0.5)
+                .withProcessingTime(LatencyDistribution.uniform(Duration.ZERO, Duration.ofMillis(20)))
+                .withSeed(seed)
+                .start()) {
+            final var client = SunraClient.withConfig(server.clientConfig().build());
+            final List<String> outcomes = new ArrayList<>();
+            for (int i = 0; i < 16; i++) {
+                final var output = client.subscribe(
+                        "owner/app",
+                        SubscribeOptions.<JsonObject>builder()
+                                .input(Map.of("index", i))
+                                .resultType(JsonObject.class)
+                                .onError(e -> {})
+                                .build());
+                outcomes.add(output != null ? "done" : "failed");
+            }
+            return outcomes;
+        }
+    }
+}
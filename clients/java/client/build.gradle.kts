@@ -1,5 +1,6 @@
 plugins {
     `java-library`
+    `java-test-fixtures`
 }
 
 java {
@@ -18,6 +19,7 @@ dependencies {
     api("com.squareup.okhttp3:okhttp:4.12.0")
     api("com.squareup.okhttp3:okhttp-sse:4.12.0")
     implementation("jakarta.annotation:jakarta.annotation-api:3.0.0")
+    testFixturesImplementation("jakarta.annotation:jakarta.annotation-api:3.0.0")
 
     compileOnly("org.projectlombok:lombok:1.18.34")
     annotationProcessor("org.projectlombok:lombok:1.18.34")
@@ -38,6 +40,54 @@ tasks.withType<Test> {
     useJUnitPlatform()
 }
 
+// The test fixtures are shared by the tests of the client modules, they are not published.
+val javaComponent = components["java"] as AdhocComponentWithVariants
+javaComponent.withVariantsFromConfiguration(configurations["testFixturesApiElements"]) { skip() }
+javaComponent.withVariantsFromConfiguration(configurations["testFixturesRuntimeElements"]) { skip() }
+
+// Multi-release JAR: classes in src/main/java21 replace their Java 11 counterparts on Java 21+.
+val java21 by sourceSets.creating {
+    java.srcDir("src/main/java21")
+    compileClasspath += sourceSets.main.get().output + sourceSets.main.get().compileClasspath
+}
+
+tasks.named<JavaCompile>("compileJava21Java") {
+    javaCompiler.set(javaToolchains.compilerFor { languageVersion.set(JavaLanguageVersion.of(21)) })
+    options.release.set(21)
+}
+
+// Tests of the Java 21 layer, run against the multi-release JAR so its Java 21 classes are loaded.
+val java21Test by sourceSets.creating {
+    java.srcDir("src/test/java21")
+    compileClasspath += sourceSets.main.get().output + configurations.testCompileClasspath.get()
+}
+
+tasks.named<JavaCompile>("compileJava21TestJava") {
+    javaCompiler.set(javaToolchains.compilerFor { languageVersion.set(JavaLanguageVersion.of(21)) })
+    options.release.set(21)
+}
+
+val testJava21 by tasks.registering(Test::class) {
+    description = "Runs the Java 21 tests against the multi-release JAR."
+    group = LifecycleBasePlugin.VERIFICATION_GROUP
+    javaLauncher.set(javaToolchains.launcherFor { languageVersion.set(JavaLanguageVersion.of(21)) })
+    testClassesDirs = java21Test.output.classesDirs
+    classpath = java21Test.output + files(tasks.jar) + configurations.testRuntimeClasspath.get()
+}
+
+tasks.check {
+    dependsOn(testJava21)
+}
+
+tasks.jar {
+    into("META-INF/versions/21") {
+        from(java21.output)
+    }
+    manifest {
+        attributes("Multi-Release" to "true")
+    }
+}
+
 // Add a task to generate a properties file with the project version
 val generateVersionProperties by tasks.registering(WriteProperties::class) {
     outputFile = file("$buildDir/resources/main/version.properties")
@@ -0,0 +1,125 @@
+package ai.sunra.client;
+
+import ai.sunra.client.exception.SunraException;
+import jakarta.annotation.Nonnull;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Spreads requests across several API keys, each request going to the key with the most
+ * rate-limit budget left.
+ *
+ * <p>The budget of a key is what its last response reported in the {@code x-ratelimit-*}
+ * headers, less the requests sent with it since. A key that has not been used yet is preferred,
+ * and keys with the same budget take turns. Once the reported window has reset, a key is given
+ * its full limit again. When every key is exhausted, the one resetting first is used.
+ *
+ * <pre>
+ * var sunra = SunraClient.withConfig(ClientConfig.builder()
+ *     .withCredentials(ApiKeyPool.of(List.of(key1, key2, key3)))
+ *     .build());
+ * </pre>
+ */
+public final class ApiKeyPool implements CredentialsResolver {
+
+    private static final long UNKNOWN = Long.MAX_VALUE;
+
+    private static final class Key {
+        final String apiKey;
+        int limit = -1;
+        long remaining = UNKNOWN;
+        // System.nanoTime() at which the reported window resets, 0 if unknown.
+        long resetAt;
+
+        Key(String apiKey) {
+            this.apiKey = apiKey;
+        }
+    }
+
+    private final List<Key> keys;
+    private final Map<String, Key> byApiKey = new HashMap<>();
+    private int next;
+
+    private ApiKeyPool(Collection<String> apiKeys) {
+        if (apiKeys.isEmpty()) {
+            throw new IllegalArgumentException("The pool needs at least one API key");
+        }
+        this.keys = new ArrayList<>(apiKeys.size());
+        for (final var apiKey : apiKeys) {
+            final var key = new Key(apiKey);
+            if (byApiKey.put(apiKey, key) == null) {
+                keys.add(key);
+            }
+        }
+    }
+
+    /**
+     * Create a pool of the given API keys.
+     *
+     * @param apiKeys The API keys.
+     * @return The key pool.
+     */
+    public static ApiKeyPool of(@Nonnull Collection<String> apiKeys) {
+        return new ApiKeyPool(apiKeys);
+    }
+
+    @Override
+    public synchronized String get() {
+        final long now = System.nanoTime();
+        Key best = null;
+        Key resettingFirst = null;
+        for (int i = 0; i < keys.size(); i++) {
+            final var key = keys.get((next + i) % keys.size());
+            if (key.resetAt != 0 && now - key.resetAt >= 0) {
+                key.remaining = key.limit >= 0 ? key.limit : UNKNOWN;
+                key.resetAt = 0;
+            }
+            if (best == null || key.remaining > best.remaining) {
+                best = key;
+            }
+            if (resettingFirst == null || key.resetAt - resettingFirst.resetAt < 0) {
+                resettingFirst = key;
+            }
+        }
+        if (best.remaining <= 0) {
+            best = resettingFirst;
+        }
+        next = (keys.indexOf(best) + 1) % keys.size();
+        if (best.remaining > 0) {
+            best.remaining--;
+        }
+        return best.apiKey;
+    }
+
+    @Override
+    public synchronized void onRateLimit(@Nonnull String credentials, @Nonnull SunraException.RateLimitInfo rateLimit) {
+        final var key = byApiKey.get(credentials);
+        if (key == null) {
+            return;
+        }
+        final long resetAt = System.nanoTime() + TimeUnit.SECONDS.toNanos(Math.max(0, rateLimit.getReset()));
+        // Within the same window, responses may arrive out of order: keep the lowest budget.
+        final boolean newWindow = key.resetAt == 0 || resetAt - key.resetAt > TimeUnit.SECONDS.toNanos(1);
+        key.limit = rateLimit.getLimit();
+        key.remaining = newWindow ? rateLimit.getRemaining() : Math.min(key.remaining, rateLimit.getRemaining());
+        key.resetAt = resetAt;
+    }
+
+    /**
+     * Get the budget left for an API key, as far as the pool knows.
+     *
+     * @param apiKey The API key.
+     * @return The remaining requests, or {@link Long#MAX_VALUE} if not reported yet.
+     */
+    public synchronized long getRemaining(@Nonnull String apiKey) {
+        final var key = byApiKey.get(apiKey);
+        if (key == null) {
+            throw new IllegalArgumentException("Unknown API key");
+        }
+        return key.remaining;
+    }
+}
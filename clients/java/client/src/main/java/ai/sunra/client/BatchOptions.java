@@ -0,0 +1,68 @@
+package ai.sunra.client;
+
+import com.google.gson.JsonObject;
+import jakarta.annotation.Nonnull;
+import jakarta.annotation.Nullable;
+import lombok.Builder;
+import lombok.Data;
+
+/**
+ * The options shared by every item of a bulk {@code submitAll}/{@code subscribeAll} call.
+ *
+ * @param <O> the type of the output payload
+ */
+@Data
+@Builder
+public class BatchOptions<O> {
+
+    /**
+     * The default number of jobs kept in flight at the same time.
+     */
+    public static final int DEFAULT_MAX_CONCURRENCY = 16;
+
+    /**
+     * The result type.
+     */
+    @Nonnull
+    private final Class<O> resultType;
+
+    /**
+     * The webhook URL.
+     */
+    @Nullable
+    private final String webhookUrl;
+
+    /**
+     * The logs.
+     */
+    @Nullable
+    private final Boolean logs;
+
+    /**
+     * The maximum number of jobs in flight. New inputs are only pulled from the source once a
+     * previous job has completed and its result has been consumed.
+     */
+    @Builder.Default
+    private final int maxConcurrency = DEFAULT_MAX_CONCURRENCY;
+
+    /**
+     * Create a new batch options with the given result type.
+     *
+     * @param resultType The result type.
+     * @return The batch options.
+     */
+    @Nonnull
+    public static <O> BatchOptions<O> withResultType(@Nonnull Class<O> resultType) {
+        return BatchOptions.<O>builder().resultType(resultType).build();
+    }
+
+    /**
+     * Create a new batch options with {@link JsonObject} results.
+     *
+     * @return The batch options.
+     */
+    @Nonnull
+    public static BatchOptions<JsonObject> defaults() {
+        return withResultType(JsonObject.class);
+    }
+}
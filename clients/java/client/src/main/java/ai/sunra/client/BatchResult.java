@@ -0,0 +1,98 @@
+package ai.sunra.client;
+
+import ai.sunra.client.exception.SunraException;
+import jakarta.annotation.Nonnull;
+import jakarta.annotation.Nullable;
+import java.util.Objects;
+
+/**
+ * Represents the outcome of one item of a bulk request. Items are emitted in completion order,
+ * so the {@code index} is the position of the input in the source sequence.
+ *
+ * @param <T> the type of the value of a successful item
+ */
+public class BatchResult<T> {
+
+    /**
+     * The index of the input in the source sequence.
+     */
+    private final long index;
+
+    /**
+     * The value, or null if the item failed or its job completed without one.
+     */
+    private final T value;
+
+    /**
+     * The error, or null if the item succeeded.
+     */
+    private final SunraException error;
+
+    private BatchResult(long index, @Nullable T value, @Nullable SunraException error) {
+        this.index = index;
+        this.value = value;
+        this.error = error;
+    }
+
+    /**
+     * Create a new successful result.
+     *
+     * @param index The index of the input.
+     * @param value The value, or null if the job completed without one.
+     * @return The result.
+     */
+    @Nonnull
+    public static <T> BatchResult<T> success(long index, @Nullable T value) {
+        return new BatchResult<>(index, value, null);
+    }
+
+    /**
+     * Create a new failed result.
+     *
+     * @param index The index of the input.
+     * @param error The error.
+     * @return The result.
+     */
+    @Nonnull
+    public static <T> BatchResult<T> failure(long index, @Nonnull SunraException error) {
+        return new BatchResult<>(index, null, Objects.requireNonNull(error));
+    }
+
+    /**
+     * Get the index of the input in the source sequence.
+     *
+     * @return The index.
+     */
+    public long getIndex() {
+        return index;
+    }
+
+    /**
+     * Get the value.
+     *
+     * @return The value, or null if the item failed or its job completed without one.
+     */
+    @Nullable
+    public T getValue() {
+        return value;
+    }
+
+    /**
+     * Get the error.
+     *
+     * @return The error, or null if the item succeeded.
+     */
+    @Nullable
+    public SunraException getError() {
+        return error;
+    }
+
+    /**
+     * Check whether the item succeeded.
+     *
+     * @return True if the item succeeded.
+     */
+    public boolean isSuccess() {
+        return error == null;
+    }
+}
@@ -0,0 +1,152 @@
+package ai.sunra.client;
+
+import ai.sunra.client.json.JsonCodec;
+import ai.sunra.client.json.JsonSinkWriter;
+import ai.sunra.client.json.JsonStreamable;
+import jakarta.annotation.Nonnull;
+import jakarta.annotation.Nullable;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Objects;
+import okio.BufferedSink;
+
+/**
+ * A binary input value, sent as a base64 string (optionally as a {@code data:} URI). The data is
+ * base64-encoded in fixed-size chunks straight into the request body while it is written, so
+ * inlining a large file uses constant memory instead of a multi-megabyte {@link String}.
+ *
+ * <p>Binary inputs can be used as values of a {@link StreamingJsonInput} or of a {@link java.util.Map}
+ * input. Inputs backed by an {@link InputStream} can only be sent once.
+ */
+public final class BinaryInput implements JsonStreamable {
+
+    /**
+     * Opens the data, once per write.
+     */
+    private final Source source;
+
+    /**
+     * The content type of the data URI, or null for a plain base64 string.
+     */
+    @Nullable
+    private final String contentType;
+
+    /**
+     * Whether the data can only be read once.
+     */
+    private final boolean oneShot;
+
+    private BinaryInput(Source source, @Nullable String contentType, boolean oneShot) {
+        this.source = source;
+        this.contentType = contentType;
+        this.oneShot = oneShot;
+    }
+
+    /**
+     * Create a new binary input reading the given file.
+     *
+     * @param path The file.
+     * @return The binary input.
+     */
+    @Nonnull
+    public static BinaryInput fromPath(@Nonnull Path path) {
+        Objects.requireNonNull(path);
+        return new BinaryInput(() -> Files.newInputStream(path), null, false);
+    }
+
+    /**
+     * Create a new binary input reading the given stream. The stream is closed once it has been
+     * written.
+     *
+     * @param data The stream.
+     * @return The binary input.
+     */
+    @Nonnull
+    public static BinaryInput fromStream(@Nonnull InputStream data) {
+        Objects.requireNonNull(data);
+        return new BinaryInput(() -> data, null, true);
+    }
+
+    /**
+     * Create a new binary input reading the remaining bytes of the given buffer. The buffer's
+     * position is not changed.
+     *
+     * @param data The buffer.
+     * @return The binary input.
+     */
+    @Nonnull
+    public static BinaryInput fromBytes(@Nonnull ByteBuffer data) {
+        Objects.requireNonNull(data);
+        return new BinaryInput(() -> open(data.duplicate()), null, false);
+    }
+
+    /**
+     * Send the data as a {@code data:<contentType>;base64,...} URI instead of a plain base64
+     * string.
+     *
+     * @param contentType The content type, e.g. {@code image/png}.
+     * @return A binary input with the same data, sent as a data URI.
+     */
+    @Nonnull
+    public BinaryInput asDataUri(@Nonnull String contentType) {
+        return new BinaryInput(source, Objects.requireNonNull(contentType), oneShot);
+    }
+
+    /**
+     * Get the content type of the data URI.
+     *
+     * @return The content type, or null if the data is sent as a plain base64 string.
+     */
+    @Nullable
+    public String getContentType() {
+        return contentType;
+    }
+
+    @Override
+    public void writeTo(@Nonnull BufferedSink sink, @Nonnull JsonCodec codec) throws IOException {
+        final var prefix = contentType != null ? "data:" + contentType + ";base64," : null;
+        try (final var data = source.open()) {
+            JsonSinkWriter.writeBase64(sink, prefix, data);
+        }
+    }
+
+    @Override
+    public boolean isOneShot() {
+        return oneShot;
+    }
+
+    private static InputStream open(ByteBuffer buffer) {
+        if (buffer.hasArray()) {
+            return new ByteArrayInputStream(
+                    buffer.array(), buffer.arrayOffset() + buffer.position(), buffer.remaining());
+        }
+        return new InputStream() {
+            @Override
+            public int read() {
+                return buffer.hasRemaining() ? buffer.get() & 0xff : -1;
+            }
+
+            @Override
+            public int read(@Nonnull byte[] bytes, int offset, int length) {
+                if (length == 0) {
+                    return 0;
+                }
+                if (!buffer.hasRemaining()) {
+                    return -1;
+                }
+                final int count = Math.min(length, buffer.remaining());
+                buffer.get(bytes, offset, count);
+                return count;
+            }
+        };
+    }
+
+    @FunctionalInterface
+    private interface Source {
+        InputStream open() throws IOException;
+    }
+}
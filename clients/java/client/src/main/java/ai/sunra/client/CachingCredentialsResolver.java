@@ -0,0 +1,77 @@
+package ai.sunra.client;
+
+import ai.sunra.client.exception.SunraException;
+import jakarta.annotation.Nonnull;
+import java.time.Duration;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * A credentials resolver that keeps the credentials of another for a refresh interval.
+ *
+ * @see CredentialsResolver#cached(CredentialsResolver, Duration)
+ */
+final class CachingCredentialsResolver implements CredentialsResolver {
+
+    private static final class Snapshot {
+        final String credentials;
+        final long refreshAt;
+
+        Snapshot(String credentials, long refreshAt) {
+            this.credentials = credentials;
+            this.refreshAt = refreshAt;
+        }
+    }
+
+    private final CredentialsResolver resolver;
+    private final long refreshIntervalNanos;
+    private final ReentrantLock refreshLock = new ReentrantLock();
+    private volatile Snapshot snapshot;
+
+    CachingCredentialsResolver(@Nonnull CredentialsResolver resolver, @Nonnull Duration refreshInterval) {
+        if (refreshInterval.isNegative() || refreshInterval.isZero()) {
+            throw new IllegalArgumentException("refreshInterval must be positive");
+        }
+        this.resolver = resolver;
+        this.refreshIntervalNanos = refreshInterval.toNanos();
+    }
+
+    @Override
+    public String get() {
+        final var current = snapshot;
+        if (current != null && current.refreshAt - System.nanoTime() > 0) {
+            return current.credentials;
+        }
+        // Only the first caller waits for the credentials, later ones use the stale ones meanwhile.
+        if (current == null) {
+            refreshLock.lock();
+        } else if (!refreshLock.tryLock()) {
+            return current.credentials;
+        }
+        try {
+            final var latest = snapshot;
+            if (latest != null && latest != current) {
+                return latest.credentials;
+            }
+            final String credentials;
+            try {
+                credentials = resolver.get();
+            } catch (RuntimeException e) {
+                if (current == null) {
+                    throw e;
+                }
+                // Keep the stale credentials and try again after another interval.
+                snapshot = new Snapshot(current.credentials, System.nanoTime() + refreshIntervalNanos);
+                return current.credentials;
+            }
+            snapshot = new Snapshot(credentials, System.nanoTime() + refreshIntervalNanos);
+            return credentials;
+        } finally {
+            refreshLock.unlock();
+        }
+    }
+
+    @Override
+    public void onRateLimit(@Nonnull String credentials, @Nonnull SunraException.RateLimitInfo rateLimit) {
+        resolver.onRateLimit(credentials, rateLimit);
+    }
+}
@@ -1,7 +1,23 @@
 package ai.sunra.client;
 
+import ai.sunra.client.http.HttpVersion;
+import ai.sunra.client.http.MultiplexingStats;
+import ai.sunra.client.http.OkHttpTransport;
+import ai.sunra.client.http.ResponseLeakDetector;
+import ai.sunra.client.http.Transport;
+import ai.sunra.client.http.UnixDomainSocketFactory;
+import ai.sunra.client.http.VirtualThreads;
+import ai.sunra.client.json.GsonJsonCodec;
+import ai.sunra.client.json.JsonCodec;
+import ai.sunra.client.metrics.MetricsRecorder;
+import ai.sunra.client.metrics.QueueTracer;
 import jakarta.annotation.Nonnull;
 import jakarta.annotation.Nullable;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import okhttp3.Interceptor;
 
 /**
  * The client config.
@@ -18,6 +34,71 @@ public class ClientConfig {
      */
     private String proxyUrl;
 
+    /**
+     * The JSON codec to use for the client.
+     */
+    private JsonCodec jsonCodec = new GsonJsonCodec();
+
+    /**
+     * The detector tracking unclosed responses, disabled by default.
+     */
+    private ResponseLeakDetector responseLeakDetector;
+
+    /**
+     * The recorder receiving the client measurements.
+     */
+    private MetricsRecorder metricsRecorder = MetricsRecorder.NOOP;
+
+    /**
+     * The tracer hooking the steps of the client calls.
+     */
+    private QueueTracer queueTracer = QueueTracer.NOOP;
+
+    /**
+     * The additional interceptors, run after the credentials and proxy ones.
+     */
+    private final List<Interceptor> interceptors = new ArrayList<>();
+
+    /**
+     * The executor running the asynchronous HTTP calls, OkHttp's default if null.
+     */
+    private ExecutorService dispatcherExecutor;
+
+    /**
+     * The maximum number of concurrent asynchronous HTTP calls, OkHttp's default if zero.
+     */
+    private int maxConcurrentRequests;
+
+    /**
+     * Whether the asynchronous HTTP calls and blocking bulk jobs run on virtual threads.
+     */
+    private boolean virtualThreads;
+
+    /**
+     * Creates the transport sending the requests, OkHttp by default.
+     */
+    private Transport.Factory transportFactory = OkHttpTransport::new;
+
+    /**
+     * The HTTP version spoken by the client.
+     */
+    private HttpVersion httpVersion = HttpVersion.HTTP_2;
+
+    /**
+     * The maximum number of concurrent streams per connection, unlimited if zero.
+     */
+    private int maxConcurrentStreams;
+
+    /**
+     * The statistics on connection sharing, disabled by default.
+     */
+    private MultiplexingStats multiplexingStats;
+
+    /**
+     * The path of a Unix domain socket to reach the proxy through, TCP if null.
+     */
+    private String unixSocketPath;
+
     /**
      * Get the credentials resolver to use for the client.
      *
@@ -38,6 +119,164 @@ public class ClientConfig {
         return proxyUrl;
     }
 
+    /**
+     * Get the JSON codec to use for the client.
+     *
+     * @return The JSON codec to use for the client, a {@link GsonJsonCodec} if none is configured.
+     */
+    @Nonnull
+    public JsonCodec getJsonCodec() {
+        return jsonCodec;
+    }
+
+    /**
+     * Get the detector tracking unclosed responses.
+     *
+     * @return The response leak detector, or null if leak detection is disabled.
+     */
+    @Nullable
+    public ResponseLeakDetector getResponseLeakDetector() {
+        return responseLeakDetector;
+    }
+
+    /**
+     * Get the recorder receiving the client measurements.
+     *
+     * @return The metrics recorder, {@link MetricsRecorder#NOOP} if none is configured.
+     */
+    @Nonnull
+    public MetricsRecorder getMetricsRecorder() {
+        return metricsRecorder;
+    }
+
+    /**
+     * Get the tracer hooking the steps of the client calls.
+     *
+     * @return The queue tracer, {@link QueueTracer#NOOP} if none is configured.
+     */
+    @Nonnull
+    public QueueTracer getQueueTracer() {
+        return queueTracer;
+    }
+
+    /**
+     * Get the additional interceptors, run after the credentials and proxy ones.
+     *
+     * @return The interceptors.
+     */
+    @Nonnull
+    public List<Interceptor> getInterceptors() {
+        return Collections.unmodifiableList(interceptors);
+    }
+
+    /**
+     * Get the executor running the asynchronous HTTP calls.
+     *
+     * @return The dispatcher executor, or null to use OkHttp's default.
+     */
+    @Nullable
+    public ExecutorService getDispatcherExecutor() {
+        return dispatcherExecutor;
+    }
+
+    /**
+     * Get the maximum number of concurrent asynchronous HTTP calls, including the status streams.
+     *
+     * @return The maximum number of concurrent calls, or zero for OkHttp's default.
+     */
+    public int getMaxConcurrentRequests() {
+        return maxConcurrentRequests;
+    }
+
+    /**
+     * Check whether the asynchronous HTTP calls and blocking bulk jobs run on virtual threads.
+     *
+     * @return Whether virtual threads are used.
+     */
+    public boolean isVirtualThreads() {
+        return virtualThreads;
+    }
+
+    /**
+     * Get the factory of the transport sending the requests.
+     *
+     * @return The transport factory.
+     */
+    @Nonnull
+    public Transport.Factory getTransportFactory() {
+        return transportFactory;
+    }
+
+    /**
+     * Get the HTTP version spoken by the client.
+     *
+     * @return The HTTP version.
+     */
+    @Nonnull
+    public HttpVersion getHttpVersion() {
+        return httpVersion;
+    }
+
+    /**
+     * Get the maximum number of concurrent streams per connection.
+     *
+     * @return The maximum number of streams, or zero if unlimited.
+     */
+    public int getMaxConcurrentStreams() {
+        return maxConcurrentStreams;
+    }
+
+    /**
+     * Get the statistics on connection sharing, if enabled.
+     *
+     * @return The multiplexing statistics, or null.
+     */
+    @Nullable
+    public MultiplexingStats getMultiplexingStats() {
+        return multiplexingStats;
+    }
+
+    /**
+     * Get the path of the Unix domain socket the proxy is reached through, if any.
+     *
+     * @return The socket path, or null to connect over TCP.
+     */
+    @Nullable
+    public String getUnixSocketPath() {
+        return unixSocketPath;
+    }
+
+    /**
+     * Create a builder starting from this config, e.g. to derive another config from it. Changes
+     * made through the builder do not affect this config.
+     *
+     * @return The builder instance.
+     */
+    @Nonnull
+    public Builder toBuilder() {
+        return new Builder(copy());
+    }
+
+    private ClientConfig copy() {
+        final var copy = new ClientConfig();
+        copy.credentials = credentials;
+        copy.proxyUrl = proxyUrl;
+        copy.jsonCodec = jsonCodec;
+        copy.responseLeakDetector = responseLeakDetector;
+        copy.metricsRecorder = metricsRecorder;
+        copy.queueTracer = queueTracer;
+        copy.interceptors.addAll(interceptors);
+        copy.dispatcherExecutor = dispatcherExecutor;
+        copy.maxConcurrentRequests = maxConcurrentRequests;
+        copy.virtualThreads = virtualThreads;
+        copy.transportFactory = transportFactory;
+        copy.httpVersion = httpVersion;
+        copy.maxConcurrentStreams = maxConcurrentStreams;
+        copy.multiplexingStats = multiplexingStats;
+        copy.unixSocketPath = unixSocketPath;
+        return copy;
+    }
+
     /**
      * Create a new builder instance.
      *
@@ -72,7 +311,15 @@ public class ClientConfig {
         /**
          * The credentials resolver to use for the client.
          */
-        private final ClientConfig config = new ClientConfig();
+        private final ClientConfig config;
+
+        public Builder() {
+            this(new ClientConfig());
+        }
+
+        private Builder(ClientConfig config) {
+            this.config = config;
+        }
 
         /**
          * Set the credentials resolver to use for the client.
@@ -97,12 +344,190 @@ public class ClientConfig {
         }
 
         /**
-         * Build the client config.
+         * Set the JSON codec to use for the client.
+         *
+         * @param jsonCodec The JSON codec to use for the client.
+         * @return The builder instance.
+         */
+        public Builder withJsonCodec(@Nonnull JsonCodec jsonCodec) {
+            config.jsonCodec = jsonCodec;
+            return this;
+        }
+
+        /**
+         * Enable leak detection for responses. Keep a reference to the detector to inspect the
+         * open responses.
+         *
+         * @param responseLeakDetector The detector tracking unclosed responses.
+         * @return The builder instance.
+         */
+        public Builder withResponseLeakDetector(@Nullable ResponseLeakDetector responseLeakDetector) {
+            config.responseLeakDetector = responseLeakDetector;
+            return this;
+        }
+
+        /**
+         * Set the recorder receiving the client measurements, e.g. a
+         * {@link ai.sunra.client.metrics.HistogramMetricsRecorder}.
+         *
+         * @param metricsRecorder The metrics recorder.
+         * @return The builder instance.
+         */
+        public Builder withMetricsRecorder(@Nonnull MetricsRecorder metricsRecorder) {
+            config.metricsRecorder = metricsRecorder;
+            return this;
+        }
+
+        /**
+         * Set the tracer hooking the steps of the client calls, e.g. the OpenTelemetry one of the
+         * {@code client-otel} module.
+         *
+         * @param queueTracer The queue tracer.
+         * @return The builder instance.
+         */
+        public Builder withQueueTracer(@Nonnull QueueTracer queueTracer) {
+            config.queueTracer = queueTracer;
+            return this;
+        }
+
+        /**
+         * Add an interceptor to the HTTP client, e.g. to add headers to every request. Interceptors
+         * run in the order they are added, after the credentials and proxy ones.
+         *
+         * @param interceptor The interceptor.
+         * @return The builder instance.
+         */
+        public Builder withInterceptor(@Nonnull Interceptor interceptor) {
+            config.interceptors.add(interceptor);
+            return this;
+        }
+
+        /**
+         * Set the executor running the asynchronous HTTP calls, including the status streams.
+         *
+         * @param dispatcherExecutor The dispatcher executor.
+         * @return The builder instance.
+         */
+        public Builder withDispatcherExecutor(@Nonnull ExecutorService dispatcherExecutor) {
+            config.dispatcherExecutor = dispatcherExecutor;
+            return this;
+        }
+
+        /**
+         * Set the maximum number of concurrent asynchronous HTTP calls. Every status stream holds
+         * one for the whole wait, and all calls go to the same host, so OkHttp's default of five
+         * per host caps the number of concurrent subscriptions.
+         *
+         * @param maxConcurrentRequests The maximum number of concurrent calls.
+         * @return The builder instance.
+         */
+        public Builder withMaxConcurrentRequests(int maxConcurrentRequests) {
+            if (maxConcurrentRequests < 1) {
+                throw new IllegalArgumentException("maxConcurrentRequests must be positive");
+            }
+            config.maxConcurrentRequests = maxConcurrentRequests;
+            return this;
+        }
+
+        /**
+         * Run the asynchronous HTTP calls, including the status streams, and the blocking jobs of
+         * bulk calls on a new virtual thread each. Unless limited with
+         * {@link #withMaxConcurrentRequests(int)}, the number of concurrent calls is then
+         * unbounded. Blocking calls made from a virtual thread wait for the response without
+         * holding a monitor, so they do not pin their carrier thread. An executor set with
+         * {@link #withDispatcherExecutor(ExecutorService)} takes precedence.
+         *
+         * @param virtualThreads Whether to use virtual threads.
+         * @return The builder instance.
+         * @throws UnsupportedOperationException If enabled before Java 21.
+         */
+        public Builder withVirtualThreads(boolean virtualThreads) {
+            if (virtualThreads && !VirtualThreads.isSupported()) {
+                throw new UnsupportedOperationException("Virtual threads require Java 21 or later");
+            }
+            config.virtualThreads = virtualThreads;
+            return this;
+        }
+
+        /**
+         * Set the transport sending the requests, e.g.
+         * {@link ai.sunra.client.http.JdkHttpTransport#factory()} to use the JDK HTTP client.
+         *
+         * @param transportFactory The transport factory.
+         * @return The builder instance.
+         */
+        public Builder withTransport(@Nonnull Transport.Factory transportFactory) {
+            config.transportFactory = transportFactory;
+            return this;
+        }
+
+        /**
+         * Set the HTTP version spoken by the client. Use {@link HttpVersion#H2_PRIOR_KNOWLEDGE}
+         * to multiplex calls over cleartext HTTP/2 to a proxy set with
+         * {@link #withProxyUrl(String)}.
+         *
+         * @param httpVersion The HTTP version.
+         * @return The builder instance.
+         */
+        public Builder withHttpVersion(@Nonnull HttpVersion httpVersion) {
+            config.httpVersion = httpVersion;
+            return this;
+        }
+
+        /**
+         * Cap the number of calls open at once on a single HTTP/2 connection, below the limit
+         * advertised by the server. Calls over the cap wait for a stream of their connection, up
+         * to their call timeout, or their read timeout if they have none, and fail if none frees.
+         * Event streams, such as the status streams of {@code subscribe}, are left out of the cap
+         * since they stay open until their job ends.
+         *
+         * @param maxConcurrentStreams The maximum number of streams per connection.
+         * @return The builder instance.
+         */
+        public Builder withMaxConcurrentStreams(int maxConcurrentStreams) {
+            if (maxConcurrentStreams < 1) {
+                throw new IllegalArgumentException("maxConcurrentStreams must be positive");
+            }
+            config.maxConcurrentStreams = maxConcurrentStreams;
+            return this;
+        }
+
+        /**
+         * Collect statistics on how calls share connections. Keep a reference to read them.
+         *
+         * @param multiplexingStats The statistics to update.
+         * @return The builder instance.
+         */
+        public Builder withMultiplexingStats(@Nullable MultiplexingStats multiplexingStats) {
+            config.multiplexingStats = multiplexingStats;
+            return this;
+        }
+
+        /**
+         * Connect to the proxy set with {@link #withProxyUrl(String)} through a Unix domain
+         * socket, e.g. to a sidecar on the same host. The host and port of the proxy URL are
+         * ignored, its scheme still selects TLS.
+         *
+         * @param unixSocketPath The socket path, or null to connect over TCP.
+         * @return The builder instance.
+         * @throws UnsupportedOperationException If set before Java 16.
+         */
+        public Builder withUnixSocketPath(@Nullable String unixSocketPath) {
+            if (unixSocketPath != null && !UnixDomainSocketFactory.isSupported()) {
+                throw new UnsupportedOperationException("Unix domain sockets require Java 16 or later");
+            }
+            config.unixSocketPath = unixSocketPath;
+            return this;
+        }
+
+        /**
+         * Build the client config. Each call returns a new config, which later changes to the
+         * builder do not affect.
          *
          * @return The client config.
          */
         public ClientConfig build() {
-            return config;
+            return config.copy();
         }
     }
 }
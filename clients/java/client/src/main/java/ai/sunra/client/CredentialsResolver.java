@@ -1,5 +1,13 @@
 package ai.sunra.client;
 
+import ai.sunra.client.exception.SunraException;
+import jakarta.annotation.Nonnull;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
 import java.util.function.Supplier;
 
 /**
@@ -7,6 +15,15 @@ import java.util.function.Supplier;
  */
 public interface CredentialsResolver extends Supplier<String> {
 
+    /**
+     * Called after a response to a request sent with credentials from this resolver, when the
+     * response reports the rate limit of the credentials. Does nothing by default.
+     *
+     * @param credentials The credentials the request was sent with.
+     * @param rateLimit The rate limit reported by the response.
+     */
+    default void onRateLimit(@Nonnull String credentials, @Nonnull SunraException.RateLimitInfo rateLimit) {}
+
     /**
      * Create a new credentials resolver from an API key.
      *
@@ -17,11 +34,44 @@ public interface CredentialsResolver extends Supplier<String> {
     }
 
     /**
-     * Create a new credentials resolver from the environment.
+     * Create a new credentials resolver from the environment. The environment of a JVM does not
+     * change, so the variable is read once.
      *
      * @return The credentials resolver.
      */
     static CredentialsResolver fromEnv() {
-        return () -> System.getenv("SUNRA_KEY");
+        final var apiKey = System.getenv("SUNRA_KEY");
+        return () -> apiKey;
+    }
+
+    /**
+     * Create a new credentials resolver reading the API key from a file, such as a mounted
+     * secret, again once the refresh interval has passed.
+     *
+     * @param path The file holding the API key.
+     * @param refreshInterval How long the key read is used.
+     * @return The credentials resolver.
+     */
+    static CredentialsResolver fromFile(@Nonnull Path path, @Nonnull Duration refreshInterval) {
+        return cached(() -> {
+            try {
+                return Files.readString(path, StandardCharsets.UTF_8).trim();
+            } catch (IOException e) {
+                throw new UncheckedIOException("Failed to read the API key from " + path, e);
+            }
+        }, refreshInterval);
+    }
+
+    /**
+     * Create a credentials resolver calling the given one again only once the refresh interval
+     * has passed, e.g. to load a key from a vault. One caller refreshes the key while the others
+     * keep using the previous one, which is also kept if the refresh fails.
+     *
+     * @param resolver The resolver to cache.
+     * @param refreshInterval How long a resolved key is used.
+     * @return The credentials resolver.
+     */
+    static CredentialsResolver cached(@Nonnull CredentialsResolver resolver, @Nonnull Duration refreshInterval) {
+        return new CachingCredentialsResolver(resolver, refreshInterval);
     }
 }
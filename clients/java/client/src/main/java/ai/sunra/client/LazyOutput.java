@@ -0,0 +1,193 @@
+package ai.sunra.client;
+
+import ai.sunra.client.json.JsonCodec;
+import ai.sunra.client.json.JsonPointer;
+import com.google.gson.JsonElement;
+import com.google.gson.stream.JsonReader;
+import jakarta.annotation.Nonnull;
+import jakarta.annotation.Nullable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Objects;
+import okio.ByteString;
+import okio.Okio;
+
+/**
+ * Represents the output of a request whose data is kept as the raw response bytes and only decoded
+ * on demand, either fully, one field at a time through a JSON pointer, or through a streaming
+ * {@link JsonReader}. Reading a single field of a large result this way avoids materializing the
+ * whole document.
+ *
+ * @param <T> the type of the data in the output
+ */
+public class LazyOutput<T> {
+
+    /**
+     * The raw response body.
+     */
+    private final ByteString body;
+
+    /**
+     * The request ID.
+     */
+    private final String requestId;
+
+    /**
+     * The type of the data.
+     */
+    private final Class<T> resultType;
+
+    /**
+     * The codec used to decode the body.
+     */
+    private final JsonCodec codec;
+
+    /**
+     * The decoded data, once requested.
+     */
+    private volatile T data;
+
+    /**
+     * Create a new lazy output.
+     *
+     * @param body The raw response body.
+     * @param requestId The request ID.
+     * @param resultType The type of the data.
+     * @param codec The codec used to decode the body.
+     */
+    public LazyOutput(
+            @Nonnull ByteString body,
+            @Nonnull String requestId,
+            @Nonnull Class<T> resultType,
+            @Nonnull JsonCodec codec) {
+        this.body = Objects.requireNonNull(body);
+        this.requestId = Objects.requireNonNull(requestId);
+        this.resultType = Objects.requireNonNull(resultType);
+        this.codec = Objects.requireNonNull(codec);
+    }
+
+    /**
+     * Get the request ID.
+     *
+     * @return The request ID.
+     */
+    @Nonnull
+    public String getRequestId() {
+        return requestId;
+    }
+
+    /**
+     * Get the raw response body.
+     *
+     * @return The raw response body.
+     */
+    @Nonnull
+    public ByteString getBytes() {
+        return body;
+    }
+
+    /**
+     * Decode the whole body into the result type. The body is decoded on the first call only.
+     *
+     * @return The data.
+     */
+    @Nonnull
+    public T getData() {
+        var result = data;
+        if (result == null) {
+            try {
+                result = codec.decode(Okio.buffer(Okio.source(inputStream())), resultType);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            data = result;
+        }
+        return result;
+    }
+
+    /**
+     * Read the value at the given JSON pointer, e.g. {@code /images/0/url}, without decoding the
+     * rest of the body.
+     *
+     * @param pointer The JSON pointer.
+     * @return The value, or null if the body has no value at this pointer.
+     */
+    @Nullable
+    public JsonElement at(@Nonnull String pointer) {
+        try (final var reader = reader()) {
+            return JsonPointer.parse(pointer).read(reader);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Read the value at the given JSON pointer and convert it into the given type.
+     *
+     * @param <V> the type of the value
+     * @param pointer The JSON pointer.
+     * @param type The type of the value.
+     * @return The value, or null if the body has no value at this pointer.
+     */
+    @Nullable
+    public <V> V at(@Nonnull String pointer, @Nonnull Class<V> type) {
+        final var element = at(pointer);
+        return element != null ? codec.convert(element, type) : null;
+    }
+
+    /**
+     * Open a streaming cursor over the body. The caller owns the reader.
+     *
+     * @return A new reader positioned before the document.
+     */
+    @Nonnull
+    public JsonReader reader() {
+        return new JsonReader(new InputStreamReader(inputStream(), StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Read the body through a view of its bytes, so each decode streams it without a copy.
+     */
+    private InputStream inputStream() {
+        final ByteBuffer bytes = body.asByteBuffer();
+        return new InputStream() {
+            @Override
+            public int read() {
+                return bytes.hasRemaining() ? bytes.get() & 0xff : -1;
+            }
+
+            @Override
+            public int read(byte[] b, int off, int len) {
+                Objects.checkFromIndexSize(off, len, b.length);
+                if (len == 0) {
+                    return 0;
+                }
+                if (!bytes.hasRemaining()) {
+                    return -1;
+                }
+                final int count = Math.min(len, bytes.remaining());
+                bytes.get(b, off, count);
+                return count;
+            }
+
+            @Override
+            public int available() {
+                return bytes.remaining();
+            }
+        };
+    }
+
+    /**
+     * Decode the data and wrap it in an {@link Output}.
+     *
+     * @return The output.
+     */
+    @Nonnull
+    public Output<T> toOutput() {
+        return new Output<>(getData(), requestId);
+    }
+}
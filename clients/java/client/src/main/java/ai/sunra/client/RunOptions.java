@@ -5,6 +5,11 @@ import jakarta.annotation.Nonnull;
 import lombok.Builder;
 import lombok.Data;
 
+/**
+ * The options of a direct, non-queued {@code run} call.
+ *
+ * @param <O> the type of the output payload
+ */
 @Data
 @Builder
 public class RunOptions<O> implements ApiOptions<O> {
@@ -0,0 +1,219 @@
+package ai.sunra.client;
+
+import ai.sunra.client.json.JsonCodec;
+import ai.sunra.client.json.JsonSinkWriter;
+import ai.sunra.client.json.JsonStreamable;
+import com.google.gson.JsonArray;
+import com.google.gson.JsonObject;
+import jakarta.annotation.Nonnull;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import okio.BufferedSink;
+
+/**
+ * A JSON input that is written straight into the request body. Unlike {@link JsonInput} it does
+ * not build a {@link JsonObject} tree: fields are recorded in an append-only list and serialized
+ * once, when the request is sent. Large arrays can be streamed from an {@link Iterator} and binary
+ * data base64-encoded on the fly from an {@link InputStream}.
+ *
+ * <p>Inputs holding an iterator or a stream can only be sent once, so the request is not retried.
+ */
+public class StreamingJsonInput implements JsonStreamable {
+
+    /**
+     * The field names, in insertion order.
+     */
+    private final List<String> keys = new ArrayList<>();
+
+    /**
+     * The field values, at the same index as their names.
+     */
+    private final List<Object> values = new ArrayList<>();
+
+    /**
+     * The index of each field name, so that setting a field again replaces it in constant time.
+     */
+    private final Map<String, Integer> indexes = new HashMap<>();
+
+    /**
+     * Whether any value can only be written once.
+     */
+    private boolean oneShot;
+
+    /**
+     * Create a new streaming JSON input.
+     */
+    StreamingJsonInput() {}
+
+    /**
+     * Create a new streaming JSON input.
+     *
+     * @return The streaming JSON input.
+     */
+    public static StreamingJsonInput input() {
+        return new StreamingJsonInput();
+    }
+
+    /**
+     * Set a property in the input.
+     *
+     * @param key The key.
+     * @param value The value.
+     * @return The streaming JSON input.
+     */
+    public StreamingJsonInput set(String key, String value) {
+        return put(key, value);
+    }
+
+    /**
+     * Set a property in the input.
+     *
+     * @param key The key.
+     * @param value The value.
+     * @return The streaming JSON input.
+     */
+    public StreamingJsonInput set(String key, Number value) {
+        return put(key, value);
+    }
+
+    /**
+     * Set a property in the input.
+     *
+     * @param key The key.
+     * @param value The value.
+     * @return The streaming JSON input.
+     */
+    public StreamingJsonInput set(String key, Boolean value) {
+        return put(key, value);
+    }
+
+    /**
+     * Set a property in the input.
+     *
+     * @param key The key.
+     * @param value The value.
+     * @return The streaming JSON input.
+     */
+    public StreamingJsonInput set(String key, Character value) {
+        return put(key, value);
+    }
+
+    /**
+     * Set a property in the input.
+     *
+     * @param key The key.
+     * @param value The value.
+     * @return The streaming JSON input.
+     */
+    public StreamingJsonInput set(String key, JsonObject value) {
+        return put(key, value);
+    }
+
+    /**
+     * Set a property in the input.
+     *
+     * @param key The key.
+     * @param value The value.
+     * @return The streaming JSON input.
+     */
+    public StreamingJsonInput set(String key, JsonArray value) {
+        return put(key, value);
+    }
+
+    /**
+     * Set a property in the input. The data is base64-encoded on the fly while the request body is
+     * written.
+     *
+     * @param key The key.
+     * @param value The value.
+     * @return The streaming JSON input.
+     */
+    public StreamingJsonInput set(String key, BinaryInput value) {
+        oneShot |= value.isOneShot();
+        return put(key, value);
+    }
+
+    /**
+     * Set an array property whose elements are pulled from the iterator while the request body is
+     * written. Elements may be primitives, JSON trees, maps, lists or any type the codec supports.
+     *
+     * @param key The key.
+     * @param values The elements.
+     * @return The streaming JSON input.
+     */
+    public StreamingJsonInput setArray(@Nonnull String key, @Nonnull Iterator<?> values) {
+        oneShot = true;
+        return put(key, new IteratorValue(values));
+    }
+
+    /**
+     * Set a string property holding the base64 encoding of the stream, encoded on the fly while the
+     * request body is written. The stream is closed once it has been written.
+     *
+     * @param key The key.
+     * @param data The binary data.
+     * @return The streaming JSON input.
+     */
+    public StreamingJsonInput setBase64(@Nonnull String key, @Nonnull InputStream data) {
+        return set(key, BinaryInput.fromStream(data));
+    }
+
+    private StreamingJsonInput put(String key, Object value) {
+        final Integer index = indexes.putIfAbsent(key, keys.size());
+        if (index != null) {
+            values.set(index, value);
+        } else {
+            keys.add(key);
+            values.add(value);
+        }
+        return this;
+    }
+
+    @Override
+    public void writeTo(@Nonnull BufferedSink sink, @Nonnull JsonCodec codec) throws IOException {
+        sink.writeByte('{');
+        boolean first = true;
+        for (int i = 0; i < keys.size(); i++) {
+            if (JsonSinkWriter.isOmitted(values.get(i))) {
+                continue;
+            }
+            if (!first) {
+                sink.writeByte(',');
+            }
+            first = false;
+            JsonSinkWriter.writeString(sink, keys.get(i));
+            sink.writeByte(':');
+            JsonSinkWriter.writeValue(sink, values.get(i), codec);
+        }
+        sink.writeByte('}');
+    }
+
+    @Override
+    public boolean isOneShot() {
+        return oneShot;
+    }
+
+    private static final class IteratorValue implements JsonStreamable {
+
+        private final Iterator<?> values;
+
+        private IteratorValue(Iterator<?> values) {
+            this.values = values;
+        }
+
+        @Override
+        public void writeTo(@Nonnull BufferedSink sink, @Nonnull JsonCodec codec) throws IOException {
+            JsonSinkWriter.writeArray(sink, values, codec);
+        }
+
+        @Override
+        public boolean isOneShot() {
+            return true;
+        }
+    }
+}
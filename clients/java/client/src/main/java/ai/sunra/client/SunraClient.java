@@ -1,8 +1,13 @@
 package ai.sunra.client;
 
+import ai.sunra.client.batch.CloseableIterator;
+import ai.sunra.client.batch.IteratorPublisher;
 import ai.sunra.client.queue.QueueClient;
+import ai.sunra.client.queue.QueueStatus;
 import jakarta.annotation.Nonnull;
 import jakarta.annotation.Nullable;
+import java.util.Iterator;
+import java.util.concurrent.Flow;
 
 /**
  * The main client interface for interacting with the sunra APIs.
@@ -27,6 +32,96 @@ public interface SunraClient {
     @Nullable
     <O> Output<O> subscribe(String endpointId, SubscribeOptions<O> options);
 
+    /**
+     * Run the specified endpoint with the provided options. This method makes a single direct
+     * request and bypasses the queue, which makes it the lowest latency option for endpoints that
+     * complete quickly. Use {@link #subscribe(String, SubscribeOptions)} for long-running
+     * operations.
+     *
+     * @param <O> Output type.
+     * @param endpointId The endpoint ID to run, e.g. `sunra/lcm`.
+     * @param options The run options.
+     * @return The result of the operation.
+     */
+    @Nonnull
+    <O> Output<O> run(String endpointId, RunOptions<O> options);
+
+    /**
+     * Submit every input to the specified endpoint's queue, keeping at most
+     * {@link BatchOptions#getMaxConcurrency()} submissions in flight. Inputs are pulled lazily
+     * from the source as results are consumed.
+     *
+     * @param endpointId The endpoint ID to submit to, e.g. `sunra/lcm`.
+     * @param inputs The inputs, one job per item.
+     * @param options The batch options.
+     * @return A blocking iterator over the submissions, in completion order. Close it when
+     *     stopping early to cancel the pending submissions.
+     */
+    @Nonnull
+    CloseableIterator<BatchResult<QueueStatus.InQueue>> submitAll(
+            String endpointId, Flow.Publisher<?> inputs, BatchOptions<?> options);
+
+    /**
+     * Subscribe to the specified endpoint once per input, keeping at most
+     * {@link BatchOptions#getMaxConcurrency()} jobs in flight. Inputs are pulled lazily from the
+     * source as results are consumed, so memory stays flat regardless of the batch size. Failures
+     * are reported per item through {@link BatchResult#getError()}.
+     *
+     * @param <O> Output type.
+     * @param endpointId The endpoint ID to subscribe to, e.g. `sunra/lcm`.
+     * @param inputs The inputs, one job per item.
+     * @param options The batch options.
+     * @return A blocking iterator over the outputs, in completion order. Close it when stopping
+     *     early to stop pulling inputs and starting jobs.
+     */
+    @Nonnull
+    <O> CloseableIterator<BatchResult<Output<O>>> subscribeAll(
+            String endpointId, Flow.Publisher<?> inputs, BatchOptions<O> options);
+
+    /**
+     * Submit every input to the specified endpoint's queue.
+     *
+     * @see #submitAll(String, Flow.Publisher, BatchOptions)
+     */
+    @Nonnull
+    default CloseableIterator<BatchResult<QueueStatus.InQueue>> submitAll(
+            String endpointId, Iterator<?> inputs, BatchOptions<?> options) {
+        return submitAll(endpointId, new IteratorPublisher<>(inputs), options);
+    }
+
+    /**
+     * Submit every input to the specified endpoint's queue.
+     *
+     * @see #submitAll(String, Flow.Publisher, BatchOptions)
+     */
+    @Nonnull
+    default CloseableIterator<BatchResult<QueueStatus.InQueue>> submitAll(
+            String endpointId, Iterable<?> inputs, BatchOptions<?> options) {
+        return submitAll(endpointId, inputs.iterator(), options);
+    }
+
+    /**
+     * Subscribe to the specified endpoint once per input.
+     *
+     * @see #subscribeAll(String, Flow.Publisher, BatchOptions)
+     */
+    @Nonnull
+    default <O> CloseableIterator<BatchResult<Output<O>>> subscribeAll(
+            String endpointId, Iterator<?> inputs, BatchOptions<O> options) {
+        return subscribeAll(endpointId, new IteratorPublisher<>(inputs), options);
+    }
+
+    /**
+     * Subscribe to the specified endpoint once per input.
+     *
+     * @see #subscribeAll(String, Flow.Publisher, BatchOptions)
+     */
+    @Nonnull
+    default <O> CloseableIterator<BatchResult<Output<O>>> subscribeAll(
+            String endpointId, Iterable<?> inputs, BatchOptions<O> options) {
+        return subscribeAll(endpointId, inputs.iterator(), options);
+    }
+
     /**
      * Get the queue client for interacting with the sunra queue.
      *
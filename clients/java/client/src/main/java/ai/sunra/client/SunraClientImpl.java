@@ -1,13 +1,24 @@
 package ai.sunra.client;
 
+import ai.sunra.client.batch.BatchPublisher;
+import ai.sunra.client.batch.CloseableIterator;
+import ai.sunra.client.batch.PublisherIterator;
 import ai.sunra.client.exception.SunraException;
-import ai.sunra.client.http.ClientProxyInterceptor;
-import ai.sunra.client.http.CredentialsInterceptor;
 import ai.sunra.client.http.HttpClient;
+import ai.sunra.client.http.VirtualThreads;
+import ai.sunra.client.metrics.Phase;
+import ai.sunra.client.metrics.QueueTracer;
+import ai.sunra.client.metrics.SubscribeTimer;
 import ai.sunra.client.queue.*;
 import jakarta.annotation.Nonnull;
 import jakarta.annotation.Nullable;
-import okhttp3.OkHttpClient;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Flow;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
 
 /**
  * The Sunra client implementation.
@@ -24,18 +35,30 @@ public class SunraClientImpl implements SunraClient {
      */
     private final QueueClient queueClient;
 
+    /**
+     * The tracer hooking the steps of the calls.
+     */
+    private final QueueTracer tracer;
+
+    /**
+     * The executor running the blocking jobs of bulk calls. The number of busy threads is bounded
+     * by the batch concurrency, idle threads are reclaimed after a minute. With virtual threads
+     * enabled each job gets a new virtual thread instead.
+     */
+    private final ExecutorService batchExecutor;
+
     /**
      * Create a new Sunra client implementation.
      *
      * @param config The client configuration.
      */
     SunraClientImpl(@Nonnull ClientConfig config) {
-        final var builder = new OkHttpClient.Builder().addInterceptor(new CredentialsInterceptor(config));
-        if (config.getProxyUrl() != null) {
-            builder.addInterceptor(new ClientProxyInterceptor(config));
-        }
-        this.httpClient = new HttpClient(config, builder.build());
+        this.httpClient = new HttpClient(config, HttpClient.newClientBuilder(config).build());
         this.queueClient = new QueueClientImpl(this.httpClient);
+        this.tracer = config.getQueueTracer();
+        this.batchExecutor = tracer.wrap(config.isVirtualThreads()
+                ? VirtualThreads.newThreadPerTaskExecutor("sunra-batch-")
+                : Executors.newCachedThreadPool(new BatchThreadFactory()));
     }
 
     /**
@@ -48,27 +71,50 @@ public class SunraClientImpl implements SunraClient {
     @Override
     @Nullable
     public <O> Output<O> subscribe(String endpointId, SubscribeOptions<O> options) {
+        final var timer = new SubscribeTimer(httpClient.getMetricsRecorder(), endpointId, options.getOnQueueUpdate());
         try {
-            final var enqueued = queueClient.submit(
-                    endpointId,
-                    QueueSubmitOptions.builder()
-                            .input(options.getInput())
-                            .webhookUrl(options.getWebhookUrl())
-                            .build());
-
-            final var completed = queueClient.subscribeToStatus(
-                    QueueSubscribeOptions.builder()
-                            .requestId(enqueued.getRequestId())
-                            .logs(options.getLogs())
-                            .onQueueUpdate(options.getOnQueueUpdate())
-                            .build());
-
-            return queueClient.result(
-                    QueueResultOptions.<O>builder()
-                            .requestId(completed.getRequestId())
-                            .resultType(options.getResultType())
-                            .build());
+            return tracer.<Output<O>>call(null, QueueTracer.Step.SUBSCRIBE, endpointId, trace -> {
+                final var enqueued = tracer.call(trace, QueueTracer.Step.SUBMIT, endpointId, submitTrace -> {
+                    final var submitted = queueClient.submit(
+                            endpointId,
+                            QueueSubmitOptions.builder()
+                                    .input(options.getInput())
+                                    .webhookUrl(options.getWebhookUrl())
+                                    .build());
+                    submitTrace.requestId(submitted.getRequestId());
+                    return submitted;
+                });
+                trace.requestId(enqueued.getRequestId());
+                timer.submitted();
+
+                final var completed = tracer.call(
+                        trace,
+                        QueueTracer.Step.STATUS_STREAM,
+                        endpointId,
+                        streamTrace -> queueClient.subscribeToStatus(QueueSubscribeOptions.builder()
+                                .requestId(enqueued.getRequestId())
+                                .logs(options.getLogs())
+                                .onQueueUpdate(update -> {
+                                    streamTrace.queueUpdate(update);
+                                    timer.accept(update);
+                                })
+                                .endpointId(endpointId)
+                                .build()));
+
+                final var output = tracer.call(
+                        trace,
+                        QueueTracer.Step.RESULT,
+                        endpointId,
+                        resultTrace -> queueClient.result(QueueResultOptions.<O>builder()
+                                .requestId(completed.getRequestId())
+                                .resultType(options.getResultType())
+                                .endpointId(endpointId)
+                                .build()));
+                timer.fetched();
+                return output;
+            });
         } catch (SunraException e) {
+            timer.failed(e);
             if (options.getOnError() != null) {
                 options.getOnError().accept(e);
                 return null; // Don't throw if onError is provided
@@ -77,6 +123,75 @@ public class SunraClientImpl implements SunraClient {
         }
     }
 
+    /**
+     * Run the specified endpoint with a single direct request.
+     *
+     * @param endpointId The endpoint ID to run.
+     * @param options The run options.
+     * @return The output.
+     */
+    @Override
+    @Nonnull
+    public <O> Output<O> run(String endpointId, RunOptions<O> options) {
+        return tracer.call(null, QueueTracer.Step.RUN, endpointId, trace -> {
+            final var url = QueueRequests.RUN_URL + endpointId;
+            final var request = httpClient.prepareRequest(url, options, Map.of(), endpointId);
+            final var recorder = httpClient.getMetricsRecorder();
+            final long start = System.nanoTime();
+            try {
+                final var response = httpClient.executeRequest(request);
+                final var output = httpClient.wrapInResult(response, options.getResultType());
+                recorder.recordPhase(endpointId, Phase.RUN, System.nanoTime() - start);
+                return output;
+            } catch (SunraException e) {
+                recorder.recordError(endpointId, SubscribeTimer.codeOf(e));
+                throw e;
+            }
+        });
+    }
+
+    @Override
+    @Nonnull
+    public CloseableIterator<BatchResult<QueueStatus.InQueue>> submitAll(
+            String endpointId, Flow.Publisher<?> inputs, BatchOptions<?> options) {
+        final var results = new BatchPublisher<Object, QueueStatus.InQueue>(
+                inputs,
+                options.getMaxConcurrency(),
+                input -> CompletableFuture.supplyAsync(
+                        () -> tracer.call(null, QueueTracer.Step.SUBMIT, endpointId, trace -> {
+                            final var submitted = queueClient.submit(
+                                    endpointId,
+                                    QueueSubmitOptions.builder()
+                                            .input(input)
+                                            .webhookUrl(options.getWebhookUrl())
+                                            .build());
+                            trace.requestId(submitted.getRequestId());
+                            return submitted;
+                        }),
+                        batchExecutor));
+        return new PublisherIterator<>(results, options.getMaxConcurrency());
+    }
+
+    @Override
+    @Nonnull
+    public <O> CloseableIterator<BatchResult<Output<O>>> subscribeAll(
+            String endpointId, Flow.Publisher<?> inputs, BatchOptions<O> options) {
+        final var results = new BatchPublisher<Object, Output<O>>(
+                inputs,
+                options.getMaxConcurrency(),
+                input -> CompletableFuture.supplyAsync(
+                        () -> subscribe(
+                                endpointId,
+                                SubscribeOptions.<O>builder()
+                                        .input(input)
+                                        .webhookUrl(options.getWebhookUrl())
+                                        .logs(options.getLogs())
+                                        .resultType(options.getResultType())
+                                        .build()),
+                        batchExecutor));
+        return new PublisherIterator<>(results, options.getMaxConcurrency());
+    }
+
     /**
      * Get the queue client.
      *
@@ -86,4 +201,16 @@ public class SunraClientImpl implements SunraClient {
     public QueueClient queue() {
         return this.queueClient;
     }
+
+    private static final class BatchThreadFactory implements ThreadFactory {
+
+        private final AtomicInteger counter = new AtomicInteger();
+
+        @Override
+        public Thread newThread(@Nonnull Runnable runnable) {
+            final var thread = new Thread(runnable, "sunra-batch-" + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        }
+    }
 }
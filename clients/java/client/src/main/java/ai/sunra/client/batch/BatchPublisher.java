@@ -0,0 +1,268 @@
+package ai.sunra.client.batch;
+
+import ai.sunra.client.BatchResult;
+import ai.sunra.client.exception.SunraException;
+import jakarta.annotation.Nonnull;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Flow;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+
+/**
+ * A publisher that runs one job per input of an upstream publisher, keeping at most
+ * {@code maxConcurrency} jobs in flight, and emits the results in completion order.
+ *
+ * <p>A job counts against the concurrency limit until its result has been delivered downstream,
+ * so a slow consumer stops new inputs from being pulled and memory stays bounded by the limit
+ * regardless of the size of the source.
+ *
+ * @param <I> the type of the inputs
+ * @param <T> the type of the job results
+ */
+public class BatchPublisher<I, T> implements Flow.Publisher<BatchResult<T>> {
+
+    private final Flow.Publisher<? extends I> inputs;
+    private final int maxConcurrency;
+    private final Function<? super I, CompletableFuture<T>> job;
+    private final AtomicBoolean subscribed = new AtomicBoolean();
+
+    /**
+     * Create a new batch publisher.
+     *
+     * @param inputs The upstream inputs.
+     * @param maxConcurrency The maximum number of jobs in flight.
+     * @param job The job to run for every input.
+     */
+    public BatchPublisher(
+            @Nonnull Flow.Publisher<? extends I> inputs,
+            int maxConcurrency,
+            @Nonnull Function<? super I, CompletableFuture<T>> job) {
+        if (maxConcurrency <= 0) {
+            throw new IllegalArgumentException("maxConcurrency must be positive: " + maxConcurrency);
+        }
+        this.inputs = inputs;
+        this.maxConcurrency = maxConcurrency;
+        this.job = job;
+    }
+
+    @Override
+    public void subscribe(Flow.Subscriber<? super BatchResult<T>> subscriber) {
+        if (!subscribed.compareAndSet(false, true)) {
+            subscriber.onSubscribe(NoopSubscription.INSTANCE);
+            subscriber.onError(new IllegalStateException("BatchPublisher allows only a single subscriber"));
+            return;
+        }
+        final var coordinator = new Coordinator(subscriber);
+        subscriber.onSubscribe(coordinator);
+        inputs.subscribe(coordinator);
+    }
+
+    static SunraException toSunraException(Throwable error) {
+        var cause = error;
+        while ((cause instanceof CompletionException || cause instanceof ExecutionException)
+                && cause.getCause() != null) {
+            cause = cause.getCause();
+        }
+        if (cause instanceof SunraException) {
+            return (SunraException) cause;
+        }
+        return new SunraException(cause);
+    }
+
+    private static final class IndexedInput<I> {
+        private final long index;
+        private final I value;
+
+        private IndexedInput(long index, I value) {
+            this.index = index;
+            this.value = value;
+        }
+    }
+
+    /**
+     * Bridges the upstream inputs and the downstream subscriber. All the bookkeeping happens in
+     * {@link #drain()}, which is serialized by {@code wip} so signals may arrive from any thread.
+     */
+    private final class Coordinator implements Flow.Subscriber<I>, Flow.Subscription {
+
+        private final Flow.Subscriber<? super BatchResult<T>> downstream;
+        private final Queue<IndexedInput<I>> pendingInputs = new ConcurrentLinkedQueue<>();
+        private final Queue<BatchResult<T>> completed = new ConcurrentLinkedQueue<>();
+        private final AtomicLong requested = new AtomicLong();
+        private final AtomicInteger wip = new AtomicInteger();
+
+        private volatile Flow.Subscription upstream;
+        private volatile boolean upstreamDone;
+        private volatile Throwable upstreamError;
+        private volatile boolean cancelled;
+
+        // Only touched by the upstream signal thread.
+        private long nextIndex;
+
+        // Only touched inside drain().
+        private int active;
+        private long upstreamOutstanding;
+        private boolean terminated;
+
+        private Coordinator(Flow.Subscriber<? super BatchResult<T>> downstream) {
+            this.downstream = downstream;
+        }
+
+        @Override
+        public void onSubscribe(Flow.Subscription subscription) {
+            if (upstream != null) {
+                subscription.cancel();
+                return;
+            }
+            upstream = subscription;
+            drain();
+        }
+
+        @Override
+        public void onNext(I item) {
+            pendingInputs.offer(new IndexedInput<>(nextIndex++, item));
+            drain();
+        }
+
+        @Override
+        public void onError(Throwable throwable) {
+            upstreamError = throwable;
+            upstreamDone = true;
+            drain();
+        }
+
+        @Override
+        public void onComplete() {
+            upstreamDone = true;
+            drain();
+        }
+
+        @Override
+        public void request(long n) {
+            if (n <= 0) {
+                cancel();
+                downstream.onError(new IllegalArgumentException("Requested items must be positive: " + n));
+                return;
+            }
+            requested.getAndUpdate(current -> {
+                final long next = current + n;
+                return next < 0 ? Long.MAX_VALUE : next;
+            });
+            drain();
+        }
+
+        @Override
+        public void cancel() {
+            cancelled = true;
+            final var subscription = upstream;
+            if (subscription != null) {
+                subscription.cancel();
+            }
+            drain();
+        }
+
+        private void launch(IndexedInput<I> input) {
+            CompletableFuture<T> future;
+            try {
+                future = job.apply(input.value);
+            } catch (RuntimeException e) {
+                future = CompletableFuture.failedFuture(e);
+            }
+            future.whenComplete((value, error) -> {
+                // Whatever happens here, the slot must be released or the batch never ends.
+                try {
+                    if (error != null) {
+                        completed.offer(BatchResult.failure(input.index, toSunraException(error)));
+                    } else {
+                        completed.offer(BatchResult.success(input.index, value));
+                    }
+                } catch (RuntimeException e) {
+                    completed.offer(BatchResult.failure(input.index, toSunraException(e)));
+                } finally {
+                    drain();
+                }
+            });
+        }
+
+        private void drain() {
+            if (wip.getAndIncrement() != 0) {
+                return;
+            }
+            int missed = 1;
+            do {
+                if (terminated) {
+                    return;
+                }
+                if (cancelled) {
+                    pendingInputs.clear();
+                    completed.clear();
+                    terminated = true;
+                    return;
+                }
+
+                IndexedInput<I> input;
+                while ((input = pendingInputs.poll()) != null) {
+                    upstreamOutstanding--;
+                    active++;
+                    launch(input);
+                }
+
+                final long demand = requested.get();
+                long emitted = 0;
+                while (emitted != demand) {
+                    final var result = completed.poll();
+                    if (result == null) {
+                        break;
+                    }
+                    active--;
+                    emitted++;
+                    downstream.onNext(result);
+                    if (cancelled) {
+                        break;
+                    }
+                }
+                if (emitted != 0 && demand != Long.MAX_VALUE) {
+                    requested.addAndGet(-emitted);
+                }
+
+                final var subscription = upstream;
+                if (subscription != null && !upstreamDone && !cancelled) {
+                    final long slots = maxConcurrency - active - upstreamOutstanding;
+                    if (slots > 0) {
+                        upstreamOutstanding += slots;
+                        subscription.request(slots);
+                    }
+                }
+
+                if (upstreamDone && active == 0 && pendingInputs.isEmpty() && completed.isEmpty()) {
+                    terminated = true;
+                    final var error = upstreamError;
+                    if (error != null) {
+                        downstream.onError(error);
+                    } else {
+                        downstream.onComplete();
+                    }
+                    return;
+                }
+
+                missed = wip.addAndGet(-missed);
+            } while (missed != 0);
+        }
+    }
+
+    enum NoopSubscription implements Flow.Subscription {
+        INSTANCE;
+
+        @Override
+        public void request(long n) {}
+
+        @Override
+        public void cancel() {}
+    }
+}
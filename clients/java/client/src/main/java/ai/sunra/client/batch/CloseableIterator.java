@@ -0,0 +1,18 @@
+package ai.sunra.client.batch;
+
+import java.util.Iterator;
+
+/**
+ * An {@link Iterator} holding a resource, such as an open stream, until it is exhausted or closed.
+ * Close it when stopping early, e.g. with try-with-resources, to release the resource.
+ *
+ * @param <T> the type of the items
+ */
+public interface CloseableIterator<T> extends Iterator<T>, AutoCloseable {
+
+    /**
+     * Release the underlying resource. Further calls to {@link #hasNext()} return false.
+     */
+    @Override
+    void close();
+}
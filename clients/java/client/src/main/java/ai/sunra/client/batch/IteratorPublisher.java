@@ -0,0 +1,99 @@
+package ai.sunra.client.batch;
+
+import jakarta.annotation.Nonnull;
+import java.util.Iterator;
+import java.util.concurrent.Flow;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * A single-subscriber publisher that lazily pulls items from an {@link Iterator} as they are
+ * requested, so the source is never materialized in memory.
+ *
+ * @param <T> the type of the items
+ */
+public class IteratorPublisher<T> implements Flow.Publisher<T> {
+
+    private final Iterator<? extends T> iterator;
+    private final AtomicBoolean subscribed = new AtomicBoolean();
+
+    /**
+     * Create a new iterator publisher.
+     *
+     * @param iterator The source iterator.
+     */
+    public IteratorPublisher(@Nonnull Iterator<? extends T> iterator) {
+        this.iterator = iterator;
+    }
+
+    @Override
+    public void subscribe(Flow.Subscriber<? super T> subscriber) {
+        if (!subscribed.compareAndSet(false, true)) {
+            subscriber.onSubscribe(BatchPublisher.NoopSubscription.INSTANCE);
+            subscriber.onError(new IllegalStateException("IteratorPublisher allows only a single subscriber"));
+            return;
+        }
+        subscriber.onSubscribe(new IteratorSubscription(subscriber));
+    }
+
+    private final class IteratorSubscription implements Flow.Subscription {
+
+        private final Flow.Subscriber<? super T> subscriber;
+        private final AtomicLong requested = new AtomicLong();
+        private final AtomicInteger wip = new AtomicInteger();
+        private volatile boolean cancelled;
+        private boolean done;
+
+        private IteratorSubscription(Flow.Subscriber<? super T> subscriber) {
+            this.subscriber = subscriber;
+        }
+
+        @Override
+        public void request(long n) {
+            if (n <= 0) {
+                cancelled = true;
+                subscriber.onError(new IllegalArgumentException("Requested items must be positive: " + n));
+                return;
+            }
+            requested.getAndUpdate(current -> {
+                final long next = current + n;
+                return next < 0 ? Long.MAX_VALUE : next;
+            });
+            if (wip.getAndIncrement() != 0) {
+                return;
+            }
+            int missed = 1;
+            do {
+                long demand = requested.get();
+                long emitted = 0;
+                while (emitted != demand && !cancelled && !done) {
+                    final T item;
+                    try {
+                        if (!iterator.hasNext()) {
+                            done = true;
+                            subscriber.onComplete();
+                            break;
+                        }
+                        item = iterator.next();
+                    } catch (RuntimeException e) {
+                        done = true;
+                        subscriber.onError(e);
+                        break;
+                    }
+                    subscriber.onNext(item);
+                    emitted++;
+                }
+                if (emitted != 0 && demand != Long.MAX_VALUE) {
+                    requested.addAndGet(-emitted);
+                }
+                missed = wip.addAndGet(-missed);
+            } while (missed != 0);
+        }
+
+        @Override
+        public void cancel() {
+            cancelled = true;
+        }
+    }
+}
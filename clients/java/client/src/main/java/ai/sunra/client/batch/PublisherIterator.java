@@ -0,0 +1,126 @@
+package ai.sunra.client.batch;
+
+import ai.sunra.client.exception.SunraException;
+import jakarta.annotation.Nonnull;
+import java.util.NoSuchElementException;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Flow;
+import java.util.concurrent.LinkedBlockingQueue;
+
+/**
+ * A blocking {@link java.util.Iterator} view over a {@link Flow.Publisher}. At most {@code prefetch} items
+ * are requested ahead of the consumer, so a slow consumer applies backpressure to the publisher.
+ *
+ * @param <T> the type of the items
+ */
+public class PublisherIterator<T> implements CloseableIterator<T>, Flow.Subscriber<T> {
+
+    private static final Object COMPLETE = new Object();
+
+    private final BlockingQueue<Object> signals = new LinkedBlockingQueue<>();
+    private final int prefetch;
+    private final int replenishThreshold;
+    private volatile Flow.Subscription subscription;
+    private int consumedSinceRequest;
+    private Object next;
+    private boolean finished;
+
+    /**
+     * Create a new publisher iterator and subscribe it to the given publisher.
+     *
+     * @param publisher The publisher.
+     * @param prefetch The number of items to request ahead of the consumer.
+     */
+    public PublisherIterator(@Nonnull Flow.Publisher<? extends T> publisher, int prefetch) {
+        this.prefetch = Math.max(1, prefetch);
+        this.replenishThreshold = Math.max(1, this.prefetch / 2);
+        publisher.subscribe(this);
+    }
+
+    @Override
+    public void onSubscribe(Flow.Subscription subscription) {
+        this.subscription = subscription;
+        subscription.request(prefetch);
+    }
+
+    @Override
+    public void onNext(T item) {
+        signals.offer(item);
+    }
+
+    @Override
+    public void onError(Throwable throwable) {
+        signals.offer(new Failure(throwable));
+    }
+
+    @Override
+    public void onComplete() {
+        signals.offer(COMPLETE);
+    }
+
+    @Override
+    public boolean hasNext() {
+        if (next != null) {
+            return true;
+        }
+        if (finished) {
+            return false;
+        }
+        final Object signal;
+        try {
+            signal = signals.take();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            close();
+            throw new SunraException(e);
+        }
+        if (signal == COMPLETE) {
+            finished = true;
+            return false;
+        }
+        if (signal instanceof Failure) {
+            finished = true;
+            throw BatchPublisher.toSunraException(((Failure) signal).error);
+        }
+        next = signal;
+        return true;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public T next() {
+        if (!hasNext()) {
+            throw new NoSuchElementException();
+        }
+        final T item = (T) next;
+        next = null;
+        if (++consumedSinceRequest >= replenishThreshold) {
+            final int amount = consumedSinceRequest;
+            consumedSinceRequest = 0;
+            subscription.request(amount);
+        }
+        return item;
+    }
+
+    /**
+     * Cancel the underlying subscription. Jobs already in flight are left to complete but their
+     * results are discarded.
+     */
+    @Override
+    public void close() {
+        finished = true;
+        final var current = subscription;
+        if (current != null) {
+            current.cancel();
+        }
+        signals.clear();
+    }
+
+    private static final class Failure {
+        private final Throwable error;
+
+        private Failure(Throwable error) {
+            this.error = error;
+        }
+    }
+}
@@ -2,41 +2,38 @@ package ai.sunra.client.http;
 
 import ai.sunra.client.ClientConfig;
 import jakarta.annotation.Nonnull;
-import java.io.IOException;
 import okhttp3.HttpUrl;
-import okhttp3.Interceptor;
 import okhttp3.Request;
 import okhttp3.Response;
-import org.jetbrains.annotations.NotNull;
 
-public class ClientProxyInterceptor implements Interceptor {
+public class ClientProxyInterceptor implements SplitInterceptor {
 
     public static final String HEADER_TARGET_URL = "X-Sunra-Target-Url";
 
-    private final ClientConfig config;
+    private final HttpUrl proxyUrl;
 
     public ClientProxyInterceptor(@Nonnull ClientConfig config) {
-        this.config = config;
+        this.proxyUrl = config.getProxyUrl() != null ? HttpUrl.parse(config.getProxyUrl()) : null;
     }
 
     @Override
     @Nonnull
-    public Response intercept(@NotNull Chain chain) throws IOException {
-        final String proxyUrl = config.getProxyUrl();
-        if (proxyUrl == null) {
-            return chain.proceed(chain.request());
+    public Request before(@Nonnull Request originalRequest) {
+        // Requests prepared from a template are already sent to the proxy.
+        if (proxyUrl == null || originalRequest.header(HEADER_TARGET_URL) != null) {
+            return originalRequest;
         }
-        Request originalRequest = chain.request();
         HttpUrl originalUrl = originalRequest.url();
 
-        Request.Builder requestBuilder = originalRequest.newBuilder().header(HEADER_TARGET_URL, originalUrl.toString());
-
-        HttpUrl newUrl = HttpUrl.parse(proxyUrl);
-        if (newUrl != null) {
-            requestBuilder.url(newUrl);
-        }
+        return originalRequest.newBuilder()
+                .header(HEADER_TARGET_URL, originalUrl.toString())
+                .url(proxyUrl)
+                .build();
+    }
 
-        Request newRequest = requestBuilder.build();
-        return chain.proceed(newRequest);
+    @Override
+    @Nonnull
+    public Response after(@Nonnull Request request, @Nonnull Response response) {
+        return response;
     }
 }
@@ -2,12 +2,10 @@ package ai.sunra.client.http;
 
 import ai.sunra.client.ClientConfig;
 import jakarta.annotation.Nonnull;
-import java.io.IOException;
-import okhttp3.Interceptor;
+import okhttp3.Request;
 import okhttp3.Response;
-import org.jetbrains.annotations.NotNull;
 
-public class CredentialsInterceptor implements Interceptor {
+public class CredentialsInterceptor implements SplitInterceptor {
 
     private final ClientConfig config;
 
@@ -17,16 +15,26 @@ public class CredentialsInterceptor implements Interceptor {
 
     @Override
     @Nonnull
-    public Response intercept(@NotNull Chain chain) throws IOException {
-        var resolver = config.getCredentials();
-        var credentials = resolver.get();
-        if (credentials != null) {
-            var request = chain.request()
-                    .newBuilder()
-                    .header("Authorization", "Key " + credentials)
-                    .build();
-            return chain.proceed(request);
+    public Request before(@Nonnull Request request) {
+        // Set when the request was prepared from a template.
+        if (request.header("Authorization") != null) {
+            return request;
         }
-        return chain.proceed(chain.request());
+        var credentials = config.getCredentials().get();
+        if (credentials == null) {
+            return request;
+        }
+        return request.newBuilder().header("Authorization", "Key " + credentials).build();
+    }
+
+    @Override
+    @Nonnull
+    public Response after(@Nonnull Request request, @Nonnull Response response) {
+        var authorization = request.header("Authorization");
+        var rateLimit = HttpClient.extractRateLimitFromHeaders(response);
+        if (rateLimit != null && authorization != null && authorization.startsWith("Key ")) {
+            config.getCredentials().onRateLimit(authorization.substring(4), rateLimit);
+        }
+        return response;
     }
 }
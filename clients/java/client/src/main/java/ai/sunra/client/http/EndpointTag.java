@@ -0,0 +1,26 @@
+package ai.sunra.client.http;
+
+import jakarta.annotation.Nonnull;
+
+/**
+ * Attached to requests made on behalf of an endpoint, so that the measurements taken at the
+ * HTTP level can be attributed to it.
+ */
+public final class EndpointTag {
+
+    private final String endpointId;
+
+    public EndpointTag(@Nonnull String endpointId) {
+        this.endpointId = endpointId;
+    }
+
+    /**
+     * Get the endpoint ID.
+     *
+     * @return The endpoint ID.
+     */
+    @Nonnull
+    public String getEndpointId() {
+        return endpointId;
+    }
+}
@@ -2,43 +2,161 @@ package ai.sunra.client.http;
 
 import ai.sunra.client.ApiOptions;
 import ai.sunra.client.ClientConfig;
+import ai.sunra.client.LazyOutput;
 import ai.sunra.client.Output;
 import ai.sunra.client.exception.SunraException;
+import ai.sunra.client.jfr.HttpDecodeEvent;
+import ai.sunra.client.jfr.HttpExecuteEvent;
+import ai.sunra.client.jfr.HttpPrepareEvent;
+import ai.sunra.client.jfr.JfrSupport;
+import ai.sunra.client.json.JsonCodec;
+import ai.sunra.client.json.JsonStreamable;
+import ai.sunra.client.metrics.MetricsRecorder;
+import ai.sunra.client.queue.QueueStatus;
 import ai.sunra.client.util.Version;
-import com.google.gson.Gson;
 import com.google.gson.JsonElement;
+import com.google.gson.JsonNull;
 import jakarta.annotation.Nonnull;
+import jakarta.annotation.Nullable;
 import java.io.IOException;
+import java.net.InetAddress;
+import java.util.Collection;
 import java.util.Collections;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
 import okhttp3.Call;
 import okhttp3.Callback;
+import okhttp3.ConnectionPool;
+import okhttp3.Dispatcher;
+import okhttp3.Headers;
 import okhttp3.HttpUrl;
 import okhttp3.MediaType;
 import okhttp3.OkHttpClient;
 import okhttp3.Request;
 import okhttp3.RequestBody;
 import okhttp3.Response;
+import okhttp3.sse.EventSource;
+import okhttp3.sse.EventSourceListener;
+import okio.Buffer;
+import okio.ByteString;
 
 public class HttpClient {
 
-    private static final String APPLICATION_JSON = "application/json";
+    static final String APPLICATION_JSON = "application/json";
 
     private static final String HEADER_REQUEST_ID = "x-request-id";
 
-    private static final String USER_AGENT = "sunra-client/" + Version.get() + " (java)";
+    static final String USER_AGENT = "sunra-client/" + Version.get() + " (java)";
+
+    private static final MediaType JSON = MediaType.get(APPLICATION_JSON);
+
+    private static final Headers DEFAULT_HEADERS =
+            Headers.of("content-type", APPLICATION_JSON, "accept", APPLICATION_JSON, "user-agent", USER_AGENT);
+
+    private static final ByteString NULL_JSON = ByteString.encodeUtf8("null");
+
+    private static final ByteString EMPTY_OBJECT_JSON = ByteString.encodeUtf8("{}");
+
+    private static final RequestBody EMPTY_OBJECT_BODY = RequestBody.create(EMPTY_OBJECT_JSON, JSON);
+
+    private static final int STREAMABLE = 1;
+
+    private static final int ONE_SHOT = 2;
 
     private final ClientConfig config;
     private final OkHttpClient client;
-    private final Gson gson;
+    private final Transport transport;
+    private final JsonCodec codec;
+    private final HttpUrl proxyUrl;
+    private volatile Authorization authorization;
 
     public HttpClient(@Nonnull ClientConfig config, @Nonnull OkHttpClient client) {
         this.config = config;
         this.client = client;
-        this.gson = new Gson();
+        this.transport = config.getTransportFactory().create(client);
+        this.codec = config.getJsonCodec();
+        this.proxyUrl = config.getProxyUrl() != null ? HttpUrl.parse(config.getProxyUrl()) : null;
+    }
+
+    /**
+     * The last credentials resolved and their header value, reused while they do not change.
+     */
+    private static final class Authorization {
+        final String credentials;
+        final String header;
+
+        Authorization(String credentials) {
+            this.credentials = credentials;
+            this.header = "Key " + credentials;
+        }
+    }
+
+    /**
+     * Create an OkHttp client builder with the interceptors required by the given config.
+     *
+     * @param config The client configuration.
+     * @return The OkHttp client builder.
+     */
+    @Nonnull
+    public static OkHttpClient.Builder newClientBuilder(@Nonnull ClientConfig config) {
+        // The pool and dispatcher are created here to be shared with the metrics listener.
+        final var connectionPool = new ConnectionPool();
+        final Dispatcher dispatcher;
+        if (config.getDispatcherExecutor() != null) {
+            dispatcher = new Dispatcher(config.getDispatcherExecutor());
+        } else if (config.isVirtualThreads()) {
+            dispatcher = new Dispatcher(VirtualThreads.newThreadPerTaskExecutor("sunra-dispatcher-"));
+        } else {
+            dispatcher = new Dispatcher();
+        }
+        if (config.getMaxConcurrentRequests() > 0) {
+            dispatcher.setMaxRequests(config.getMaxConcurrentRequests());
+            dispatcher.setMaxRequestsPerHost(config.getMaxConcurrentRequests());
+        } else if (config.isVirtualThreads()) {
+            // A virtual thread per call is cheap, the default limits would only queue calls.
+            dispatcher.setMaxRequests(Integer.MAX_VALUE);
+            dispatcher.setMaxRequestsPerHost(Integer.MAX_VALUE);
+        }
+        final var builder = new OkHttpClient.Builder()
+                .connectionPool(connectionPool)
+                .dispatcher(dispatcher)
+                .protocols(config.getHttpVersion().getProtocols())
+                .addInterceptor(new CredentialsInterceptor(config));
+        if (config.getHttpVersion() == HttpVersion.H2_PRIOR_KNOWLEDGE) {
+            final var proxyUrl = config.getProxyUrl() != null ? HttpUrl.parse(config.getProxyUrl()) : null;
+            if (proxyUrl == null || proxyUrl.isHttps()) {
+                throw new IllegalStateException("HTTP/2 with prior knowledge requires an http:// proxy URL");
+            }
+        }
+        if (config.getUnixSocketPath() != null) {
+            if (config.getProxyUrl() == null) {
+                throw new IllegalStateException("A Unix domain socket requires a proxy URL");
+            }
+            // Every connection goes to the socket, skip resolving the proxy host name.
+            builder.socketFactory(new UnixDomainSocketFactory(config.getUnixSocketPath()))
+                    .dns(hostname -> List.of(InetAddress.getByAddress(hostname, new byte[] {127, 0, 0, 1})));
+        }
+        if (config.getMaxConcurrentStreams() > 0 || config.getMultiplexingStats() != null) {
+            builder.addNetworkInterceptor(
+                    new StreamLimitInterceptor(config.getMaxConcurrentStreams(), config.getMultiplexingStats()));
+        }
+        if (config.getProxyUrl() != null) {
+            builder.addInterceptor(new ClientProxyInterceptor(config));
+        }
+        config.getInterceptors().forEach(builder::addInterceptor);
+        final var recorder = config.getMetricsRecorder();
+        if (recorder != MetricsRecorder.NOOP) {
+            builder.eventListenerFactory(new MetricsEventListener.Factory(recorder, connectionPool, dispatcher))
+                    .addInterceptor(new MetricsInterceptor(recorder));
+        }
+        if (config.getResponseLeakDetector() != null) {
+            builder.addInterceptor(config.getResponseLeakDetector());
+        }
+        return builder;
     }
 
     @Nonnull
@@ -49,65 +167,361 @@ public class HttpClient {
     @Nonnull
     public Request prepareRequest(
             @Nonnull String url, @Nonnull ApiOptions options, @Nonnull Map<String, Object> queryParams) {
-        var body = options.getInput() != null ? gson.toJson(options.getInput()) : null;
-        if ("null".equals(body)) {
-            body = "{}";
-        }
+        return prepareRequest(url, options, queryParams, null);
+    }
+
+    /**
+     * Prepare a request made on behalf of an endpoint, to which its measurements are attributed.
+     *
+     * @param url The URL.
+     * @param options The API options.
+     * @param queryParams The query parameters.
+     * @param endpointId The endpoint ID, or null if unknown.
+     * @return The request.
+     */
+    @Nonnull
+    public Request prepareRequest(
+            @Nonnull String url,
+            @Nonnull ApiOptions options,
+            @Nonnull Map<String, Object> queryParams,
+            @Nullable String endpointId) {
+        final var event = beginPrepareEvent();
         var urlBuilder = HttpUrl.parse(url).newBuilder();
         if (!queryParams.isEmpty()) {
             queryParams.forEach((key, value) -> urlBuilder.addQueryParameter(key, value.toString()));
         }
         final var httpMethod = Optional.ofNullable(options.getHttpMethod()).orElse("POST");
-        return new Request.Builder()
-                .addHeader("content-type", "application/json")
-                .addHeader("accept", "application/json")
-                .addHeader("user-agent", USER_AGENT)
-                .method(
-                        httpMethod,
-                        !httpMethod.equalsIgnoreCase("GET") && body != null
-                                ? RequestBody.create(body, MediaType.parse(APPLICATION_JSON))
-                                : null)
-                .url(urlBuilder.build().url())
+        final var input = options.getInput();
+        final var body = !httpMethod.equalsIgnoreCase("GET") && input != null ? createBody(input) : null;
+        final var request = new Request.Builder()
+                .headers(DEFAULT_HEADERS)
+                .method(httpMethod, body)
+                .url(urlBuilder.build())
+                .tag(EndpointTag.class, endpointId != null ? new EndpointTag(endpointId) : null)
                 .build();
+        if (event != null && event.shouldCommit()) {
+            event.method = httpMethod;
+            event.url = url;
+            event.requestBytes = requestBytes(request);
+            event.commit();
+        }
+        return request;
+    }
+
+    /**
+     * Prepare a request from a template, with the credentials and, if configured, the proxy
+     * already applied so that the interceptors need not rebuild it.
+     *
+     * @param template The request template.
+     * @param path The variable path of the URL, e.g. the endpoint or request ID.
+     * @param options The API options.
+     * @param queryName The name of the query parameter, or null.
+     * @param queryValue The value of the query parameter, or null to leave it out.
+     * @param endpointId The endpoint ID, or null if unknown.
+     * @return The request.
+     */
+    @Nonnull
+    public Request prepareRequest(
+            @Nonnull RequestTemplate template,
+            @Nonnull String path,
+            @Nonnull ApiOptions options,
+            @Nullable String queryName,
+            @Nullable String queryValue,
+            @Nullable String endpointId) {
+        final var event = beginPrepareEvent();
+        final var url = template.url(path, queryName, queryValue);
+        final var httpMethod = template.getMethod();
+        final var input = options.getInput();
+        final var body = !httpMethod.equals("GET") && input != null ? createBody(input) : null;
+        final var builder = new Request.Builder().headers(template.getHeaders()).method(httpMethod, body);
+        if (proxyUrl != null) {
+            builder.url(proxyUrl).header(ClientProxyInterceptor.HEADER_TARGET_URL, url.toString());
+        } else {
+            builder.url(url);
+        }
+        final var credentials = config.getCredentials() != null ? config.getCredentials().get() : null;
+        if (credentials != null) {
+            var cached = authorization;
+            if (cached == null || !cached.credentials.equals(credentials)) {
+                cached = new Authorization(credentials);
+                authorization = cached;
+            }
+            builder.header("Authorization", cached.header);
+        }
+        if (endpointId != null) {
+            builder.tag(EndpointTag.class, new EndpointTag(endpointId));
+        }
+        final var request = builder.build();
+        if (event != null && event.shouldCommit()) {
+            event.method = httpMethod;
+            event.url = url.toString();
+            event.requestBytes = requestBytes(request);
+            event.commit();
+        }
+        return request;
     }
 
+    private RequestBody createBody(@Nonnull Object input) {
+        if (input instanceof JsonNull) {
+            return EMPTY_OBJECT_BODY;
+        }
+        final int streamables = scanStreamables(input);
+        if (streamables != 0) {
+            return new JsonRequestBody(input, (streamables & ONE_SHOT) != 0, codec, JSON);
+        }
+        return RequestBody.create(encode(input), JSON);
+    }
+
+    /**
+     * Look for {@link JsonStreamable} values, e.g. binary inputs, in maps and collections, which
+     * must be written straight into the request body rather than through the codec.
+     */
+    private static int scanStreamables(Object value) {
+        if (value instanceof JsonStreamable) {
+            return STREAMABLE | (((JsonStreamable) value).isOneShot() ? ONE_SHOT : 0);
+        }
+        int result = 0;
+        if (value instanceof Map) {
+            for (final Object item : ((Map<?, ?>) value).values()) {
+                result |= scanStreamables(item);
+            }
+        } else if (value instanceof Collection) {
+            for (final Object item : (Collection<?>) value) {
+                result |= scanStreamables(item);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Encode the input with the configured codec. Inputs that encode to {@code null} are sent as
+     * an empty object.
+     */
+    private ByteString encode(@Nonnull Object input) {
+        if (input instanceof JsonNull) {
+            return EMPTY_OBJECT_JSON;
+        }
+        final var buffer = new Buffer();
+        try {
+            codec.encode(input, buffer);
+        } catch (IOException ex) {
+            throw new SunraException(ex);
+        }
+        final var bytes = buffer.readByteString();
+        return NULL_JSON.equals(bytes) ? EMPTY_OBJECT_JSON : bytes;
+    }
+
+    /**
+     * Execute the request. The caller owns the returned response and must close it, which the
+     * {@code handle*} and {@code wrapIn*} methods do.
+     */
     public Response executeRequest(Request request) {
+        if (config.isVirtualThreads() && VirtualThreads.isVirtual(Thread.currentThread())) {
+            return awaitResponse(request);
+        }
+        final var event = beginExecuteEvent();
         try {
-            return client.newCall(request).execute();
+            final var response = transport.newCall(request).execute();
+            commitExecuteEvent(event, request, response);
+            return response;
         } catch (IOException ex) {
+            commitExecuteEvent(event, request, null);
             throw new SunraException(ex);
         }
     }
 
+    /**
+     * Execute the request on the dispatcher and park until the response arrives. OkHttp's blocking
+     * calls wait inside monitors on HTTP/2, which would pin the carrier of a virtual thread.
+     */
+    private Response awaitResponse(Request request) {
+        final var future = executeRequestAsync(request);
+        try {
+            return future.get();
+        } catch (InterruptedException ex) {
+            future.cancel(true);
+            Thread.currentThread().interrupt();
+            throw new SunraException(ex);
+        } catch (ExecutionException ex) {
+            final var cause = ex.getCause();
+            if (cause instanceof SunraException) {
+                throw (SunraException) cause;
+            }
+            throw new SunraException(cause);
+        }
+    }
+
+    /**
+     * Execute the request asynchronously. The response is closed right away if the future was
+     * already completed, e.g. cancelled, when it arrives.
+     */
     public CompletableFuture<Response> executeRequestAsync(Request request) {
         var future = new CompletableFuture<Response>();
-        client.newCall(request).enqueue(new Callback() {
+        final var event = beginExecuteEvent();
+        transport.newCall(withAllocationSite(request)).enqueue(new Callback() {
             @Override
             public void onResponse(Call call, Response response) {
-                future.complete(response);
+                commitExecuteEvent(event, request, response);
+                if (!future.complete(response)) {
+                    response.close();
+                }
             }
 
             @Override
             public void onFailure(Call call, IOException e) {
+                commitExecuteEvent(event, request, null);
                 future.completeExceptionally(e);
             }
         });
         return future;
     }
 
-    public <T> T handleResponse(Response response, Class<T> resultType) {
-        final var requestId = response.header(HEADER_REQUEST_ID);
-        if (!response.isSuccessful()) {
-            throw responseToException(response);
+    @Nullable
+    private static HttpPrepareEvent beginPrepareEvent() {
+        if (!JfrSupport.AVAILABLE) {
+            return null;
         }
-        final var body = response.body();
+        final var event = new HttpPrepareEvent();
+        event.begin();
+        return event;
+    }
+
+    @Nullable
+    private static HttpExecuteEvent beginExecuteEvent() {
+        if (!JfrSupport.AVAILABLE) {
+            return null;
+        }
+        final var event = new HttpExecuteEvent();
+        event.begin();
+        return event;
+    }
+
+    @Nullable
+    private static HttpDecodeEvent beginDecodeEvent() {
+        if (!JfrSupport.AVAILABLE) {
+            return null;
+        }
+        final var event = new HttpDecodeEvent();
+        event.begin();
+        return event;
+    }
+
+    private static void commitExecuteEvent(
+            @Nullable HttpExecuteEvent event, Request request, @Nullable Response response) {
+        if (event == null) {
+            return;
+        }
+        event.end();
+        if (event.shouldCommit()) {
+            final var tag = request.tag(EndpointTag.class);
+            event.endpointId = tag != null ? tag.getEndpointId() : null;
+            event.method = request.method();
+            event.url = request.url().toString();
+            event.requestBytes = requestBytes(request);
+            if (response != null) {
+                event.statusCode = response.code();
+                event.responseBytes = responseBytes(response);
+            }
+            event.commit();
+        }
+    }
+
+    private static void commitDecodeEvent(@Nullable HttpDecodeEvent event, Response response, Class<?> resultType) {
+        if (event == null) {
+            return;
+        }
+        event.end();
+        if (event.shouldCommit()) {
+            event.requestId = response.header(HEADER_REQUEST_ID);
+            event.resultType = resultType.getName();
+            event.statusCode = response.code();
+            event.responseBytes = responseBytes(response);
+            event.commit();
+        }
+    }
+
+    /**
+     * Get the size of the request body.
+     *
+     * @param request The request.
+     * @return The size, or -1 if unknown until written.
+     */
+    public static long requestBytes(@Nonnull Request request) {
+        final var body = request.body();
         if (body == null) {
-            throw new SunraException("Response has empty body", requestId);
+            return 0;
         }
-        return gson.fromJson(body.charStream(), resultType);
+        try {
+            return body.contentLength();
+        } catch (IOException ex) {
+            return -1;
+        }
+    }
+
+    /**
+     * Get the size of the response body.
+     *
+     * @param response The response.
+     * @return The size, or -1 if unknown until read.
+     */
+    public static long responseBytes(@Nonnull Response response) {
+        final var body = response.body();
+        return body != null ? body.contentLength() : 0;
     }
 
-    private SunraException.RateLimitInfo extractRateLimitFromHeaders(Response response) {
+    /**
+     * Decode the response body, then close the response.
+     */
+    public <T> T handleResponse(Response response, Class<T> resultType) {
+        try (response) {
+            final var requestId = response.header(HEADER_REQUEST_ID);
+            if (!response.isSuccessful()) {
+                throw responseToException(response);
+            }
+            final var body = response.body();
+            if (body == null) {
+                throw new SunraException("Response has empty body", requestId);
+            }
+            try {
+                final var event = beginDecodeEvent();
+                final var result = codec.decode(body.source(), resultType);
+                commitDecodeEvent(event, response, resultType);
+                return result;
+            } catch (IOException ex) {
+                throw new SunraException("Failed to read response body", ex, requestId);
+            }
+        }
+    }
+
+    /**
+     * Decode a status response into the matching {@link QueueStatus.StatusUpdate} subtype, then
+     * close the response.
+     *
+     * @param response The response.
+     * @return The status update.
+     */
+    public QueueStatus.StatusUpdate handleStatusResponse(Response response) {
+        try (response) {
+            final var requestId = response.header(HEADER_REQUEST_ID);
+            if (!response.isSuccessful()) {
+                throw responseToException(response);
+            }
+            final var body = response.body();
+            if (body == null) {
+                throw new SunraException("Response has empty body", requestId);
+            }
+            try {
+                final var event = beginDecodeEvent();
+                final var result = codec.decodeStatus(body.source());
+                commitDecodeEvent(event, response, QueueStatus.StatusUpdate.class);
+                return result;
+            } catch (IOException ex) {
+                throw new SunraException("Failed to read response body", ex, requestId);
+            }
+        }
+    }
+
+    static SunraException.RateLimitInfo extractRateLimitFromHeaders(Response response) {
         try {
             String limit = response.header("x-ratelimit-limit");
             String remaining = response.header("x-ratelimit-remaining");
@@ -127,6 +541,10 @@ public class HttpClient {
         return null;
     }
 
+    /**
+     * Convert an unsuccessful response into an exception. The response is not closed, it remains
+     * owned by the caller.
+     */
     public SunraException responseToException(Response response) {
         final var requestId = response.header(HEADER_REQUEST_ID);
         final var rateLimit = extractRateLimitFromHeaders(response);
@@ -141,54 +559,24 @@ public class HttpClient {
         if (contentType != null && contentType.contains("application/json")) {
             final var body = response.body();
             if (body != null) {
+                // Decode from a peek so the raw body is still available if decoding fails.
+                final var source = body.source();
                 try {
-                    final var json = gson.fromJson(body.charStream(), JsonElement.class);
-                    if (json != null && json.isJsonObject() && !json.isJsonNull()) {
-                        final var jsonObject = json.getAsJsonObject();
-
-                        // Check if there's a nested error object (common API pattern)
-                        if (jsonObject.has("error")) {
-                            final var errorElement = jsonObject.get("error");
-                            if (errorElement != null && !errorElement.isJsonNull() && errorElement.isJsonObject()) {
-                                final var errorObject = errorElement.getAsJsonObject();
-
-                                if (errorObject.has("message")) {
-                                    message = errorObject.get("message").getAsString();
-                                }
-                                if (errorObject.has("code")) {
-                                    code = errorObject.get("code").getAsString();
-                                }
-                                if (errorObject.has("type")) {
-                                    type = errorObject.get("type").getAsString();
-                                }
-                                if (errorObject.has("details")) {
-                                    details = gson.fromJson(errorObject.get("details"), Object.class);
-                                }
-                            }
-                        } else {
-                            // Fallback to top-level fields for legacy responses
-                            if (jsonObject.has("detail")) {
-                                message = jsonObject.get("detail").getAsString();
-                            }
-                            if (jsonObject.has("code")) {
-                                code = jsonObject.get("code").getAsString();
-                            }
-                            if (jsonObject.has("type")) {
-                                type = jsonObject.get("type").getAsString();
-                            }
-                            if (jsonObject.has("details")) {
-                                details = gson.fromJson(jsonObject.get("details"), Object.class);
-                            }
+                    final var payload = codec.decodeError(source.peek());
+                    if (payload != null) {
+                        if (payload.getMessage() != null) {
+                            message = payload.getMessage();
                         }
-
-                        // Extract top-level fields
-                        if (jsonObject.has("timestamp")) {
-                            timestamp = jsonObject.get("timestamp").getAsString();
+                        if (payload.getCode() != null) {
+                            code = payload.getCode();
                         }
+                        type = payload.getType();
+                        details = payload.getDetails();
+                        timestamp = payload.getTimestamp();
 
                         // If details is still null for network errors, use the full JSON as details
                         if (details == null && type == null) {
-                            details = gson.fromJson(json, Object.class);
+                            details = codec.decode(source.peek(), Object.class);
                             type = "network_error";
                         }
                     }
@@ -196,7 +584,7 @@ public class HttpClient {
                     // If JSON parsing fails, use the raw response text
                     try {
                         Map<String, Object> errorDetails = new HashMap<>();
-                        errorDetails.put("raw_response", body.string());
+                        errorDetails.put("raw_response", source.readUtf8());
                         errorDetails.put("status_code", response.code());
                         details = errorDetails;
                         type = "network_error";
@@ -215,15 +603,71 @@ public class HttpClient {
         return new Output<>(handleResponse(response, resultType), requestId);
     }
 
+    /**
+     * Read the whole response body without decoding it; the data is decoded on demand by the
+     * returned {@link LazyOutput}.
+     */
+    public <T> LazyOutput<T> wrapInLazyResult(Response response, Class<T> resultType) {
+        try (response) {
+            final String requestId = response.header(HEADER_REQUEST_ID);
+            if (!response.isSuccessful()) {
+                throw responseToException(response);
+            }
+            final var body = response.body();
+            if (body == null) {
+                throw new SunraException("Response has empty body", requestId);
+            }
+            try {
+                final var event = beginDecodeEvent();
+                final var bytes = body.source().readByteString();
+                commitDecodeEvent(event, response, LazyOutput.class);
+                return new LazyOutput<>(bytes, requestId, resultType, codec);
+            } catch (IOException ex) {
+                throw new SunraException("Failed to read response body", ex, requestId);
+            }
+        }
+    }
+
     public <T> T fromJson(JsonElement json, Class<T> type) {
-        return gson.fromJson(json, type);
+        return codec.convert(json, type);
     }
 
     public <T> T fromJson(String json, Class<T> type) {
-        return gson.fromJson(json, type);
+        return codec.decode(json, type);
+    }
+
+    public QueueStatus.StatusUpdate decodeStatus(String json) {
+        return codec.decodeStatus(json);
+    }
+
+    public JsonCodec getCodec() {
+        return codec;
+    }
+
+    public MetricsRecorder getMetricsRecorder() {
+        return config.getMetricsRecorder();
     }
 
     public OkHttpClient getUnderlyingClient() {
         return client;
     }
+
+    /**
+     * Open a server-sent events stream over the transport of the client.
+     *
+     * @param request The request.
+     * @param listener The listener receiving the events.
+     * @return The event source, to cancel the stream.
+     */
+    public EventSource newEventSource(@Nonnull Request request, @Nonnull EventSourceListener listener) {
+        return transport.newEventSource(withAllocationSite(request), listener);
+    }
+
+    /**
+     * Capture the call site on a request whose response is received on another thread, for the
+     * leak detector to report.
+     */
+    private Request withAllocationSite(Request request) {
+        return config.getResponseLeakDetector() != null ? ResponseLeakDetector.withAllocationSite(request) : request;
+    }
 }
@@ -0,0 +1,43 @@
+package ai.sunra.client.http;
+
+import jakarta.annotation.Nonnull;
+import java.util.List;
+import okhttp3.Protocol;
+
+/**
+ * The HTTP version spoken by the client.
+ */
+public enum HttpVersion {
+
+    /**
+     * HTTP/1.1 only, one call per connection at a time.
+     */
+    HTTP_1_1(List.of(Protocol.HTTP_1_1)),
+
+    /**
+     * HTTP/2 when negotiated over TLS, HTTP/1.1 otherwise. This is the default.
+     */
+    HTTP_2(List.of(Protocol.HTTP_2, Protocol.HTTP_1_1)),
+
+    /**
+     * Cleartext HTTP/2 without negotiation (h2c with prior knowledge), for a proxy known to speak
+     * it. Requires a {@code http://} proxy URL, since every call then goes to the proxy.
+     */
+    H2_PRIOR_KNOWLEDGE(List.of(Protocol.H2_PRIOR_KNOWLEDGE));
+
+    private final List<Protocol> protocols;
+
+    HttpVersion(List<Protocol> protocols) {
+        this.protocols = protocols;
+    }
+
+    /**
+     * Get the OkHttp protocols of this version.
+     *
+     * @return The protocols.
+     */
+    @Nonnull
+    public List<Protocol> getProtocols() {
+        return protocols;
+    }
+}
@@ -0,0 +1,791 @@
+package ai.sunra.client.http;
+
+import jakarta.annotation.Nonnull;
+import jakarta.annotation.Nullable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.ByteBuffer;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Flow;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import okhttp3.Call;
+import okhttp3.Callback;
+import okhttp3.Connection;
+import okhttp3.Headers;
+import okhttp3.Interceptor;
+import okhttp3.MediaType;
+import okhttp3.OkHttpClient;
+import okhttp3.Protocol;
+import okhttp3.Request;
+import okhttp3.RequestBody;
+import okhttp3.Response;
+import okhttp3.ResponseBody;
+import okhttp3.sse.EventSource;
+import okhttp3.sse.EventSourceListener;
+import okhttp3.sse.EventSources;
+import okio.Buffer;
+import okio.BufferedSink;
+import okio.ByteString;
+import okio.Okio;
+import okio.Pipe;
+import okio.Timeout;
+
+/**
+ * A transport sending the requests with the JDK {@link HttpClient}, which negotiates HTTP/2 and
+ * multiplexes concurrent calls to a host over one connection.
+ *
+ * <p>The interceptors of the OkHttp client still run around each call. The response body is
+ * streamed from the JDK client through {@link HttpResponse.BodyHandlers#ofInputStream()}, so the
+ * JSON decoder reads it as it arrives. Server-sent events are parsed as the body arrives, and
+ * delivered without holding a thread between them.
+ *
+ * <p>When every interceptor of the client is one of the built-in ones, which only rewrite the
+ * request and the response, asynchronous calls and event streams continue from the future of
+ * {@link HttpClient#sendAsync} and hold no thread while waiting for the response. Any other
+ * interceptor has to stay on the stack during the call, so the call then waits for the response
+ * headers on a thread of the OkHttp dispatcher.
+ *
+ * <p>The read timeout and the call timeout, as well as read and write timeouts set by an
+ * interceptor on its chain, bound the wait for the response headers, the body is streamed without
+ * a timeout. The connect timeout is that of the JDK client and cannot be changed per call. The
+ * connection-level metrics of OkHttp's event listener are not available with this transport, and
+ * the bytes of event streams are not counted.
+ *
+ * <pre>{@code
+ * var config = ClientConfig.builder().withTransport(JdkHttpTransport.factory()).build();
+ * }</pre>
+ */
+public class JdkHttpTransport implements Transport {
+
+    /**
+     * Request bodies up to this size are buffered, larger or one-shot bodies are streamed.
+     */
+    private static final long BUFFER_LIMIT = 64 * 1024;
+
+    private static final long PIPE_SIZE = 64 * 1024;
+
+    // Headers the JDK client sets itself and refuses from callers.
+    private static final Set<String> RESTRICTED_HEADERS =
+            Set.of("connection", "content-length", "expect", "host", "upgrade");
+
+    private final OkHttpClient client;
+    private final HttpClient httpClient;
+    private final List<Interceptor> interceptors;
+    private final Executor executor;
+
+    // The interceptors, if they can all run around an asynchronous send, null otherwise.
+    @Nullable
+    private final List<SplitInterceptor> splitInterceptors;
+
+    JdkHttpTransport(@Nonnull OkHttpClient client, @Nonnull HttpClient httpClient) {
+        if (client.socketFactory() instanceof UnixDomainSocketFactory) {
+            throw new IllegalStateException("The JDK transport cannot connect through a Unix domain socket");
+        }
+        this.client = client;
+        this.httpClient = httpClient;
+        this.interceptors = new ArrayList<>(client.interceptors());
+        this.interceptors.addAll(client.networkInterceptors());
+        this.executor = client.dispatcher().executorService();
+        final var split = new ArrayList<SplitInterceptor>(interceptors.size());
+        for (final var interceptor : interceptors) {
+            if (interceptor instanceof SplitInterceptor) {
+                split.add((SplitInterceptor) interceptor);
+            }
+        }
+        this.splitInterceptors = split.size() == interceptors.size() ? split : null;
+    }
+
+    /**
+     * Create a factory of transports with a JDK client of their own, with the HTTP version,
+     * connect timeout and executor of the OkHttp client.
+     *
+     * @return The transport factory.
+     */
+    @Nonnull
+    public static Transport.Factory factory() {
+        return client -> {
+            // The JDK client upgrades cleartext connections to HTTP/2 itself, it has no prior knowledge mode.
+            final var http2 = client.protocols().contains(Protocol.HTTP_2)
+                    || client.protocols().contains(Protocol.H2_PRIOR_KNOWLEDGE);
+            final var builder = HttpClient.newBuilder()
+                    .version(http2 ? HttpClient.Version.HTTP_2 : HttpClient.Version.HTTP_1_1)
+                    .followRedirects(HttpClient.Redirect.NORMAL)
+                    .executor(client.dispatcher().executorService());
+            if (client.connectTimeoutMillis() > 0) {
+                builder.connectTimeout(Duration.ofMillis(client.connectTimeoutMillis()));
+            }
+            return new JdkHttpTransport(client, builder.build());
+        };
+    }
+
+    /**
+     * Create a factory of transports sharing the given JDK client, e.g. to configure its SSL
+     * context or proxy selector.
+     *
+     * @param httpClient The JDK client.
+     * @return The transport factory.
+     */
+    @Nonnull
+    public static Transport.Factory factory(@Nonnull HttpClient httpClient) {
+        return client -> new JdkHttpTransport(client, httpClient);
+    }
+
+    @Nonnull
+    @Override
+    public Call newCall(@Nonnull Request request) {
+        return new JdkCall(request, false);
+    }
+
+    @Nonnull
+    @Override
+    public EventSource newEventSource(@Nonnull Request request, @Nonnull EventSourceListener listener) {
+        final var call = new JdkCall(request, true);
+        final var eventSource = new JdkEventSource(call, listener);
+        call.executeAsync().whenCompleteAsync(eventSource::onResponse, executor);
+        return eventSource;
+    }
+
+    private HttpRequest toJdkRequest(Request request, int readTimeoutMillis, int writeTimeoutMillis)
+            throws IOException {
+        final var builder = HttpRequest.newBuilder(request.url().uri());
+        final var headers = request.headers();
+        for (int i = 0; i < headers.size(); i++) {
+            if (!RESTRICTED_HEADERS.contains(headers.name(i).toLowerCase(Locale.ROOT))) {
+                builder.header(headers.name(i), headers.value(i));
+            }
+        }
+        final var body = request.body();
+        if (body != null && body.contentType() != null && request.header("Content-Type") == null) {
+            builder.header("Content-Type", body.contentType().toString());
+        }
+        // Bounds the wait for the response headers, the body is streamed without a timeout.
+        final int callTimeoutMillis = client.callTimeoutMillis();
+        final int timeoutMillis = readTimeoutMillis > 0 && callTimeoutMillis > 0
+                ? Math.min(readTimeoutMillis, callTimeoutMillis)
+                : Math.max(readTimeoutMillis, callTimeoutMillis);
+        if (timeoutMillis > 0) {
+            builder.timeout(Duration.ofMillis(timeoutMillis));
+        }
+        return builder.method(request.method(), toBodyPublisher(body, writeTimeoutMillis)).build();
+    }
+
+    private HttpRequest.BodyPublisher toBodyPublisher(@Nullable RequestBody body, int writeTimeoutMillis)
+            throws IOException {
+        if (body == null) {
+            return HttpRequest.BodyPublishers.noBody();
+        }
+        final long length = body.contentLength();
+        if (!body.isOneShot() && length >= 0 && length <= BUFFER_LIMIT) {
+            final var buffer = new Buffer();
+            body.writeTo(buffer);
+            return HttpRequest.BodyPublishers.ofByteArray(buffer.readByteArray());
+        }
+        // Written through a pipe as the JDK client reads it, so large bodies are never held whole.
+        final var publisher = HttpRequest.BodyPublishers.ofInputStream(() -> {
+            final var pipe = new Pipe(PIPE_SIZE);
+            executor.execute(() -> {
+                final var sink = pipe.sink();
+                if (writeTimeoutMillis > 0) {
+                    sink.timeout().timeout(writeTimeoutMillis, TimeUnit.MILLISECONDS);
+                }
+                try (BufferedSink buffered = Okio.buffer(sink)) {
+                    body.writeTo(buffered);
+                } catch (IOException e) {
+                    pipe.cancel();
+                }
+            });
+            return Okio.buffer(pipe.source()).inputStream();
+        });
+        return length >= 0 ? HttpRequest.BodyPublishers.fromPublisher(publisher, length) : publisher;
+    }
+
+    private static Response toResponse(Request request, HttpResponse<InputStream> response, long sentAt) {
+        final var headers = new Headers.Builder();
+        response.headers().map().forEach((name, values) -> {
+            if (!name.startsWith(":")) {
+                values.forEach(value -> headers.add(name, value));
+            }
+        });
+        final var contentType = response.headers().firstValue("Content-Type").map(MediaType::parse).orElse(null);
+        final long contentLength = response.headers().firstValueAsLong("Content-Length").orElse(-1);
+        final var source = Okio.buffer(Okio.source(response.body()));
+        return new Response.Builder()
+                .request(request)
+                .protocol(response.version() == HttpClient.Version.HTTP_2 ? Protocol.HTTP_2 : Protocol.HTTP_1_1)
+                .code(response.statusCode())
+                .message("")
+                .headers(headers.build())
+                .body(ResponseBody.create(source, contentType, contentLength))
+                .sentRequestAtMillis(sentAt)
+                .receivedResponseAtMillis(System.currentTimeMillis())
+                .build();
+    }
+
+    private static boolean isEventStream(@Nullable String contentType) {
+        final var mediaType = contentType != null ? MediaType.parse(contentType) : null;
+        return mediaType != null && mediaType.type().equals("text") && mediaType.subtype().equals("event-stream");
+    }
+
+    private static IOException toIOException(Throwable error) {
+        var cause = error;
+        while ((cause instanceof CompletionException || cause instanceof ExecutionException)
+                && cause.getCause() != null) {
+            cause = cause.getCause();
+        }
+        if (cause instanceof IOException) {
+            return (IOException) cause;
+        }
+        if (cause instanceof CancellationException) {
+            return new IOException("Canceled", cause);
+        }
+        return new IOException(cause);
+    }
+
+    /**
+     * A call running the interceptors of the OkHttp client, then sending the request with the JDK
+     * client.
+     */
+    private final class JdkCall implements Call {
+
+        private final Request request;
+        private final boolean eventStream;
+        private final AtomicBoolean executed = new AtomicBoolean();
+        private final Timeout timeout;
+        private volatile boolean canceled;
+
+        @Nullable
+        private volatile CompletableFuture<HttpResponse<InputStream>> inFlight;
+
+        @Nullable
+        private volatile InputStream responseBody;
+
+        @Nullable
+        private volatile EventStreamSubscriber eventStreamSubscriber;
+
+        JdkCall(Request request, boolean eventStream) {
+            this.request = request;
+            this.eventStream = eventStream;
+            this.timeout = new Timeout().timeout(client.callTimeoutMillis(), TimeUnit.MILLISECONDS);
+        }
+
+        @Nonnull
+        @Override
+        public Request request() {
+            return request;
+        }
+
+        @Nonnull
+        @Override
+        public Response execute() throws IOException {
+            if (!executed.compareAndSet(false, true)) {
+                throw new IllegalStateException("Already Executed");
+            }
+            return newChain().proceed(request);
+        }
+
+        @Override
+        public void enqueue(@Nonnull Callback callback) {
+            executeAsync().whenCompleteAsync((response, error) -> {
+                if (error != null) {
+                    callback.onFailure(this, toIOException(error));
+                    return;
+                }
+                try {
+                    callback.onResponse(this, response);
+                } catch (IOException e) {
+                    response.close();
+                }
+            }, executor);
+        }
+
+        /**
+         * Run the call without blocking the calling thread. Split interceptors run around the
+         * asynchronous send, any other interceptor on a dispatcher thread blocked until the response
+         * headers arrive.
+         */
+        CompletableFuture<Response> executeAsync() {
+            if (!executed.compareAndSet(false, true)) {
+                throw new IllegalStateException("Already Executed");
+            }
+            final var result = new CompletableFuture<Response>();
+            executor.execute(() -> {
+                if (splitInterceptors == null) {
+                    try {
+                        result.complete(newChain().proceed(request));
+                    } catch (IOException | RuntimeException e) {
+                        result.completeExceptionally(e);
+                    }
+                    return;
+                }
+                final var sent = new Request[splitInterceptors.size()];
+                var current = request;
+                try {
+                    for (int i = 0; i < sent.length; i++) {
+                        current = splitInterceptors.get(i).before(current);
+                        sent[i] = current;
+                    }
+                } catch (IOException | RuntimeException e) {
+                    result.completeExceptionally(e);
+                    return;
+                }
+                sendAsync(current, client.readTimeoutMillis(), client.writeTimeoutMillis())
+                        .whenComplete((response, error) -> {
+                            if (error != null) {
+                                result.completeExceptionally(toIOException(error));
+                                return;
+                            }
+                            var processed = response;
+                            try {
+                                for (int i = sent.length - 1; i >= 0; i--) {
+                                    processed = splitInterceptors.get(i).after(sent[i], processed);
+                                }
+                            } catch (IOException | RuntimeException e) {
+                                processed.close();
+                                result.completeExceptionally(e);
+                                return;
+                            }
+                            result.complete(processed);
+                        });
+            });
+            return result;
+        }
+
+        private JdkChain newChain() {
+            return new JdkChain(this, request, 0, client.readTimeoutMillis(), client.writeTimeoutMillis());
+        }
+
+        /**
+         * Send the request with the JDK client, the last step of the chain.
+         */
+        Response send(Request request, int readTimeoutMillis, int writeTimeoutMillis) throws IOException {
+            try {
+                return sendAsync(request, readTimeoutMillis, writeTimeoutMillis).get();
+            } catch (InterruptedException e) {
+                cancel();
+                Thread.currentThread().interrupt();
+                throw new InterruptedIOException("Interrupted");
+            } catch (ExecutionException | CancellationException e) {
+                throw toIOException(e);
+            }
+        }
+
+        private CompletableFuture<Response> sendAsync(Request request, int readTimeoutMillis, int writeTimeoutMillis) {
+            if (canceled) {
+                return CompletableFuture.failedFuture(new IOException("Canceled"));
+            }
+            final HttpRequest jdkRequest;
+            try {
+                jdkRequest = toJdkRequest(request, readTimeoutMillis, writeTimeoutMillis);
+            } catch (IOException e) {
+                return CompletableFuture.failedFuture(e);
+            }
+            final long sentAt = System.currentTimeMillis();
+            final var future = httpClient.sendAsync(
+                    jdkRequest, eventStream ? this::subscribeBody : HttpResponse.BodyHandlers.ofInputStream());
+            inFlight = future;
+            return future.thenApply(response -> {
+                responseBody = response.body();
+                if (canceled) {
+                    cancel();
+                    throw new CompletionException(new IOException("Canceled"));
+                }
+                return toResponse(request, response, sentAt);
+            });
+        }
+
+        // Event streams are parsed as they arrive, anything else is read as usual.
+        private HttpResponse.BodySubscriber<InputStream> subscribeBody(HttpResponse.ResponseInfo info) {
+            if (info.statusCode() / 100 != 2 || !isEventStream(info.headers().firstValue("Content-Type").orElse(null))) {
+                return HttpResponse.BodySubscribers.ofInputStream();
+            }
+            final var subscriber = new EventStreamSubscriber();
+            eventStreamSubscriber = subscriber;
+            if (canceled) {
+                subscriber.cancel();
+            }
+            return subscriber;
+        }
+
+        @Override
+        public void cancel() {
+            canceled = true;
+            final var future = inFlight;
+            if (future != null) {
+                future.cancel(true);
+            }
+            final var body = responseBody;
+            if (body != null) {
+                try {
+                    body.close();
+                } catch (IOException ignored) {
+                    // Closing only aborts the stream.
+                }
+            }
+            final var subscriber = eventStreamSubscriber;
+            if (subscriber != null) {
+                subscriber.cancel();
+            }
+        }
+
+        @Override
+        public boolean isExecuted() {
+            return executed.get();
+        }
+
+        @Override
+        public boolean isCanceled() {
+            return canceled;
+        }
+
+        @Nonnull
+        @Override
+        public Timeout timeout() {
+            return timeout;
+        }
+
+        @Nonnull
+        @Override
+        public Call clone() {
+            return new JdkCall(request, eventStream);
+        }
+    }
+
+    /**
+     * The interceptor chain of a {@link JdkCall}.
+     */
+    private final class JdkChain implements Interceptor.Chain {
+
+        private final JdkCall call;
+        private final Request request;
+        private final int index;
+        private final int readTimeoutMillis;
+        private final int writeTimeoutMillis;
+
+        JdkChain(JdkCall call, Request request, int index, int readTimeoutMillis, int writeTimeoutMillis) {
+            this.call = call;
+            this.request = request;
+            this.index = index;
+            this.readTimeoutMillis = readTimeoutMillis;
+            this.writeTimeoutMillis = writeTimeoutMillis;
+        }
+
+        @Nonnull
+        @Override
+        public Request request() {
+            return request;
+        }
+
+        @Nonnull
+        @Override
+        public Response proceed(@Nonnull Request request) throws IOException {
+            if (index < interceptors.size()) {
+                return interceptors.get(index).intercept(
+                        new JdkChain(call, request, index + 1, readTimeoutMillis, writeTimeoutMillis));
+            }
+            return call.send(request, readTimeoutMillis, writeTimeoutMillis);
+        }
+
+        @Nullable
+        @Override
+        public Connection connection() {
+            return null;
+        }
+
+        @Nonnull
+        @Override
+        public Call call() {
+            return call;
+        }
+
+        @Override
+        public int connectTimeoutMillis() {
+            return client.connectTimeoutMillis();
+        }
+
+        @Nonnull
+        @Override
+        public Interceptor.Chain withConnectTimeout(int timeout, @Nonnull TimeUnit unit) {
+            // The JDK client connects with its own timeout, the same for every call.
+            return this;
+        }
+
+        @Override
+        public int readTimeoutMillis() {
+            return readTimeoutMillis;
+        }
+
+        @Nonnull
+        @Override
+        public Interceptor.Chain withReadTimeout(int timeout, @Nonnull TimeUnit unit) {
+            return new JdkChain(call, request, index, (int) unit.toMillis(timeout), writeTimeoutMillis);
+        }
+
+        @Override
+        public int writeTimeoutMillis() {
+            return writeTimeoutMillis;
+        }
+
+        @Nonnull
+        @Override
+        public Interceptor.Chain withWriteTimeout(int timeout, @Nonnull TimeUnit unit) {
+            return new JdkChain(call, request, index, readTimeoutMillis, (int) unit.toMillis(timeout));
+        }
+    }
+
+    /**
+     * A server-sent events stream of a {@link JdkCall}.
+     */
+    private static final class JdkEventSource implements EventSource {
+
+        private final JdkCall call;
+        private final EventSourceListener listener;
+
+        JdkEventSource(JdkCall call, EventSourceListener listener) {
+            this.call = call;
+            this.listener = listener;
+        }
+
+        void onResponse(@Nullable Response response, @Nullable Throwable error) {
+            if (error != null) {
+                listener.onFailure(this, toIOException(error), null);
+                return;
+            }
+            final var subscriber = call.eventStreamSubscriber;
+            if (subscriber == null) {
+                // An error or an unexpected body, read in place and closed.
+                EventSources.processResponse(response, listener);
+                return;
+            }
+            subscriber.start(this, listener, response);
+        }
+
+        @Nonnull
+        @Override
+        public Request request() {
+            return call.request();
+        }
+
+        @Override
+        public void cancel() {
+            call.cancel();
+        }
+    }
+
+    /**
+     * Parses server-sent events from the body chunks delivered by the JDK client, and requests the
+     * next chunk once the events of the previous one have been handled. The body of the response
+     * handed to the interceptors and to the listener is empty, as with OkHttp's event sources.
+     */
+    private static final class EventStreamSubscriber implements HttpResponse.BodySubscriber<InputStream> {
+
+        private static final ByteString LINE_END = ByteString.encodeUtf8("\r\n");
+
+        private final Buffer buffer = new Buffer();
+        private final AtomicBoolean ended = new AtomicBoolean();
+
+        // Guarded by this.
+        private Flow.Subscription subscription;
+        private EventSource eventSource;
+        private EventSourceListener listener;
+        private Response response;
+        private boolean canceled;
+        private boolean bodyEnded;
+        private Throwable bodyFailure;
+
+        // The event being read, only touched by the thread delivering the body.
+        private String id;
+        private String type;
+        private StringBuilder data;
+
+        @Override
+        public CompletionStage<InputStream> getBody() {
+            return CompletableFuture.completedFuture(InputStream.nullInputStream());
+        }
+
+        @Override
+        public void onSubscribe(Flow.Subscription subscription) {
+            final boolean started;
+            synchronized (this) {
+                if (canceled) {
+                    subscription.cancel();
+                    return;
+                }
+                this.subscription = subscription;
+                started = listener != null;
+            }
+            if (started) {
+                subscription.request(1);
+            }
+        }
+
+        /**
+         * Start delivering the events once the response went through the interceptors.
+         */
+        void start(EventSource eventSource, EventSourceListener listener, Response response) {
+            final Flow.Subscription pending;
+            synchronized (this) {
+                this.eventSource = eventSource;
+                this.listener = listener;
+                this.response = response;
+                pending = subscription;
+            }
+            listener.onOpen(eventSource, response);
+            final boolean wasCanceled;
+            final boolean wasEnded;
+            final Throwable failure;
+            synchronized (this) {
+                wasCanceled = canceled;
+                wasEnded = bodyEnded;
+                failure = bodyFailure;
+            }
+            if (wasCanceled) {
+                end(new IOException("Canceled"));
+            } else if (wasEnded) {
+                end(failure);
+            } else if (pending != null) {
+                pending.request(1);
+            }
+        }
+
+        void cancel() {
+            final Flow.Subscription current;
+            synchronized (this) {
+                canceled = true;
+                current = subscription;
+            }
+            if (current != null) {
+                current.cancel();
+            }
+            end(new IOException("Canceled"));
+        }
+
+        @Override
+        public void onNext(List<ByteBuffer> items) {
+            try {
+                for (final var item : items) {
+                    buffer.write(item);
+                }
+                readLines();
+            } catch (IOException | RuntimeException e) {
+                subscription.cancel();
+                end(e);
+                return;
+            }
+            if (!ended.get()) {
+                subscription.request(1);
+            }
+        }
+
+        @Override
+        public void onError(Throwable throwable) {
+            synchronized (this) {
+                bodyEnded = true;
+                bodyFailure = throwable;
+            }
+            end(throwable);
+        }
+
+        @Override
+        public void onComplete() {
+            synchronized (this) {
+                bodyEnded = true;
+            }
+            end(null);
+        }
+
+        private void readLines() throws IOException {
+            while (!ended.get()) {
+                final long end = buffer.indexOfElement(LINE_END);
+                // A carriage return ending the chunk may be followed by a line feed in the next one.
+                if (end == -1 || (end == buffer.size() - 1 && buffer.getByte(end) == '\r')) {
+                    return;
+                }
+                final var line = buffer.readUtf8(end);
+                if (buffer.readByte() == '\r' && buffer.size() > 0 && buffer.getByte(0) == '\n') {
+                    buffer.skip(1);
+                }
+                readLine(line);
+            }
+        }
+
+        private void readLine(String line) {
+            if (line.isEmpty()) {
+                final var event = data;
+                final var eventId = id;
+                final var eventType = type;
+                data = null;
+                id = null;
+                type = null;
+                if (event != null) {
+                    listener.onEvent(eventSource, eventId, eventType, event.toString());
+                }
+                return;
+            }
+            if (line.charAt(0) == ':') {
+                return;
+            }
+            final int colon = line.indexOf(':');
+            final var field = colon < 0 ? line : line.substring(0, colon);
+            var value = colon < 0 ? "" : line.substring(colon + 1);
+            if (value.startsWith(" ")) {
+                value = value.substring(1);
+            }
+            switch (field) {
+                case "data":
+                    data = data == null ? new StringBuilder(value) : data.append('\n').append(value);
+                    break;
+                case "event":
+                    type = value.isEmpty() ? null : value;
+                    break;
+                case "id":
+                    id = value.isEmpty() ? null : value;
+                    break;
+                default:
+                    // Retry hints and unknown fields are ignored.
+                    break;
+            }
+        }
+
+        // Reports the end of the stream once, after it was started.
+        private void end(@Nullable Throwable failure) {
+            final EventSource source;
+            final EventSourceListener target;
+            final Response opened;
+            synchronized (this) {
+                if (listener == null) {
+                    return;
+                }
+                source = eventSource;
+                target = listener;
+                opened = response;
+            }
+            if (!ended.compareAndSet(false, true)) {
+                return;
+            }
+            try {
+                if (failure != null) {
+                    target.onFailure(source, failure, opened);
+                } else {
+                    target.onClosed(source);
+                }
+            } finally {
+                opened.close();
+            }
+        }
+    }
+}
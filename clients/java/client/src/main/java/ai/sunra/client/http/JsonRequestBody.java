@@ -0,0 +1,50 @@
+package ai.sunra.client.http;
+
+import ai.sunra.client.json.JsonCodec;
+import ai.sunra.client.json.JsonSinkWriter;
+import jakarta.annotation.Nonnull;
+import java.io.IOException;
+import okhttp3.MediaType;
+import okhttp3.RequestBody;
+import okio.BufferedSink;
+
+/**
+ * A request body that writes the input straight into the connection sink through
+ * {@link JsonSinkWriter}. The length is not known up front, so the body is sent with chunked
+ * transfer encoding.
+ */
+class JsonRequestBody extends RequestBody {
+
+    private final Object input;
+    private final boolean oneShot;
+    private final JsonCodec codec;
+    private final MediaType contentType;
+
+    JsonRequestBody(
+            @Nonnull Object input, boolean oneShot, @Nonnull JsonCodec codec, @Nonnull MediaType contentType) {
+        this.input = input;
+        this.oneShot = oneShot;
+        this.codec = codec;
+        this.contentType = contentType;
+    }
+
+    @Override
+    public MediaType contentType() {
+        return contentType;
+    }
+
+    @Override
+    public long contentLength() {
+        return -1;
+    }
+
+    @Override
+    public boolean isOneShot() {
+        return oneShot;
+    }
+
+    @Override
+    public void writeTo(@Nonnull BufferedSink sink) throws IOException {
+        JsonSinkWriter.writeValue(sink, input, codec);
+    }
+}
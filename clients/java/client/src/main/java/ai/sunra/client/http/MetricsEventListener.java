@@ -0,0 +1,156 @@
+package ai.sunra.client.http;
+
+import ai.sunra.client.metrics.MetricsRecorder;
+import ai.sunra.client.metrics.Phase;
+import jakarta.annotation.Nonnull;
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.Proxy;
+import java.util.List;
+import okhttp3.Call;
+import okhttp3.Connection;
+import okhttp3.ConnectionPool;
+import okhttp3.Dispatcher;
+import okhttp3.EventListener;
+import okhttp3.Handshake;
+import okhttp3.Protocol;
+import okhttp3.Request;
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * Times the connection-level phases of each HTTP call, i.e. DNS, TCP connect, TLS, time to first
+ * byte and body read, and reports connection reuse and pool usage to the {@link MetricsRecorder}.
+ *
+ * <p>OkHttp creates one listener per call and delivers its events sequentially.
+ */
+class MetricsEventListener extends EventListener {
+
+    private final MetricsRecorder recorder;
+    private final ConnectionPool connectionPool;
+    private final Dispatcher dispatcher;
+    private final String endpointId;
+
+    private long dnsStart;
+    private long connectStart;
+    private long secureConnectStart;
+    // Whether a connection was opened since the last acquisition: a call acquires a connection
+    // again for a redirect or retry, and a failed attempt may end with a pooled connection.
+    private boolean newConnection;
+    private long requestSent;
+    private long responseBodyStart;
+
+    private MetricsEventListener(
+            MetricsRecorder recorder, ConnectionPool connectionPool, Dispatcher dispatcher, Call call) {
+        this.recorder = recorder;
+        this.connectionPool = connectionPool;
+        this.dispatcher = dispatcher;
+        final var tag = call.request().tag(EndpointTag.class);
+        this.endpointId = tag != null ? tag.getEndpointId() : null;
+    }
+
+    @Override
+    public void dnsStart(@NotNull Call call, @NotNull String domainName) {
+        dnsStart = System.nanoTime();
+    }
+
+    @Override
+    public void dnsEnd(@NotNull Call call, @NotNull String domainName, @NotNull List<InetAddress> inetAddressList) {
+        recorder.recordPhase(endpointId, Phase.DNS, System.nanoTime() - dnsStart);
+    }
+
+    @Override
+    public void connectStart(@NotNull Call call, @NotNull InetSocketAddress inetSocketAddress, @NotNull Proxy proxy) {
+        connectStart = System.nanoTime();
+        secureConnectStart = 0;
+    }
+
+    @Override
+    public void secureConnectStart(@NotNull Call call) {
+        secureConnectStart = System.nanoTime();
+        recorder.recordPhase(endpointId, Phase.CONNECT, secureConnectStart - connectStart);
+    }
+
+    @Override
+    public void secureConnectEnd(@NotNull Call call, Handshake handshake) {
+        recorder.recordPhase(endpointId, Phase.TLS, System.nanoTime() - secureConnectStart);
+    }
+
+    @Override
+    public void connectEnd(
+            @NotNull Call call, @NotNull InetSocketAddress inetSocketAddress, @NotNull Proxy proxy, Protocol protocol) {
+        if (secureConnectStart == 0) {
+            recorder.recordPhase(endpointId, Phase.CONNECT, System.nanoTime() - connectStart);
+        }
+        newConnection = true;
+    }
+
+    @Override
+    public void connectFailed(
+            @NotNull Call call,
+            @NotNull InetSocketAddress inetSocketAddress,
+            @NotNull Proxy proxy,
+            Protocol protocol,
+            @NotNull IOException ioe) {
+        newConnection = false;
+    }
+
+    @Override
+    public void connectionAcquired(@NotNull Call call, @NotNull Connection connection) {
+        recorder.recordConnectionAcquired(endpointId, !newConnection);
+        newConnection = false;
+        final int total = connectionPool.connectionCount();
+        final int idle = connectionPool.idleConnectionCount();
+        recorder.recordPoolUsage(Math.max(0, total - idle), idle, dispatcher.queuedCallsCount());
+    }
+
+    @Override
+    public void requestHeadersEnd(@NotNull Call call, @NotNull Request request) {
+        requestSent = System.nanoTime();
+    }
+
+    @Override
+    public void requestBodyEnd(@NotNull Call call, long byteCount) {
+        requestSent = System.nanoTime();
+    }
+
+    @Override
+    public void responseHeadersStart(@NotNull Call call) {
+        if (requestSent != 0) {
+            recorder.recordPhase(endpointId, Phase.TIME_TO_FIRST_BYTE, System.nanoTime() - requestSent);
+        }
+    }
+
+    @Override
+    public void responseBodyStart(@NotNull Call call) {
+        responseBodyStart = System.nanoTime();
+    }
+
+    @Override
+    public void responseBodyEnd(@NotNull Call call, long byteCount) {
+        recorder.recordPhase(endpointId, Phase.BODY_READ, System.nanoTime() - responseBodyStart);
+    }
+
+    /**
+     * Creates a listener per call, sharing the pool and dispatcher of the client to sample their
+     * usage.
+     */
+    static class Factory implements EventListener.Factory {
+
+        private final MetricsRecorder recorder;
+        private final ConnectionPool connectionPool;
+        private final Dispatcher dispatcher;
+
+        Factory(@Nonnull MetricsRecorder recorder, @Nonnull ConnectionPool connectionPool, @Nonnull Dispatcher dispatcher) {
+            this.recorder = recorder;
+            this.connectionPool = connectionPool;
+            this.dispatcher = dispatcher;
+        }
+
+        @Override
+        @Nonnull
+        public EventListener create(@NotNull Call call) {
+            return new MetricsEventListener(recorder, connectionPool, dispatcher, call);
+        }
+    }
+}
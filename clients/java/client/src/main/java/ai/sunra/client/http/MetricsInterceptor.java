@@ -0,0 +1,159 @@
+package ai.sunra.client.http;
+
+import ai.sunra.client.metrics.MetricsRecorder;
+import jakarta.annotation.Nonnull;
+import java.io.IOException;
+import okhttp3.MediaType;
+import okhttp3.Request;
+import okhttp3.RequestBody;
+import okhttp3.Response;
+import okhttp3.ResponseBody;
+import okio.Buffer;
+import okio.BufferedSink;
+import okio.BufferedSource;
+import okio.ForwardingSink;
+import okio.ForwardingSource;
+import okio.Okio;
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * Counts the bytes of request and response bodies and reports them to the {@link MetricsRecorder},
+ * attributed to the endpoint of the request's {@link EndpointTag}.
+ */
+class MetricsInterceptor implements SplitInterceptor {
+
+    private final MetricsRecorder recorder;
+
+    MetricsInterceptor(@Nonnull MetricsRecorder recorder) {
+        this.recorder = recorder;
+    }
+
+    @Override
+    @Nonnull
+    public Request before(@Nonnull Request request) {
+        final var requestBody = request.body();
+        if (requestBody == null) {
+            return request;
+        }
+        return request.newBuilder()
+                .method(request.method(), new CountingRequestBody(requestBody, endpointId(request)))
+                .build();
+    }
+
+    @Override
+    @Nonnull
+    public Response after(@Nonnull Request request, @Nonnull Response response) {
+        final var body = response.body();
+        if (body == null) {
+            return response;
+        }
+        return response.newBuilder()
+                .body(new CountingResponseBody(body, endpointId(request)))
+                .build();
+    }
+
+    private static String endpointId(Request request) {
+        final var tag = request.tag(EndpointTag.class);
+        return tag != null ? tag.getEndpointId() : null;
+    }
+
+    private final class CountingRequestBody extends RequestBody {
+        private final RequestBody delegate;
+        private final String endpointId;
+
+        private CountingRequestBody(RequestBody delegate, String endpointId) {
+            this.delegate = delegate;
+            this.endpointId = endpointId;
+        }
+
+        @Override
+        public MediaType contentType() {
+            return delegate.contentType();
+        }
+
+        @Override
+        public long contentLength() throws IOException {
+            return delegate.contentLength();
+        }
+
+        @Override
+        public boolean isOneShot() {
+            return delegate.isOneShot();
+        }
+
+        @Override
+        public void writeTo(@NotNull BufferedSink sink) throws IOException {
+            final long[] written = new long[1];
+            final var counting = Okio.buffer(new ForwardingSink(sink) {
+                @Override
+                public void write(@NotNull Buffer source, long byteCount) throws IOException {
+                    super.write(source, byteCount);
+                    written[0] += byteCount;
+                }
+            });
+            delegate.writeTo(counting);
+            counting.emit();
+            recorder.recordBytesSent(endpointId, written[0]);
+        }
+    }
+
+    private final class CountingResponseBody extends ResponseBody {
+        private final ResponseBody delegate;
+        private final String endpointId;
+        private BufferedSource source;
+        private long read;
+        private boolean reported;
+
+        private CountingResponseBody(ResponseBody delegate, String endpointId) {
+            this.delegate = delegate;
+            this.endpointId = endpointId;
+        }
+
+        @Override
+        public MediaType contentType() {
+            return delegate.contentType();
+        }
+
+        @Override
+        public long contentLength() {
+            return delegate.contentLength();
+        }
+
+        @Override
+        @NotNull
+        public BufferedSource source() {
+            if (source == null) {
+                source = Okio.buffer(new ForwardingSource(delegate.source()) {
+                    @Override
+                    public long read(@NotNull Buffer sink, long byteCount) throws IOException {
+                        final long count = super.read(sink, byteCount);
+                        if (count != -1) {
+                            read += count;
+                        }
+                        return count;
+                    }
+
+                    @Override
+                    public void close() throws IOException {
+                        report();
+                        super.close();
+                    }
+                });
+            }
+            return source;
+        }
+
+        @Override
+        public void close() {
+            report();
+            delegate.close();
+        }
+
+        private void report() {
+            if (!reported) {
+                reported = true;
+                recorder.recordBytesReceived(endpointId, read);
+            }
+        }
+    }
+}
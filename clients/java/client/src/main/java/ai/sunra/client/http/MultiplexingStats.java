@@ -0,0 +1,96 @@
+package ai.sunra.client.http;
+
+import ai.sunra.client.metrics.Histogram;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import okhttp3.Protocol;
+
+/**
+ * Statistics on how calls share connections: how many connections carried them, and how many
+ * streams were open on a connection when each call started. With HTTP/1.1 that is always one,
+ * with HTTP/2 it shows how far calls are multiplexed.
+ *
+ * <p>Enabled with {@code ClientConfig.builder().withMultiplexingStats(...)}; keep a reference to
+ * read them. Only calls sent with the OkHttp transport are counted.
+ */
+public class MultiplexingStats {
+
+    private final LongAdder streams = new LongAdder();
+    private final LongAdder multiplexedStreams = new LongAdder();
+    private final LongAdder connections = new LongAdder();
+    private final AtomicInteger activeStreams = new AtomicInteger();
+    private final Histogram streamsPerConnection = new Histogram();
+
+    void connectionOpened() {
+        connections.increment();
+    }
+
+    void streamOpened(Protocol protocol, int concurrentStreams) {
+        streams.increment();
+        if (protocol == Protocol.HTTP_2 || protocol == Protocol.H2_PRIOR_KNOWLEDGE) {
+            multiplexedStreams.increment();
+        }
+        activeStreams.incrementAndGet();
+        streamsPerConnection.record(concurrentStreams);
+    }
+
+    void streamClosed() {
+        activeStreams.decrementAndGet();
+    }
+
+    /**
+     * Get the number of calls.
+     *
+     * @return The number of streams.
+     */
+    public long getStreamCount() {
+        return streams.sum();
+    }
+
+    /**
+     * Get the number of calls sent over HTTP/2.
+     *
+     * @return The number of HTTP/2 streams.
+     */
+    public long getMultiplexedStreamCount() {
+        return multiplexedStreams.sum();
+    }
+
+    /**
+     * Get the number of distinct connections that carried calls.
+     *
+     * @return The number of connections.
+     */
+    public long getConnectionCount() {
+        return connections.sum();
+    }
+
+    /**
+     * Get the number of calls whose response is still open.
+     *
+     * @return The number of open streams.
+     */
+    public int getActiveStreams() {
+        return activeStreams.get();
+    }
+
+    /**
+     * Get the distribution of the number of streams open on the connection of each call, the call
+     * included.
+     *
+     * @return The histogram of concurrent streams per connection.
+     */
+    public Histogram getStreamsPerConnection() {
+        return streamsPerConnection;
+    }
+
+    /**
+     * Get the average number of calls per connection.
+     *
+     * @return The calls per connection, or 0 if nothing was sent.
+     */
+    public double getStreamsPerConnectionRatio() {
+        final long count = connections.sum();
+        return count == 0 ? 0 : (double) streams.sum() / count;
+    }
+}
@@ -0,0 +1,36 @@
+package ai.sunra.client.http;
+
+import jakarta.annotation.Nonnull;
+import okhttp3.Call;
+import okhttp3.OkHttpClient;
+import okhttp3.Request;
+import okhttp3.sse.EventSource;
+import okhttp3.sse.EventSourceListener;
+import okhttp3.sse.EventSources;
+
+/**
+ * The default transport, sending the requests with OkHttp.
+ */
+public class OkHttpTransport implements Transport {
+
+    private final OkHttpClient client;
+
+    private final EventSource.Factory eventSources;
+
+    public OkHttpTransport(@Nonnull OkHttpClient client) {
+        this.client = client;
+        this.eventSources = EventSources.createFactory(client);
+    }
+
+    @Nonnull
+    @Override
+    public Call newCall(@Nonnull Request request) {
+        return client.newCall(request);
+    }
+
+    @Nonnull
+    @Override
+    public EventSource newEventSource(@Nonnull Request request, @Nonnull EventSourceListener listener) {
+        return eventSources.newEventSource(request, listener);
+    }
+}
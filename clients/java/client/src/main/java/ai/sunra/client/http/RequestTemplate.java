@@ -0,0 +1,76 @@
+package ai.sunra.client.http;
+
+import jakarta.annotation.Nonnull;
+import jakarta.annotation.Nullable;
+import okhttp3.Headers;
+import okhttp3.HttpUrl;
+
+/**
+ * The fixed parts of a request to an operation of the Sunra API, parsed once: the method, the
+ * URL up to the variable path, the path after it and the headers. Pass it to
+ * {@link HttpClient#prepareRequest(RequestTemplate, String, ai.sunra.client.ApiOptions, String, String, String)}
+ * to build a request without parsing or formatting the whole URL.
+ */
+public final class RequestTemplate {
+
+    private final String method;
+    private final HttpUrl prefix;
+    private final String suffix;
+    private final Headers headers;
+
+    private RequestTemplate(String method, HttpUrl prefix, String suffix, Headers headers) {
+        this.method = method;
+        this.prefix = prefix;
+        this.suffix = suffix;
+        this.headers = headers;
+    }
+
+    /**
+     * Create a request template.
+     *
+     * @param method The HTTP method.
+     * @param urlPrefix The URL up to the variable path, ending with a slash.
+     * @param urlSuffix The encoded path after the variable path, or null.
+     * @param accept The accepted content type.
+     * @return The request template.
+     */
+    @Nonnull
+    public static RequestTemplate of(
+            @Nonnull String method, @Nonnull String urlPrefix, @Nullable String urlSuffix, @Nonnull String accept) {
+        return new RequestTemplate(
+                method,
+                HttpUrl.get(urlPrefix),
+                urlSuffix,
+                Headers.of("content-type", HttpClient.APPLICATION_JSON, "accept", accept, "user-agent", HttpClient.USER_AGENT));
+    }
+
+    @Nonnull
+    String getMethod() {
+        return method;
+    }
+
+    @Nonnull
+    Headers getHeaders() {
+        return headers;
+    }
+
+    /**
+     * Build the URL of a request.
+     *
+     * @param path The variable path, whose slashes separate segments.
+     * @param queryName The name of the query parameter, or null.
+     * @param queryValue The value of the query parameter, or null to leave it out.
+     * @return The URL.
+     */
+    @Nonnull
+    HttpUrl url(@Nonnull String path, @Nullable String queryName, @Nullable String queryValue) {
+        final var builder = prefix.newBuilder().addPathSegments(path);
+        if (suffix != null) {
+            builder.addEncodedPathSegments(suffix);
+        }
+        if (queryName != null && queryValue != null) {
+            builder.addQueryParameter(queryName, queryValue);
+        }
+        return builder.build();
+    }
+}
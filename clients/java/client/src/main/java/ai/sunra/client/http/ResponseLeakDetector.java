@@ -0,0 +1,282 @@
+package ai.sunra.client.http;
+
+import jakarta.annotation.Nonnull;
+import java.io.IOException;
+import java.lang.ref.Cleaner;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import okhttp3.MediaType;
+import okhttp3.Request;
+import okhttp3.Response;
+import okhttp3.ResponseBody;
+import okio.BufferedSource;
+import okio.ForwardingSource;
+import okio.Okio;
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * An opt-in interceptor that tracks every response body handed out by the client until it is
+ * closed. An unclosed body keeps its pooled connection busy, so under load leaks drain the
+ * connection pool.
+ *
+ * <p>Open responses can be inspected at any time with {@link #openResponses()}. A body that is
+ * garbage-collected without having been closed is reported through the {@code ai.sunra.client}
+ * {@link System.Logger} with the stack trace of the call that produced it and its age. For the
+ * asynchronous calls and the event streams, whose responses arrive on a dispatcher thread, the stack
+ * trace is the one of the thread that enqueued the call.
+ *
+ * <p>Capturing a stack trace per response has a cost, so the detector is meant for debugging and
+ * tests, and is enabled with {@code ClientConfig.builder().withResponseLeakDetector(...)}.
+ */
+public class ResponseLeakDetector implements SplitInterceptor {
+
+    private static final System.Logger LOGGER = System.getLogger("ai.sunra.client");
+
+    private static final Cleaner CLEANER = Cleaner.create();
+
+    private final Map<Long, Tracked> open = new ConcurrentHashMap<>();
+    private final AtomicLong ids = new AtomicLong();
+    private final AtomicLong leaked = new AtomicLong();
+
+    @Override
+    @Nonnull
+    public Request before(@Nonnull Request request) {
+        return request;
+    }
+
+    @Override
+    @Nonnull
+    public Response after(@Nonnull Request request, @Nonnull Response response) {
+        final var body = response.body();
+        if (body == null) {
+            return response;
+        }
+        final var site = request.tag(AllocationSite.class);
+        final var tracked = new Tracked(
+                ids.incrementAndGet(),
+                request.method() + " " + request.url(),
+                System.nanoTime(),
+                site != null ? site : new AllocationSite());
+        open.put(tracked.id, tracked);
+        final var trackingBody = new TrackingResponseBody(body, tracked);
+        tracked.cleanable = CLEANER.register(trackingBody, new LeakReporter(this, tracked));
+        return response.newBuilder().body(trackingBody).build();
+    }
+
+    /**
+     * Capture the stack trace of the current thread on the request, to report it as the allocation
+     * site of the response instead of the stack of the thread that receives it.
+     *
+     * @param request The request about to be enqueued.
+     * @return The request carrying the call site.
+     */
+    @Nonnull
+    static Request withAllocationSite(@Nonnull Request request) {
+        return request.newBuilder().tag(AllocationSite.class, new AllocationSite()).build();
+    }
+
+    /**
+     * Get the responses that are currently open, oldest first.
+     *
+     * @return The open responses.
+     */
+    @Nonnull
+    public List<Leak> openResponses() {
+        final long now = System.nanoTime();
+        final var result = new ArrayList<Leak>();
+        for (final var tracked : open.values()) {
+            result.add(tracked.toLeak(now));
+        }
+        result.sort(Comparator.comparing(Leak::getAge).reversed());
+        return result;
+    }
+
+    /**
+     * Get the responses that have been open for longer than the given age, oldest first.
+     *
+     * @param olderThan The minimum age.
+     * @return The open responses older than the given age.
+     */
+    @Nonnull
+    public List<Leak> openResponses(@Nonnull Duration olderThan) {
+        final var result = openResponses();
+        result.removeIf(leak -> leak.getAge().compareTo(olderThan) < 0);
+        return result;
+    }
+
+    /**
+     * Get the number of responses that were garbage-collected without having been closed.
+     *
+     * @return The number of leaked responses.
+     */
+    public long getLeakedCount() {
+        return leaked.get();
+    }
+
+    private void closed(Tracked tracked) {
+        if (!tracked.closed) {
+            tracked.closed = true;
+            open.remove(tracked.id);
+            final var cleanable = tracked.cleanable;
+            if (cleanable != null) {
+                cleanable.clean();
+            }
+        }
+    }
+
+    /**
+     * A response that has not been closed.
+     */
+    public static final class Leak {
+
+        private final String request;
+        private final Duration age;
+        private final Throwable allocationSite;
+
+        Leak(String request, Duration age, Throwable allocationSite) {
+            this.request = request;
+            this.age = age;
+            this.allocationSite = allocationSite;
+        }
+
+        /**
+         * Get the method and URL of the request.
+         *
+         * @return The request.
+         */
+        @Nonnull
+        public String getRequest() {
+            return request;
+        }
+
+        /**
+         * Get the time elapsed since the response was received.
+         *
+         * @return The age.
+         */
+        @Nonnull
+        public Duration getAge() {
+            return age;
+        }
+
+        /**
+         * Get a throwable whose stack trace points at the call that produced the response.
+         *
+         * @return The allocation site.
+         */
+        @Nonnull
+        public Throwable getAllocationSite() {
+            return allocationSite;
+        }
+
+        @Override
+        public String toString() {
+            return "Leak(request=" + request + ", age=" + age + ")";
+        }
+    }
+
+    /**
+     * The stack trace of the call that produced a response.
+     */
+    private static final class AllocationSite extends Throwable {
+        private AllocationSite() {
+            super("Response allocated here");
+        }
+    }
+
+    private static final class Tracked {
+        private final long id;
+        private final String request;
+        private final long startNanos;
+        private final Throwable allocationSite;
+        private volatile boolean closed;
+        private volatile Cleaner.Cleanable cleanable;
+
+        private Tracked(long id, String request, long startNanos, Throwable allocationSite) {
+            this.id = id;
+            this.request = request;
+            this.startNanos = startNanos;
+            this.allocationSite = allocationSite;
+        }
+
+        private Leak toLeak(long now) {
+            return new Leak(request, Duration.ofNanos(now - startNanos), allocationSite);
+        }
+    }
+
+    /**
+     * Runs when a tracked body becomes unreachable, or when it is closed. Must not reference the
+     * body itself.
+     */
+    private static final class LeakReporter implements Runnable {
+        private final ResponseLeakDetector detector;
+        private final Tracked tracked;
+
+        private LeakReporter(ResponseLeakDetector detector, Tracked tracked) {
+            this.detector = detector;
+            this.tracked = tracked;
+        }
+
+        @Override
+        public void run() {
+            if (tracked.closed) {
+                return;
+            }
+            tracked.closed = true;
+            detector.open.remove(tracked.id);
+            detector.leaked.incrementAndGet();
+            final var leak = tracked.toLeak(System.nanoTime());
+            LOGGER.log(
+                    System.Logger.Level.WARNING,
+                    "A response was never closed: " + leak.getRequest() + ", leaked after " + leak.getAge(),
+                    leak.getAllocationSite());
+        }
+    }
+
+    private final class TrackingResponseBody extends ResponseBody {
+        private final ResponseBody delegate;
+        private final Tracked tracked;
+        private BufferedSource source;
+
+        private TrackingResponseBody(ResponseBody delegate, Tracked tracked) {
+            this.delegate = delegate;
+            this.tracked = tracked;
+        }
+
+        @Override
+        public MediaType contentType() {
+            return delegate.contentType();
+        }
+
+        @Override
+        public long contentLength() {
+            return delegate.contentLength();
+        }
+
+        @Override
+        @NotNull
+        public BufferedSource source() {
+            if (source == null) {
+                source = Okio.buffer(new ForwardingSource(delegate.source()) {
+                    @Override
+                    public void close() throws IOException {
+                        closed(tracked);
+                        super.close();
+                    }
+                });
+            }
+            return source;
+        }
+
+        @Override
+        public void close() {
+            closed(tracked);
+            delegate.close();
+        }
+    }
+}
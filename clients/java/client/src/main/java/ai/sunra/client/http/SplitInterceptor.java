@@ -0,0 +1,45 @@
+package ai.sunra.client.http;
+
+import jakarta.annotation.Nonnull;
+import java.io.IOException;
+import okhttp3.Interceptor;
+import okhttp3.Request;
+import okhttp3.Response;
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * An interceptor that only rewrites the request before the call and the response after it. Unlike
+ * an arbitrary interceptor it does not need to stay on the stack while the call is in flight, so
+ * {@link JdkHttpTransport} runs a chain made only of these around an asynchronous send, without
+ * holding a thread while waiting for the response.
+ */
+interface SplitInterceptor extends Interceptor {
+
+    /**
+     * Rewrite the request before it is sent.
+     *
+     * @param request The request.
+     * @return The request to send.
+     * @throws IOException If the request cannot be prepared.
+     */
+    @Nonnull
+    Request before(@Nonnull Request request) throws IOException;
+
+    /**
+     * Rewrite the response once received.
+     *
+     * @param request The request returned by {@link #before(Request)}.
+     * @param response The response.
+     * @return The response to return.
+     * @throws IOException If the response cannot be processed.
+     */
+    @Nonnull
+    Response after(@Nonnull Request request, @Nonnull Response response) throws IOException;
+
+    @Override
+    @Nonnull
+    default Response intercept(@NotNull Chain chain) throws IOException {
+        final var request = before(chain.request());
+        return after(request, chain.proceed(request));
+    }
+}
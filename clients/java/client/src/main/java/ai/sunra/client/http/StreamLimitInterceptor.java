@@ -0,0 +1,218 @@
+package ai.sunra.client.http;
+
+import jakarta.annotation.Nonnull;
+import jakarta.annotation.Nullable;
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.net.SocketTimeoutException;
+import java.util.Collections;
+import java.util.Map;
+import java.util.WeakHashMap;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import okhttp3.Connection;
+import okhttp3.MediaType;
+import okhttp3.Request;
+import okhttp3.Response;
+import okhttp3.ResponseBody;
+import okio.Buffer;
+import okio.BufferedSource;
+import okio.ForwardingSource;
+import okio.Okio;
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * A network interceptor counting the streams open on each connection, until their response body
+ * is closed or exhausted, and optionally capping them. OkHttp picks the connection before network
+ * interceptors run, so a call over the cap waits for a stream of that connection to end, up to
+ * its call timeout or else its read timeout, and fails with a {@link SocketTimeoutException}.
+ * Event streams, such as the status stream of a job, are counted but not capped: they stay open
+ * for as long as the job runs and would otherwise starve the other calls on their connection.
+ * Without a connection, as with {@link JdkHttpTransport}, it does nothing.
+ */
+class StreamLimitInterceptor implements SplitInterceptor {
+
+    private static final class ConnectionStreams {
+        final AtomicInteger active = new AtomicInteger();
+
+        @Nullable
+        final Semaphore permits;
+
+        ConnectionStreams(int maxStreams) {
+            this.permits = maxStreams > 0 ? new Semaphore(maxStreams) : null;
+        }
+    }
+
+    private static final String EVENT_STREAM = "text/event-stream";
+
+    // How often a waiting call checks whether it was canceled.
+    private static final long POLL_NANOS = TimeUnit.MILLISECONDS.toNanos(100);
+
+    private final int maxStreams;
+
+    @Nullable
+    private final MultiplexingStats stats;
+
+    // Weak keys, connections evicted from the pool are dropped with their counters.
+    private final Map<Connection, ConnectionStreams> connections = Collections.synchronizedMap(new WeakHashMap<>());
+
+    StreamLimitInterceptor(int maxStreams, @Nullable MultiplexingStats stats) {
+        this.maxStreams = maxStreams;
+        this.stats = stats;
+    }
+
+    @Override
+    @Nonnull
+    public Request before(@Nonnull Request request) {
+        return request;
+    }
+
+    @Override
+    @Nonnull
+    public Response after(@Nonnull Request request, @Nonnull Response response) {
+        return response;
+    }
+
+    @Override
+    @Nonnull
+    public Response intercept(@NotNull Chain chain) throws IOException {
+        final var connection = chain.connection();
+        if (connection == null) {
+            return chain.proceed(chain.request());
+        }
+        final ConnectionStreams streams;
+        synchronized (connections) {
+            final var existing = connections.get(connection);
+            if (existing != null) {
+                streams = existing;
+            } else {
+                streams = new ConnectionStreams(maxStreams);
+                connections.put(connection, streams);
+                if (stats != null) {
+                    stats.connectionOpened();
+                }
+            }
+        }
+        final var permits = isEventStream(chain.request()) ? null : streams.permits;
+        if (permits != null) {
+            acquire(permits, chain);
+        }
+        final int concurrent = streams.active.incrementAndGet();
+        if (stats != null) {
+            stats.streamOpened(connection.protocol(), concurrent);
+        }
+        final var released = new AtomicBoolean();
+        final Runnable release = () -> {
+            if (released.compareAndSet(false, true)) {
+                streams.active.decrementAndGet();
+                if (permits != null) {
+                    permits.release();
+                }
+                if (stats != null) {
+                    stats.streamClosed();
+                }
+            }
+        };
+        final Response response;
+        try {
+            response = chain.proceed(chain.request());
+        } catch (IOException | RuntimeException e) {
+            release.run();
+            throw e;
+        }
+        final var body = response.body();
+        if (body == null) {
+            release.run();
+            return response;
+        }
+        return response.newBuilder().body(new ReleasingResponseBody(body, release)).build();
+    }
+
+    private static boolean isEventStream(Request request) {
+        final var accept = request.header("Accept");
+        return accept != null && accept.startsWith(EVENT_STREAM);
+    }
+
+    /**
+     * Wait for a stream of the connection, no longer than the call timeout, or the read timeout
+     * when the call has none, and only while the call is not canceled.
+     */
+    private static void acquire(Semaphore permits, Chain chain) throws IOException {
+        final var call = chain.call();
+        long waitNanos = call.timeout().timeoutNanos();
+        if (waitNanos == 0) {
+            waitNanos = TimeUnit.MILLISECONDS.toNanos(chain.readTimeoutMillis());
+        }
+        final long deadline = System.nanoTime() + waitNanos;
+        try {
+            while (true) {
+                if (call.isCanceled()) {
+                    throw new IOException("Canceled");
+                }
+                final long remaining = waitNanos > 0 ? deadline - System.nanoTime() : POLL_NANOS;
+                if (remaining <= 0) {
+                    throw new SocketTimeoutException("Timed out waiting for a stream on " + chain.connection());
+                }
+                if (permits.tryAcquire(Math.min(remaining, POLL_NANOS), TimeUnit.NANOSECONDS)) {
+                    return;
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted waiting for a stream");
+        }
+    }
+
+    private static final class ReleasingResponseBody extends ResponseBody {
+        private final ResponseBody delegate;
+        private final Runnable release;
+        private BufferedSource source;
+
+        private ReleasingResponseBody(ResponseBody delegate, Runnable release) {
+            this.delegate = delegate;
+            this.release = release;
+        }
+
+        @Override
+        public MediaType contentType() {
+            return delegate.contentType();
+        }
+
+        @Override
+        public long contentLength() {
+            return delegate.contentLength();
+        }
+
+        @Override
+        @NotNull
+        public BufferedSource source() {
+            if (source == null) {
+                source = Okio.buffer(new ForwardingSource(delegate.source()) {
+                    @Override
+                    public long read(@NotNull Buffer sink, long byteCount) throws IOException {
+                        final long read = super.read(sink, byteCount);
+                        if (read == -1) {
+                            release.run();
+                        }
+                        return read;
+                    }
+
+                    @Override
+                    public void close() throws IOException {
+                        release.run();
+                        super.close();
+                    }
+                });
+            }
+            return source;
+        }
+
+        @Override
+        public void close() {
+            release.run();
+            delegate.close();
+        }
+    }
+}
@@ -0,0 +1,48 @@
+package ai.sunra.client.http;
+
+import jakarta.annotation.Nonnull;
+import okhttp3.Call;
+import okhttp3.OkHttpClient;
+import okhttp3.Request;
+import okhttp3.sse.EventSource;
+import okhttp3.sse.EventSourceListener;
+
+/**
+ * Sends the prepared requests over the wire. The requests and responses are OkHttp's types in
+ * any case, so the interceptors, metrics and leak detection apply whatever the transport.
+ *
+ * @see OkHttpTransport
+ * @see JdkHttpTransport
+ */
+public interface Transport {
+
+    /**
+     * Create a call for the given request, run through the interceptors of the client.
+     *
+     * @param request The request.
+     * @return The call, not executed yet.
+     */
+    @Nonnull
+    Call newCall(@Nonnull Request request);
+
+    /**
+     * Open a server-sent events stream.
+     *
+     * @param request The request.
+     * @param listener The listener receiving the events.
+     * @return The event source, to cancel the stream.
+     */
+    @Nonnull
+    EventSource newEventSource(@Nonnull Request request, @Nonnull EventSourceListener listener);
+
+    /**
+     * Creates the transport of a client from the OkHttp client configured for it, which holds the
+     * interceptors, timeouts and dispatcher.
+     */
+    @FunctionalInterface
+    interface Factory {
+
+        @Nonnull
+        Transport create(@Nonnull OkHttpClient client);
+    }
+}
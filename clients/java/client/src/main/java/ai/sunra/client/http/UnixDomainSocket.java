@@ -0,0 +1,153 @@
+package ai.sunra.client.http;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.Socket;
+import java.net.SocketAddress;
+import java.net.SocketException;
+import java.nio.ByteBuffer;
+import java.nio.channels.SocketChannel;
+
+/**
+ * A {@link Socket} over a Unix domain socket channel, which has no socket adapter of its own. The
+ * address passed to {@link #connect(SocketAddress, int)} is ignored in favor of the path of the
+ * factory.
+ *
+ * <p>The streams read and write the channel directly, so one thread can read while another
+ * writes, as HTTP/2 does. Read timeouts are enforced by OkHttp closing the socket.
+ */
+class UnixDomainSocket extends Socket {
+
+    private final UnixDomainSocketFactory factory;
+    private volatile SocketChannel channel;
+    private volatile boolean closed;
+    private int soTimeout;
+
+    UnixDomainSocket(UnixDomainSocketFactory factory) {
+        this.factory = factory;
+    }
+
+    @Override
+    public void connect(SocketAddress endpoint) throws IOException {
+        connect(endpoint, 0);
+    }
+
+    @Override
+    public void connect(SocketAddress endpoint, int timeout) throws IOException {
+        if (closed) {
+            throw new SocketException("Socket is closed");
+        }
+        channel = factory.openChannel();
+    }
+
+    @Override
+    public InputStream getInputStream() throws IOException {
+        final var channel = connected();
+        return new InputStream() {
+            @Override
+            public int read() throws IOException {
+                final var one = new byte[1];
+                final int read = read(one, 0, 1);
+                return read == -1 ? -1 : one[0] & 0xff;
+            }
+
+            @Override
+            public int read(byte[] bytes, int offset, int length) throws IOException {
+                if (length == 0) {
+                    return 0;
+                }
+                return channel.read(ByteBuffer.wrap(bytes, offset, length));
+            }
+
+            @Override
+            public void close() throws IOException {
+                UnixDomainSocket.this.close();
+            }
+        };
+    }
+
+    @Override
+    public OutputStream getOutputStream() throws IOException {
+        final var channel = connected();
+        return new OutputStream() {
+            @Override
+            public void write(int b) throws IOException {
+                write(new byte[] {(byte) b}, 0, 1);
+            }
+
+            @Override
+            public void write(byte[] bytes, int offset, int length) throws IOException {
+                final var buffer = ByteBuffer.wrap(bytes, offset, length);
+                while (buffer.hasRemaining()) {
+                    channel.write(buffer);
+                }
+            }
+
+            @Override
+            public void close() throws IOException {
+                UnixDomainSocket.this.close();
+            }
+        };
+    }
+
+    private SocketChannel connected() throws SocketException {
+        final var current = channel;
+        if (closed) {
+            throw new SocketException("Socket is closed");
+        }
+        if (current == null) {
+            throw new SocketException("Socket is not connected");
+        }
+        return current;
+    }
+
+    @Override
+    public synchronized void close() throws IOException {
+        closed = true;
+        if (channel != null) {
+            channel.close();
+        }
+    }
+
+    @Override
+    public boolean isConnected() {
+        return channel != null;
+    }
+
+    @Override
+    public boolean isClosed() {
+        return closed;
+    }
+
+    @Override
+    public void shutdownInput() throws IOException {
+        connected().shutdownInput();
+    }
+
+    @Override
+    public void shutdownOutput() throws IOException {
+        connected().shutdownOutput();
+    }
+
+    @Override
+    public InetAddress getInetAddress() {
+        return InetAddress.getLoopbackAddress();
+    }
+
+    @Override
+    public synchronized void setSoTimeout(int timeout) {
+        this.soTimeout = timeout;
+    }
+
+    @Override
+    public synchronized int getSoTimeout() {
+        return soTimeout;
+    }
+
+    @Override
+    public String toString() {
+        return "UnixDomainSocket(" + factory + ")";
+    }
+}
@@ -0,0 +1,119 @@
+package ai.sunra.client.http;
+
+import jakarta.annotation.Nonnull;
+import java.io.IOException;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.net.InetAddress;
+import java.net.ProtocolFamily;
+import java.net.Socket;
+import java.net.SocketAddress;
+import java.net.StandardProtocolFamily;
+import java.nio.channels.SocketChannel;
+import javax.net.SocketFactory;
+
+/**
+ * A socket factory whose sockets all connect to the same Unix domain socket, whatever address
+ * they are asked to connect to. Used to reach a sidecar proxy without TCP.
+ *
+ * <p>Unix domain socket channels appeared in Java 16; they are looked up reflectively so the
+ * client still runs on Java 11, where {@link #isSupported()} is false.
+ */
+public class UnixDomainSocketFactory extends SocketFactory {
+
+    private static final Method ADDRESS_OF;
+    private static final Method OPEN_CHANNEL;
+    private static final ProtocolFamily UNIX;
+
+    static {
+        Method addressOf = null;
+        Method openChannel = null;
+        ProtocolFamily unix = null;
+        try {
+            addressOf = Class.forName("java.net.UnixDomainSocketAddress").getMethod("of", String.class);
+            openChannel = SocketChannel.class.getMethod("open", ProtocolFamily.class);
+            unix = StandardProtocolFamily.valueOf("UNIX");
+        } catch (ReflectiveOperationException | IllegalArgumentException e) {
+            // Before Java 16.
+        }
+        ADDRESS_OF = addressOf;
+        OPEN_CHANNEL = openChannel;
+        UNIX = unix;
+    }
+
+    private final SocketAddress address;
+
+    /**
+     * Create a factory of sockets connecting to the given path.
+     *
+     * @param path The path of the Unix domain socket.
+     * @throws UnsupportedOperationException Before Java 16.
+     */
+    public UnixDomainSocketFactory(@Nonnull String path) {
+        if (!isSupported()) {
+            throw new UnsupportedOperationException("Unix domain sockets require Java 16 or later");
+        }
+        try {
+            this.address = (SocketAddress) ADDRESS_OF.invoke(null, path);
+        } catch (IllegalAccessException | InvocationTargetException e) {
+            throw new IllegalArgumentException("Invalid Unix domain socket path: " + path, e);
+        }
+    }
+
+    /**
+     * Check whether the running JVM supports Unix domain socket channels.
+     *
+     * @return Whether Unix domain sockets are supported.
+     */
+    public static boolean isSupported() {
+        return ADDRESS_OF != null && OPEN_CHANNEL != null && UNIX != null;
+    }
+
+    SocketChannel openChannel() throws IOException {
+        try {
+            final var channel = (SocketChannel) OPEN_CHANNEL.invoke(null, UNIX);
+            channel.connect(address);
+            return channel;
+        } catch (IllegalAccessException e) {
+            throw new IOException(e);
+        } catch (InvocationTargetException e) {
+            if (e.getCause() instanceof IOException) {
+                throw (IOException) e.getCause();
+            }
+            throw new IOException(e.getCause());
+        }
+    }
+
+    @Override
+    public Socket createSocket() {
+        return new UnixDomainSocket(this);
+    }
+
+    @Override
+    public Socket createSocket(String host, int port) throws IOException {
+        final var socket = new UnixDomainSocket(this);
+        socket.connect(null);
+        return socket;
+    }
+
+    @Override
+    public Socket createSocket(String host, int port, InetAddress localHost, int localPort) throws IOException {
+        return createSocket(host, port);
+    }
+
+    @Override
+    public Socket createSocket(InetAddress host, int port) throws IOException {
+        return createSocket(host.getHostName(), port);
+    }
+
+    @Override
+    public Socket createSocket(InetAddress address, int port, InetAddress localAddress, int localPort)
+            throws IOException {
+        return createSocket(address.getHostName(), port);
+    }
+
+    @Override
+    public String toString() {
+        return "UnixDomainSocketFactory(" + address + ")";
+    }
+}
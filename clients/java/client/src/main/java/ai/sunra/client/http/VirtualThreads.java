@@ -0,0 +1,45 @@
+package ai.sunra.client.http;
+
+import jakarta.annotation.Nonnull;
+import java.util.concurrent.ExecutorService;
+
+/**
+ * Access to virtual threads from code compiled for Java 11. This is the Java 11 variant, where
+ * they are not available; the multi-release JAR carries a Java 21 variant with the same methods
+ * under {@code META-INF/versions/21}.
+ */
+public final class VirtualThreads {
+
+    private VirtualThreads() {}
+
+    /**
+     * Check whether the running JVM supports virtual threads.
+     *
+     * @return Whether virtual threads are supported.
+     */
+    public static boolean isSupported() {
+        return false;
+    }
+
+    /**
+     * Check whether the given thread is a virtual thread.
+     *
+     * @param thread The thread.
+     * @return Whether the thread is virtual.
+     */
+    public static boolean isVirtual(@Nonnull Thread thread) {
+        return false;
+    }
+
+    /**
+     * Create an executor starting a new virtual thread for each task.
+     *
+     * @param prefix The name prefix of the threads, followed by a counter.
+     * @return The executor.
+     * @throws UnsupportedOperationException If virtual threads are not supported.
+     */
+    @Nonnull
+    public static ExecutorService newThreadPerTaskExecutor(@Nonnull String prefix) {
+        throw new UnsupportedOperationException("Virtual threads require Java 21 or later");
+    }
+}
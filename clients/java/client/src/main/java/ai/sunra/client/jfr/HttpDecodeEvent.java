@@ -0,0 +1,33 @@
+package ai.sunra.client.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Reading and decoding an HTTP response body.
+ */
+@Name("ai.sunra.client.HttpDecode")
+@Label("HTTP Response Decode")
+@Category({"Sunra", "Client"})
+@Description("Reading and decoding an HTTP response body.")
+@StackTrace(false)
+public class HttpDecodeEvent extends Event {
+
+    @Label("Request ID")
+    public String requestId;
+
+    @Label("Result Type")
+    public String resultType;
+
+    @Label("Status Code")
+    public int statusCode;
+
+    @Label("Response Size")
+    @DataAmount
+    public long responseBytes;
+}
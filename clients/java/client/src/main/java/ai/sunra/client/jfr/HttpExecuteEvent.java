@@ -0,0 +1,40 @@
+package ai.sunra.client.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Executing an HTTP request until the response headers are received.
+ */
+@Name("ai.sunra.client.HttpExecute")
+@Label("HTTP Request Execute")
+@Category({"Sunra", "Client"})
+@Description("Executing an HTTP request until the response headers are received.")
+@StackTrace(false)
+public class HttpExecuteEvent extends Event {
+
+    @Label("Endpoint ID")
+    public String endpointId;
+
+    @Label("Method")
+    public String method;
+
+    @Label("URL")
+    public String url;
+
+    @Label("Status Code")
+    public int statusCode;
+
+    @Label("Request Size")
+    @DataAmount
+    public long requestBytes;
+
+    @Label("Response Size")
+    @DataAmount
+    public long responseBytes;
+}
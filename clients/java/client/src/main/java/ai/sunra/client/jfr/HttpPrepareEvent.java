@@ -0,0 +1,30 @@
+package ai.sunra.client.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Preparing an HTTP request, including encoding its body.
+ */
+@Name("ai.sunra.client.HttpPrepare")
+@Label("HTTP Request Prepare")
+@Category({"Sunra", "Client"})
+@Description("Preparing an HTTP request, including encoding its body.")
+@StackTrace(false)
+public class HttpPrepareEvent extends Event {
+
+    @Label("Method")
+    public String method;
+
+    @Label("URL")
+    public String url;
+
+    @Label("Request Size")
+    @DataAmount
+    public long requestBytes;
+}
@@ -0,0 +1,25 @@
+package ai.sunra.client.jfr;
+
+/**
+ * Whether the running JVM has the {@code jdk.jfr} module. A jlink image can leave it out, in which
+ * case loading any of the event classes throws {@link NoClassDefFoundError}; callers check
+ * {@link #AVAILABLE} before creating an event, so that the classes are never touched without it.
+ */
+public final class JfrSupport {
+
+    /**
+     * Whether JDK Flight Recorder events can be created, checked once when this class is loaded.
+     */
+    public static final boolean AVAILABLE = isAvailable();
+
+    private JfrSupport() {}
+
+    private static boolean isAvailable() {
+        try {
+            Class.forName("jdk.jfr.Event", false, JfrSupport.class.getClassLoader());
+            return true;
+        } catch (ClassNotFoundException | LinkageError ex) {
+            return false;
+        }
+    }
+}
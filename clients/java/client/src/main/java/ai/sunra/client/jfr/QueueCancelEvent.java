@@ -0,0 +1,22 @@
+package ai.sunra.client.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Canceling a queued request.
+ */
+@Name("ai.sunra.client.QueueCancel")
+@Label("Queue Cancel")
+@Category({"Sunra", "Client"})
+@Description("Canceling a queued request.")
+@StackTrace(false)
+public class QueueCancelEvent extends Event {
+
+    @Label("Request ID")
+    public String requestId;
+}
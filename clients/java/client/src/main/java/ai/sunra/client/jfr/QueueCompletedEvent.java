@@ -0,0 +1,28 @@
+package ai.sunra.client.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * A queued request completed, spanning the wait for its completion.
+ */
+@Name("ai.sunra.client.QueueCompleted")
+@Label("Queue Completed")
+@Category({"Sunra", "Client"})
+@Description("A queued request completed, spanning the wait for its completion.")
+@StackTrace(false)
+public class QueueCompletedEvent extends Event {
+
+    @Label("Endpoint ID")
+    public String endpointId;
+
+    @Label("Request ID")
+    public String requestId;
+
+    @Label("Success")
+    public boolean success;
+}
@@ -0,0 +1,30 @@
+package ai.sunra.client.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Fetching the result of a completed request.
+ */
+@Name("ai.sunra.client.QueueResult")
+@Label("Queue Result Fetched")
+@Category({"Sunra", "Client"})
+@Description("Fetching the result of a completed request.")
+@StackTrace(false)
+public class QueueResultEvent extends Event {
+
+    @Label("Endpoint ID")
+    public String endpointId;
+
+    @Label("Request ID")
+    public String requestId;
+
+    @Label("Response Size")
+    @DataAmount
+    public long responseBytes;
+}
@@ -0,0 +1,55 @@
+package ai.sunra.client.jfr;
+
+import ai.sunra.client.queue.QueueStatus;
+import jakarta.annotation.Nonnull;
+import jakarta.annotation.Nullable;
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * A status update of a queued request was received.
+ */
+@Name("ai.sunra.client.QueueStatus")
+@Label("Queue Status Update")
+@Category({"Sunra", "Client"})
+@Description("A status update of a queued request was received.")
+@StackTrace(false)
+public class QueueStatusEvent extends Event {
+
+    @Label("Endpoint ID")
+    public String endpointId;
+
+    @Label("Request ID")
+    public String requestId;
+
+    @Label("Status")
+    public String status;
+
+    @Label("Queue Position")
+    public int queuePosition;
+
+    /**
+     * Emit an event for a received status update, if enabled.
+     *
+     * @param endpointId The endpoint ID, if known.
+     * @param update The status update.
+     */
+    public static void emit(@Nullable String endpointId, @Nonnull QueueStatus.StatusUpdate update) {
+        final var event = new QueueStatusEvent();
+        if (event.shouldCommit()) {
+            event.endpointId = endpointId;
+            event.requestId = update.getRequestId();
+            event.status = String.valueOf(update.getStatus());
+            event.queuePosition = -1;
+            if (update instanceof QueueStatus.InQueue) {
+                final var position = ((QueueStatus.InQueue) update).getQueuePosition();
+                event.queuePosition = position != null ? position : -1;
+            }
+            event.commit();
+        }
+    }
+}
@@ -0,0 +1,30 @@
+package ai.sunra.client.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Submitting a request to the queue.
+ */
+@Name("ai.sunra.client.QueueSubmit")
+@Label("Queue Submit")
+@Category({"Sunra", "Client"})
+@Description("Submitting a request to the queue.")
+@StackTrace(false)
+public class QueueSubmitEvent extends Event {
+
+    @Label("Endpoint ID")
+    public String endpointId;
+
+    @Label("Request ID")
+    public String requestId;
+
+    @Label("Request Size")
+    @DataAmount
+    public long requestBytes;
+}
@@ -0,0 +1,45 @@
+package ai.sunra.client.json;
+
+import ai.sunra.client.BinaryInput;
+import com.google.gson.TypeAdapter;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonWriter;
+import java.io.IOException;
+import okio.Buffer;
+
+/**
+ * Writes a {@link BinaryInput} nested in a value the codec serializes, e.g. a field of a POJO
+ * input. The base64 string is materialized in memory here; top-level, map and collection inputs
+ * skip the codec and stream it instead.
+ */
+class BinaryInputTypeAdapter extends TypeAdapter<BinaryInput> {
+
+    private final JsonCodec codec;
+
+    BinaryInputTypeAdapter(JsonCodec codec) {
+        this.codec = codec;
+    }
+
+    @Override
+    public void write(JsonWriter out, BinaryInput value) throws IOException {
+        if (value == null) {
+            out.nullValue();
+            return;
+        }
+        final var buffer = new Buffer();
+        value.writeTo(buffer, codec);
+        final var json = buffer.readUtf8();
+        try {
+            // Raw, so the base64 padding is not HTML-escaped.
+            out.jsonValue(json);
+        } catch (UnsupportedOperationException e) {
+            // Gson's tree writer takes no raw JSON, the value is a plain string.
+            out.value(json.substring(1, json.length() - 1));
+        }
+    }
+
+    @Override
+    public BinaryInput read(JsonReader in) {
+        throw new UnsupportedOperationException("BinaryInput is an input-only type");
+    }
+}
@@ -0,0 +1,63 @@
+package ai.sunra.client.json;
+
+import jakarta.annotation.Nullable;
+
+/**
+ * The fields of an API error body. Both the nested {@code {"error": {...}}} shape and the legacy
+ * top-level shape are mapped onto the same fields.
+ */
+public final class ErrorPayload {
+
+    @Nullable
+    private final String message;
+
+    @Nullable
+    private final String code;
+
+    @Nullable
+    private final String type;
+
+    @Nullable
+    private final Object details;
+
+    @Nullable
+    private final String timestamp;
+
+    public ErrorPayload(
+            @Nullable String message,
+            @Nullable String code,
+            @Nullable String type,
+            @Nullable Object details,
+            @Nullable String timestamp) {
+        this.message = message;
+        this.code = code;
+        this.type = type;
+        this.details = details;
+        this.timestamp = timestamp;
+    }
+
+    @Nullable
+    public String getMessage() {
+        return message;
+    }
+
+    @Nullable
+    public String getCode() {
+        return code;
+    }
+
+    @Nullable
+    public String getType() {
+        return type;
+    }
+
+    @Nullable
+    public Object getDetails() {
+        return details;
+    }
+
+    @Nullable
+    public String getTimestamp() {
+        return timestamp;
+    }
+}
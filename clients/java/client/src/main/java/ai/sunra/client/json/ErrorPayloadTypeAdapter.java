@@ -0,0 +1,146 @@
+package ai.sunra.client.json;
+
+import com.google.gson.Gson;
+import com.google.gson.TypeAdapter;
+import com.google.gson.TypeAdapterFactory;
+import com.google.gson.reflect.TypeToken;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import com.google.gson.stream.JsonWriter;
+import java.io.IOException;
+
+/**
+ * Streams an API error body into an {@link ErrorPayload}. Only the known fields are
+ * materialized, everything else is skipped.
+ */
+class ErrorPayloadTypeAdapter extends TypeAdapter<ErrorPayload> {
+
+    static final TypeAdapterFactory FACTORY = new TypeAdapterFactory() {
+        @Override
+        @SuppressWarnings("unchecked")
+        public <T> TypeAdapter<T> create(Gson gson, TypeToken<T> type) {
+            if (type.getRawType() != ErrorPayload.class) {
+                return null;
+            }
+            return (TypeAdapter<T>) new ErrorPayloadTypeAdapter(gson.getAdapter(Object.class));
+        }
+    };
+
+    private final TypeAdapter<Object> objectAdapter;
+
+    private ErrorPayloadTypeAdapter(TypeAdapter<Object> objectAdapter) {
+        this.objectAdapter = objectAdapter;
+    }
+
+    @Override
+    public ErrorPayload read(JsonReader in) throws IOException {
+        if (in.peek() != JsonToken.BEGIN_OBJECT) {
+            in.skipValue();
+            return null;
+        }
+        String message = null;
+        String code = null;
+        String type = null;
+        Object details = null;
+        String timestamp = null;
+
+        // Legacy top-level fields, only used when there is no nested error object.
+        boolean nested = false;
+        String legacyMessage = null;
+        String legacyCode = null;
+        String legacyType = null;
+        Object legacyDetails = null;
+
+        in.beginObject();
+        while (in.hasNext()) {
+            switch (in.nextName()) {
+                case "error":
+                    nested = true;
+                    if (in.peek() != JsonToken.BEGIN_OBJECT) {
+                        in.skipValue();
+                        break;
+                    }
+                    in.beginObject();
+                    while (in.hasNext()) {
+                        switch (in.nextName()) {
+                            case "message":
+                                message = nextString(in);
+                                break;
+                            case "code":
+                                code = nextString(in);
+                                break;
+                            case "type":
+                                type = nextString(in);
+                                break;
+                            case "details":
+                                details = objectAdapter.read(in);
+                                break;
+                            default:
+                                in.skipValue();
+                        }
+                    }
+                    in.endObject();
+                    break;
+                case "detail":
+                    legacyMessage = nextString(in);
+                    break;
+                case "code":
+                    legacyCode = nextString(in);
+                    break;
+                case "type":
+                    legacyType = nextString(in);
+                    break;
+                case "details":
+                    legacyDetails = objectAdapter.read(in);
+                    break;
+                case "timestamp":
+                    timestamp = nextString(in);
+                    break;
+                default:
+                    in.skipValue();
+            }
+        }
+        in.endObject();
+
+        if (!nested) {
+            message = legacyMessage;
+            code = legacyCode;
+            type = legacyType;
+            details = legacyDetails;
+        }
+        return new ErrorPayload(message, code, type, details, timestamp);
+    }
+
+    @Override
+    public void write(JsonWriter out, ErrorPayload value) throws IOException {
+        if (value == null) {
+            out.nullValue();
+            return;
+        }
+        out.beginObject();
+        out.name("error").beginObject();
+        out.name("message").value(value.getMessage());
+        out.name("code").value(value.getCode());
+        out.name("type").value(value.getType());
+        out.name("details");
+        objectAdapter.write(out, value.getDetails());
+        out.endObject();
+        out.name("timestamp").value(value.getTimestamp());
+        out.endObject();
+    }
+
+    private static String nextString(JsonReader in) throws IOException {
+        switch (in.peek()) {
+            case NULL:
+                in.nextNull();
+                return null;
+            case BOOLEAN:
+                return String.valueOf(in.nextBoolean());
+            case STRING:
+            case NUMBER:
+                return in.nextString();
+            default:
+                throw new IllegalStateException("Expected a primitive but was " + in.peek());
+        }
+    }
+}
@@ -0,0 +1,156 @@
+package ai.sunra.client.json;
+
+import ai.sunra.client.queue.QueueStatus;
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonWriter;
+import jakarta.annotation.Nonnull;
+import jakarta.annotation.Nullable;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.nio.charset.StandardCharsets;
+import okio.BufferedSink;
+import okio.BufferedSource;
+
+/**
+ * The default codec, backed by a {@link Gson} instance. The client model classes are decoded
+ * through the adapters of {@link ModelTypeAdapterFactory}, everything else reflectively.
+ */
+public class GsonJsonCodec implements JsonCodec {
+
+    protected final Gson gson;
+
+    /**
+     * Create a new codec with a default {@link Gson} instance.
+     */
+    public GsonJsonCodec() {
+        this(new GsonBuilder().registerTypeAdapterFactory(ModelTypeAdapterFactory.INSTANCE).create());
+    }
+
+    /**
+     * Create a new codec with the given {@link Gson} instance. Register
+     * {@link ModelTypeAdapterFactory#INSTANCE} on it to avoid reflection for the client models.
+     *
+     * @param gson The Gson instance.
+     */
+    public GsonJsonCodec(@Nonnull Gson gson) {
+        this.gson = gson;
+    }
+
+    /**
+     * Get the underlying Gson instance.
+     *
+     * @return The Gson instance.
+     */
+    @Nonnull
+    public Gson getGson() {
+        return gson;
+    }
+
+    @Override
+    public void encode(@Nullable Object value, @Nonnull BufferedSink sink) throws IOException {
+        final var writer = new OutputStreamWriter(sink.outputStream(), StandardCharsets.UTF_8);
+        final JsonWriter jsonWriter = gson.newJsonWriter(writer);
+        if (value == null) {
+            jsonWriter.nullValue();
+        } else {
+            gson.toJson(value, value.getClass(), jsonWriter);
+        }
+        jsonWriter.flush();
+    }
+
+    @Override
+    public <T> T decode(@Nonnull BufferedSource source, @Nonnull Class<T> type) throws IOException {
+        return gson.fromJson(newJsonReader(source), type);
+    }
+
+    @Override
+    public <T> T decode(@Nonnull String json, @Nonnull Class<T> type) {
+        return gson.fromJson(json, type);
+    }
+
+    @Override
+    public <T> T convert(@Nonnull JsonElement json, @Nonnull Class<T> type) {
+        return gson.fromJson(json, type);
+    }
+
+    @Override
+    @Nonnull
+    public QueueStatus.StatusUpdate decodeStatus(@Nonnull BufferedSource source) throws IOException {
+        final JsonObject json = gson.fromJson(newJsonReader(source), JsonObject.class);
+        return gson.fromJson(json, QueueStatus.resolveType(json));
+    }
+
+    @Override
+    @Nonnull
+    public QueueStatus.StatusUpdate decodeStatus(@Nonnull String json) {
+        final var payload = gson.fromJson(json, JsonObject.class);
+        return gson.fromJson(payload, QueueStatus.resolveType(payload));
+    }
+
+    @Override
+    @Nullable
+    public ErrorPayload decodeError(@Nonnull BufferedSource source) throws IOException {
+        // Read without Gson's lenient mode, so a non-JSON body fails like with the streaming codec.
+        final JsonElement json = gson.getAdapter(JsonElement.class).read(newJsonReader(source));
+        if (json == null || !json.isJsonObject()) {
+            return null;
+        }
+        final var jsonObject = json.getAsJsonObject();
+
+        String message = null;
+        String code = null;
+        String type = null;
+        Object details = null;
+        String timestamp = null;
+
+        // Check if there's a nested error object (common API pattern)
+        if (jsonObject.has("error")) {
+            final var errorElement = jsonObject.get("error");
+            if (errorElement != null && !errorElement.isJsonNull() && errorElement.isJsonObject()) {
+                final var errorObject = errorElement.getAsJsonObject();
+
+                if (errorObject.has("message")) {
+                    message = errorObject.get("message").getAsString();
+                }
+                if (errorObject.has("code")) {
+                    code = errorObject.get("code").getAsString();
+                }
+                if (errorObject.has("type")) {
+                    type = errorObject.get("type").getAsString();
+                }
+                if (errorObject.has("details")) {
+                    details = gson.fromJson(errorObject.get("details"), Object.class);
+                }
+            }
+        } else {
+            // Fallback to top-level fields for legacy responses
+            if (jsonObject.has("detail")) {
+                message = jsonObject.get("detail").getAsString();
+            }
+            if (jsonObject.has("code")) {
+                code = jsonObject.get("code").getAsString();
+            }
+            if (jsonObject.has("type")) {
+                type = jsonObject.get("type").getAsString();
+            }
+            if (jsonObject.has("details")) {
+                details = gson.fromJson(jsonObject.get("details"), Object.class);
+            }
+        }
+
+        // Extract top-level fields
+        if (jsonObject.has("timestamp")) {
+            timestamp = jsonObject.get("timestamp").getAsString();
+        }
+        return new ErrorPayload(message, code, type, details, timestamp);
+    }
+
+    protected JsonReader newJsonReader(@Nonnull BufferedSource source) {
+        return gson.newJsonReader(new InputStreamReader(source.inputStream(), StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,96 @@
+package ai.sunra.client.json;
+
+import ai.sunra.client.queue.QueueStatus;
+import com.google.gson.JsonElement;
+import jakarta.annotation.Nonnull;
+import jakarta.annotation.Nullable;
+import java.io.IOException;
+import okio.Buffer;
+import okio.BufferedSink;
+import okio.BufferedSource;
+
+/**
+ * The JSON codec used by the client to encode request bodies and decode responses, status
+ * updates and error payloads. Implementations must be thread-safe.
+ *
+ * @see GsonJsonCodec the default, reflective Gson codec
+ * @see StreamingGsonJsonCodec a codec with streaming adapters for the client payloads
+ */
+public interface JsonCodec {
+
+    /**
+     * Encode a value as JSON into the sink.
+     *
+     * @param value The value to encode.
+     * @param sink The sink to write to.
+     * @throws IOException If writing to the sink fails.
+     */
+    void encode(@Nullable Object value, @Nonnull BufferedSink sink) throws IOException;
+
+    /**
+     * Decode a JSON document from the source.
+     *
+     * @param <T> the type of the result
+     * @param source The source to read from.
+     * @param type The type to decode into.
+     * @return The decoded value.
+     * @throws IOException If reading from the source fails.
+     */
+    <T> T decode(@Nonnull BufferedSource source, @Nonnull Class<T> type) throws IOException;
+
+    /**
+     * Decode a JSON document from a string, e.g. the payload of a server-sent event.
+     *
+     * @param <T> the type of the result
+     * @param json The JSON document.
+     * @param type The type to decode into.
+     * @return The decoded value.
+     */
+    <T> T decode(@Nonnull String json, @Nonnull Class<T> type);
+
+    /**
+     * Convert a JSON tree into the given type.
+     *
+     * @param <T> the type of the result
+     * @param json The JSON tree.
+     * @param type The type to convert into.
+     * @return The converted value.
+     */
+    <T> T convert(@Nonnull JsonElement json, @Nonnull Class<T> type);
+
+    /**
+     * Decode a queue status payload into the matching {@link QueueStatus.StatusUpdate} subtype.
+     *
+     * @param source The source to read from.
+     * @return The status update.
+     * @throws IOException If reading from the source fails.
+     */
+    @Nonnull
+    QueueStatus.StatusUpdate decodeStatus(@Nonnull BufferedSource source) throws IOException;
+
+    /**
+     * Decode a queue status payload into the matching {@link QueueStatus.StatusUpdate} subtype.
+     *
+     * @param json The JSON document, e.g. the payload of a server-sent event.
+     * @return The status update.
+     */
+    @Nonnull
+    default QueueStatus.StatusUpdate decodeStatus(@Nonnull String json) {
+        try {
+            return decodeStatus(new Buffer().writeUtf8(json));
+        } catch (IOException e) {
+            // Reading from an in-memory buffer does not fail.
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /**
+     * Decode an API error payload.
+     *
+     * @param source The source to read from.
+     * @return The error payload, or null if the document is not a JSON object.
+     * @throws IOException If reading from the source fails, or if the body is empty or not JSON.
+     */
+    @Nullable
+    ErrorPayload decodeError(@Nonnull BufferedSource source) throws IOException;
+}
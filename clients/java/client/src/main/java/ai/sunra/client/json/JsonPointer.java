@@ -0,0 +1,108 @@
+package ai.sunra.client.json;
+
+import com.google.gson.JsonElement;
+import com.google.gson.JsonParser;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import jakarta.annotation.Nonnull;
+import jakarta.annotation.Nullable;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * A JSON pointer (RFC 6901), e.g. {@code /images/0/url}, evaluated against a streaming
+ * {@link JsonReader}. Only the value the pointer refers to is materialized, every sibling on the
+ * way is skipped without being decoded.
+ */
+public final class JsonPointer {
+
+    private final String pointer;
+    private final List<String> tokens;
+
+    private JsonPointer(String pointer, List<String> tokens) {
+        this.pointer = pointer;
+        this.tokens = tokens;
+    }
+
+    /**
+     * Parse a JSON pointer.
+     *
+     * @param pointer The pointer, either empty for the whole document or starting with {@code /}.
+     * @return The parsed pointer.
+     */
+    @Nonnull
+    public static JsonPointer parse(@Nonnull String pointer) {
+        if (pointer.isEmpty()) {
+            return new JsonPointer(pointer, List.of());
+        }
+        if (pointer.charAt(0) != '/') {
+            throw new IllegalArgumentException("JSON pointer must start with '/': " + pointer);
+        }
+        final var tokens = new ArrayList<String>();
+        int start = 1;
+        while (true) {
+            final int end = pointer.indexOf('/', start);
+            final var token = end < 0 ? pointer.substring(start) : pointer.substring(start, end);
+            tokens.add(token.replace("~1", "/").replace("~0", "~"));
+            if (end < 0) {
+                break;
+            }
+            start = end + 1;
+        }
+        return new JsonPointer(pointer, tokens);
+    }
+
+    /**
+     * Move the reader to the value this pointer refers to and read it.
+     *
+     * @param reader The reader, positioned before the document.
+     * @return The value, or null if the document has no value at this pointer.
+     * @throws IOException If reading fails.
+     */
+    @Nullable
+    public JsonElement read(@Nonnull JsonReader reader) throws IOException {
+        for (final var token : tokens) {
+            if (!moveTo(reader, token)) {
+                return null;
+            }
+        }
+        return JsonParser.parseReader(reader);
+    }
+
+    private static boolean moveTo(JsonReader reader, String token) throws IOException {
+        final var next = reader.peek();
+        if (next == JsonToken.BEGIN_OBJECT) {
+            reader.beginObject();
+            while (reader.hasNext()) {
+                if (reader.nextName().equals(token)) {
+                    return true;
+                }
+                reader.skipValue();
+            }
+            return false;
+        }
+        if (next == JsonToken.BEGIN_ARRAY) {
+            final int index;
+            try {
+                index = Integer.parseInt(token);
+            } catch (NumberFormatException e) {
+                return false;
+            }
+            reader.beginArray();
+            for (int i = 0; i < index; i++) {
+                if (!reader.hasNext()) {
+                    return false;
+                }
+                reader.skipValue();
+            }
+            return reader.hasNext();
+        }
+        return false;
+    }
+
+    @Override
+    public String toString() {
+        return pointer;
+    }
+}
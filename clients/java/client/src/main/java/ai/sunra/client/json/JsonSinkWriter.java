@@ -0,0 +1,257 @@
+package ai.sunra.client.json;
+
+import com.google.gson.JsonArray;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonPrimitive;
+import jakarta.annotation.Nonnull;
+import jakarta.annotation.Nullable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.Iterator;
+import java.util.Map;
+import okio.BufferedSink;
+
+/**
+ * Writes JSON values straight into an okio {@link BufferedSink}. Strings are escaped in place and
+ * copied in runs, trees are walked without an intermediate {@link String}, and iterators are
+ * consumed one element at a time.
+ */
+public final class JsonSinkWriter {
+
+    /**
+     * The number of raw bytes base64-encoded per chunk. A multiple of 3, so only the last chunk is
+     * padded.
+     */
+    private static final int BASE64_CHUNK_SIZE = 3 * 4096;
+
+    private static final String[] REPLACEMENT_CHARS = new String[128];
+
+    static {
+        for (int i = 0; i < 0x20; i++) {
+            REPLACEMENT_CHARS[i] = String.format("\\u%04x", i);
+        }
+        REPLACEMENT_CHARS['"'] = "\\\"";
+        REPLACEMENT_CHARS['\\'] = "\\\\";
+        REPLACEMENT_CHARS['\t'] = "\\t";
+        REPLACEMENT_CHARS['\b'] = "\\b";
+        REPLACEMENT_CHARS['\n'] = "\\n";
+        REPLACEMENT_CHARS['\r'] = "\\r";
+        REPLACEMENT_CHARS['\f'] = "\\f";
+    }
+
+    private JsonSinkWriter() {}
+
+    /**
+     * Write a value. Primitives, {@link JsonElement} trees, maps, iterables, iterators and
+     * {@link JsonStreamable} values are written directly; anything else is delegated to the codec.
+     * Object fields holding null are left out, as Gson does by default.
+     *
+     * @param sink The sink to write to.
+     * @param value The value.
+     * @param codec The codec for values that cannot be written directly.
+     * @throws IOException If writing fails.
+     */
+    public static void writeValue(@Nonnull BufferedSink sink, @Nullable Object value, @Nonnull JsonCodec codec)
+            throws IOException {
+        if (value == null) {
+            sink.writeUtf8("null");
+        } else if (value instanceof String) {
+            writeString(sink, (String) value);
+        } else if (value instanceof Character) {
+            writeString(sink, value.toString());
+        } else if (value instanceof Boolean) {
+            sink.writeUtf8((Boolean) value ? "true" : "false");
+        } else if (value instanceof Number) {
+            writeNumber(sink, (Number) value);
+        } else if (value instanceof JsonElement) {
+            writeElement(sink, (JsonElement) value);
+        } else if (value instanceof JsonStreamable) {
+            ((JsonStreamable) value).writeTo(sink, codec);
+        } else if (value instanceof Map) {
+            writeMap(sink, (Map<?, ?>) value, codec);
+        } else if (value instanceof Iterable) {
+            writeArray(sink, ((Iterable<?>) value).iterator(), codec);
+        } else if (value instanceof Iterator) {
+            writeArray(sink, (Iterator<?>) value, codec);
+        } else {
+            codec.encode(value, sink);
+        }
+    }
+
+    /**
+     * Write an array, consuming the iterator one element at a time.
+     *
+     * @param sink The sink to write to.
+     * @param values The elements.
+     * @param codec The codec for values that cannot be written directly.
+     * @throws IOException If writing fails.
+     */
+    public static void writeArray(@Nonnull BufferedSink sink, @Nonnull Iterator<?> values, @Nonnull JsonCodec codec)
+            throws IOException {
+        sink.writeByte('[');
+        boolean first = true;
+        while (values.hasNext()) {
+            if (!first) {
+                sink.writeByte(',');
+            }
+            first = false;
+            writeValue(sink, values.next(), codec);
+        }
+        sink.writeByte(']');
+    }
+
+    /**
+     * Write a JSON string, escaping it as required.
+     *
+     * @param sink The sink to write to.
+     * @param value The string.
+     * @throws IOException If writing fails.
+     */
+    public static void writeString(@Nonnull BufferedSink sink, @Nonnull String value) throws IOException {
+        sink.writeByte('"');
+        int last = 0;
+        final int length = value.length();
+        for (int i = 0; i < length; i++) {
+            final char c = value.charAt(i);
+            final String replacement;
+            if (c < 128) {
+                replacement = REPLACEMENT_CHARS[c];
+                if (replacement == null) {
+                    continue;
+                }
+            } else if (c == '\u2028') {
+                replacement = "\\u2028";
+            } else if (c == '\u2029') {
+                replacement = "\\u2029";
+            } else {
+                continue;
+            }
+            if (last < i) {
+                sink.writeUtf8(value, last, i);
+            }
+            sink.writeUtf8(replacement);
+            last = i + 1;
+        }
+        if (last < length) {
+            sink.writeUtf8(value, last, length);
+        }
+        sink.writeByte('"');
+    }
+
+    /**
+     * Write the content of a stream as a base64 JSON string, encoding it in fixed-size chunks so
+     * memory use is constant regardless of the size of the stream. The stream is not closed.
+     *
+     * @param sink The sink to write to.
+     * @param prefix A prefix written inside the string before the data, e.g. a data URI header.
+     * @param data The stream to encode.
+     * @throws IOException If reading or writing fails.
+     */
+    public static void writeBase64(@Nonnull BufferedSink sink, @Nullable String prefix, @Nonnull InputStream data)
+            throws IOException {
+        final var encoder = Base64.getEncoder();
+        final var chunk = new byte[BASE64_CHUNK_SIZE];
+        final var encoded = new byte[BASE64_CHUNK_SIZE / 3 * 4];
+        sink.writeByte('"');
+        if (prefix != null) {
+            sink.writeUtf8(prefix);
+        }
+        while (true) {
+            final int read = data.readNBytes(chunk, 0, chunk.length);
+            if (read == 0) {
+                break;
+            }
+            if (read == chunk.length) {
+                sink.write(encoded, 0, encoder.encode(chunk, encoded));
+            } else {
+                sink.write(encoder.encode(Arrays.copyOf(chunk, read)));
+                break;
+            }
+        }
+        sink.writeByte('"');
+    }
+
+    private static void writeNumber(BufferedSink sink, Number value) throws IOException {
+        if (value instanceof Double || value instanceof Float) {
+            final double number = value.doubleValue();
+            if (Double.isNaN(number) || Double.isInfinite(number)) {
+                throw new IllegalArgumentException("JSON forbids NaN and infinities: " + value);
+            }
+        }
+        sink.writeUtf8(value.toString());
+    }
+
+    /**
+     * Check whether a field is left out of an object. Like Gson without {@code serializeNulls},
+     * fields holding null or {@link com.google.gson.JsonNull} are not written.
+     *
+     * @param value The value of the field.
+     * @return True if the field is left out.
+     */
+    public static boolean isOmitted(@Nullable Object value) {
+        return value == null || (value instanceof JsonElement && ((JsonElement) value).isJsonNull());
+    }
+
+    private static void writeMap(BufferedSink sink, Map<?, ?> map, JsonCodec codec) throws IOException {
+        sink.writeByte('{');
+        boolean first = true;
+        for (final Map.Entry<?, ?> entry : map.entrySet()) {
+            if (isOmitted(entry.getValue())) {
+                continue;
+            }
+            if (!first) {
+                sink.writeByte(',');
+            }
+            first = false;
+            writeString(sink, String.valueOf(entry.getKey()));
+            sink.writeByte(':');
+            writeValue(sink, entry.getValue(), codec);
+        }
+        sink.writeByte('}');
+    }
+
+    private static void writeElement(BufferedSink sink, JsonElement element) throws IOException {
+        if (element.isJsonNull()) {
+            sink.writeUtf8("null");
+        } else if (element.isJsonPrimitive()) {
+            final JsonPrimitive primitive = element.getAsJsonPrimitive();
+            if (primitive.isString()) {
+                writeString(sink, primitive.getAsString());
+            } else if (primitive.isBoolean()) {
+                sink.writeUtf8(primitive.getAsBoolean() ? "true" : "false");
+            } else {
+                writeNumber(sink, primitive.getAsNumber());
+            }
+        } else if (element.isJsonArray()) {
+            final JsonArray array = element.getAsJsonArray();
+            sink.writeByte('[');
+            for (int i = 0; i < array.size(); i++) {
+                if (i > 0) {
+                    sink.writeByte(',');
+                }
+                writeElement(sink, array.get(i));
+            }
+            sink.writeByte(']');
+        } else {
+            final JsonObject object = element.getAsJsonObject();
+            sink.writeByte('{');
+            boolean first = true;
+            for (final Map.Entry<String, JsonElement> entry : object.entrySet()) {
+                if (entry.getValue().isJsonNull()) {
+                    continue;
+                }
+                if (!first) {
+                    sink.writeByte(',');
+                }
+                first = false;
+                writeString(sink, entry.getKey());
+                sink.writeByte(':');
+                writeElement(sink, entry.getValue());
+            }
+            sink.writeByte('}');
+        }
+    }
+}
@@ -0,0 +1,31 @@
+package ai.sunra.client.json;
+
+import jakarta.annotation.Nonnull;
+import java.io.IOException;
+import okio.BufferedSink;
+
+/**
+ * A value that writes its own JSON representation straight into a request body, without being
+ * converted into a tree or a string first.
+ */
+public interface JsonStreamable {
+
+    /**
+     * Write this value as JSON into the sink.
+     *
+     * @param sink The sink to write to.
+     * @param codec The codec for values that cannot be written directly.
+     * @throws IOException If writing fails.
+     */
+    void writeTo(@Nonnull BufferedSink sink, @Nonnull JsonCodec codec) throws IOException;
+
+    /**
+     * Whether this value can only be written once, e.g. because it reads from a stream or an
+     * iterator. One-shot request bodies are never retried.
+     *
+     * @return True if the value can only be written once.
+     */
+    default boolean isOneShot() {
+        return false;
+    }
+}
@@ -0,0 +1,54 @@
+package ai.sunra.client.json;
+
+import ai.sunra.client.BinaryInput;
+import ai.sunra.client.exception.SunraValidationException;
+import ai.sunra.client.queue.QueueStatus;
+import com.google.gson.Gson;
+import com.google.gson.JsonElement;
+import com.google.gson.TypeAdapter;
+import com.google.gson.TypeAdapterFactory;
+import com.google.gson.reflect.TypeToken;
+
+/**
+ * Registers the reflection-free adapters of the client model classes, so Gson never falls back to
+ * reflective field discovery or {@code Unsafe} allocation for them. This also keeps the models
+ * usable in GraalVM native images without reflection configuration.
+ *
+ * <p>The adapters mirror the fields of the Lombok models; when a field is added to one of the
+ * models, the matching adapter must be updated as well.
+ */
+public final class ModelTypeAdapterFactory implements TypeAdapterFactory {
+
+    public static final ModelTypeAdapterFactory INSTANCE = new ModelTypeAdapterFactory();
+
+    private ModelTypeAdapterFactory() {}
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> TypeAdapter<T> create(Gson gson, TypeToken<T> type) {
+        final Class<? super T> rawType = type.getRawType();
+        if (rawType == QueueStatus.StatusUpdate.class
+                || rawType == QueueStatus.BaseStatusUpdate.class
+                || rawType == QueueStatus.InQueue.class
+                || rawType == QueueStatus.InProgress.class
+                || rawType == QueueStatus.Completed.class
+                || rawType == QueueStatus.CANCELED.class) {
+            return (TypeAdapter<T>) statusAdapter(gson, rawType.asSubclass(QueueStatus.StatusUpdate.class));
+        }
+        if (rawType == SunraValidationException.ValidationError.class) {
+            return (TypeAdapter<T>) new ValidationErrorTypeAdapter(gson.getAdapter(Object.class));
+        }
+        if (rawType == BinaryInput.class) {
+            // Created once per Gson instance, with a codec over that instance.
+            return (TypeAdapter<T>) new BinaryInputTypeAdapter(new GsonJsonCodec(gson));
+        }
+        if (rawType == ErrorPayload.class) {
+            return ErrorPayloadTypeAdapter.FACTORY.create(gson, type);
+        }
+        return null;
+    }
+
+    private static <S extends QueueStatus.StatusUpdate> TypeAdapter<S> statusAdapter(Gson gson, Class<S> type) {
+        return new StatusUpdateTypeAdapter<>(type, gson.getAdapter(JsonElement.class));
+    }
+}
@@ -0,0 +1,211 @@
+package ai.sunra.client.json;
+
+import ai.sunra.client.queue.QueueStatus;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonParseException;
+import com.google.gson.JsonParser;
+import com.google.gson.TypeAdapter;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import com.google.gson.stream.JsonWriter;
+import java.io.IOException;
+
+/**
+ * Reflection-free adapter for the {@link QueueStatus} models. When the target type is the
+ * {@link QueueStatus.StatusUpdate} interface the payload is decoded in a single pass into the
+ * subtype matching its {@code status} field, without building a JSON tree to look it up first.
+ *
+ * @param <T> the status type
+ */
+class StatusUpdateTypeAdapter<T extends QueueStatus.StatusUpdate> extends TypeAdapter<T> {
+
+    private final Class<T> targetType;
+    private final TypeAdapter<JsonElement> elementAdapter;
+
+    StatusUpdateTypeAdapter(Class<T> targetType, TypeAdapter<JsonElement> elementAdapter) {
+        this.targetType = targetType;
+        this.elementAdapter = elementAdapter;
+    }
+
+    @Override
+    public T read(JsonReader in) throws IOException {
+        if (in.peek() == JsonToken.NULL) {
+            in.nextNull();
+            return null;
+        }
+        String status = null;
+        String requestId = null;
+        String statusUrl = null;
+        String responseUrl = null;
+        String cancelUrl = null;
+        Integer queuePosition = null;
+        String logs = null;
+        Boolean success = null;
+        JsonElement error = null;
+
+        in.beginObject();
+        while (in.hasNext()) {
+            final var name = in.nextName();
+            if (in.peek() == JsonToken.NULL) {
+                in.nextNull();
+                continue;
+            }
+            switch (name) {
+                case "status":
+                    status = in.nextString();
+                    break;
+                case "request_id":
+                    requestId = in.nextString();
+                    break;
+                case "status_url":
+                    statusUrl = in.nextString();
+                    break;
+                case "response_url":
+                    responseUrl = in.nextString();
+                    break;
+                case "cancel_url":
+                    cancelUrl = in.nextString();
+                    break;
+                case "queue_position":
+                    queuePosition = in.nextInt();
+                    break;
+                case "logs":
+                    logs = in.peek() == JsonToken.STRING ? in.nextString() : JsonParser.parseReader(in).toString();
+                    break;
+                case "success":
+                    success = in.nextBoolean();
+                    break;
+                case "error":
+                    error = JsonParser.parseReader(in);
+                    break;
+                default:
+                    in.skipValue();
+            }
+        }
+        in.endObject();
+
+        final Class<?> type;
+        if (targetType.isInterface() || targetType == QueueStatus.BaseStatusUpdate.class) {
+            if (status == null) {
+                throw new JsonParseException("Missing status in status payload");
+            }
+            type = resolveType(status);
+        } else {
+            type = targetType;
+        }
+
+        final QueueStatus.BaseStatusUpdate update;
+        if (type == QueueStatus.InQueue.class) {
+            final var inQueue = new QueueStatus.InQueue();
+            if (queuePosition != null) {
+                inQueue.setQueuePosition(queuePosition);
+            }
+            update = inQueue;
+        } else if (type == QueueStatus.InProgress.class) {
+            final var inProgress = new QueueStatus.InProgress();
+            inProgress.setLogs(logs);
+            update = inProgress;
+        } else if (type == QueueStatus.Completed.class) {
+            final var completed = new QueueStatus.Completed();
+            completed.setLogs(logs);
+            if (success != null) {
+                completed.setSuccess(success);
+            }
+            completed.setError(error);
+            update = completed;
+        } else if (type == QueueStatus.CANCELED.class) {
+            final var canceled = new QueueStatus.CANCELED();
+            canceled.setLogs(logs);
+            update = canceled;
+        } else {
+            update = new QueueStatus.BaseStatusUpdate();
+        }
+        final var parsedStatus = parseStatus(status);
+        if (parsedStatus != null) {
+            update.setStatus(parsedStatus);
+        }
+        if (requestId != null) {
+            update.setRequestId(requestId);
+        }
+        if (statusUrl != null) {
+            update.setStatusUrl(statusUrl);
+        }
+        if (responseUrl != null) {
+            update.setResponseUrl(responseUrl);
+        }
+        if (cancelUrl != null) {
+            update.setCancelUrl(cancelUrl);
+        }
+        return targetType.cast(update);
+    }
+
+    private static QueueStatus.Status parseStatus(String status) {
+        if (status == null) {
+            return null;
+        }
+        try {
+            return QueueStatus.Status.valueOf(status);
+        } catch (IllegalArgumentException e) {
+            // Unknown constants decode to null, like Gson's reflective enum adapter.
+            return null;
+        }
+    }
+
+    private static Class<? extends QueueStatus.StatusUpdate> resolveType(String status) {
+        if (status.equals(QueueStatus.Status.IN_QUEUE.name())) {
+            return QueueStatus.InQueue.class;
+        }
+        if (status.equals(QueueStatus.Status.IN_PROGRESS.name())) {
+            return QueueStatus.InProgress.class;
+        }
+        if (status.equals(QueueStatus.Status.COMPLETED.name())) {
+            return QueueStatus.Completed.class;
+        }
+        if (status.equals(QueueStatus.Status.CANCELED.name())) {
+            return QueueStatus.CANCELED.class;
+        }
+        throw new IllegalArgumentException("Unknown status: " + status);
+    }
+
+    @Override
+    public void write(JsonWriter out, T value) throws IOException {
+        if (value == null) {
+            out.nullValue();
+            return;
+        }
+        out.beginObject();
+        if (value.getStatus() != null) {
+            out.name("status").value(value.getStatus().name());
+        }
+        out.name("request_id").value(value.getRequestId());
+        out.name("status_url").value(value.getStatusUrl());
+        out.name("response_url").value(value.getResponseUrl());
+        out.name("cancel_url").value(value.getCancelUrl());
+        if (value instanceof QueueStatus.InQueue) {
+            final var queuePosition = ((QueueStatus.InQueue) value).getQueuePosition();
+            if (queuePosition != null) {
+                out.name("queue_position").value(queuePosition);
+            }
+        } else if (value instanceof QueueStatus.InProgress) {
+            writeLogs(out, ((QueueStatus.InProgress) value).getLogs());
+        } else if (value instanceof QueueStatus.Completed) {
+            final var completed = (QueueStatus.Completed) value;
+            writeLogs(out, completed.getLogs());
+            out.name("success").value(completed.isSuccess());
+            if (completed.getError() != null) {
+                // Written as a tree rather than raw JSON, which Gson's tree writer rejects.
+                out.name("error");
+                elementAdapter.write(out, completed.getError());
+            }
+        } else if (value instanceof QueueStatus.CANCELED) {
+            writeLogs(out, ((QueueStatus.CANCELED) value).getLogs());
+        }
+        out.endObject();
+    }
+
+    private static void writeLogs(JsonWriter out, String logs) throws IOException {
+        if (logs != null) {
+            out.name("logs").value(logs);
+        }
+    }
+}
@@ -0,0 +1,67 @@
+package ai.sunra.client.json;
+
+import ai.sunra.client.queue.QueueStatus;
+import com.google.gson.GsonBuilder;
+import com.google.gson.JsonParseException;
+import com.google.gson.TypeAdapter;
+import jakarta.annotation.Nonnull;
+import jakarta.annotation.Nullable;
+import java.io.IOException;
+import okio.BufferedSource;
+
+/**
+ * A Gson codec with pre-registered streaming adapters for the payloads the client decodes on
+ * every call. Status updates are decoded in a single pass straight into the matching subtype and
+ * error bodies are streamed into an {@link ErrorPayload}, so neither builds an intermediate
+ * {@code JsonObject} tree.
+ */
+public class StreamingGsonJsonCodec extends GsonJsonCodec {
+
+    private final TypeAdapter<QueueStatus.StatusUpdate> statusAdapter;
+    private final TypeAdapter<ErrorPayload> errorAdapter;
+
+    /**
+     * Create a new codec.
+     */
+    public StreamingGsonJsonCodec() {
+        this(new GsonBuilder());
+    }
+
+    /**
+     * Create a new codec from the given builder. The client adapters are registered on top of the
+     * builder's configuration.
+     *
+     * @param builder The Gson builder.
+     */
+    public StreamingGsonJsonCodec(@Nonnull GsonBuilder builder) {
+        super(register(builder).create());
+        this.statusAdapter = gson.getAdapter(QueueStatus.StatusUpdate.class);
+        this.errorAdapter = gson.getAdapter(ErrorPayload.class);
+    }
+
+    private static GsonBuilder register(GsonBuilder builder) {
+        return builder.registerTypeAdapterFactory(ModelTypeAdapterFactory.INSTANCE);
+    }
+
+    @Override
+    @Nonnull
+    public QueueStatus.StatusUpdate decodeStatus(@Nonnull BufferedSource source) throws IOException {
+        return statusAdapter.read(newJsonReader(source));
+    }
+
+    @Override
+    @Nonnull
+    public QueueStatus.StatusUpdate decodeStatus(@Nonnull String json) {
+        try {
+            return statusAdapter.fromJson(json);
+        } catch (IOException e) {
+            throw new JsonParseException(e);
+        }
+    }
+
+    @Override
+    @Nullable
+    public ErrorPayload decodeError(@Nonnull BufferedSource source) throws IOException {
+        return errorAdapter.read(newJsonReader(source));
+    }
+}
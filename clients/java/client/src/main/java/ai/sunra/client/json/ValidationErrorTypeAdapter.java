@@ -0,0 +1,85 @@
+package ai.sunra.client.json;
+
+import ai.sunra.client.exception.SunraValidationException;
+import com.google.gson.TypeAdapter;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import com.google.gson.stream.JsonWriter;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Reflection-free adapter for {@link SunraValidationException.ValidationError}.
+ */
+class ValidationErrorTypeAdapter extends TypeAdapter<SunraValidationException.ValidationError> {
+
+    private final TypeAdapter<Object> objectAdapter;
+
+    ValidationErrorTypeAdapter(TypeAdapter<Object> objectAdapter) {
+        this.objectAdapter = objectAdapter;
+    }
+
+    @Override
+    public SunraValidationException.ValidationError read(JsonReader in) throws IOException {
+        if (in.peek() == JsonToken.NULL) {
+            in.nextNull();
+            return null;
+        }
+        String message = null;
+        List<Object> location = null;
+        String type = null;
+
+        in.beginObject();
+        while (in.hasNext()) {
+            final var name = in.nextName();
+            if (in.peek() == JsonToken.NULL) {
+                in.nextNull();
+                continue;
+            }
+            switch (name) {
+                case "msg":
+                    message = in.nextString();
+                    break;
+                case "loc":
+                    location = new ArrayList<>();
+                    in.beginArray();
+                    while (in.hasNext()) {
+                        location.add(objectAdapter.read(in));
+                    }
+                    in.endArray();
+                    break;
+                case "type":
+                    type = in.nextString();
+                    break;
+                default:
+                    in.skipValue();
+            }
+        }
+        in.endObject();
+
+        // The type is non-null on the model, an error without one still decodes.
+        final var error = new SunraValidationException.ValidationError(message, type != null ? type : "");
+        error.setLocation(location);
+        return error;
+    }
+
+    @Override
+    public void write(JsonWriter out, SunraValidationException.ValidationError value) throws IOException {
+        if (value == null) {
+            out.nullValue();
+            return;
+        }
+        out.beginObject();
+        out.name("msg").value(value.getMessage());
+        if (value.getLocation() != null) {
+            out.name("loc").beginArray();
+            for (final Object item : value.getLocation()) {
+                objectAdapter.write(out, item);
+            }
+            out.endArray();
+        }
+        out.name("type").value(value.getType());
+        out.endObject();
+    }
+}
@@ -0,0 +1,257 @@
+package ai.sunra.client.metrics;
+
+import ai.sunra.client.queue.QueueStatus;
+import jakarta.annotation.Nonnull;
+import jakarta.annotation.Nullable;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * The built-in {@link MetricsRecorder}, keeping per endpoint a {@link Histogram} of each phase and
+ * counters for status transitions, errors, bytes and connection reuse, and for the whole client
+ * histograms of the connection pool usage.
+ *
+ * <p>For example, to get the 99th percentile of the queue wait of an endpoint in milliseconds:
+ *
+ * <pre>{@code
+ * var metrics = new HistogramMetricsRecorder();
+ * var client = SunraClient.withConfig(ClientConfig.builder().withMetricsRecorder(metrics).build());
+ * // ...
+ * var p99 = metrics.getEndpoint("owner/app").getPhase(Phase.QUEUE_WAIT).getValueAtPercentile(99) / 1e6;
+ * }</pre>
+ */
+public class HistogramMetricsRecorder implements MetricsRecorder {
+
+    /**
+     * The key of the measurements not attributed to an endpoint.
+     */
+    public static final String UNKNOWN_ENDPOINT = "unknown";
+
+    /**
+     * The key of the errors without a code.
+     */
+    public static final String UNKNOWN_CODE = "unknown";
+
+    private final ConcurrentMap<String, EndpointMetrics> endpoints = new ConcurrentHashMap<>();
+    private final Histogram connectionsInUse = new Histogram();
+    private final Histogram idleConnections = new Histogram();
+    private final Histogram queuedCalls = new Histogram();
+
+    @Override
+    public void recordPhase(@Nullable String endpointId, @Nonnull Phase phase, long durationNanos) {
+        endpoint(endpointId).phases.get(phase).record(durationNanos);
+    }
+
+    @Override
+    public void recordStatusTransition(
+            @Nonnull String endpointId, @Nonnull QueueStatus.Status from, @Nonnull QueueStatus.Status to) {
+        increment(endpoint(endpointId).transitions, from.name() + "->" + to.name());
+    }
+
+    @Override
+    public void recordError(@Nonnull String endpointId, @Nullable String code) {
+        increment(endpoint(endpointId).errors, code != null ? code : UNKNOWN_CODE);
+    }
+
+    @Override
+    public void recordBytesSent(@Nullable String endpointId, long bytes) {
+        endpoint(endpointId).bytesSent.add(bytes);
+    }
+
+    @Override
+    public void recordBytesReceived(@Nullable String endpointId, long bytes) {
+        endpoint(endpointId).bytesReceived.add(bytes);
+    }
+
+    @Override
+    public void recordConnectionAcquired(@Nullable String endpointId, boolean reused) {
+        final var metrics = endpoint(endpointId);
+        (reused ? metrics.connectionsReused : metrics.connectionsOpened).increment();
+    }
+
+    @Override
+    public void recordPoolUsage(int connectionsInUse, int idleConnections, int queuedCalls) {
+        this.connectionsInUse.record(connectionsInUse);
+        this.idleConnections.record(idleConnections);
+        this.queuedCalls.record(queuedCalls);
+    }
+
+    /**
+     * Get the number of connections carrying a call, sampled when a connection is acquired. A
+     * high number with few idle connections means the pool is saturated.
+     *
+     * @return The histogram of the connections in use.
+     */
+    @Nonnull
+    public Histogram getConnectionsInUse() {
+        return connectionsInUse;
+    }
+
+    /**
+     * Get the number of idle pooled connections, sampled when a connection is acquired.
+     *
+     * @return The histogram of the idle connections.
+     */
+    @Nonnull
+    public Histogram getIdleConnections() {
+        return idleConnections;
+    }
+
+    /**
+     * Get the number of asynchronous calls waiting for the dispatcher, sampled when a connection
+     * is acquired. Any waiting call means the dispatcher limits are reached.
+     *
+     * @return The histogram of the queued calls.
+     */
+    @Nonnull
+    public Histogram getQueuedCalls() {
+        return queuedCalls;
+    }
+
+    /**
+     * Get the endpoints with measurements.
+     *
+     * @return The endpoint IDs.
+     */
+    @Nonnull
+    public Set<String> getEndpoints() {
+        return Collections.unmodifiableSet(endpoints.keySet());
+    }
+
+    /**
+     * Get the measurements of an endpoint.
+     *
+     * @param endpointId The endpoint ID, or null for the measurements not attributed to an
+     *     endpoint.
+     * @return The endpoint measurements, empty if nothing was recorded yet.
+     */
+    @Nonnull
+    public EndpointMetrics getEndpoint(@Nullable String endpointId) {
+        return endpoint(endpointId);
+    }
+
+    private EndpointMetrics endpoint(@Nullable String endpointId) {
+        final var key = endpointId != null ? endpointId : UNKNOWN_ENDPOINT;
+        final var metrics = endpoints.get(key);
+        return metrics != null ? metrics : endpoints.computeIfAbsent(key, k -> new EndpointMetrics());
+    }
+
+    private static void increment(ConcurrentMap<String, LongAdder> counters, String key) {
+        var counter = counters.get(key);
+        if (counter == null) {
+            counter = counters.computeIfAbsent(key, k -> new LongAdder());
+        }
+        counter.increment();
+    }
+
+    private static Map<String, Long> snapshot(ConcurrentMap<String, LongAdder> counters) {
+        final var result = new TreeMap<String, Long>();
+        counters.forEach((key, counter) -> result.put(key, counter.sum()));
+        return result;
+    }
+
+    /**
+     * The measurements of one endpoint.
+     */
+    public static final class EndpointMetrics {
+
+        private final Map<Phase, Histogram> phases = new EnumMap<>(Phase.class);
+        private final ConcurrentMap<String, LongAdder> transitions = new ConcurrentHashMap<>();
+        private final ConcurrentMap<String, LongAdder> errors = new ConcurrentHashMap<>();
+        private final LongAdder bytesSent = new LongAdder();
+        private final LongAdder bytesReceived = new LongAdder();
+        private final LongAdder connectionsReused = new LongAdder();
+        private final LongAdder connectionsOpened = new LongAdder();
+
+        private EndpointMetrics() {
+            // All histograms are created upfront, so the map is only read afterwards.
+            for (final var phase : Phase.values()) {
+                phases.put(phase, new Histogram());
+            }
+        }
+
+        /**
+         * Get the durations of a phase, in nanoseconds.
+         *
+         * @param phase The phase.
+         * @return The histogram of the durations.
+         */
+        @Nonnull
+        public Histogram getPhase(@Nonnull Phase phase) {
+            return phases.get(phase);
+        }
+
+        /**
+         * Get the number of status transitions, keyed as {@code FROM->TO}.
+         *
+         * @return The status transition counts.
+         */
+        @Nonnull
+        public Map<String, Long> getStatusTransitions() {
+            return snapshot(transitions);
+        }
+
+        /**
+         * Get the number of errors by error code.
+         *
+         * @return The error counts.
+         */
+        @Nonnull
+        public Map<String, Long> getErrors() {
+            return snapshot(errors);
+        }
+
+        /**
+         * Get the total size of the request bodies sent.
+         *
+         * @return The number of bytes sent.
+         */
+        public long getBytesSent() {
+            return bytesSent.sum();
+        }
+
+        /**
+         * Get the total size of the response bodies received.
+         *
+         * @return The number of bytes received.
+         */
+        public long getBytesReceived() {
+            return bytesReceived.sum();
+        }
+
+        /**
+         * Get the number of calls that reused a pooled connection.
+         *
+         * @return The number of reused connections.
+         */
+        public long getConnectionsReused() {
+            return connectionsReused.sum();
+        }
+
+        /**
+         * Get the number of calls that opened a new connection.
+         *
+         * @return The number of opened connections.
+         */
+        public long getConnectionsOpened() {
+            return connectionsOpened.sum();
+        }
+
+        /**
+         * Get the share of calls that reused a pooled connection.
+         *
+         * @return The reuse ratio between 0 and 1, or 0 if no connection was acquired.
+         */
+        public double getConnectionReuseRatio() {
+            final long reused = connectionsReused.sum();
+            final long total = reused + connectionsOpened.sum();
+            return total == 0 ? 0 : (double) reused / total;
+        }
+    }
+}
@@ -0,0 +1,81 @@
+package ai.sunra.client.metrics;
+
+import ai.sunra.client.queue.QueueStatus;
+import jakarta.annotation.Nonnull;
+import jakarta.annotation.Nullable;
+
+/**
+ * Receives the measurements taken by the client. All methods are called on the hot path, from
+ * any thread, and must be cheap and thread-safe.
+ *
+ * <p>Every method has an empty default implementation, so implementations only override what
+ * they need. {@link HistogramMetricsRecorder} is the built-in implementation.
+ */
+public interface MetricsRecorder {
+
+    /**
+     * A recorder that drops all measurements, used when no recorder is configured.
+     */
+    MetricsRecorder NOOP = new MetricsRecorder() {};
+
+    /**
+     * Record the duration of a phase of a call.
+     *
+     * @param endpointId The endpoint ID, or null if the HTTP call is not attributed to an endpoint.
+     * @param phase The phase.
+     * @param durationNanos The duration in nanoseconds.
+     */
+    default void recordPhase(@Nullable String endpointId, @Nonnull Phase phase, long durationNanos) {}
+
+    /**
+     * Record a change of the status of a queued request.
+     *
+     * @param endpointId The endpoint ID.
+     * @param from The previous status.
+     * @param to The new status.
+     */
+    default void recordStatusTransition(
+            @Nonnull String endpointId, @Nonnull QueueStatus.Status from, @Nonnull QueueStatus.Status to) {}
+
+    /**
+     * Record a failed call.
+     *
+     * @param endpointId The endpoint ID.
+     * @param code The error code, see {@link ai.sunra.client.exception.SunraException#getCode()}, or
+     *     null if the error has no code.
+     */
+    default void recordError(@Nonnull String endpointId, @Nullable String code) {}
+
+    /**
+     * Record the size of a request body once it has been written.
+     *
+     * @param endpointId The endpoint ID, or null if the request is not attributed to an endpoint.
+     * @param bytes The number of bytes sent.
+     */
+    default void recordBytesSent(@Nullable String endpointId, long bytes) {}
+
+    /**
+     * Record the size of a response body once it has been closed.
+     *
+     * @param endpointId The endpoint ID, or null if the request is not attributed to an endpoint.
+     * @param bytes The number of bytes received.
+     */
+    default void recordBytesReceived(@Nullable String endpointId, long bytes) {}
+
+    /**
+     * Record that an HTTP call acquired a connection.
+     *
+     * @param endpointId The endpoint ID, or null if the call is not attributed to an endpoint.
+     * @param reused Whether the connection was taken from the pool rather than opened.
+     */
+    default void recordConnectionAcquired(@Nullable String endpointId, boolean reused) {}
+
+    /**
+     * Record the state of the connection pool, sampled each time a connection is acquired.
+     *
+     * @param connectionsInUse The number of connections carrying a call.
+     * @param idleConnections The number of idle pooled connections.
+     * @param queuedCalls The number of asynchronous calls waiting for the dispatcher.
+     */
+    default void recordPoolUsage(int connectionsInUse, int idleConnections, int queuedCalls) {}
+}
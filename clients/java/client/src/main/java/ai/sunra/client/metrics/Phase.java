@@ -0,0 +1,52 @@
+package ai.sunra.client.metrics;
+
+/**
+ * The phases of a call timed by the client.
+ */
+public enum Phase {
+    /**
+     * Submitting the request to the queue.
+     */
+    SUBMIT,
+    /**
+     * From the submission until the request starts processing, or completes if it never reports
+     * being in progress.
+     */
+    QUEUE_WAIT,
+    /**
+     * From the start of processing until the request completes.
+     */
+    PROCESSING,
+    /**
+     * Fetching the result of a completed request.
+     */
+    RESULT_FETCH,
+    /**
+     * The whole subscribe call, from submission to result.
+     */
+    TOTAL,
+    /**
+     * A direct run request.
+     */
+    RUN,
+    /**
+     * Resolving the host name of a new connection.
+     */
+    DNS,
+    /**
+     * Opening the TCP connection of a new connection.
+     */
+    CONNECT,
+    /**
+     * The TLS handshake of a new connection.
+     */
+    TLS,
+    /**
+     * From the request being sent until the response headers start arriving.
+     */
+    TIME_TO_FIRST_BYTE,
+    /**
+     * Reading the response body.
+     */
+    BODY_READ
+}
@@ -0,0 +1,154 @@
+package ai.sunra.client.metrics;
+
+import ai.sunra.client.queue.QueueStatus;
+import jakarta.annotation.Nonnull;
+import jakarta.annotation.Nullable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * Hooks the steps of the calls of a client, e.g. to trace them: each {@code run}, each
+ * {@code subscribe} with its submit, status stream and result fetch, and each submit of the bulk
+ * calls. The clients call it around the steps as they run them, so the hooks follow the real flow.
+ *
+ * <p>Every method has a default implementation, {@link #NOOP} traces nothing.
+ */
+public interface QueueTracer {
+
+    /**
+     * A tracer that traces nothing, used when no tracer is configured.
+     */
+    QueueTracer NOOP = new QueueTracer() {};
+
+    /**
+     * The traced steps.
+     */
+    enum Step {
+        RUN,
+        SUBSCRIBE,
+        SUBMIT,
+        STATUS_STREAM,
+        RESULT
+    }
+
+    /**
+     * Start tracing a step.
+     *
+     * @param parent The trace of the enclosing step, or null for a call of the client.
+     * @param step The step.
+     * @param endpointId The endpoint ID.
+     * @return The trace of the step.
+     */
+    @Nonnull
+    default Trace start(@Nullable Trace parent, @Nonnull Step step, @Nonnull String endpointId) {
+        return Trace.NOOP;
+    }
+
+    /**
+     * Wrap the executor running the blocking jobs of bulk calls, e.g. to carry the context of the
+     * caller to the jobs.
+     *
+     * @param executor The executor.
+     * @return The executor to use.
+     */
+    @Nonnull
+    default ExecutorService wrap(@Nonnull ExecutorService executor) {
+        return executor;
+    }
+
+    /**
+     * Run a blocking step in a trace, ended when the step returns or throws.
+     *
+     * @param parent The trace of the enclosing step, or null for a call of the client.
+     * @param step The step.
+     * @param endpointId The endpoint ID.
+     * @param call The step, given its trace.
+     * @return The result of the step.
+     */
+    default <T> T call(
+            @Nullable Trace parent,
+            @Nonnull Step step,
+            @Nonnull String endpointId,
+            @Nonnull Function<Trace, T> call) {
+        final var trace = start(parent, step, endpointId);
+        final T result;
+        try {
+            result = trace.wrap(() -> call.apply(trace));
+        } catch (RuntimeException e) {
+            trace.end(e);
+            throw e;
+        }
+        trace.end(null);
+        return result;
+    }
+
+    /**
+     * Run an asynchronous step in a trace, ended when the returned future completes.
+     *
+     * @param parent The trace of the enclosing step, or null for a call of the client.
+     * @param step The step.
+     * @param endpointId The endpoint ID.
+     * @param call The step, given its trace.
+     * @return The future of the step.
+     */
+    default <T> CompletableFuture<T> callAsync(
+            @Nullable Trace parent,
+            @Nonnull Step step,
+            @Nonnull String endpointId,
+            @Nonnull Function<Trace, CompletableFuture<T>> call) {
+        final var trace = start(parent, step, endpointId);
+        final CompletableFuture<T> future;
+        try {
+            future = trace.wrap(() -> call.apply(trace));
+        } catch (RuntimeException e) {
+            trace.end(e);
+            throw e;
+        }
+        return future.whenComplete((result, error) -> trace.end(error));
+    }
+
+    /**
+     * The trace of one step. Its methods are called in order: the step is started inside
+     * {@link #wrap(Supplier)}, then {@link #end(Throwable)} is called once.
+     */
+    interface Trace {
+
+        /**
+         * A trace recording nothing.
+         */
+        Trace NOOP = new Trace() {};
+
+        /**
+         * Start the step with the trace current, e.g. to propagate it in the requests.
+         *
+         * @param step The step, blocking or returning a future.
+         * @return The result of the step.
+         */
+        default <T> T wrap(@Nonnull Supplier<T> step) {
+            return step.get();
+        }
+
+        /**
+         * Record the request ID, once known.
+         *
+         * @param requestId The request ID.
+         */
+        default void requestId(@Nonnull String requestId) {}
+
+        /**
+         * Record a status update received by the status stream step.
+         *
+         * @param update The status update.
+         */
+        default void queueUpdate(@Nonnull QueueStatus.StatusUpdate update) {}
+
+        /**
+         * End the step.
+         *
+         * @param error The error the step failed with, or null if it succeeded.
+         */
+        default void end(@Nullable Throwable error) {}
+    }
+}
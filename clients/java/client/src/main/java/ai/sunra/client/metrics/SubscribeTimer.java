@@ -0,0 +1,122 @@
+package ai.sunra.client.metrics;
+
+import ai.sunra.client.exception.SunraException;
+import ai.sunra.client.queue.QueueStatus;
+import jakarta.annotation.Nonnull;
+import jakarta.annotation.Nullable;
+import java.util.function.Consumer;
+
+/**
+ * Times the phases of one subscribe call. The timer observes the status updates of the request,
+ * so it is passed as the queue update callback and forwards the updates to the caller's one.
+ *
+ * <p>The status updates of a request are delivered sequentially, the other methods are called
+ * in order by the client, so the state needs no synchronization beyond visibility.
+ */
+public class SubscribeTimer implements Consumer<QueueStatus.StatusUpdate> {
+
+    private final MetricsRecorder recorder;
+    private final String endpointId;
+    private final Consumer<QueueStatus.StatusUpdate> onQueueUpdate;
+    private final long startNanos;
+
+    private volatile long submittedNanos;
+    private volatile long processingNanos;
+    private volatile long completedNanos;
+    private volatile QueueStatus.Status status;
+
+    /**
+     * Start timing a subscribe call.
+     *
+     * @param recorder The recorder receiving the measurements.
+     * @param endpointId The endpoint ID.
+     * @param onQueueUpdate The caller's queue update callback, if any.
+     */
+    public SubscribeTimer(
+            @Nonnull MetricsRecorder recorder,
+            @Nonnull String endpointId,
+            @Nullable Consumer<QueueStatus.StatusUpdate> onQueueUpdate) {
+        this.recorder = recorder;
+        this.endpointId = endpointId;
+        this.onQueueUpdate = onQueueUpdate;
+        this.startNanos = System.nanoTime();
+    }
+
+    /**
+     * Mark the request as submitted.
+     */
+    public void submitted() {
+        submittedNanos = System.nanoTime();
+        status = QueueStatus.Status.IN_QUEUE;
+        recorder.recordPhase(endpointId, Phase.SUBMIT, submittedNanos - startNanos);
+    }
+
+    @Override
+    public void accept(QueueStatus.StatusUpdate update) {
+        final var next = update != null ? update.getStatus() : null;
+        final var previous = status;
+        if (next != null && next != previous) {
+            final long now = System.nanoTime();
+            if (previous != null) {
+                recorder.recordStatusTransition(endpointId, previous, next);
+            }
+            if (next == QueueStatus.Status.IN_PROGRESS && processingNanos == 0) {
+                processingNanos = now;
+                recorder.recordPhase(endpointId, Phase.QUEUE_WAIT, now - submittedNanos);
+            } else if (next == QueueStatus.Status.COMPLETED) {
+                completed(now);
+            }
+            status = next;
+        }
+        if (onQueueUpdate != null) {
+            onQueueUpdate.accept(update);
+        }
+    }
+
+    /**
+     * Mark the result as fetched, which ends the call.
+     */
+    public void fetched() {
+        final long now = System.nanoTime();
+        if (completedNanos == 0) {
+            // The completion was not observed as a status update.
+            completed(now);
+        }
+        recorder.recordPhase(endpointId, Phase.RESULT_FETCH, now - completedNanos);
+        recorder.recordPhase(endpointId, Phase.TOTAL, now - startNanos);
+    }
+
+    /**
+     * Mark the call as failed.
+     *
+     * @param error The error.
+     */
+    public void failed(@Nonnull Throwable error) {
+        recorder.recordError(endpointId, codeOf(error));
+    }
+
+    private void completed(long now) {
+        completedNanos = now;
+        if (processingNanos == 0) {
+            recorder.recordPhase(endpointId, Phase.QUEUE_WAIT, now - submittedNanos);
+        } else {
+            recorder.recordPhase(endpointId, Phase.PROCESSING, now - processingNanos);
+        }
+    }
+
+    /**
+     * Get the error code of an error, looking through the exceptions wrapping it.
+     *
+     * @param error The error.
+     * @return The first code found in the cause chain, or null if there is none.
+     */
+    @Nullable
+    public static String codeOf(@Nonnull Throwable error) {
+        for (Throwable cause = error; cause != null; cause = cause.getCause()) {
+            if (cause instanceof SunraException && ((SunraException) cause).getCode() != null) {
+                return ((SunraException) cause).getCode();
+            }
+        }
+        return null;
+    }
+}
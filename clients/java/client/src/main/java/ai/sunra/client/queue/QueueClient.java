@@ -1,6 +1,8 @@
 package ai.sunra.client.queue;
 
+import ai.sunra.client.LazyOutput;
 import ai.sunra.client.Output;
+import ai.sunra.client.batch.CloseableIterator;
 import jakarta.annotation.Nonnull;
 
 /** A client for interacting with the queue endpoints. */
@@ -34,6 +36,26 @@ public interface QueueClient {
     @Nonnull
     QueueStatus.Completed subscribeToStatus(@Nonnull QueueSubscribeOptions options);
 
+    /**
+     * Stream every event of the status stream of a submission as it arrives. Payloads are kept
+     * raw and decoded only on access, see {@link StreamEvent}. The iterator blocks until the next
+     * event is available and ends after the request completes or is canceled. It holds the
+     * streaming connection until then, so callers that stop early must close it.
+     *
+     * <pre>{@code
+     * try (var events = client.queue().stream(options)) {
+     *     while (events.hasNext()) {
+     *         ...
+     *     }
+     * }
+     * }</pre>
+     *
+     * @param options the stream options
+     * @return an iterator over the events of the status stream, closing it cancels the stream
+     */
+    @Nonnull
+    CloseableIterator<StreamEvent> stream(@Nonnull QueueStreamOptions options);
+
     /**
      * Get the result of a submission.
      *
@@ -44,6 +66,17 @@ public interface QueueClient {
     @Nonnull
     <O> Output<O> result(@Nonnull QueueResultOptions<O> options);
 
+    /**
+     * Get the result of a submission without decoding it. The raw body is decoded on demand,
+     * either fully or one field at a time, see {@link LazyOutput}.
+     *
+     * @param <O> the type of the output payload
+     * @param options the response options
+     * @return the lazily decoded result of the submission
+     */
+    @Nonnull
+    <O> LazyOutput<O> lazyResult(@Nonnull QueueResultOptions<O> options);
+
     /**
      * Cancel a submission.
      *
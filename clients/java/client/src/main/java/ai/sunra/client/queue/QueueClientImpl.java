@@ -1,18 +1,25 @@
 package ai.sunra.client.queue;
 
+import ai.sunra.client.LazyOutput;
 import ai.sunra.client.Output;
+import ai.sunra.client.batch.CloseableIterator;
+import ai.sunra.client.batch.PublisherIterator;
 import ai.sunra.client.exception.SunraException;
 import ai.sunra.client.http.HttpClient;
+import ai.sunra.client.jfr.JfrSupport;
+import ai.sunra.client.jfr.QueueCancelEvent;
+import ai.sunra.client.jfr.QueueCompletedEvent;
+import ai.sunra.client.jfr.QueueResultEvent;
+import ai.sunra.client.jfr.QueueStatusEvent;
+import ai.sunra.client.jfr.QueueSubmitEvent;
 import ai.sunra.client.queue.QueueStatus.Completed;
 import com.google.gson.JsonObject;
 import jakarta.annotation.Nonnull;
 import jakarta.annotation.Nullable;
-import java.util.HashMap;
 import java.util.concurrent.CompletableFuture;
 import okhttp3.Response;
 import okhttp3.sse.EventSource;
 import okhttp3.sse.EventSourceListener;
-import okhttp3.sse.EventSources;
 
 public class QueueClientImpl implements QueueClient {
 
@@ -25,51 +32,48 @@ public class QueueClientImpl implements QueueClient {
     @Nonnull
     @Override
     public QueueStatus.InQueue submit(@Nonnull String endpointId, @Nonnull QueueSubmitOptions options) {
-        final var url = "https://api.sunra.ai/v1/queue/" + endpointId;
-        final var queryParams = new HashMap<String, Object>();
-        if (options.getWebhookUrl() != null) {
-            queryParams.put("sunra_webhook", options.getWebhookUrl());
+        final var event = JfrSupport.AVAILABLE ? new QueueSubmitEvent() : null;
+        if (event != null) {
+            event.begin();
         }
-        final var request = httpClient.prepareRequest(url, options, queryParams);
+        final var request = httpClient.prepareRequest(
+                QueueRequests.SUBMIT, endpointId, options, QueueRequests.QUERY_WEBHOOK, options.getWebhookUrl(), endpointId);
         final var response = httpClient.executeRequest(request);
-        return httpClient.handleResponse(response, QueueStatus.InQueue.class);
+        final var enqueued = httpClient.handleResponse(response, QueueStatus.InQueue.class);
+        if (event != null && event.shouldCommit()) {
+            event.endpointId = endpointId;
+            event.requestId = enqueued.getRequestId();
+            event.requestBytes = HttpClient.requestBytes(request);
+            event.commit();
+        }
+        return enqueued;
     }
 
     @Nonnull
     @Override
     public QueueStatus.StatusUpdate status(@Nonnull QueueStatusOptions options) {
-        final var url = String.format("https://api.sunra.ai/v1/queue/requests/%s/status", options.getRequestId());
-
-        final var queryParams = new HashMap<String, Object>();
-        if (options.getLogs() != null && options.getLogs()) {
-            queryParams.put("logs", "1");
-        }
-
-        final var request = httpClient.prepareRequest(url, options, queryParams);
+        final var request = httpClient.prepareRequest(QueueRequests.STATUS, options.getRequestId(), options,
+                QueueRequests.QUERY_LOGS, QueueRequests.logs(options.getLogs()), null);
         final var response = httpClient.executeRequest(request);
-        final var result = httpClient.handleResponse(response, JsonObject.class);
-        return httpClient.fromJson(result, QueueStatus.resolveType(result));
+        final var status = httpClient.handleStatusResponse(response);
+        if (JfrSupport.AVAILABLE) {
+            QueueStatusEvent.emit(null, status);
+        }
+        return status;
     }
 
     @Override
     @Nonnull
     public Completed subscribeToStatus(@Nonnull QueueSubscribeOptions options) {
-        final var url =
-                String.format("https://api.sunra.ai/v1/queue/requests/%s/status/stream", options.getRequestId());
-
-        final var queryParams = new HashMap<String, Object>();
-        if (options.getLogs() != null && options.getLogs()) {
-            queryParams.put("logs", "1");
-        }
-        final var request = httpClient
-                .prepareRequest(url, options, queryParams)
-                .newBuilder()
-                .addHeader("Accept", "text/event-stream")
-                .build();
+        final var request = httpClient.prepareRequest(QueueRequests.STATUS_STREAM, options.getRequestId(), options,
+                QueueRequests.QUERY_LOGS, QueueRequests.logs(options.getLogs()), options.getEndpointId());
 
         final var future = new CompletableFuture<Completed>();
+        final var completedEvent = JfrSupport.AVAILABLE ? new QueueCompletedEvent() : null;
+        if (completedEvent != null) {
+            completedEvent.begin();
+        }
 
-        final var factory = EventSources.createFactory(httpClient.getUnderlyingClient());
         final var listener = new EventSourceListener() {
             private QueueStatus.StatusUpdate currentStatus;
 
@@ -79,8 +83,10 @@ public class QueueClientImpl implements QueueClient {
                     @Nullable String id,
                     @Nullable String type,
                     @Nonnull String data) {
-                final var json = httpClient.fromJson(data, JsonObject.class);
-                final var status = httpClient.fromJson(json, QueueStatus.resolveType(json));
+                final var status = httpClient.decodeStatus(data);
+                if (JfrSupport.AVAILABLE) {
+                    QueueStatusEvent.emit(options.getEndpointId(), status);
+                }
                 final var onUpdate = options.getOnQueueUpdate();
                 if (onUpdate != null) {
                     onUpdate.accept(status);
@@ -88,6 +94,12 @@ public class QueueClientImpl implements QueueClient {
                 this.currentStatus = status;
                 if (currentStatus != null && currentStatus instanceof Completed) {
                     final var completed = (Completed) currentStatus;
+                    if (completedEvent != null && completedEvent.shouldCommit()) {
+                        completedEvent.endpointId = options.getEndpointId();
+                        completedEvent.requestId = options.getRequestId();
+                        completedEvent.success = completed.isSuccess();
+                        completedEvent.commit();
+                    }
                     if (!completed.isSuccess()) {
                         String errorMessage = "Request failed";
                         String code = null;
@@ -168,35 +180,93 @@ public class QueueClientImpl implements QueueClient {
             @Override
             public void onFailure(
                     @Nonnull EventSource eventSource, @Nullable Throwable t, @Nullable Response response) {
-                future.completeExceptionally(t);
+                if (response != null && !response.isSuccessful()) {
+                    future.completeExceptionally(httpClient.responseToException(response));
+                } else {
+                    future.completeExceptionally(
+                            t != null ? t : new SunraException("Streaming failed", options.getRequestId()));
+                }
             }
         };
-        factory.newEventSource(request, listener);
+        final var eventSource = httpClient.newEventSource(request, listener);
         try {
             return future.get();
         } catch (Exception ex) {
             throw new SunraException(ex.getMessage(), ex, options.getRequestId());
+        } finally {
+            // Release the streaming connection, also when the wait is interrupted.
+            eventSource.cancel();
         }
     }
 
+    @Override
+    @Nonnull
+    public CloseableIterator<StreamEvent> stream(@Nonnull QueueStreamOptions options) {
+        final var request = httpClient.prepareRequest(QueueRequests.STATUS_STREAM, options.getRequestId(), options,
+                QueueRequests.QUERY_LOGS, QueueRequests.logs(options.getLogs()), null);
+        return new PublisherIterator<>(new StatusStreamPublisher(httpClient, request, options.getRequestId()), 16);
+    }
+
     @Nonnull
     @Override
     public <O> Output<O> result(@Nonnull QueueResultOptions<O> options) {
-        final var url = String.format("https://api.sunra.ai/v1/queue/requests/%s", options.getRequestId());
-        final var request = httpClient.prepareRequest(url, options);
+        final var request = httpClient.prepareRequest(
+                QueueRequests.RESULT, options.getRequestId(), options, null, null, options.getEndpointId());
+
+        final var event = JfrSupport.AVAILABLE ? new QueueResultEvent() : null;
+        if (event != null) {
+            event.begin();
+        }
+        final var response = httpClient.executeRequest(request);
+        final var responseBytes = HttpClient.responseBytes(response);
+        final var output = httpClient.wrapInResult(response, options.getResultType());
+        if (event != null && event.shouldCommit()) {
+            event.endpointId = options.getEndpointId();
+            event.requestId = options.getRequestId();
+            event.responseBytes = responseBytes;
+            event.commit();
+        }
+        return output;
+    }
 
+    @Nonnull
+    @Override
+    public <O> LazyOutput<O> lazyResult(@Nonnull QueueResultOptions<O> options) {
+        final var request = httpClient.prepareRequest(
+                QueueRequests.RESULT, options.getRequestId(), options, null, null, options.getEndpointId());
+
+        final var event = JfrSupport.AVAILABLE ? new QueueResultEvent() : null;
+        if (event != null) {
+            event.begin();
+        }
         final var response = httpClient.executeRequest(request);
-        return httpClient.wrapInResult(response, options.getResultType());
+        final var responseBytes = HttpClient.responseBytes(response);
+        final var output = httpClient.wrapInLazyResult(response, options.getResultType());
+        if (event != null && event.shouldCommit()) {
+            event.endpointId = options.getEndpointId();
+            event.requestId = options.getRequestId();
+            event.responseBytes = responseBytes;
+            event.commit();
+        }
+        return output;
     }
 
     @Override
     @Nonnull
     public Object cancel(@Nonnull QueueCancelOptions options) {
-        final var url = String.format("https://api.sunra.ai/v1/queue/requests/%s/cancel", options.getRequestId());
-        final var request = httpClient.prepareRequest(url, options);
+        final var event = JfrSupport.AVAILABLE ? new QueueCancelEvent() : null;
+        if (event != null) {
+            event.begin();
+        }
+        final var request = httpClient.prepareRequest(
+                QueueRequests.CANCEL, options.getRequestId(), options, null, null, null);
 
         final var response = httpClient.executeRequest(request);
         final var result = httpClient.handleResponse(response, JsonObject.class);
+        if (event != null && event.shouldCommit()) {
+            event.requestId = options.getRequestId();
+            event.commit();
+        }
         return result;
     }
 }
@@ -0,0 +1,52 @@
+package ai.sunra.client.queue;
+
+import ai.sunra.client.http.RequestTemplate;
+import jakarta.annotation.Nullable;
+
+/**
+ * The request templates of the queue operations, shared by the sync and async queue clients, and
+ * the URL of direct runs, shared by the sync and async clients.
+ */
+public final class QueueRequests {
+
+    private static final String API_URL = "https://api.sunra.ai/v1/";
+
+    private static final String QUEUE_URL = API_URL + "queue/";
+
+    /**
+     * The URL of direct, non-queued runs, followed by the endpoint ID.
+     */
+    public static final String RUN_URL = API_URL + "run/";
+
+    private static final String REQUESTS_URL = QUEUE_URL + "requests/";
+
+    private static final String JSON = "application/json";
+
+    public static final RequestTemplate SUBMIT = RequestTemplate.of("POST", QUEUE_URL, null, JSON);
+
+    public static final RequestTemplate STATUS = RequestTemplate.of("GET", REQUESTS_URL, "status", JSON);
+
+    public static final RequestTemplate STATUS_STREAM =
+            RequestTemplate.of("GET", REQUESTS_URL, "status/stream", "text/event-stream");
+
+    public static final RequestTemplate RESULT = RequestTemplate.of("GET", REQUESTS_URL, null, JSON);
+
+    public static final RequestTemplate CANCEL = RequestTemplate.of("PUT", REQUESTS_URL, "cancel", JSON);
+
+    public static final String QUERY_WEBHOOK = "sunra_webhook";
+
+    public static final String QUERY_LOGS = "logs";
+
+    private QueueRequests() {}
+
+    /**
+     * Get the value of the logs query parameter.
+     *
+     * @param logs Whether to include the logs.
+     * @return The parameter value, or null to leave it out.
+     */
+    @Nullable
+    public static String logs(@Nullable Boolean logs) {
+        return Boolean.TRUE.equals(logs) ? "1" : null;
+    }
+}
@@ -4,6 +4,7 @@ import ai.sunra.client.ApiOptions;
 import com.google.gson.JsonNull;
 import com.google.gson.JsonObject;
 import jakarta.annotation.Nonnull;
+import jakarta.annotation.Nullable;
 import lombok.Builder;
 import lombok.Data;
 
@@ -16,6 +17,12 @@ public class QueueResultOptions<O> implements ApiOptions<O> {
 
     private final Class<O> resultType;
 
+    /**
+     * The endpoint the request was submitted to, used to attribute measurements.
+     */
+    @Nullable
+    private final String endpointId;
+
     @Nonnull
     private final JsonNull input = JsonNull.INSTANCE;
 
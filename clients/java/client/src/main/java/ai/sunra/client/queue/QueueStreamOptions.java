@@ -0,0 +1,34 @@
+package ai.sunra.client.queue;
+
+import ai.sunra.client.ApiOptions;
+import com.google.gson.JsonNull;
+import jakarta.annotation.Nonnull;
+import jakarta.annotation.Nullable;
+import lombok.Builder;
+import lombok.Data;
+
+@Data
+@Builder
+public class QueueStreamOptions implements ApiOptions<QueueStatus.StatusUpdate> {
+
+    @Nonnull
+    private final JsonNull input = JsonNull.INSTANCE;
+
+    @Nonnull
+    private final Class<QueueStatus.StatusUpdate> resultType = QueueStatus.StatusUpdate.class;
+
+    @Nonnull
+    private final String requestId;
+
+    @Nullable
+    private final Boolean logs;
+
+    @Override
+    public String getHttpMethod() {
+        return "GET";
+    }
+
+    public static QueueStreamOptions withRequestId(@Nonnull String requestId) {
+        return QueueStreamOptions.builder().requestId(requestId).build();
+    }
+}
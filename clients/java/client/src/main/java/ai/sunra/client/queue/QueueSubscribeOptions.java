@@ -17,6 +17,11 @@ public class QueueSubscribeOptions implements ApiOptions<QueueStatus.Completed>
     private final Boolean logs;
     private final Consumer<QueueStatus.StatusUpdate> onQueueUpdate;
 
+    /**
+     * The endpoint the request was submitted to, used to attribute measurements.
+     */
+    private final String endpointId;
+
     @Override
     public String getHttpMethod() {
         return "GET";
@@ -0,0 +1,190 @@
+package ai.sunra.client.queue;
+
+import ai.sunra.client.exception.SunraException;
+import ai.sunra.client.http.HttpClient;
+import jakarta.annotation.Nonnull;
+import jakarta.annotation.Nullable;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Flow;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import okhttp3.Request;
+import okhttp3.Response;
+import okhttp3.sse.EventSource;
+import okhttp3.sse.EventSourceListener;
+
+/**
+ * A publisher of the raw events of a request's status stream. The stream is opened when the
+ * subscriber subscribes and completes after the first terminal status event. Events are buffered
+ * until the subscriber requests them; status streams are short so the buffer stays small.
+ */
+public class StatusStreamPublisher implements Flow.Publisher<StreamEvent> {
+
+    private final HttpClient httpClient;
+    private final Request request;
+    private final String requestId;
+    private final AtomicBoolean subscribed = new AtomicBoolean();
+
+    /**
+     * Create a new status stream publisher.
+     *
+     * @param httpClient The HTTP client.
+     * @param request The prepared {@code /status/stream} request.
+     * @param requestId The request ID, used for error reporting.
+     */
+    public StatusStreamPublisher(
+            @Nonnull HttpClient httpClient, @Nonnull Request request, @Nonnull String requestId) {
+        this.httpClient = httpClient;
+        this.request = request;
+        this.requestId = requestId;
+    }
+
+    @Override
+    public void subscribe(Flow.Subscriber<? super StreamEvent> subscriber) {
+        final var subscription = new StreamSubscription(subscriber);
+        if (!subscribed.compareAndSet(false, true)) {
+            subscriber.onSubscribe(subscription);
+            subscription.fail(new IllegalStateException("StatusStreamPublisher allows only a single subscriber"));
+            return;
+        }
+        subscriber.onSubscribe(subscription);
+        subscription.open();
+    }
+
+    private final class StreamSubscription extends EventSourceListener implements Flow.Subscription {
+
+        private final Flow.Subscriber<? super StreamEvent> downstream;
+        private final Queue<StreamEvent> buffer = new ConcurrentLinkedQueue<>();
+        private final AtomicLong requested = new AtomicLong();
+        private final AtomicInteger wip = new AtomicInteger();
+
+        private volatile EventSource eventSource;
+        private volatile boolean done;
+        private volatile Throwable error;
+        private volatile boolean cancelled;
+        private boolean terminated;
+
+        private StreamSubscription(Flow.Subscriber<? super StreamEvent> downstream) {
+            this.downstream = downstream;
+        }
+
+        private void open() {
+            if (cancelled) {
+                return;
+            }
+            eventSource = httpClient.newEventSource(request, this);
+            if (cancelled) {
+                eventSource.cancel();
+            }
+        }
+
+        private void fail(Throwable throwable) {
+            error = throwable;
+            done = true;
+            drain();
+        }
+
+        @Override
+        public void onEvent(
+                @Nonnull EventSource eventSource, @Nullable String id, @Nullable String type, @Nonnull String data) {
+            if (done) {
+                return;
+            }
+            final var event = new StreamEvent(httpClient, id, type, data);
+            buffer.offer(event);
+            if (event.isTerminal()) {
+                done = true;
+                eventSource.cancel();
+            }
+            drain();
+        }
+
+        @Override
+        public void onClosed(@Nonnull EventSource eventSource) {
+            done = true;
+            drain();
+        }
+
+        @Override
+        public void onFailure(@Nonnull EventSource eventSource, @Nullable Throwable t, @Nullable Response response) {
+            if (done) {
+                // Canceling the event source after the terminal event reports a failure.
+                return;
+            }
+            if (response != null && !response.isSuccessful()) {
+                fail(httpClient.responseToException(response));
+            } else if (t != null) {
+                fail(new SunraException(String.valueOf(t.getMessage()), t, requestId));
+            } else {
+                fail(new SunraException("Streaming failed", requestId));
+            }
+        }
+
+        @Override
+        public void request(long n) {
+            if (n <= 0) {
+                cancel();
+                downstream.onError(new IllegalArgumentException("Requested items must be positive: " + n));
+                return;
+            }
+            requested.getAndUpdate(current -> {
+                final long next = current + n;
+                return next < 0 ? Long.MAX_VALUE : next;
+            });
+            drain();
+        }
+
+        @Override
+        public void cancel() {
+            cancelled = true;
+            final var source = eventSource;
+            if (source != null) {
+                source.cancel();
+            }
+            drain();
+        }
+
+        private void drain() {
+            if (wip.getAndIncrement() != 0) {
+                return;
+            }
+            int missed = 1;
+            do {
+                if (terminated) {
+                    return;
+                }
+                if (cancelled) {
+                    buffer.clear();
+                    terminated = true;
+                    return;
+                }
+                final long demand = requested.get();
+                long emitted = 0;
+                while (emitted != demand && !cancelled) {
+                    final var event = buffer.poll();
+                    if (event == null) {
+                        break;
+                    }
+                    downstream.onNext(event);
+                    emitted++;
+                }
+                if (emitted != 0 && demand != Long.MAX_VALUE) {
+                    requested.addAndGet(-emitted);
+                }
+                if (done && buffer.isEmpty() && !cancelled) {
+                    terminated = true;
+                    final var failure = error;
+                    if (failure != null) {
+                        downstream.onError(failure);
+                    } else {
+                        downstream.onComplete();
+                    }
+                    return;
+                }
+                missed = wip.addAndGet(-missed);
+            } while (missed != 0);
+        }
+    }
+}
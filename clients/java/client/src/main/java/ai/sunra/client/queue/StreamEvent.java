@@ -0,0 +1,163 @@
+package ai.sunra.client.queue;
+
+import ai.sunra.client.http.HttpClient;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import jakarta.annotation.Nonnull;
+import jakarta.annotation.Nullable;
+
+/**
+ * A single server-sent event of a request's status stream. The payload is kept as received and
+ * only decoded when one of the accessors asks for it.
+ */
+public class StreamEvent {
+
+    private static final String STATUS_KEY = "\"status\"";
+    private static final String COMPLETED_VALUE = "\"" + QueueStatus.Status.COMPLETED.name() + "\"";
+    private static final String CANCELED_VALUE = "\"" + QueueStatus.Status.CANCELED.name() + "\"";
+
+    private final HttpClient httpClient;
+
+    @Nullable
+    private final String id;
+
+    @Nullable
+    private final String type;
+
+    @Nonnull
+    private final String data;
+
+    private JsonObject json;
+
+    StreamEvent(@Nonnull HttpClient httpClient, @Nullable String id, @Nullable String type, @Nonnull String data) {
+        this.httpClient = httpClient;
+        this.id = id;
+        this.type = type;
+        this.data = data;
+    }
+
+    /**
+     * Get the event ID.
+     *
+     * @return The event ID, or null if the server did not send one.
+     */
+    @Nullable
+    public String getId() {
+        return id;
+    }
+
+    /**
+     * Get the event type.
+     *
+     * @return The event type, or null if the server did not send one.
+     */
+    @Nullable
+    public String getType() {
+        return type;
+    }
+
+    /**
+     * Get the raw event payload.
+     *
+     * @return The raw payload.
+     */
+    @Nonnull
+    public String getData() {
+        return data;
+    }
+
+    /**
+     * Get the payload as a JSON object. The payload is parsed on the first call only.
+     *
+     * @return The payload.
+     */
+    @Nonnull
+    public synchronized JsonObject getJson() {
+        if (json == null) {
+            json = httpClient.fromJson(data, JsonObject.class);
+        }
+        return json;
+    }
+
+    /**
+     * Decode the payload into the given type.
+     *
+     * @param <T> the type of the payload
+     * @param resultType The type to decode into.
+     * @return The decoded payload.
+     */
+    @Nonnull
+    public <T> T as(@Nonnull Class<T> resultType) {
+        if (resultType == JsonObject.class || resultType == JsonElement.class) {
+            return resultType.cast(getJson());
+        }
+        return httpClient.fromJson(data, resultType);
+    }
+
+    /**
+     * Decode the payload as a status update.
+     *
+     * @return The status update.
+     */
+    @Nonnull
+    public QueueStatus.StatusUpdate getStatus() {
+        return httpClient.decodeStatus(data);
+    }
+
+    /**
+     * Check whether this event ends the stream, i.e. the request is completed or canceled. The raw
+     * payload is scanned first, so only a candidate terminal event is parsed.
+     *
+     * @return True if the event carries a terminal status.
+     */
+    public boolean isTerminal() {
+        if (!mayBeTerminal(data)) {
+            return false;
+        }
+        final JsonElement status;
+        try {
+            status = getJson().get("status");
+        } catch (RuntimeException e) {
+            // Not a status payload.
+            return false;
+        }
+        if (status == null || !status.isJsonPrimitive()) {
+            return false;
+        }
+        final var value = status.getAsString();
+        return QueueStatus.Status.COMPLETED.name().equals(value)
+                || QueueStatus.Status.CANCELED.name().equals(value);
+    }
+
+    // Whether a "status" member with a terminal value appears anywhere in the payload.
+    static boolean mayBeTerminal(@Nonnull String data) {
+        int from = 0;
+        while (true) {
+            final int key = data.indexOf(STATUS_KEY, from);
+            if (key < 0) {
+                return false;
+            }
+            from = key + STATUS_KEY.length();
+            int i = skipWhitespace(data, from);
+            if (i >= data.length() || data.charAt(i) != ':') {
+                continue;
+            }
+            i = skipWhitespace(data, i + 1);
+            if (data.startsWith(COMPLETED_VALUE, i) || data.startsWith(CANCELED_VALUE, i)) {
+                return true;
+            }
+        }
+    }
+
+    private static int skipWhitespace(String data, int index) {
+        while (index < data.length() && Character.isWhitespace(data.charAt(index))) {
+            index++;
+        }
+        return index;
+    }
+
+    @Override
+    public String toString() {
+        return "StreamEvent(id=" + id + ", type=" + type + ", data=" + data + ")";
+    }
+}
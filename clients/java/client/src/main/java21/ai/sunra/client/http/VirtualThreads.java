@@ -0,0 +1,44 @@
+package ai.sunra.client.http;
+
+import jakarta.annotation.Nonnull;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Access to virtual threads from code compiled for Java 11. This is the Java 21 variant, loaded
+ * from {@code META-INF/versions/21} of the multi-release JAR.
+ */
+public final class VirtualThreads {
+
+    private VirtualThreads() {}
+
+    /**
+     * Check whether the running JVM supports virtual threads.
+     *
+     * @return Whether virtual threads are supported.
+     */
+    public static boolean isSupported() {
+        return true;
+    }
+
+    /**
+     * Check whether the given thread is a virtual thread.
+     *
+     * @param thread The thread.
+     * @return Whether the thread is virtual.
+     */
+    public static boolean isVirtual(@Nonnull Thread thread) {
+        return thread.isVirtual();
+    }
+
+    /**
+     * Create an executor starting a new virtual thread for each task.
+     *
+     * @param prefix The name prefix of the threads, followed by a counter.
+     * @return The executor.
+     */
+    @Nonnull
+    public static ExecutorService newThreadPerTaskExecutor(@Nonnull String prefix) {
+        return Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name(prefix, 1).factory());
+    }
+}
@@ -0,0 +1,59 @@
+package ai.sunra.client;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import ai.sunra.client.exception.SunraException;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.Test;
+
+public class ApiKeyPoolTest {
+
+    @Test
+    void testTakesTurnsBeforeAnyReport() {
+        final var pool = ApiKeyPool.of(List.of("a", "b", "c"));
+        final var counts = new HashMap<String, Integer>();
+        for (int i = 0; i < 30; i++) {
+            counts.merge(pool.get(), 1, Integer::sum);
+        }
+        assertEquals(10, counts.get("a"));
+        assertEquals(10, counts.get("b"));
+        assertEquals(10, counts.get("c"));
+    }
+
+    @Test
+    void testPrefersKeyWithMostBudget() {
+        final var pool = ApiKeyPool.of(List.of("a", "b"));
+        pool.onRateLimit("a", new SunraException.RateLimitInfo(100, 2, 60));
+        pool.onRateLimit("b", new SunraException.RateLimitInfo(100, 50, 60));
+
+        for (int i = 0; i < 48; i++) {
+            assertEquals("b", pool.get());
+        }
+        assertEquals(2, pool.getRemaining("a"));
+        assertEquals(2, pool.getRemaining("b"));
+    }
+
+    @Test
+    void testUsesKeyResettingFirstWhenExhausted() {
+        final var pool = ApiKeyPool.of(List.of("a", "b"));
+        pool.onRateLimit("a", new SunraException.RateLimitInfo(100, 0, 30));
+        pool.onRateLimit("b", new SunraException.RateLimitInfo(100, 0, 5));
+
+        assertEquals("b", pool.get());
+    }
+
+    @Test
+    void testCachedResolverRefreshesAfterInterval() throws InterruptedException {
+        final var calls = new AtomicInteger();
+        final var resolver = CredentialsResolver.cached(() -> "key-" + calls.incrementAndGet(), Duration.ofMillis(50));
+
+        assertEquals("key-1", resolver.get());
+        assertEquals("key-1", resolver.get());
+        Thread.sleep(80);
+        assertEquals("key-2", resolver.get());
+        assertEquals(2, calls.get());
+    }
+}
@@ -0,0 +1,127 @@
+package ai.sunra.client;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import ai.sunra.client.batch.BatchPublisher;
+import ai.sunra.client.batch.CloseableIterator;
+import ai.sunra.client.batch.IteratorPublisher;
+import ai.sunra.client.batch.PublisherIterator;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Flow;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+public class BatchPublisherTest {
+
+    private ExecutorService executor;
+
+    @BeforeEach
+    void setUp() {
+        executor = Executors.newFixedThreadPool(8);
+    }
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    void testBoundedConcurrencyAndPerItemErrors() {
+        final var inFlight = new AtomicInteger();
+        final var maxInFlight = new AtomicInteger();
+        final var inputs = IntStream.range(0, 2_000).boxed().iterator();
+
+        final var publisher = new BatchPublisher<Integer, Integer>(
+                new IteratorPublisher<>(inputs), 4, input -> CompletableFuture.supplyAsync(() -> {
+                    maxInFlight.accumulateAndGet(inFlight.incrementAndGet(), Math::max);
+                    try {
+                        if (input % 100 == 0) {
+                            throw new IllegalStateException("failed " + input);
+                        }
+                        return input * 2;
+                    } finally {
+                        inFlight.decrementAndGet();
+                    }
+                }, executor));
+
+        final var results = new PublisherIterator<BatchResult<Integer>>(publisher, 4);
+        final Set<Long> indexes = new HashSet<>();
+        int errors = 0;
+        while (results.hasNext()) {
+            final var result = results.next();
+            assertTrue(indexes.add(result.getIndex()), "Duplicate index " + result.getIndex());
+            if (result.isSuccess()) {
+                assertEquals(result.getIndex() * 2, (long) result.getValue());
+            } else {
+                assertNotNull(result.getError());
+                errors++;
+            }
+        }
+
+        assertEquals(2_000, indexes.size());
+        assertEquals(20, errors);
+        assertTrue(maxInFlight.get() <= 4, "Max in flight was " + maxInFlight.get());
+    }
+
+    @Test
+    void testJobCompletingWithNull() {
+        // A subscribe with an error handler completes with null when the request fails.
+        final var publisher = new BatchPublisher<Integer, Integer>(
+                new IteratorPublisher<>(IntStream.range(0, 10).boxed().iterator()),
+                4,
+                input -> CompletableFuture.supplyAsync(() -> input % 2 == 0 ? null : input, executor));
+        final var results = new PublisherIterator<BatchResult<Integer>>(publisher, 4);
+        int nulls = 0;
+        int count = 0;
+        while (results.hasNext()) {
+            final var result = results.next();
+            assertTrue(result.isSuccess());
+            if (result.getValue() == null) {
+                nulls++;
+            }
+            count++;
+        }
+
+        assertEquals(10, count);
+        assertEquals(5, nulls);
+    }
+
+    @Test
+    void testCloseCancelsSubscription() {
+        final var canceled = new AtomicBoolean();
+        final Flow.Publisher<Integer> publisher = subscriber -> subscriber.onSubscribe(new Flow.Subscription() {
+            @Override
+            public void request(long n) {
+                subscriber.onNext(1);
+            }
+
+            @Override
+            public void cancel() {
+                canceled.set(true);
+            }
+        });
+        try (CloseableIterator<Integer> results = new PublisherIterator<>(publisher, 1)) {
+            assertEquals(1, results.next());
+        }
+
+        assertTrue(canceled.get());
+    }
+
+    @Test
+    void testEmptySource() {
+        final var publisher = new BatchPublisher<Integer, Integer>(
+                new IteratorPublisher<>(IntStream.range(0, 0).boxed().iterator()),
+                4,
+                CompletableFuture::completedFuture);
+        final var results = new PublisherIterator<BatchResult<Integer>>(publisher, 4);
+        assertFalse(results.hasNext());
+    }
+}
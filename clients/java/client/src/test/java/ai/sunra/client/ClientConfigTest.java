@@ -0,0 +1,50 @@
+package ai.sunra.client;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import ai.sunra.client.json.GsonJsonCodec;
+import okhttp3.Interceptor;
+import org.junit.jupiter.api.Test;
+
+public class ClientConfigTest {
+
+    private static final Interceptor NOOP = chain -> chain.proceed(chain.request());
+
+    @Test
+    void testBuildReturnsSnapshot() {
+        final var builder = ClientConfig.builder()
+                .withCredentials(CredentialsResolver.fromApiKey("test"))
+                .withMaxConcurrentRequests(8);
+        final var first = builder.build();
+        builder.withInterceptor(NOOP).withMaxConcurrentRequests(16);
+        final var second = builder.build();
+
+        assertNotSame(first, second);
+        assertTrue(first.getInterceptors().isEmpty());
+        assertEquals(8, first.getMaxConcurrentRequests());
+        assertEquals(1, second.getInterceptors().size());
+        assertEquals(16, second.getMaxConcurrentRequests());
+    }
+
+    @Test
+    void testToBuilderLeavesConfigUnchanged() {
+        final var config = ClientConfig.builder()
+                .withCredentials(CredentialsResolver.fromApiKey("test"))
+                .withProxyUrl("https://example.com/api/sunra/proxy")
+                .build();
+        final var derived = config.toBuilder().withInterceptor(NOOP).build();
+
+        assertTrue(config.getInterceptors().isEmpty());
+        assertEquals(1, derived.getInterceptors().size());
+        assertEquals(config.getProxyUrl(), derived.getProxyUrl());
+        assertSame(config.getCredentials(), derived.getCredentials());
+        assertSame(config.getJsonCodec(), derived.getJsonCodec());
+    }
+
+    @Test
+    void testPlainBuilderDefaultsJsonCodec() {
+        final var config = new ClientConfig.Builder().build();
+
+        assertInstanceOf(GsonJsonCodec.class, config.getJsonCodec());
+    }
+}
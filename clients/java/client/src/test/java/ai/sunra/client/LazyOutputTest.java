@@ -0,0 +1,31 @@
+package ai.sunra.client;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import ai.sunra.client.json.GsonJsonCodec;
+import com.google.gson.JsonObject;
+import java.io.IOException;
+import okio.ByteString;
+import org.junit.jupiter.api.Test;
+
+public class LazyOutputTest {
+
+    private static final ByteString BODY =
+            ByteString.encodeUtf8("{\"images\":[{\"url\":\"https://cdn.sunra.ai/1.png\",\"width\":1024}],\"seed\":42}");
+
+    private final LazyOutput<JsonObject> output = new LazyOutput<>(BODY, "req", JsonObject.class, new GsonJsonCodec());
+
+    @Test
+    void testReadsBodyRepeatedly() throws IOException {
+        assertEquals("https://cdn.sunra.ai/1.png", output.at("/images/0/url").getAsString());
+        assertEquals(1024, output.at("/images/0/width", Integer.class));
+        assertNull(output.at("/images/1"));
+        try (var reader = output.reader()) {
+            reader.beginObject();
+            assertEquals("images", reader.nextName());
+        }
+        assertEquals(42, output.getData().get("seed").getAsInt());
+        assertSame(output.getData(), output.getData());
+        assertEquals(BODY, output.getBytes());
+    }
+}
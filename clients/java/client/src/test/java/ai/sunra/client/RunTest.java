@@ -0,0 +1,51 @@
+package ai.sunra.client;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import ai.sunra.client.exception.SunraException;
+import ai.sunra.client.http.AnsweringInterceptor;
+import ai.sunra.client.queue.QueueRequests;
+import java.io.IOException;
+import java.util.Map;
+import okio.Buffer;
+import org.junit.jupiter.api.Test;
+
+public class RunTest {
+
+    private AnsweringInterceptor answering;
+
+    private SunraClient client(int code, String body) {
+        answering = AnsweringInterceptor.json(code, body).withHeader("x-request-id", "req-1");
+        return SunraClient.withConfig(ClientConfig.builder()
+                .withCredentials(CredentialsResolver.fromApiKey("test-key"))
+                .withTransport(answering.transport())
+                .build());
+    }
+
+    @Test
+    void testRunPostsInputToEndpoint() throws IOException {
+        final var output = client(200, "{\"seed\":42}")
+                .run("owner/app/text-to-image", RunOptions.withInput(Map.of("prompt", "a cat")));
+
+        assertEquals(42, output.getData().get("seed").getAsInt());
+        assertEquals("req-1", output.getRequestId());
+        assertEquals(1, answering.getRequests().size());
+        final var request = answering.getRequests().get(0);
+        assertEquals("POST", request.method());
+        assertEquals(QueueRequests.RUN_URL + "owner/app/text-to-image", request.url().toString());
+        assertEquals("https://api.sunra.ai/v1/run/owner/app/text-to-image", request.url().toString());
+        assertEquals("Key test-key", request.header("Authorization"));
+        final var body = new Buffer();
+        request.body().writeTo(body);
+        assertEquals("{\"prompt\":\"a cat\"}", body.readUtf8());
+    }
+
+    @Test
+    void testRunFailure() {
+        final var exception = assertThrows(
+                SunraException.class,
+                () -> client(422, "{\"error\":{\"message\":\"bad input\",\"code\":\"E422\"}}")
+                        .run("owner/app", RunOptions.withInput(Map.of())));
+        assertEquals("bad input", exception.getMessage());
+    }
+}
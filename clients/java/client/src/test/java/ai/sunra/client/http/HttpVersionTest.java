@@ -0,0 +1,47 @@
+package ai.sunra.client.http;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import ai.sunra.client.ClientConfig;
+import ai.sunra.client.CredentialsResolver;
+import java.util.List;
+import okhttp3.Protocol;
+import org.junit.jupiter.api.Test;
+
+public class HttpVersionTest {
+
+    private static ClientConfig.Builder config(HttpVersion httpVersion) {
+        return ClientConfig.builder()
+                .withCredentials(CredentialsResolver.fromApiKey("test"))
+                .withHttpVersion(httpVersion);
+    }
+
+    @Test
+    void testProtocols() {
+        assertEquals(
+                List.of(Protocol.HTTP_2, Protocol.HTTP_1_1),
+                HttpClient.newClientBuilder(config(HttpVersion.HTTP_2).build()).build().protocols());
+        assertEquals(
+                List.of(Protocol.HTTP_1_1),
+                HttpClient.newClientBuilder(config(HttpVersion.HTTP_1_1).build()).build().protocols());
+        assertEquals(
+                List.of(Protocol.H2_PRIOR_KNOWLEDGE),
+                HttpClient.newClientBuilder(config(HttpVersion.H2_PRIOR_KNOWLEDGE)
+                                .withProxyUrl("http://localhost:8080/api/sunra/proxy")
+                                .build())
+                        .build()
+                        .protocols());
+    }
+
+    @Test
+    void testPriorKnowledgeRequiresCleartextProxy() {
+        assertThrows(
+                IllegalStateException.class,
+                () -> HttpClient.newClientBuilder(config(HttpVersion.H2_PRIOR_KNOWLEDGE).build()));
+        assertThrows(
+                IllegalStateException.class,
+                () -> HttpClient.newClientBuilder(config(HttpVersion.H2_PRIOR_KNOWLEDGE)
+                        .withProxyUrl("https://proxy.example.com/api/sunra/proxy")
+                        .build()));
+    }
+}
@@ -0,0 +1,308 @@
+package ai.sunra.client.http;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import okhttp3.Call;
+import okhttp3.Callback;
+import okhttp3.Interceptor;
+import okhttp3.OkHttpClient;
+import okhttp3.Protocol;
+import okhttp3.Request;
+import okhttp3.Response;
+import okhttp3.sse.EventSource;
+import okhttp3.sse.EventSourceListener;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+public class JdkHttpTransportTest {
+
+    private final CountDownLatch received = new CountDownLatch(1);
+    private final CountDownLatch release = new CountDownLatch(1);
+
+    private ExecutorService executor;
+    private HttpServer server;
+    private String url;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        executor = Executors.newCachedThreadPool();
+        server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 0);
+        server.setExecutor(executor);
+        server.createContext("/echo", exchange -> {
+            final var value = exchange.getRequestHeaders().getFirst("x-test");
+            respond(exchange, 200, "text/plain", value != null ? value : "");
+        });
+        server.createContext("/slow", exchange -> {
+            received.countDown();
+            await(release);
+            respond(exchange, 200, "text/plain", "late");
+        });
+        server.createContext("/error", exchange -> respond(exchange, 500, "application/json", "{\"detail\":\"boom\"}"));
+        server.createContext("/json", exchange -> respond(exchange, 200, "application/json", "{}"));
+        server.createContext("/events", exchange -> {
+            exchange.getResponseHeaders().set("Content-Type", "text/event-stream");
+            exchange.sendResponseHeaders(200, 0);
+            try (var body = exchange.getResponseBody()) {
+                // Each write is flushed as a chunk of its own.
+                for (final var chunk : List.of("data: hel", "lo\nid: 1\n\n", "data: two\r", "\ndata: three\r\n\r\n")) {
+                    body.write(chunk.getBytes(StandardCharsets.UTF_8));
+                    body.flush();
+                    Thread.sleep(100);
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+        server.createContext("/endless", exchange -> {
+            exchange.getResponseHeaders().set("Content-Type", "text/event-stream");
+            exchange.sendResponseHeaders(200, 0);
+            try (var body = exchange.getResponseBody()) {
+                body.write("data: first\n\n".getBytes(StandardCharsets.UTF_8));
+                body.flush();
+                await(release);
+            }
+        });
+        server.start();
+        url = "http://127.0.0.1:" + server.getAddress().getPort();
+    }
+
+    @AfterEach
+    void tearDown() {
+        release.countDown();
+        server.stop(0);
+        executor.shutdownNow();
+    }
+
+    private static void respond(HttpExchange exchange, int code, String contentType, String body) throws IOException {
+        final var bytes = body.getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().set("Content-Type", contentType);
+        exchange.sendResponseHeaders(code, bytes.length);
+        try (var out = exchange.getResponseBody()) {
+            out.write(bytes);
+        }
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(10, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static Transport transport(OkHttpClient.Builder builder) {
+        return JdkHttpTransport.factory().create(builder.protocols(List.of(Protocol.HTTP_1_1)).build());
+    }
+
+    private Request request(String path) {
+        return new Request.Builder().url(url + path).build();
+    }
+
+    private static CompletableFuture<Response> enqueue(Call call) {
+        final var future = new CompletableFuture<Response>();
+        call.enqueue(new Callback() {
+            @Override
+            public void onResponse(Call call, Response response) {
+                future.complete(response);
+            }
+
+            @Override
+            public void onFailure(Call call, IOException e) {
+                future.completeExceptionally(e);
+            }
+        });
+        return future;
+    }
+
+    @Test
+    void testEnqueueAroundSplitInterceptors() throws Exception {
+        final var interceptor = new SplitInterceptor() {
+            @Override
+            public Request before(Request request) {
+                return request.newBuilder().header("x-test", "split").build();
+            }
+
+            @Override
+            public Response after(Request request, Response response) {
+                return response.newBuilder().header("x-after", request.header("x-test")).build();
+            }
+        };
+        final var transport = transport(new OkHttpClient.Builder().addInterceptor(interceptor));
+
+        try (var response = enqueue(transport.newCall(request("/echo"))).get(5, TimeUnit.SECONDS)) {
+            assertEquals(200, response.code());
+            assertEquals("split", response.header("x-after"));
+            assertEquals("split", response.body().string());
+        }
+    }
+
+    @Test
+    void testEnqueueThroughPlainInterceptor() throws Exception {
+        final Interceptor interceptor = chain -> chain.proceed(
+                chain.request().newBuilder().header("x-test", "plain").build());
+        final var transport = transport(new OkHttpClient.Builder().addInterceptor(interceptor));
+
+        try (var response = enqueue(transport.newCall(request("/echo"))).get(5, TimeUnit.SECONDS)) {
+            assertEquals(200, response.code());
+            assertEquals("plain", response.body().string());
+        }
+    }
+
+    @Test
+    void testCancelBeforeHeaders() throws Exception {
+        final var call = transport(new OkHttpClient.Builder()).newCall(request("/slow"));
+        final var future = enqueue(call);
+        assertTrue(received.await(5, TimeUnit.SECONDS));
+
+        call.cancel();
+
+        final var e = assertThrows(Exception.class, () -> future.get(5, TimeUnit.SECONDS));
+        assertInstanceOf(IOException.class, e.getCause());
+        assertTrue(call.isCanceled());
+    }
+
+    @Test
+    void testCancelWhileStreaming() throws Exception {
+        final List<String> events = new CopyOnWriteArrayList<>();
+        final var ended = new CompletableFuture<Throwable>();
+        transport(new OkHttpClient.Builder()).newEventSource(request("/endless"), new EventSourceListener() {
+            @Override
+            public void onEvent(EventSource eventSource, String id, String type, String data) {
+                events.add(data);
+                eventSource.cancel();
+            }
+
+            @Override
+            public void onClosed(EventSource eventSource) {
+                ended.complete(null);
+            }
+
+            @Override
+            public void onFailure(EventSource eventSource, Throwable t, Response response) {
+                ended.complete(t);
+            }
+        });
+
+        final var failure = ended.get(5, TimeUnit.SECONDS);
+        assertInstanceOf(IOException.class, failure);
+        assertEquals(List.of("first"), events);
+    }
+
+    @Test
+    void testEventsSplitAcrossChunks() throws Exception {
+        final List<String> events = new CopyOnWriteArrayList<>();
+        final var ended = new CompletableFuture<Throwable>();
+        transport(new OkHttpClient.Builder()).newEventSource(request("/events"), new EventSourceListener() {
+            @Override
+            public void onEvent(EventSource eventSource, String id, String type, String data) {
+                events.add(id + ":" + data);
+            }
+
+            @Override
+            public void onClosed(EventSource eventSource) {
+                ended.complete(null);
+            }
+
+            @Override
+            public void onFailure(EventSource eventSource, Throwable t, Response response) {
+                ended.complete(t != null ? t : new AssertionError("HTTP " + response.code()));
+            }
+        });
+
+        assertNull(ended.get(5, TimeUnit.SECONDS));
+        // The carriage return ending a chunk and the line feed starting the next are one line end.
+        assertEquals(List.of("1:hello", "null:two\nthree"), events);
+    }
+
+    @Test
+    void testEventSourceErrorResponse() throws Exception {
+        final var failure = failEventSource("/error");
+
+        assertNull(failure.error);
+        assertEquals(500, failure.code);
+    }
+
+    @Test
+    void testEventSourceWithoutEventStream() throws Exception {
+        final var failure = failEventSource("/json");
+
+        assertInstanceOf(IllegalStateException.class, failure.error);
+        assertEquals(200, failure.code);
+    }
+
+    private Failure failEventSource(String path) throws Exception {
+        final var future = new CompletableFuture<Failure>();
+        transport(new OkHttpClient.Builder()).newEventSource(request(path), new EventSourceListener() {
+            @Override
+            public void onEvent(EventSource eventSource, String id, String type, String data) {
+                future.completeExceptionally(new AssertionError("Unexpected event " + data));
+            }
+
+            @Override
+            public void onClosed(EventSource eventSource) {
+                future.completeExceptionally(new AssertionError("Unexpected close"));
+            }
+
+            @Override
+            public void onFailure(EventSource eventSource, Throwable t, Response response) {
+                future.complete(new Failure(t, response != null ? response.code() : -1));
+            }
+        });
+        return future.get(5, TimeUnit.SECONDS);
+    }
+
+    private static final class Failure {
+
+        private final Throwable error;
+        private final int code;
+
+        private Failure(Throwable error, int code) {
+            this.error = error;
+            this.code = code;
+        }
+    }
+
+    @Test
+    void testCallTimeout() {
+        final var call = transport(new OkHttpClient.Builder().callTimeout(200, TimeUnit.MILLISECONDS))
+                .newCall(request("/slow"));
+        assertEquals(TimeUnit.MILLISECONDS.toNanos(200), call.timeout().timeoutNanos());
+
+        assertTimesOut(call);
+    }
+
+    @Test
+    void testReadTimeout() {
+        assertTimesOut(transport(new OkHttpClient.Builder().readTimeout(200, TimeUnit.MILLISECONDS))
+                .newCall(request("/slow")));
+    }
+
+    @Test
+    void testReadTimeoutOfChain() {
+        final Interceptor interceptor = chain ->
+                chain.withReadTimeout(200, TimeUnit.MILLISECONDS).proceed(chain.request());
+        assertTimesOut(transport(new OkHttpClient.Builder().readTimeout(0, TimeUnit.MILLISECONDS)
+                        .addInterceptor(interceptor))
+                .newCall(request("/slow")));
+    }
+
+    private static void assertTimesOut(Call call) {
+        final long start = System.nanoTime();
+        assertThrows(IOException.class, call::execute);
+        assertTrue(System.nanoTime() - start < TimeUnit.SECONDS.toNanos(5));
+    }
+}
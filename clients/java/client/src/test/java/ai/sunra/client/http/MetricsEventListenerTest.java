@@ -0,0 +1,122 @@
+package ai.sunra.client.http;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import ai.sunra.client.metrics.MetricsRecorder;
+import ai.sunra.client.metrics.Phase;
+import jakarta.annotation.Nonnull;
+import jakarta.annotation.Nullable;
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.Proxy;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import okhttp3.Call;
+import okhttp3.Connection;
+import okhttp3.ConnectionPool;
+import okhttp3.Dispatcher;
+import okhttp3.EventListener;
+import okhttp3.Protocol;
+import okhttp3.Request;
+import org.junit.jupiter.api.Test;
+
+public class MetricsEventListenerTest {
+
+    private static final InetSocketAddress ADDRESS = InetSocketAddress.createUnresolved("api.sunra.ai", 443);
+
+    private final List<Boolean> reused = new CopyOnWriteArrayList<>();
+
+    private final List<Phase> phases = new CopyOnWriteArrayList<>();
+
+    private final MetricsRecorder recorder = new MetricsRecorder() {
+        @Override
+        public void recordPhase(@Nullable String endpointId, @Nonnull Phase phase, long durationNanos) {
+            assertEquals("owner/app", endpointId);
+            phases.add(phase);
+        }
+
+        @Override
+        public void recordConnectionAcquired(@Nullable String endpointId, boolean reused) {
+            assertEquals("owner/app", endpointId);
+            MetricsEventListenerTest.this.reused.add(reused);
+        }
+    };
+
+    private final Call call = newCall();
+
+    private final Connection connection = mock(Connection.class);
+
+    private static Call newCall() {
+        final var call = mock(Call.class);
+        when(call.request()).thenReturn(new Request.Builder()
+                .url("https://api.sunra.ai/v1/queue/owner/app")
+                .tag(EndpointTag.class, new EndpointTag("owner/app"))
+                .build());
+        return call;
+    }
+
+    private EventListener newListener() {
+        return new MetricsEventListener.Factory(recorder, new ConnectionPool(), new Dispatcher()).create(call);
+    }
+
+    private void connect(EventListener listener) {
+        listener.connectStart(call, ADDRESS, Proxy.NO_PROXY);
+        listener.secureConnectStart(call);
+        listener.secureConnectEnd(call, null);
+        listener.connectEnd(call, ADDRESS, Proxy.NO_PROXY, Protocol.HTTP_2);
+    }
+
+    @Test
+    void testNewConnection() {
+        final var listener = newListener();
+        connect(listener);
+        listener.connectionAcquired(call, connection);
+
+        assertEquals(List.of(false), reused);
+        assertEquals(List.of(Phase.CONNECT, Phase.TLS), phases);
+    }
+
+    @Test
+    void testPooledConnection() {
+        final var listener = newListener();
+        listener.connectionAcquired(call, connection);
+
+        assertEquals(List.of(true), reused);
+        assertTrue(phases.isEmpty());
+    }
+
+    @Test
+    void testFollowUpReusesConnection() {
+        // A redirect or retry acquires a connection again within the same call.
+        final var listener = newListener();
+        connect(listener);
+        listener.connectionAcquired(call, connection);
+        listener.connectionReleased(call, connection);
+        listener.connectionAcquired(call, connection);
+
+        assertEquals(List.of(false, true), reused);
+    }
+
+    @Test
+    void testFailedConnectThenPooledConnection() {
+        final var listener = newListener();
+        listener.connectStart(call, ADDRESS, Proxy.NO_PROXY);
+        listener.connectFailed(call, ADDRESS, Proxy.NO_PROXY, null, new IOException("Connection refused"));
+        listener.connectionAcquired(call, connection);
+
+        assertEquals(List.of(true), reused);
+    }
+
+    @Test
+    void testRetryOnNewConnection() {
+        final var listener = newListener();
+        listener.connectionAcquired(call, connection);
+        listener.connectionReleased(call, connection);
+        connect(listener);
+        listener.connectionAcquired(call, connection);
+
+        assertEquals(List.of(true, false), reused);
+    }
+}
@@ -0,0 +1,132 @@
+package ai.sunra.client.http;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import ai.sunra.client.ClientConfig;
+import ai.sunra.client.CredentialsResolver;
+import ai.sunra.client.queue.QueueRequests;
+import ai.sunra.client.queue.QueueSubmitOptions;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicReference;
+import okhttp3.OkHttpClient;
+import okhttp3.Request;
+import org.junit.jupiter.api.Test;
+
+public class RequestTemplateTest {
+
+    private static final QueueSubmitOptions OPTIONS =
+            QueueSubmitOptions.builder().input(Map.of("prompt", "test")).build();
+
+    private static HttpClient httpClient(ClientConfig.Builder builder) {
+        return new HttpClient(builder.build(), new OkHttpClient());
+    }
+
+    private static HttpClient httpClient(String apiKey) {
+        return httpClient(ClientConfig.builder().withCredentials(CredentialsResolver.fromApiKey(apiKey)));
+    }
+
+    @Test
+    void testEndpointWithSeveralSegments() {
+        final var request = httpClient("test").prepareRequest(
+                QueueRequests.SUBMIT, "owner/app/sub/path", OPTIONS, QueueRequests.QUERY_WEBHOOK, null, null);
+
+        assertEquals("POST", request.method());
+        assertEquals("https://api.sunra.ai/v1/queue/owner/app/sub/path", request.url().toString());
+        assertEquals(List.of("v1", "queue", "owner", "app", "sub", "path"), request.url().pathSegments());
+        assertNull(request.url().query());
+    }
+
+    @Test
+    void testWebhookQueryIsEncoded() {
+        final var webhook = "https://example.com/hook?job=1&kind=a b";
+        final var request = httpClient("test").prepareRequest(
+                QueueRequests.SUBMIT, "owner/app", OPTIONS, QueueRequests.QUERY_WEBHOOK, webhook, "owner/app");
+
+        assertEquals(webhook, request.url().queryParameter(QueueRequests.QUERY_WEBHOOK));
+        // The separators of the webhook URL are encoded, so they do not split the query.
+        assertEquals(1, request.url().querySize());
+        assertEquals(List.of("v1", "queue", "owner", "app"), request.url().pathSegments());
+    }
+
+    @Test
+    void testLogsQueryAndSuffix() {
+        final var client = httpClient("test");
+
+        final var withLogs = client.prepareRequest(QueueRequests.STATUS, "req-1", OPTIONS,
+                QueueRequests.QUERY_LOGS, QueueRequests.logs(true), null);
+        assertEquals("GET", withLogs.method());
+        assertEquals("https://api.sunra.ai/v1/queue/requests/req-1/status?logs=1", withLogs.url().toString());
+        assertNull(withLogs.body());
+
+        final var withoutLogs = client.prepareRequest(QueueRequests.STATUS_STREAM, "req-1", OPTIONS,
+                QueueRequests.QUERY_LOGS, QueueRequests.logs(false), null);
+        assertEquals(
+                "https://api.sunra.ai/v1/queue/requests/req-1/status/stream", withoutLogs.url().toString());
+        assertEquals("text/event-stream", withoutLogs.header("accept"));
+        assertEquals(1, withoutLogs.headers("accept").size());
+    }
+
+    @Test
+    void testProxyFoldsTargetUrl() {
+        final var client = httpClient(ClientConfig.builder()
+                .withCredentials(CredentialsResolver.fromApiKey("test"))
+                .withProxyUrl("http://localhost:3000/api/sunra/proxy"));
+
+        final var request = client.prepareRequest(
+                QueueRequests.STATUS, "req-1", OPTIONS, QueueRequests.QUERY_LOGS, "1", null);
+
+        assertEquals("http://localhost:3000/api/sunra/proxy", request.url().toString());
+        assertEquals(
+                "https://api.sunra.ai/v1/queue/requests/req-1/status?logs=1",
+                request.header(ClientProxyInterceptor.HEADER_TARGET_URL));
+        assertEquals("Key test", request.header("Authorization"));
+    }
+
+    @Test
+    void testAuthorizationFollowsCredentials() {
+        final var apiKey = new AtomicReference<>("first");
+        final var client = httpClient(ClientConfig.builder().withCredentials(apiKey::get));
+
+        final var first = client.prepareRequest(QueueRequests.RESULT, "req-1", OPTIONS, null, null, null);
+        final var again = client.prepareRequest(QueueRequests.RESULT, "req-1", OPTIONS, null, null, null);
+        apiKey.set("second");
+        final var rotated = client.prepareRequest(QueueRequests.RESULT, "req-1", OPTIONS, null, null, null);
+
+        assertEquals("Key first", first.header("Authorization"));
+        // The cached header value is reused while the credentials do not change.
+        assertSame(first.header("Authorization"), again.header("Authorization"));
+        assertEquals("Key second", rotated.header("Authorization"));
+    }
+
+    @Test
+    void testInterceptorsPassTemplatedRequestsThrough() {
+        final var config = ClientConfig.builder()
+                .withCredentials(CredentialsResolver.fromApiKey("test"))
+                .withProxyUrl("http://localhost:3000/api/sunra/proxy")
+                .build();
+        final var request = new HttpClient(config, new OkHttpClient())
+                .prepareRequest(QueueRequests.CANCEL, "req-1", OPTIONS, null, null, null);
+
+        assertSame(request, new CredentialsInterceptor(config).before(request));
+        assertSame(request, new ClientProxyInterceptor(config).before(request));
+    }
+
+    @Test
+    void testInterceptorsStillRewritePlainRequests() {
+        final var config = ClientConfig.builder()
+                .withCredentials(CredentialsResolver.fromApiKey("test"))
+                .withProxyUrl("http://localhost:3000/api/sunra/proxy")
+                .build();
+        final var request = new Request.Builder()
+                .url("https://api.sunra.ai/v1/run/owner/app")
+                .build();
+
+        final var prepared =
+                new ClientProxyInterceptor(config).before(new CredentialsInterceptor(config).before(request));
+
+        assertEquals("Key test", prepared.header("Authorization"));
+        assertEquals("http://localhost:3000/api/sunra/proxy", prepared.url().toString());
+        assertEquals("https://api.sunra.ai/v1/run/owner/app", prepared.header(ClientProxyInterceptor.HEADER_TARGET_URL));
+    }
+}
@@ -0,0 +1,90 @@
+package ai.sunra.client.http;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import ai.sunra.client.ClientConfig;
+import ai.sunra.client.CredentialsResolver;
+import ai.sunra.client.RunOptions;
+import ai.sunra.client.exception.SunraException;
+import com.google.gson.JsonObject;
+import java.time.Duration;
+import java.util.Arrays;
+import org.junit.jupiter.api.Test;
+
+public class ResponseLeakDetectorTest {
+
+    private final ResponseLeakDetector detector = new ResponseLeakDetector();
+
+    private HttpClient newHttpClient(int code, String body) {
+        final var config = ClientConfig.builder()
+                .withCredentials(CredentialsResolver.fromApiKey("test"))
+                .withResponseLeakDetector(detector)
+                .build();
+        // Answers every call in place, after the detector in the interceptor chain.
+        final var client = HttpClient.newClientBuilder(config)
+                .addInterceptor(AnsweringInterceptor.json(code, body))
+                .build();
+        return new HttpClient(config, client);
+    }
+
+    private static RunOptions<JsonObject> options() {
+        return RunOptions.withInput(new JsonObject());
+    }
+
+    @Test
+    void handledResponsesAreClosed() {
+        final var httpClient = newHttpClient(200, "{\"ok\":true}");
+        final var request = httpClient.prepareRequest("https://api.sunra.ai/v1/run/test", options());
+
+        final var result = httpClient.handleResponse(httpClient.executeRequest(request), JsonObject.class);
+
+        assertTrue(result.get("ok").getAsBoolean());
+        assertTrue(detector.openResponses().isEmpty());
+    }
+
+    @Test
+    void errorResponsesAreClosed() {
+        final var httpClient = newHttpClient(500, "{\"message\":\"boom\"}");
+        final var request = httpClient.prepareRequest("https://api.sunra.ai/v1/run/test", options());
+
+        assertThrows(
+                SunraException.class,
+                () -> httpClient.wrapInResult(httpClient.executeRequest(request), JsonObject.class));
+        assertTrue(detector.openResponses().isEmpty());
+    }
+
+    @Test
+    void unclosedResponsesAreReported() {
+        final var httpClient = newHttpClient(200, "{}");
+        final var request = httpClient.prepareRequest("https://api.sunra.ai/v1/run/test", options());
+
+        final var response = httpClient.executeRequest(request);
+
+        final var open = detector.openResponses();
+        assertEquals(1, open.size());
+        assertEquals("POST https://api.sunra.ai/v1/run/test", open.get(0).getRequest());
+        assertTrue(open.get(0).getAllocationSite().getStackTrace().length > 0);
+        assertTrue(detector.openResponses(Duration.ofHours(1)).isEmpty());
+
+        response.close();
+        assertTrue(detector.openResponses().isEmpty());
+        assertEquals(0, detector.getLeakedCount());
+    }
+
+    @Test
+    void asyncResponsesPointAtTheCaller() {
+        final var httpClient = newHttpClient(200, "{}");
+        final var request = httpClient.prepareRequest("https://api.sunra.ai/v1/run/test", options());
+
+        final var response = httpClient.executeRequestAsync(request).join();
+
+        final var open = detector.openResponses();
+        assertEquals(1, open.size());
+        // Captured when the call was enqueued, not on the dispatcher thread that received it.
+        assertTrue(Arrays.stream(open.get(0).getAllocationSite().getStackTrace())
+                .anyMatch(frame -> frame.getMethodName().equals("asyncResponsesPointAtTheCaller")));
+
+        response.close();
+        assertTrue(detector.openResponses().isEmpty());
+    }
+}
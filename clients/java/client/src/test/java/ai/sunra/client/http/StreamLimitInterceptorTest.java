@@ -0,0 +1,155 @@
+package ai.sunra.client.http;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.io.IOException;
+import java.net.SocketTimeoutException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import okhttp3.Call;
+import okhttp3.Connection;
+import okhttp3.Interceptor;
+import okhttp3.MediaType;
+import okhttp3.Protocol;
+import okhttp3.Request;
+import okhttp3.Response;
+import okhttp3.ResponseBody;
+import okio.Timeout;
+import org.junit.jupiter.api.Test;
+
+public class StreamLimitInterceptorTest {
+
+    private final Connection connection = newConnection(Protocol.HTTP_2);
+
+    private static Connection newConnection(Protocol protocol) {
+        final var connection = mock(Connection.class);
+        when(connection.protocol()).thenReturn(protocol);
+        return connection;
+    }
+
+    private static Interceptor.Chain newChain(Connection connection, Call call, int readTimeoutMillis) {
+        return newChain(
+                connection,
+                call,
+                readTimeoutMillis,
+                new Request.Builder().url("https://api.sunra.ai/v1/queue/owner/app").build());
+    }
+
+    private static Interceptor.Chain newChain(
+            Connection connection, Call call, int readTimeoutMillis, Request request) {
+        final var chain = mock(Interceptor.Chain.class);
+        when(chain.request()).thenReturn(request);
+        when(chain.connection()).thenReturn(connection);
+        when(chain.call()).thenReturn(call);
+        when(chain.readTimeoutMillis()).thenReturn(readTimeoutMillis);
+        try {
+            when(chain.proceed(request)).thenAnswer(invocation -> new Response.Builder()
+                    .request(request)
+                    .protocol(connection.protocol())
+                    .code(200)
+                    .message("test")
+                    .body(ResponseBody.create("{}", MediaType.parse("application/json")))
+                    .build());
+        } catch (IOException e) {
+            throw new AssertionError(e);
+        }
+        return chain;
+    }
+
+    private static Call newCall(boolean canceled) {
+        final var call = mock(Call.class);
+        when(call.timeout()).thenReturn(new Timeout());
+        when(call.isCanceled()).thenReturn(canceled);
+        return call;
+    }
+
+    @Test
+    void testCountsStreamsPerConnection() throws IOException {
+        final var stats = new MultiplexingStats();
+        final var interceptor = new StreamLimitInterceptor(0, stats);
+
+        final var first = interceptor.intercept(newChain(connection, newCall(false), 1_000));
+        final var second = interceptor.intercept(newChain(connection, newCall(false), 1_000));
+        assertEquals(2, stats.getActiveStreams());
+        first.close();
+        second.close();
+        interceptor.intercept(newChain(newConnection(Protocol.HTTP_1_1), newCall(false), 1_000)).close();
+
+        assertEquals(3, stats.getStreamCount());
+        assertEquals(2, stats.getMultiplexedStreamCount());
+        assertEquals(2, stats.getConnectionCount());
+        assertEquals(0, stats.getActiveStreams());
+        assertEquals(1.5, stats.getStreamsPerConnectionRatio(), 0.001);
+    }
+
+    @Test
+    void testWaitsForStreamOfConnection() throws Exception {
+        final var interceptor = new StreamLimitInterceptor(1, null);
+        final var open = interceptor.intercept(newChain(connection, newCall(false), 10_000));
+
+        final var waiting = CompletableFuture.supplyAsync(() -> {
+            try {
+                return interceptor.intercept(newChain(connection, newCall(false), 10_000));
+            } catch (IOException e) {
+                throw new AssertionError(e);
+            }
+        });
+        Thread.sleep(200);
+        assertFalse(waiting.isDone());
+
+        open.close();
+        waiting.get(5, TimeUnit.SECONDS).close();
+    }
+
+    @Test
+    void testEventStreamDoesNotHoldStream() throws IOException {
+        final var stats = new MultiplexingStats();
+        final var interceptor = new StreamLimitInterceptor(1, stats);
+        final var statusStream = new Request.Builder()
+                .url("https://api.sunra.ai/v1/queue/requests/req-1/status/stream")
+                .header("Accept", "text/event-stream")
+                .build();
+        final var events = interceptor.intercept(newChain(connection, newCall(false), 1_000, statusStream));
+
+        // The open event stream leaves the one stream to the other calls, which still wait for it.
+        final var first = interceptor.intercept(newChain(connection, newCall(false), 200));
+        assertEquals(2, stats.getActiveStreams());
+        assertThrows(
+                SocketTimeoutException.class,
+                () -> interceptor.intercept(newChain(connection, newCall(false), 200)));
+        first.close();
+        interceptor.intercept(newChain(connection, newCall(false), 200)).close();
+
+        events.close();
+        assertEquals(0, stats.getActiveStreams());
+        interceptor.intercept(newChain(connection, newCall(false), 200)).close();
+    }
+
+    @Test
+    void testGivesUpAfterReadTimeout() throws IOException {
+        final var interceptor = new StreamLimitInterceptor(1, null);
+        final var open = interceptor.intercept(newChain(connection, newCall(false), 1_000));
+
+        final long start = System.nanoTime();
+        assertThrows(
+                SocketTimeoutException.class,
+                () -> interceptor.intercept(newChain(connection, newCall(false), 200)));
+        assertTrue(System.nanoTime() - start < TimeUnit.SECONDS.toNanos(5));
+        open.close();
+    }
+
+    @Test
+    void testGivesUpWhenCanceled() throws IOException {
+        final var interceptor = new StreamLimitInterceptor(1, null);
+        final var open = interceptor.intercept(newChain(connection, newCall(false), 1_000));
+
+        // No timeout at all: only the cancellation ends the wait.
+        final var exception = assertThrows(
+                IOException.class,
+                () -> interceptor.intercept(newChain(connection, newCall(true), 0)));
+        assertEquals("Canceled", exception.getMessage());
+        open.close();
+    }
+}
@@ -0,0 +1,89 @@
+package ai.sunra.client.jfr;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import ai.sunra.client.ClientConfig;
+import ai.sunra.client.CredentialsResolver;
+import ai.sunra.client.SunraClient;
+import ai.sunra.client.http.AnsweringInterceptor;
+import ai.sunra.client.queue.QueueCancelOptions;
+import ai.sunra.client.queue.QueueResultOptions;
+import ai.sunra.client.queue.QueueStatusOptions;
+import ai.sunra.client.queue.QueueSubmitOptions;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.junit.jupiter.api.Test;
+
+public class JfrEventsTest {
+
+    private static final String IN_QUEUE = "{\"request_id\":\"req-1\",\"status\":\"IN_QUEUE\",\"queue_position\":2}";
+
+    private static final List<String> EVENTS = List.of(
+            "ai.sunra.client.HttpPrepare",
+            "ai.sunra.client.HttpExecute",
+            "ai.sunra.client.HttpDecode",
+            "ai.sunra.client.QueueSubmit",
+            "ai.sunra.client.QueueStatus",
+            "ai.sunra.client.QueueResult",
+            "ai.sunra.client.QueueCancel");
+
+    private static SunraClient client() {
+        final var answering = AnsweringInterceptor.answering(request -> {
+                    if (request.method().equals("POST") || request.url().encodedPath().endsWith("/status")) {
+                        return AnsweringInterceptor.Answer.json(200, IN_QUEUE);
+                    }
+                    final var body = request.method().equals("PUT") ? "{}" : "{\"seed\":42}";
+                    return AnsweringInterceptor.Answer.json(200, body);
+                })
+                .withHeader("x-request-id", "req-1");
+        return SunraClient.withConfig(ClientConfig.builder()
+                .withCredentials(CredentialsResolver.fromApiKey("test-key"))
+                .withTransport(answering.transport())
+                .build());
+    }
+
+    @Test
+    void testEventsAreEmitted() throws IOException {
+        assertTrue(JfrSupport.AVAILABLE);
+
+        final var queue = client().queue();
+        final var file = Files.createTempFile("sunra-client", ".jfr");
+        try (var recording = new Recording()) {
+            EVENTS.forEach(name -> recording.enable(name).withoutThreshold());
+            recording.start();
+            queue.submit("owner/app", QueueSubmitOptions.withInput(Map.of("prompt", "a cat")));
+            queue.status(QueueStatusOptions.withRequestId("req-1"));
+            queue.result(QueueResultOptions.withRequestId("req-1"));
+            queue.cancel(QueueCancelOptions.withRequestId("req-1"));
+            recording.stop();
+            recording.dump(file);
+
+            final var events = RecordingFile.readAllEvents(file);
+            final Set<String> names = events.stream()
+                    .map(event -> event.getEventType().getName())
+                    .collect(Collectors.toSet());
+            assertEquals(Set.copyOf(EVENTS), names);
+
+            final RecordedEvent submit = events.stream()
+                    .filter(event -> event.getEventType().getName().equals("ai.sunra.client.QueueSubmit"))
+                    .findFirst()
+                    .orElseThrow();
+            assertEquals("owner/app", submit.getString("endpointId"));
+            assertEquals("req-1", submit.getString("requestId"));
+            final RecordedEvent status = events.stream()
+                    .filter(event -> event.getEventType().getName().equals("ai.sunra.client.QueueStatus"))
+                    .findFirst()
+                    .orElseThrow();
+            assertEquals(2, status.getInt("queuePosition"));
+        } finally {
+            Files.deleteIfExists(file);
+        }
+    }
+}
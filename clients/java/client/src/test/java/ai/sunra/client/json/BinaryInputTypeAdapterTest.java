@@ -0,0 +1,73 @@
+package ai.sunra.client.json;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import ai.sunra.client.BinaryInput;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import okio.Buffer;
+import org.junit.jupiter.api.Test;
+
+public class BinaryInputTypeAdapterTest {
+
+    private static final byte[] DATA = "not really a png".getBytes(StandardCharsets.UTF_8);
+
+    private static final String BASE64 = Base64.getEncoder().encodeToString(DATA);
+
+    private final GsonJsonCodec codec = new GsonJsonCodec();
+
+    private static BinaryInput image() {
+        return BinaryInput.fromBytes(ByteBuffer.wrap(DATA));
+    }
+
+    /** A POJO input, serialized by the codec rather than streamed. */
+    static final class Input {
+        final String prompt = "a cat";
+        final BinaryInput image = image();
+        final BinaryInput mask = image().asDataUri("image/png");
+        final BinaryInput missing = null;
+    }
+
+    @Test
+    void testEncodesNestedInPojo() throws IOException {
+        final var buffer = new Buffer();
+        codec.encode(new Input(), buffer);
+
+        assertEquals(
+                "{\"prompt\":\"a cat\",\"image\":\"" + BASE64 + "\",\"mask\":\"data:image/png;base64," + BASE64 + "\"}",
+                buffer.readUtf8());
+    }
+
+    @Test
+    void testEncodesToJsonTree() {
+        final var tree = codec.getGson().toJsonTree(new Input()).getAsJsonObject();
+
+        assertEquals(BASE64, tree.get("image").getAsString());
+        assertEquals("data:image/png;base64," + BASE64, tree.get("mask").getAsString());
+        assertFalse(tree.has("missing"));
+    }
+
+    @Test
+    void testMatchesStreamedInput() throws IOException {
+        final Map<String, Object> input = new LinkedHashMap<>();
+        input.put("image", image());
+        input.put("images", List.of(image(), image().asDataUri("image/jpeg")));
+
+        final var encoded = new Buffer();
+        codec.encode(input, encoded);
+        final var streamed = new Buffer();
+        JsonSinkWriter.writeValue(streamed, input, codec);
+
+        assertEquals(streamed.readUtf8(), encoded.readUtf8());
+    }
+
+    @Test
+    void testIsInputOnly() {
+        assertThrows(UnsupportedOperationException.class, () -> codec.decode("\"" + BASE64 + "\"", BinaryInput.class));
+    }
+}
@@ -0,0 +1,119 @@
+package ai.sunra.client.json;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import ai.sunra.client.queue.QueueStatus;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParseException;
+import com.google.gson.JsonParser;
+import java.io.IOException;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import okio.Buffer;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Round trips through both codecs, which must agree on every payload.
+ */
+public class JsonCodecTest {
+
+    private static final String IN_PROGRESS = "{\"status\":\"IN_PROGRESS\",\"request_id\":\"req-1\","
+            + "\"status_url\":\"https://api.sunra.ai/v1/queue/requests/req-1/status\","
+            + "\"response_url\":\"https://api.sunra.ai/v1/queue/requests/req-1\","
+            + "\"cancel_url\":\"https://api.sunra.ai/v1/queue/requests/req-1/cancel\",\"logs\":\"step 1\"}";
+
+    private final List<JsonCodec> codecs = List.of(new GsonJsonCodec(), new StreamingGsonJsonCodec());
+
+    private static Buffer source(String json) {
+        return new Buffer().writeUtf8(json);
+    }
+
+    @Test
+    void testDecode() throws IOException {
+        final Map<String, Object> input = new LinkedHashMap<>();
+        input.put("prompt", "a cat");
+        input.put("steps", 20);
+        input.put("tags", List.of("a", "b"));
+        for (final var codec : codecs) {
+            final var buffer = new Buffer();
+            codec.encode(input, buffer);
+            final var json = buffer.readUtf8();
+
+            final var decoded = codec.decode(source(json), JsonObject.class);
+            assertEquals("a cat", decoded.get("prompt").getAsString());
+            assertEquals(20, decoded.get("steps").getAsInt());
+            assertEquals(decoded, codec.decode(json, JsonObject.class));
+            assertNull(codec.decode(source(""), JsonObject.class));
+        }
+    }
+
+    @Test
+    void testDecodeMalformed() {
+        for (final var codec : codecs) {
+            assertThrows(JsonParseException.class, () -> codec.decode(source("{\"prompt\":"), JsonObject.class));
+            assertThrows(JsonParseException.class, () -> codec.decode("{\"prompt\":", JsonObject.class));
+            assertThrows(JsonParseException.class, () -> codec.decode("[1, 2]", JsonObject.class));
+        }
+    }
+
+    @Test
+    void testDecodeStatus() throws IOException {
+        for (final var codec : codecs) {
+            final var status = codec.decodeStatus(source(IN_PROGRESS));
+            assertInstanceOf(QueueStatus.InProgress.class, status);
+            assertEquals(QueueStatus.Status.IN_PROGRESS, status.getStatus());
+            assertEquals("req-1", status.getRequestId());
+            assertEquals("step 1", ((QueueStatus.InProgress) status).getLogs());
+            assertEquals(status, codec.decodeStatus(IN_PROGRESS));
+        }
+    }
+
+    @Test
+    void testDecodeError() throws IOException {
+        final var nested = "{\"error\":{\"message\":\"bad input\",\"code\":\"E400\",\"type\":\"invalid_request\","
+                + "\"details\":{\"field\":\"prompt\"}},\"timestamp\":\"2025-01-01T00:00:00Z\"}";
+        final var legacy = "{\"detail\":\"not found\",\"code\":404,\"type\":\"not_found\"}";
+        for (final var codec : codecs) {
+            final var error = codec.decodeError(source(nested));
+            assertEquals("bad input", error.getMessage());
+            assertEquals("E400", error.getCode());
+            assertEquals("invalid_request", error.getType());
+            assertEquals(Map.of("field", "prompt"), error.getDetails());
+            assertEquals("2025-01-01T00:00:00Z", error.getTimestamp());
+
+            final var legacyError = codec.decodeError(source(legacy));
+            assertEquals("not found", legacyError.getMessage());
+            assertEquals("404", legacyError.getCode());
+            assertEquals("not_found", legacyError.getType());
+            assertNull(legacyError.getDetails());
+
+            assertNull(codec.decodeError(source("[\"not\",\"an\",\"object\"]")));
+            assertNull(codec.decodeError(source("\"Bad Gateway\"")));
+        }
+    }
+
+    @Test
+    void testDecodeErrorNonJson() {
+        // The client keeps the raw body of error responses that fail to decode.
+        for (final var codec : codecs) {
+            assertThrows(IOException.class, () -> codec.decodeError(source("<html>502 Bad Gateway</html>")));
+            assertThrows(IOException.class, () -> codec.decodeError(source("Bad Gateway")));
+            assertThrows(IOException.class, () -> codec.decodeError(source("")));
+            assertThrows(IOException.class, () -> codec.decodeError(source("{\"error\":{\"message\":")));
+        }
+    }
+
+    @Test
+    void testConvert() {
+        final JsonElement tree = JsonParser.parseString(IN_PROGRESS);
+        for (final var codec : codecs) {
+            final var status = codec.convert(tree, QueueStatus.InProgress.class);
+            assertEquals(codec.decodeStatus(IN_PROGRESS), status);
+            final Map<?, ?> map = codec.convert(tree, Map.class);
+            assertEquals("req-1", map.get("request_id"));
+            assertEquals(tree, codec.convert(tree, JsonElement.class));
+        }
+    }
+}
@@ -0,0 +1,71 @@
+package ai.sunra.client.json;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import ai.sunra.client.StreamingJsonInput;
+import com.google.gson.JsonNull;
+import com.google.gson.JsonObject;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import okio.Buffer;
+import org.junit.jupiter.api.Test;
+
+public class JsonSinkWriterTest {
+
+    private final GsonJsonCodec codec = new GsonJsonCodec();
+
+    @Test
+    void testMatchesGsonOnNullValues() throws IOException {
+        final var nested = new JsonObject();
+        nested.addProperty("kept", "value");
+        nested.add("dropped", JsonNull.INSTANCE);
+        final Map<String, Object> inner = new LinkedHashMap<>();
+        inner.put("missing", null);
+        inner.put("count", 3);
+        final Map<String, Object> input = new LinkedHashMap<>();
+        input.put("prompt", "a \"quoted\" cat\n");
+        input.put("seed", null);
+        input.put("negative_prompt", JsonNull.INSTANCE);
+        input.put("tree", nested);
+        input.put("options", inner);
+        input.put("list", Arrays.asList(1, null, 2.5, true));
+        input.put("empty", List.of());
+
+        final var expected = new Buffer();
+        codec.encode(input, expected);
+        final var actual = new Buffer();
+        JsonSinkWriter.writeValue(actual, input, codec);
+
+        assertEquals(expected.readUtf8(), actual.readUtf8());
+    }
+
+    @Test
+    void testStreamingInputLeavesOutNulls() throws IOException {
+        final var input = StreamingJsonInput.input()
+                .set("prompt", "a cat")
+                .set("seed", (Number) null)
+                .set("style", (JsonObject) null)
+                .set("steps", 20);
+
+        final var actual = new Buffer();
+        input.writeTo(actual, codec);
+
+        assertEquals("{\"prompt\":\"a cat\",\"steps\":20}", actual.readUtf8());
+    }
+
+    @Test
+    void testStreamingInputReplacesFieldInPlace() throws IOException {
+        final var input = StreamingJsonInput.input()
+                .set("prompt", "a cat")
+                .set("steps", 20)
+                .set("prompt", "a dog");
+
+        final var actual = new Buffer();
+        input.writeTo(actual, codec);
+
+        assertEquals("{\"prompt\":\"a dog\",\"steps\":20}", actual.readUtf8());
+    }
+}
@@ -0,0 +1,104 @@
+package ai.sunra.client.json;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import ai.sunra.client.exception.SunraValidationException;
+import ai.sunra.client.queue.QueueStatus;
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Checks that the reflection-free adapters decode and encode the models as Gson's reflective
+ * adapters would, so a field added to a model without its adapter is caught here.
+ */
+public class ModelTypeAdapterFactoryTest {
+
+    private static final String URLS = "\"request_id\":\"req-1\","
+            + "\"status_url\":\"https://api.sunra.ai/v1/queue/requests/req-1/status\","
+            + "\"response_url\":\"https://api.sunra.ai/v1/queue/requests/req-1\","
+            + "\"cancel_url\":\"https://api.sunra.ai/v1/queue/requests/req-1/cancel\"";
+
+    private static final String IN_QUEUE = "{\"status\":\"IN_QUEUE\"," + URLS + ",\"queue_position\":3}";
+
+    private static final String IN_PROGRESS =
+            "{\"status\":\"IN_PROGRESS\"," + URLS + ",\"logs\":\"step 1\",\"unknown\":{\"a\":[1,2]}}";
+
+    private static final String COMPLETED = "{\"status\":\"COMPLETED\"," + URLS
+            + ",\"logs\":null,\"success\":false,\"error\":{\"message\":\"failed\",\"code\":\"E1\"}}";
+
+    private static final String COMPLETED_DEFAULTS = "{\"status\":\"COMPLETED\"," + URLS + "}";
+
+    private static final String CANCELED = "{\"status\":\"CANCELED\"," + URLS + ",\"logs\":\"stopped\"}";
+
+    private final Gson adapted = new GsonBuilder()
+            .registerTypeAdapterFactory(ModelTypeAdapterFactory.INSTANCE)
+            .create();
+
+    private final Gson reflective = new Gson();
+
+    private <T> void assertSameAsReflective(String json, Class<T> type) {
+        final T expected = reflective.fromJson(json, type);
+        final T actual = adapted.fromJson(json, type);
+        assertEquals(expected, actual);
+        assertEquals(reflective.toJsonTree(expected), adapted.toJsonTree(actual));
+    }
+
+    @Test
+    void testStatusUpdates() {
+        assertSameAsReflective(IN_QUEUE, QueueStatus.InQueue.class);
+        assertSameAsReflective(IN_PROGRESS, QueueStatus.InProgress.class);
+        assertSameAsReflective(COMPLETED, QueueStatus.Completed.class);
+        assertSameAsReflective(COMPLETED_DEFAULTS, QueueStatus.Completed.class);
+        assertSameAsReflective(CANCELED, QueueStatus.CANCELED.class);
+        assertSameAsReflective("{\"status\":\"UNKNOWN\"," + URLS + "}", QueueStatus.InProgress.class);
+    }
+
+    @Test
+    void testStatusUpdateResolvesSubtype() {
+        assertEquals(
+                reflective.fromJson(IN_QUEUE, QueueStatus.InQueue.class),
+                adapted.fromJson(IN_QUEUE, QueueStatus.StatusUpdate.class));
+        assertEquals(
+                reflective.fromJson(COMPLETED, QueueStatus.Completed.class),
+                adapted.fromJson(COMPLETED, QueueStatus.StatusUpdate.class));
+        assertEquals(
+                reflective.fromJson(CANCELED, QueueStatus.CANCELED.class),
+                adapted.fromJson(CANCELED, QueueStatus.StatusUpdate.class));
+    }
+
+    @Test
+    void testValidationError() {
+        assertSameAsReflective(
+                "{\"msg\":\"field required\",\"loc\":[\"body\",\"prompt\",0],\"type\":\"value_error.missing\"}",
+                SunraValidationException.ValidationError.class);
+        assertSameAsReflective(
+                "{\"msg\":\"too long\",\"type\":\"value_error\",\"ctx\":{\"limit\":10}}",
+                SunraValidationException.ValidationError.class);
+    }
+
+    @Test
+    void testValidationErrorWithoutType() {
+        final var error = adapted.fromJson(
+                "{\"msg\":\"field required\",\"loc\":[\"body\"]}", SunraValidationException.ValidationError.class);
+        assertEquals("field required", error.getMessage());
+        assertEquals(List.of("body"), error.getLocation());
+        assertEquals("", error.getType());
+    }
+
+    @Test
+    void testErrorPayload() {
+        // The payload is a view over the nested error object, reflective Gson reads it flattened.
+        final var fields = "\"message\":\"bad input\",\"code\":\"E400\",\"type\":\"invalid_request\","
+                + "\"details\":{\"field\":\"prompt\",\"limit\":10}";
+        final var timestamp = "\"timestamp\":\"2025-01-01T00:00:00Z\"";
+        final var expected = reflective.fromJson("{" + fields + "," + timestamp + "}", ErrorPayload.class);
+        final var actual = adapted.fromJson("{\"error\":{" + fields + "}," + timestamp + "}", ErrorPayload.class);
+        assertEquals(expected.getMessage(), actual.getMessage());
+        assertEquals(expected.getCode(), actual.getCode());
+        assertEquals(expected.getType(), actual.getType());
+        assertEquals(expected.getDetails(), actual.getDetails());
+        assertEquals(expected.getTimestamp(), actual.getTimestamp());
+    }
+}
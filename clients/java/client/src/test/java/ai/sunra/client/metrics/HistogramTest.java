@@ -0,0 +1,49 @@
+package ai.sunra.client.metrics;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.concurrent.ThreadLocalRandom;
+import org.junit.jupiter.api.Test;
+
+public class HistogramTest {
+
+    @Test
+    void bucketsCoverTheWholeRangeContiguously() {
+        for (int index = 1; index < 59 * 32; index++) {
+            assertEquals(
+                    Histogram.highestEquivalentValue(index - 1) + 1,
+                    lowestEquivalentValue(index),
+                    "gap before bucket " + index);
+        }
+        assertEquals(Long.MAX_VALUE, Histogram.highestEquivalentValue(Histogram.indexOf(Long.MAX_VALUE)));
+    }
+
+    @Test
+    void percentilesAreWithinTheBucketPrecision() {
+        final var histogram = new Histogram();
+        for (long value = 1; value <= 100_000; value++) {
+            histogram.record(value * 1000);
+        }
+
+        assertEquals(100_000, histogram.getCount());
+        assertEquals(100_000_000, histogram.getMax());
+        assertEquals(50_000_500, histogram.getMean(), 1);
+        assertEquals(50_000_000, histogram.getValueAtPercentile(50), 50_000_000 * 0.032);
+        assertEquals(99_000_000, histogram.getValueAtPercentile(99), 99_000_000 * 0.032);
+        assertEquals(100_000_000, histogram.getValueAtPercentile(100));
+    }
+
+    @Test
+    void valuesMapToTheirBucket() {
+        for (int i = 0; i < 100_000; i++) {
+            final long value = ThreadLocalRandom.current().nextLong(Long.MAX_VALUE);
+            final int index = Histogram.indexOf(value);
+            assertTrue(lowestEquivalentValue(index) <= value);
+            assertTrue(value <= Histogram.highestEquivalentValue(index));
+        }
+    }
+
+    private static long lowestEquivalentValue(int index) {
+        return index == 0 ? 0 : Histogram.highestEquivalentValue(index - 1) + 1;
+    }
+}
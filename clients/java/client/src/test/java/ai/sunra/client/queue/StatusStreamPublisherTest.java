@@ -0,0 +1,190 @@
+package ai.sunra.client.queue;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import ai.sunra.client.ClientConfig;
+import ai.sunra.client.CredentialsResolver;
+import ai.sunra.client.exception.SunraException;
+import ai.sunra.client.http.HttpClient;
+import ai.sunra.client.http.Transport;
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Flow;
+import java.util.concurrent.atomic.AtomicInteger;
+import okhttp3.Call;
+import okhttp3.MediaType;
+import okhttp3.OkHttpClient;
+import okhttp3.Protocol;
+import okhttp3.Request;
+import okhttp3.Response;
+import okhttp3.ResponseBody;
+import okhttp3.sse.EventSource;
+import okhttp3.sse.EventSourceListener;
+import org.junit.jupiter.api.Test;
+
+public class StatusStreamPublisherTest {
+
+    private static final String IN_PROGRESS = "{\"status\":\"IN_PROGRESS\",\"request_id\":\"req-1\"}";
+    private static final String COMPLETED = "{\"status\":\"COMPLETED\",\"request_id\":\"req-1\"}";
+
+    private final Request request = new Request.Builder()
+            .url("https://api.sunra.ai/v1/queue/requests/req-1/status/stream")
+            .build();
+    private final List<EventSourceListener> listeners = new CopyOnWriteArrayList<>();
+    private final AtomicInteger cancels = new AtomicInteger();
+    private final EventSource eventSource = new EventSource() {
+        @Override
+        public Request request() {
+            return request;
+        }
+
+        @Override
+        public void cancel() {
+            cancels.incrementAndGet();
+        }
+    };
+
+    // Hands the listener to the test, which then plays the server.
+    private final HttpClient httpClient = new HttpClient(
+            ClientConfig.builder()
+                    .withCredentials(CredentialsResolver.fromApiKey("test"))
+                    .withTransport(client -> new Transport() {
+                        @Override
+                        public Call newCall(Request request) {
+                            throw new UnsupportedOperationException();
+                        }
+
+                        @Override
+                        public EventSource newEventSource(Request request, EventSourceListener listener) {
+                            listeners.add(listener);
+                            return eventSource;
+                        }
+                    })
+                    .build(),
+            new OkHttpClient());
+
+    private RecordingSubscriber subscribe(StatusStreamPublisher publisher) {
+        final var subscriber = new RecordingSubscriber();
+        publisher.subscribe(subscriber);
+        return subscriber;
+    }
+
+    private void emit(String data) {
+        listeners.get(0).onEvent(eventSource, null, null, data);
+    }
+
+    @Test
+    void testDeliversOnDemand() {
+        final var subscriber = subscribe(new StatusStreamPublisher(httpClient, request, "req-1"));
+        emit(IN_PROGRESS);
+        emit(IN_PROGRESS);
+        emit(IN_PROGRESS);
+        assertEquals(0, subscriber.items.size());
+
+        subscriber.subscription.request(2);
+        assertEquals(2, subscriber.items.size());
+        subscriber.subscription.request(5);
+        assertEquals(3, subscriber.items.size());
+        assertFalse(subscriber.completed);
+    }
+
+    @Test
+    void testCompletesAfterTerminalEvent() {
+        final var subscriber = subscribe(new StatusStreamPublisher(httpClient, request, "req-1"));
+        emit(IN_PROGRESS);
+        emit(COMPLETED);
+        emit(IN_PROGRESS);
+        // Canceling the stream after the terminal event makes the source report a failure.
+        listeners.get(0).onFailure(eventSource, new IOException("Canceled"), null);
+        assertEquals(1, cancels.get());
+
+        // Completion waits until the buffered events were requested.
+        subscriber.subscription.request(1);
+        assertFalse(subscriber.completed);
+        subscriber.subscription.request(1);
+        assertEquals(List.of(IN_PROGRESS, COMPLETED), subscriber.items);
+        assertTrue(subscriber.completed);
+        assertNull(subscriber.error);
+    }
+
+    @Test
+    void testErrorResponse() {
+        final var subscriber = subscribe(new StatusStreamPublisher(httpClient, request, "req-1"));
+        subscriber.subscription.request(1);
+
+        final var response = new Response.Builder()
+                .request(request)
+                .protocol(Protocol.HTTP_1_1)
+                .code(404)
+                .message("")
+                .body(ResponseBody.create(
+                        "{\"error\":{\"message\":\"not found\",\"code\":\"E404\"}}",
+                        MediaType.parse("application/json")))
+                .build();
+        listeners.get(0).onFailure(eventSource, null, response);
+
+        assertInstanceOf(SunraException.class, subscriber.error);
+        assertEquals("not found", subscriber.error.getMessage());
+        assertFalse(subscriber.completed);
+    }
+
+    @Test
+    void testRejectsSecondSubscriber() {
+        final var publisher = new StatusStreamPublisher(httpClient, request, "req-1");
+        final var first = subscribe(publisher);
+        final var second = subscribe(publisher);
+
+        assertInstanceOf(IllegalStateException.class, second.error);
+        assertNull(first.error);
+        assertEquals(1, listeners.size());
+    }
+
+    @Test
+    void testCloseCancelsEventSource() {
+        final var events = new QueueClientImpl(httpClient).stream(QueueStreamOptions.withRequestId("req-1"));
+        emit(IN_PROGRESS);
+        assertEquals(IN_PROGRESS, events.next().getData());
+
+        events.close();
+
+        assertEquals(1, cancels.get());
+        assertFalse(events.hasNext());
+    }
+
+    @Test
+    void testIteratorThrowsStreamFailure() {
+        final var events = new QueueClientImpl(httpClient).stream(QueueStreamOptions.withRequestId("req-1"));
+        listeners.get(0).onFailure(eventSource, new IOException("reset"), null);
+
+        assertThrows(SunraException.class, events::hasNext);
+    }
+
+    private static final class RecordingSubscriber implements Flow.Subscriber<StreamEvent> {
+
+        private final List<String> items = new CopyOnWriteArrayList<>();
+        private Flow.Subscription subscription;
+        private Throwable error;
+        private boolean completed;
+
+        @Override
+        public void onSubscribe(Flow.Subscription subscription) {
+            this.subscription = subscription;
+        }
+
+        @Override
+        public void onNext(StreamEvent item) {
+            items.add(item.getData());
+        }
+
+        @Override
+        public void onError(Throwable throwable) {
+            error = throwable;
+        }
+
+        @Override
+        public void onComplete() {
+            completed = true;
+        }
+    }
+}
@@ -0,0 +1,20 @@
+package ai.sunra.client.queue;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import org.junit.jupiter.api.Test;
+
+public class StreamEventTest {
+
+    @Test
+    void testScansForTerminalStatus() {
+        assertTrue(StreamEvent.mayBeTerminal("{\"status\":\"COMPLETED\",\"request_id\":\"abc\"}"));
+        assertTrue(StreamEvent.mayBeTerminal("{\"request_id\":\"abc\", \"status\" : \"CANCELED\"}"));
+        assertFalse(StreamEvent.mayBeTerminal("{\"status\":\"IN_PROGRESS\",\"logs\":[]}"));
+        assertFalse(StreamEvent.mayBeTerminal("{\"status\":\"IN_QUEUE\",\"queue_position\":2}"));
+        // The key alone, e.g. quoted in a log message, is not a status member.
+        assertFalse(StreamEvent.mayBeTerminal("{\"message\":\"\\\"status\\\" COMPLETED\"}"));
+        assertFalse(StreamEvent.mayBeTerminal("not json"));
+        assertFalse(StreamEvent.mayBeTerminal(""));
+    }
+}
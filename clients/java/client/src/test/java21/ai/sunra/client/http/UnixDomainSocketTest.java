@@ -0,0 +1,227 @@
+package ai.sunra.client.http;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+import ai.sunra.client.ClientConfig;
+import ai.sunra.client.CredentialsResolver;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.StandardProtocolFamily;
+import java.net.UnixDomainSocketAddress;
+import java.nio.channels.Channels;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import okhttp3.OkHttpClient;
+import okhttp3.Protocol;
+import okhttp3.Request;
+import okhttp3.Response;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+public class UnixDomainSocketTest {
+
+    private static final String PROXY_URL = "http://sidecar/api/sunra/proxy";
+    private static final byte[] BODY = "{\"ok\":true}".getBytes(StandardCharsets.UTF_8);
+
+    private Path directory;
+    private Path socketPath;
+    private ServerSocketChannel server;
+    private ExecutorService executor;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        assumeTrue(UnixDomainSocketFactory.isSupported());
+        directory = Files.createTempDirectory("sunra-uds");
+        socketPath = directory.resolve("proxy.sock");
+        server = ServerSocketChannel.open(StandardProtocolFamily.UNIX);
+        server.bind(UnixDomainSocketAddress.of(socketPath));
+        executor = Executors.newCachedThreadPool();
+    }
+
+    @AfterEach
+    void tearDown() throws IOException {
+        if (server == null) {
+            return;
+        }
+        server.close();
+        executor.shutdownNow();
+        Files.deleteIfExists(socketPath);
+        Files.deleteIfExists(directory);
+    }
+
+    private OkHttpClient client(HttpVersion httpVersion) {
+        return HttpClient.newClientBuilder(ClientConfig.builder()
+                        .withCredentials(CredentialsResolver.fromApiKey("test"))
+                        .withHttpVersion(httpVersion)
+                        .withProxyUrl(PROXY_URL)
+                        .withUnixSocketPath(socketPath.toString())
+                        .build())
+                .build();
+    }
+
+    private void serve(ConnectionHandler handler) {
+        executor.execute(() -> {
+            while (server.isOpen()) {
+                try {
+                    final var channel = server.accept();
+                    executor.execute(() -> {
+                        try (channel) {
+                            handler.handle(channel);
+                        } catch (IOException e) {
+                            // The client closed the connection.
+                        }
+                    });
+                } catch (IOException e) {
+                    return;
+                }
+            }
+        });
+    }
+
+    @Test
+    void testHttp11() throws IOException {
+        serve(UnixDomainSocketTest::serveHttp11);
+
+        final var request = new Request.Builder().url(PROXY_URL).build();
+        try (Response response = client(HttpVersion.HTTP_1_1).newCall(request).execute()) {
+            assertEquals(200, response.code());
+            assertEquals(Protocol.HTTP_1_1, response.protocol());
+            assertEquals("{\"ok\":true}", response.body().string());
+        }
+    }
+
+    @Test
+    void testH2c() throws Exception {
+        serve(UnixDomainSocketTest::serveH2c);
+        final var client = client(HttpVersion.H2_PRIOR_KNOWLEDGE);
+        assertEquals("{\"ok\":true}", get(client));
+
+        // Concurrent streams on the one connection, read and written by different threads.
+        final var calls = new ArrayList<CompletableFuture<String>>();
+        for (int i = 0; i < 4; i++) {
+            calls.add(CompletableFuture.supplyAsync(() -> get(client), executor));
+        }
+        for (final var call : calls) {
+            assertEquals("{\"ok\":true}", call.get(10, TimeUnit.SECONDS));
+        }
+        assertEquals(1, client.connectionPool().connectionCount());
+    }
+
+    private static String get(OkHttpClient client) {
+        try (Response response = client.newCall(new Request.Builder().url(PROXY_URL).build()).execute()) {
+            assertEquals(200, response.code());
+            assertEquals(Protocol.H2_PRIOR_KNOWLEDGE, response.protocol());
+            return response.body().string();
+        } catch (IOException e) {
+            throw new AssertionError(e);
+        }
+    }
+
+    @Test
+    void testRequiresProxyUrl() {
+        final var config = ClientConfig.builder()
+                .withCredentials(CredentialsResolver.fromApiKey("test"))
+                .withUnixSocketPath(socketPath.toString())
+                .build();
+
+        assertThrows(IllegalStateException.class, () -> HttpClient.newClientBuilder(config));
+    }
+
+    private static void serveHttp11(SocketChannel channel) throws IOException {
+        final var in = Channels.newInputStream(channel);
+        final var out = Channels.newOutputStream(channel);
+        // Reads the request head, a GET has no body.
+        int matched = 0;
+        while (matched < 4) {
+            final int b = in.read();
+            if (b == -1) {
+                return;
+            }
+            matched = b == "\r\n\r\n".charAt(matched) ? matched + 1 : (b == '\r' ? 1 : 0);
+        }
+        out.write(("HTTP/1.1 200 OK\r\nContent-Type: application/json\r\nContent-Length: " + BODY.length
+                        + "\r\nConnection: close\r\n\r\n")
+                .getBytes(StandardCharsets.US_ASCII));
+        out.write(BODY);
+        out.flush();
+    }
+
+    /**
+     * Answers every stream of an HTTP/2 connection with prior knowledge with a 200 and a JSON body.
+     * Only the frames a client sends for GET requests are handled.
+     */
+    private static void serveH2c(SocketChannel channel) throws IOException {
+        final var in = new DataInputStream(Channels.newInputStream(channel));
+        final var out = Channels.newOutputStream(channel);
+        in.readFully(new byte[24]);
+        writeFrame(out, 0x4, 0, 0, new byte[0]);
+        try {
+            while (true) {
+                final int length = in.readUnsignedShort() << 8 | in.readUnsignedByte();
+                final int type = in.readUnsignedByte();
+                final int flags = in.readUnsignedByte();
+                final int streamId = in.readInt() & 0x7fffffff;
+                final var payload = new byte[length];
+                in.readFully(payload);
+                switch (type) {
+                    case 0x1: // HEADERS, answered with ":status: 200" from the static table.
+                        writeFrame(out, 0x1, 0x4, streamId, new byte[] {(byte) 0x88});
+                        writeFrame(out, 0x0, 0x1, streamId, BODY);
+                        break;
+                    case 0x4: // SETTINGS
+                        if ((flags & 0x1) == 0) {
+                            writeFrame(out, 0x4, 0x1, 0, new byte[0]);
+                        }
+                        break;
+                    case 0x6: // PING
+                        if ((flags & 0x1) == 0) {
+                            writeFrame(out, 0x6, 0x1, 0, payload);
+                        }
+                        break;
+                    case 0x7: // GOAWAY
+                        return;
+                    default:
+                        break;
+                }
+            }
+        } catch (EOFException e) {
+            // The client closed the connection.
+        }
+    }
+
+    private static synchronized void writeFrame(OutputStream out, int type, int flags, int streamId, byte[] payload)
+            throws IOException {
+        final var frame = new ByteArrayOutputStream(9 + payload.length);
+        frame.write(payload.length >>> 16);
+        frame.write(payload.length >>> 8);
+        frame.write(payload.length);
+        frame.write(type);
+        frame.write(flags);
+        frame.write(streamId >>> 24);
+        frame.write(streamId >>> 16);
+        frame.write(streamId >>> 8);
+        frame.write(streamId);
+        frame.write(payload, 0, payload.length);
+        out.write(frame.toByteArray());
+        out.flush();
+    }
+
+    @FunctionalInterface
+    private interface ConnectionHandler {
+
+        void handle(SocketChannel channel) throws IOException;
+    }
+}
@@ -0,0 +1,52 @@
+package ai.sunra.client.http;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import ai.sunra.client.ClientConfig;
+import ai.sunra.client.CredentialsResolver;
+import java.util.concurrent.atomic.AtomicReference;
+import okhttp3.Request;
+import org.junit.jupiter.api.Test;
+
+public class VirtualThreadsTest {
+
+    @Test
+    void testLoadsJava21Variant() throws Exception {
+        assertTrue(VirtualThreads.isSupported());
+        try (var executor = VirtualThreads.newThreadPerTaskExecutor("sunra-test-")) {
+            assertTrue(executor.submit(() -> VirtualThreads.isVirtual(Thread.currentThread())).get());
+        }
+    }
+
+    @Test
+    void testBlockingCallFromVirtualThreadRunsOnDispatcher() throws Exception {
+        final var config = ClientConfig.builder()
+                .withCredentials(CredentialsResolver.fromApiKey("test"))
+                .withVirtualThreads(true)
+                .build();
+        final var interceptedOn = new AtomicReference<Thread>();
+        final var client = HttpClient.newClientBuilder(config)
+                .addInterceptor(AnsweringInterceptor.answering(request -> {
+                    interceptedOn.set(Thread.currentThread());
+                    return AnsweringInterceptor.Answer.json(200, "{}");
+                }))
+                .build();
+        final var httpClient = new HttpClient(config, client);
+        final var request = new Request.Builder().url("https://api.sunra.ai/v1/queue/owner/app").build();
+
+        final Thread caller;
+        try (var executor = VirtualThreads.newThreadPerTaskExecutor("sunra-test-")) {
+            caller = executor.submit(() -> {
+                        try (var response = httpClient.executeRequest(request)) {
+                            assertEquals(200, response.code());
+                        }
+                        return Thread.currentThread();
+                    })
+                    .get();
+        }
+
+        // The call was handed to the dispatcher, itself on virtual threads, while the caller parked.
+        assertNotSame(caller, interceptedOn.get());
+        assertTrue(VirtualThreads.isVirtual(interceptedOn.get()));
+    }
+}
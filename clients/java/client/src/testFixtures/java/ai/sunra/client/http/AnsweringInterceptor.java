@@ -0,0 +1,146 @@
+package ai.sunra.client.http;
+
+import jakarta.annotation.Nonnull;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Function;
+import okhttp3.Headers;
+import okhttp3.Interceptor;
+import okhttp3.MediaType;
+import okhttp3.Protocol;
+import okhttp3.Request;
+import okhttp3.Response;
+import okhttp3.ResponseBody;
+
+/**
+ * An interceptor answering every call in place, without reaching the network, and recording the
+ * requests it answered. Added last, it sees the requests as the client would send them.
+ *
+ * <pre>{@code
+ * var answering = AnsweringInterceptor.json(200, "{}").withHeader("x-request-id", "req-1");
+ * var client = SunraClient.withConfig(ClientConfig.builder()
+ *         .withTransport(answering.transport())
+ *         .build());
+ * }</pre>
+ */
+public final class AnsweringInterceptor implements Interceptor {
+
+    private final Function<Request, Answer> answers;
+    private final Headers.Builder headers = new Headers.Builder();
+    private final List<Request> requests = new CopyOnWriteArrayList<>();
+
+    private AnsweringInterceptor(Function<Request, Answer> answers) {
+        this.answers = answers;
+    }
+
+    /**
+     * Answer every call with the same JSON response.
+     *
+     * @param code The status code.
+     * @param body The JSON body.
+     * @return The interceptor.
+     */
+    @Nonnull
+    public static AnsweringInterceptor json(int code, @Nonnull String body) {
+        return answering(request -> Answer.json(code, body));
+    }
+
+    /**
+     * Answer each call with the response chosen for its request.
+     *
+     * @param answers The response of each request.
+     * @return The interceptor.
+     */
+    @Nonnull
+    public static AnsweringInterceptor answering(@Nonnull Function<Request, Answer> answers) {
+        return new AnsweringInterceptor(answers);
+    }
+
+    /**
+     * Add a header to every response.
+     *
+     * @param name The header name.
+     * @param value The header value.
+     * @return The interceptor.
+     */
+    @Nonnull
+    public AnsweringInterceptor withHeader(@Nonnull String name, @Nonnull String value) {
+        headers.add(name, value);
+        return this;
+    }
+
+    /**
+     * Get a transport factory answering the calls of the client with this interceptor.
+     *
+     * @return The transport factory.
+     */
+    @Nonnull
+    public Transport.Factory transport() {
+        return client -> new OkHttpTransport(client.newBuilder().addInterceptor(this).build());
+    }
+
+    /**
+     * Get the requests answered so far, in order.
+     *
+     * @return The requests.
+     */
+    @Nonnull
+    public List<Request> getRequests() {
+        return requests;
+    }
+
+    @Override
+    @Nonnull
+    public Response intercept(@Nonnull Chain chain) {
+        final var request = chain.request();
+        requests.add(request);
+        final var answer = answers.apply(request);
+        return new Response.Builder()
+                .request(request)
+                .protocol(Protocol.HTTP_1_1)
+                .code(answer.code)
+                .message("")
+                .headers(headers.build())
+                .body(ResponseBody.create(answer.body, MediaType.get(answer.contentType)))
+                .build();
+    }
+
+    /**
+     * A canned response.
+     */
+    public static final class Answer {
+
+        private final int code;
+        private final String contentType;
+        private final String body;
+
+        private Answer(int code, String contentType, String body) {
+            this.code = code;
+            this.contentType = contentType;
+            this.body = body;
+        }
+
+        /**
+         * A JSON response.
+         *
+         * @param code The status code.
+         * @param body The JSON body.
+         * @return The response.
+         */
+        @Nonnull
+        public static Answer json(int code, @Nonnull String body) {
+            return new Answer(code, "application/json", body);
+        }
+
+        /**
+         * A successful event stream response.
+         *
+         * @param body The events, each ended by a blank line.
+         * @return The response.
+         */
+        @Nonnull
+        public static Answer eventStream(@Nonnull String body) {
+            return new Answer(200, "text/event-stream", body);
+        }
+    }
+}
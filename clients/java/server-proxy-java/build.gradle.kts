@@ -0,0 +1,36 @@
+plugins {
+    `java-library`
+}
+
+java {
+    sourceCompatibility = JavaVersion.VERSION_11
+    targetCompatibility = JavaVersion.VERSION_11
+    withSourcesJar()
+    withJavadocJar()
+}
+
+repositories {
+    mavenCentral()
+}
+
+dependencies {
+    implementation("jakarta.annotation:jakarta.annotation-api:3.0.0")
+    compileOnly("jakarta.servlet:jakarta.servlet-api:6.0.0")
+
+    // 测试依赖
+    testImplementation(project(":sunra-client-test-fixtures"))
+    testImplementation("org.junit.jupiter:junit-jupiter-api:5.10.1")
+    testRuntimeOnly("org.junit.jupiter:junit-jupiter-engine:5.10.1")
+}
+
+tasks.withType<JavaCompile> {
+    options.encoding = "UTF-8"
+}
+
+tasks.withType<Test> {
+    useJUnitPlatform()
+}
+
+sonatypeCentralPublishExtension {
+    artifactId.set("sunra-server-proxy")
+}
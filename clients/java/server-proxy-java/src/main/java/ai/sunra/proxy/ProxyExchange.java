@@ -0,0 +1,84 @@
+package ai.sunra.proxy;
+
+import jakarta.annotation.Nonnull;
+import jakarta.annotation.Nullable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * A request to proxy and its response, as seen by {@link SunraProxy}. Implemented by the adapter
+ * of each server, such as {@link SunraProxyHandler} and {@link SunraProxyServlet}.
+ */
+public interface ProxyExchange {
+
+    /**
+     * Get the name of the adapter, sent upstream in the {@code x-sunra-client-proxy} header.
+     *
+     * @return The adapter name.
+     */
+    @Nonnull
+    String getId();
+
+    /**
+     * Get the request method.
+     *
+     * @return The request method.
+     */
+    @Nonnull
+    String getMethod();
+
+    /**
+     * Get the names of the request headers.
+     *
+     * @return The header names.
+     */
+    @Nonnull
+    Collection<String> getHeaderNames();
+
+    /**
+     * Get the first value of a request header, ignoring case.
+     *
+     * @param name The header name.
+     * @return The header value, or null if absent.
+     */
+    @Nullable
+    String getHeader(@Nonnull String name);
+
+    /**
+     * Get the length of the request body.
+     *
+     * @return The length in bytes, or -1 if unknown.
+     */
+    long getContentLength();
+
+    /**
+     * Get the request body.
+     *
+     * @return The request body stream.
+     */
+    @Nonnull
+    InputStream getRequestBody() throws IOException;
+
+    /**
+     * Send the status and headers of the response.
+     *
+     * @param status The status code.
+     * @param headers The response headers.
+     * @param contentLength The length of the body in bytes, 0 if there is none or -1 if unknown.
+     */
+    void sendHeaders(int status, @Nonnull Map<String, List<String>> headers, long contentLength)
+            throws IOException;
+
+    /**
+     * Get the response body, after {@link #sendHeaders(int, Map, long)}. Flushing it sends the
+     * bytes written so far to the client.
+     *
+     * @return The response body stream.
+     */
+    @Nonnull
+    OutputStream getResponseBody() throws IOException;
+}
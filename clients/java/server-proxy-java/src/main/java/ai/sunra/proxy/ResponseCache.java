@@ -0,0 +1,221 @@
+package ai.sunra.proxy;
+
+import jakarta.annotation.Nonnull;
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.io.OutputStream;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.regex.Pattern;
+
+/**
+ * Caches the status and result responses of queued requests, and merges identical calls in
+ * flight into one upstream call.
+ *
+ * <p>A result, or the status of a request that has ended, never changes again and is kept until
+ * evicted by the size bound, least recently used first. The status of a request still running is
+ * kept for a short time only. Error responses are shared between the calls in flight but not
+ * cached. Keys include the credentials, so callers never see each other's responses. Cached
+ * responses are replayed without their rate-limit and date headers.
+ */
+final class ResponseCache {
+
+    static final String HEADER_CACHE = "x-sunra-proxy-cache";
+
+    private static final Pattern STATUS_PATH = Pattern.compile("/requests/[^/]+/status$");
+    private static final Pattern RESULT_PATH = Pattern.compile("/requests/[^/]+$");
+    private static final Pattern TERMINAL_STATUS =
+            Pattern.compile("\"status\"\\s*:\\s*\"(COMPLETED|CANCELED|FAILED)\"");
+
+    private static final long PERMANENT = Long.MAX_VALUE;
+
+    // How long a call waits for an identical call in flight when the request has no timeout.
+    private static final Duration COALESCE_TIMEOUT = Duration.ofSeconds(30);
+
+    private final HttpClient httpClient;
+    private final long statusTtlNanos;
+    private final long maxBytes;
+    private final Map<String, CompletableFuture<Entry>> inFlight = new ConcurrentHashMap<>();
+    private final LinkedHashMap<String, Entry> entries = new LinkedHashMap<>(16, 0.75f, true);
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+    private long bytes;
+
+    ResponseCache(@Nonnull HttpClient httpClient, @Nonnull Duration statusTtl, long maxBytes) {
+        this.httpClient = httpClient;
+        this.statusTtlNanos = statusTtl.toNanos();
+        this.maxBytes = maxBytes;
+    }
+
+    /**
+     * Check whether calls to the given target are cached.
+     */
+    static boolean isCacheable(@Nonnull String method, @Nonnull URI target) {
+        if (!method.equalsIgnoreCase("GET")) {
+            return false;
+        }
+        final var path = target.getRawPath();
+        return STATUS_PATH.matcher(path).find() || RESULT_PATH.matcher(path).find();
+    }
+
+    /**
+     * Answer a call from the cache, from a call in flight or from a new upstream call.
+     *
+     * @param key The target and the credentials it is called with.
+     * @param request The upstream request.
+     * @param exchange The client exchange.
+     */
+    void serve(@Nonnull String key, @Nonnull HttpRequest request, @Nonnull ProxyExchange exchange)
+            throws IOException {
+        final var cached = lookup(key);
+        if (cached != null) {
+            hits.incrementAndGet();
+            send(exchange, cached, "hit");
+            return;
+        }
+
+        final var future = new CompletableFuture<Entry>();
+        final var leader = inFlight.putIfAbsent(key, future);
+        final Entry entry;
+        if (leader != null) {
+            hits.incrementAndGet();
+            try {
+                entry = leader.get(request.timeout().orElse(COALESCE_TIMEOUT).toNanos(), TimeUnit.NANOSECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new InterruptedIOException("Interrupted while waiting for " + request.uri());
+            } catch (ExecutionException e) {
+                SunraProxy.respondWith(exchange, 502, "Failed to reach " + request.uri().getHost());
+                return;
+            } catch (TimeoutException e) {
+                SunraProxy.respondWith(exchange, 504, "Timed out waiting for " + request.uri().getHost());
+                return;
+            }
+            send(exchange, entry, "coalesced");
+            return;
+        }
+
+        misses.incrementAndGet();
+        try {
+            entry = fetch(request);
+            store(key, entry);
+            future.complete(entry);
+        } catch (IOException e) {
+            SunraProxy.respondWith(exchange, 502, "Failed to reach " + request.uri().getHost());
+            return;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted while calling " + request.uri());
+        } finally {
+            inFlight.remove(key, future);
+            // Whatever failed, including runtime exceptions, the followers must not wait any longer.
+            future.completeExceptionally(new IOException("Failed to call " + request.uri()));
+        }
+        send(exchange, entry, "miss");
+    }
+
+    long getHitCount() {
+        return hits.get();
+    }
+
+    long getMissCount() {
+        return misses.get();
+    }
+
+    private Entry fetch(HttpRequest request) throws IOException, InterruptedException {
+        final var response = httpClient.send(request, HttpResponse.BodyHandlers.ofByteArray());
+        final var body = response.body();
+        long expiresAt = 0;
+        if (response.statusCode() == 200) {
+            if (!STATUS_PATH.matcher(request.uri().getRawPath()).find()
+                    || TERMINAL_STATUS.matcher(new String(body, StandardCharsets.UTF_8)).find()) {
+                expiresAt = PERMANENT;
+            } else if (statusTtlNanos > 0) {
+                expiresAt = System.nanoTime() + statusTtlNanos;
+            }
+        }
+        return new Entry(response.statusCode(), SunraProxy.responseHeaders(response.headers()), body, expiresAt);
+    }
+
+    private synchronized Entry lookup(String key) {
+        final var entry = entries.get(key);
+        if (entry == null) {
+            return null;
+        }
+        if (entry.expiresAt != PERMANENT && entry.expiresAt - System.nanoTime() <= 0) {
+            entries.remove(key);
+            bytes -= entry.body.length;
+            return null;
+        }
+        return entry;
+    }
+
+    private synchronized void store(String key, Entry fetched) {
+        if (fetched.expiresAt == 0 || fetched.body.length > maxBytes) {
+            return;
+        }
+        final var entry = new Entry(fetched.status, cachedHeaders(fetched.headers), fetched.body, fetched.expiresAt);
+        final var previous = entries.put(key, entry);
+        if (previous != null) {
+            bytes -= previous.body.length;
+        }
+        bytes += entry.body.length;
+        final var iterator = entries.values().iterator();
+        while (bytes > maxBytes && iterator.hasNext()) {
+            bytes -= iterator.next().body.length;
+            iterator.remove();
+        }
+    }
+
+    // Rate-limit and date headers describe the call that filled the cache, not the ones it answers.
+    private static Map<String, List<String>> cachedHeaders(Map<String, List<String>> headers) {
+        final var cached = new LinkedHashMap<String, List<String>>();
+        headers.forEach((name, values) -> {
+            final var key = name.toLowerCase(Locale.ROOT);
+            if (!key.startsWith("x-ratelimit-") && !key.equals("date")) {
+                cached.put(name, values);
+            }
+        });
+        return cached;
+    }
+
+    private static void send(ProxyExchange exchange, Entry entry, String outcome) throws IOException {
+        final var headers = new LinkedHashMap<>(entry.headers);
+        headers.put(HEADER_CACHE, List.of(outcome));
+        exchange.sendHeaders(entry.status, headers, entry.body.length);
+        if (entry.body.length > 0) {
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(entry.body);
+            }
+        }
+    }
+
+    private static final class Entry {
+        final int status;
+        final Map<String, List<String>> headers;
+        final byte[] body;
+        // System.nanoTime() deadline, PERMANENT, or 0 if not cacheable.
+        final long expiresAt;
+
+        Entry(int status, Map<String, List<String>> headers, byte[] body, long expiresAt) {
+            this.status = status;
+            this.headers = headers;
+            this.body = body;
+            this.expiresAt = expiresAt;
+        }
+    }
+}
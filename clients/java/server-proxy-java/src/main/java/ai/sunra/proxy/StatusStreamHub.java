@@ -0,0 +1,323 @@
+package ai.sunra.proxy;
+
+import jakarta.annotation.Nonnull;
+import java.io.BufferedInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.io.OutputStream;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Shares one upstream status stream between all the clients watching the same request with the
+ * same credentials.
+ *
+ * <p>The first subscriber opens the upstream stream, later ones are sent the latest event first,
+ * then every event as it arrives. Each subscriber has a bounded buffer: a subscriber too slow to
+ * keep up loses its oldest events, which are superseded by the newer status anyway. The upstream
+ * stream is closed when the last subscriber leaves.
+ */
+final class StatusStreamHub {
+
+    private static final byte[] END = new byte[0];
+
+    private static final int MAX_ERROR_BODY = 64 * 1024;
+
+    // An upstream event larger than this ends the stream rather than growing the buffer unbounded.
+    static final int MAX_EVENT = 1024 * 1024;
+
+    private final HttpClient httpClient;
+    private final int bufferSize;
+    private final Map<String, Channel> channels = new ConcurrentHashMap<>();
+    private final AtomicInteger threadCount = new AtomicInteger();
+    private final ExecutorService executor = Executors.newCachedThreadPool(runnable -> {
+        final var thread = new Thread(runnable, "sunra-proxy-stream-" + threadCount.incrementAndGet());
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    StatusStreamHub(@Nonnull HttpClient httpClient, int bufferSize) {
+        this.httpClient = httpClient;
+        this.bufferSize = bufferSize;
+    }
+
+    /**
+     * Stream the events of a status stream to a client, blocking until the stream ends or the
+     * client leaves.
+     *
+     * @param key The stream and the credentials it is read with.
+     * @param request The upstream request, used if no stream is open yet.
+     * @param exchange The client exchange.
+     */
+    void subscribe(@Nonnull String key, @Nonnull HttpRequest request, @Nonnull ProxyExchange exchange)
+            throws IOException {
+        Channel channel;
+        Subscriber subscriber;
+        do {
+            channel = channels.computeIfAbsent(key, k -> new Channel(k, request));
+            subscriber = channel.join();
+        } while (subscriber == null);
+
+        try {
+            final Head head;
+            try {
+                head = channel.head.get();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new InterruptedIOException("Interrupted while waiting for " + request.uri());
+            } catch (ExecutionException e) {
+                SunraProxy.respondWith(exchange, 502, "Failed to reach " + request.uri().getHost());
+                return;
+            }
+            exchange.sendHeaders(head.status, head.headers, head.body != null ? head.body.length : -1);
+            try (OutputStream out = exchange.getResponseBody()) {
+                if (head.body != null) {
+                    out.write(head.body);
+                    return;
+                }
+                byte[] event;
+                while ((event = subscriber.events.take()) != END) {
+                    out.write(event);
+                    if (subscriber.events.isEmpty()) {
+                        out.flush();
+                    }
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        } finally {
+            channel.leave(subscriber);
+        }
+    }
+
+    /**
+     * Get the number of open upstream streams.
+     */
+    int getUpstreamCount() {
+        return channels.size();
+    }
+
+    /**
+     * Get the number of clients subscribed to an upstream stream.
+     */
+    int getSubscriberCount() {
+        int count = 0;
+        for (final var channel : channels.values()) {
+            synchronized (channel) {
+                count += channel.subscribers.size();
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Receives the events read from an upstream stream.
+     */
+    @FunctionalInterface
+    interface EventSink {
+
+        /**
+         * Take an event.
+         *
+         * @param event The event, its lines ended by a line feed and followed by a blank line.
+         * @param data Whether the event has a field, rather than comments only.
+         */
+        void accept(byte[] event, boolean data);
+    }
+
+    /**
+     * Split an event stream into events. Lines may end with a carriage return, a line feed or
+     * both, the events are passed on with line feeds only.
+     *
+     * @param in The event stream.
+     * @param sink The sink of the events.
+     * @throws IOException If the stream fails or an event is larger than {@link #MAX_EVENT}.
+     */
+    static void readEvents(@Nonnull InputStream in, @Nonnull EventSink sink) throws IOException {
+        final var event = new ByteArrayOutputStream();
+        boolean data = false;
+        boolean afterCarriageReturn = false;
+        int first = -1;
+        int length = 0;
+        int b;
+        while ((b = in.read()) != -1) {
+            if (b == '\n' && afterCarriageReturn) {
+                // The line feed of a CRLF, whose carriage return already ended the line.
+                afterCarriageReturn = false;
+                continue;
+            }
+            afterCarriageReturn = b == '\r';
+            if (b != '\r' && b != '\n') {
+                if (length++ == 0) {
+                    first = b;
+                }
+                event.write(b);
+                if (event.size() > MAX_EVENT) {
+                    throw new IOException("Event larger than " + MAX_EVENT + " bytes");
+                }
+                continue;
+            }
+            if (length > 0) {
+                event.write('\n');
+                if (first != ':') {
+                    data = true;
+                }
+                length = 0;
+            } else if (event.size() > 0) {
+                event.write('\n');
+                sink.accept(event.toByteArray(), data);
+                event.reset();
+                data = false;
+            }
+        }
+    }
+
+    private static final class Head {
+        final int status;
+        final Map<String, List<String>> headers;
+        // The whole body of a response that is not an event stream, null for an event stream.
+        final byte[] body;
+
+        Head(int status, Map<String, List<String>> headers, byte[] body) {
+            this.status = status;
+            this.headers = headers;
+            this.body = body;
+        }
+    }
+
+    private final class Subscriber {
+        final BlockingQueue<byte[]> events = new ArrayBlockingQueue<>(bufferSize);
+
+        // Called under the channel lock, so there is a single producer.
+        void offer(byte[] event) {
+            while (!events.offer(event)) {
+                events.poll();
+            }
+        }
+    }
+
+    private final class Channel implements Runnable {
+        final String key;
+        final HttpRequest request;
+        final CompletableFuture<Head> head = new CompletableFuture<>();
+        final List<Subscriber> subscribers = new ArrayList<>();
+        byte[] latest;
+        boolean started;
+        boolean closed;
+        InputStream body;
+
+        Channel(String key, HttpRequest request) {
+            this.key = key;
+            this.request = request;
+        }
+
+        /**
+         * Add a subscriber, starting the upstream stream for the first one.
+         *
+         * @return The subscriber, or null if the channel has closed.
+         */
+        synchronized Subscriber join() {
+            if (closed) {
+                return null;
+            }
+            final var subscriber = new Subscriber();
+            if (latest != null) {
+                subscriber.offer(latest);
+            }
+            subscribers.add(subscriber);
+            if (!started) {
+                started = true;
+                executor.execute(this);
+            }
+            return subscriber;
+        }
+
+        void leave(Subscriber subscriber) {
+            final InputStream toClose;
+            synchronized (this) {
+                if (!subscribers.remove(subscriber) || !subscribers.isEmpty() || closed) {
+                    return;
+                }
+                closed = true;
+                toClose = body;
+            }
+            channels.remove(key, this);
+            if (toClose != null) {
+                try {
+                    toClose.close();
+                } catch (IOException e) {
+                    // The stream is abandoned either way.
+                }
+            }
+        }
+
+        @Override
+        public void run() {
+            try {
+                final var response = httpClient.send(request, HttpResponse.BodyHandlers.ofInputStream());
+                try (InputStream in = response.body()) {
+                    final var headers = SunraProxy.responseHeaders(response.headers());
+                    final boolean eventStream = response.statusCode() == 200
+                            && response.headers()
+                                    .firstValue("content-type")
+                                    .map(type -> type.startsWith("text/event-stream"))
+                                    .orElse(false);
+                    if (!eventStream) {
+                        head.complete(new Head(response.statusCode(), headers, in.readNBytes(MAX_ERROR_BODY)));
+                        return;
+                    }
+                    synchronized (this) {
+                        if (closed) {
+                            return;
+                        }
+                        body = in;
+                    }
+                    head.complete(new Head(response.statusCode(), headers, null));
+                    readEvents(new BufferedInputStream(in), this::broadcast);
+                }
+            } catch (IOException e) {
+                head.completeExceptionally(e);
+            } catch (InterruptedException e) {
+                head.completeExceptionally(e);
+                Thread.currentThread().interrupt();
+            } finally {
+                close();
+            }
+        }
+
+        private synchronized void broadcast(byte[] event, boolean data) {
+            // Comments only keep connections alive, they are not replayed.
+            if (data) {
+                latest = event;
+            }
+            for (final var subscriber : subscribers) {
+                subscriber.offer(event);
+            }
+        }
+
+        private void close() {
+            // Unlisted first, so clients told of the end that reconnect open a new stream.
+            channels.remove(key, this);
+            synchronized (this) {
+                closed = true;
+                for (final var subscriber : subscribers) {
+                    subscriber.offer(END);
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,460 @@
+package ai.sunra.proxy;
+
+import jakarta.annotation.Nonnull;
+import jakarta.annotation.Nullable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.ProxySelector;
+import java.net.URI;
+import java.net.URISyntaxException;
+import java.net.http.HttpClient;
+import java.net.http.HttpHeaders;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+import java.util.regex.Pattern;
+
+/**
+ * Forwards requests of the client-side Sunra clients to the Sunra API with server-side
+ * credentials, the JVM counterpart of the {@code @sunra/server-proxy} package.
+ *
+ * <p>The URL to call is taken from the {@code x-sunra-target-url} header set by the clients. The
+ * credentials are the {@code x-sunra-token} or {@code Authorization} header of the request if
+ * present, otherwise the API key of the server, read from {@code SUNRA_KEY} by default.
+ *
+ * <p>Request and response bodies are streamed through without buffering, and event streams are
+ * flushed event by event. All requests share one pooled upstream client. A proxy is thread-safe
+ * and blocks the calling thread for the duration of the exchange, so give the server an executor
+ * sized for the number of open event streams, or virtual threads.
+ */
+public final class SunraProxy {
+
+    public static final String HEADER_TARGET_URL = "x-sunra-target-url";
+    public static final String HEADER_TOKEN = "x-sunra-token";
+    public static final String HEADER_CLIENT_PROXY = "x-sunra-client-proxy";
+    public static final String DEFAULT_ROUTE = "/api/sunra/proxy";
+
+    private static final Pattern SUNRA_HOST = Pattern.compile("(\\.|^)sunra\\.(run|ai)$");
+
+    private static final Pattern STATUS_STREAM_PATH = Pattern.compile("/requests/[^/]+/status/stream$");
+
+    // Hop-by-hop headers, and the length and encoding that the server recomputes.
+    private static final Set<String> EXCLUDED_HEADERS =
+            Set.of("content-length", "content-encoding", "transfer-encoding", "connection", "keep-alive");
+
+    // Headers the proxy sets on the upstream request itself, replacing what the client sent.
+    private static final Set<String> OVERRIDDEN_HEADERS = Set.of(
+            HEADER_TARGET_URL, HEADER_TOKEN, HEADER_CLIENT_PROXY, "authorization", "accept", "content-type", "user-agent");
+
+    private static final int BUFFER_SIZE = 8192;
+
+    private final HttpClient httpClient;
+    private final Supplier<String> apiKeyResolver;
+    private final Predicate<URI> targetFilter;
+    private final URI upstreamUrl;
+    private final StatusStreamHub statusStreamHub;
+    private final ResponseCache responseCache;
+
+    private SunraProxy(Builder builder) {
+        this.httpClient = builder.httpClient != null ? builder.httpClient : defaultHttpClient();
+        this.statusStreamHub = builder.statusStreamFanOut
+                ? new StatusStreamHub(httpClient, builder.statusStreamBufferSize)
+                : null;
+        this.responseCache = builder.responseCache
+                ? new ResponseCache(httpClient, builder.statusCacheTtl, builder.cacheMaxBytes)
+                : null;
+        this.apiKeyResolver = builder.apiKeyResolver;
+        this.targetFilter = builder.targetFilter;
+        this.upstreamUrl = builder.upstreamUrl;
+    }
+
+    /**
+     * Create a new builder instance.
+     *
+     * @return The builder instance.
+     */
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    /**
+     * Proxy a request, blocking until the response has been streamed to the client.
+     *
+     * @param exchange The request and its response.
+     * @throws IOException If the client connection fails.
+     */
+    public void handle(@Nonnull ProxyExchange exchange) throws IOException {
+        final var targetUrl = exchange.getHeader(HEADER_TARGET_URL);
+        if (targetUrl == null || targetUrl.isEmpty()) {
+            respondWith(exchange, 400, "Missing the " + HEADER_TARGET_URL + " header");
+            return;
+        }
+        final URI target;
+        try {
+            target = new URI(targetUrl);
+        } catch (URISyntaxException e) {
+            respondWith(exchange, 412, "Invalid " + HEADER_TARGET_URL + " header");
+            return;
+        }
+        if (target.getHost() == null || !targetFilter.test(target)) {
+            respondWith(exchange, 412, "Invalid " + HEADER_TARGET_URL + " header");
+            return;
+        }
+        final var token = resolveToken(exchange);
+        if (token == null) {
+            respondWith(exchange, 401, "Missing sunra credentials");
+            return;
+        }
+
+        if (statusStreamHub != null
+                && exchange.getMethod().equalsIgnoreCase("GET")
+                && STATUS_STREAM_PATH.matcher(target.getRawPath()).find()) {
+            final var request = newUpstreamRequest(exchange, target, token);
+            statusStreamHub.subscribe(key(token, request), request, exchange);
+            return;
+        }
+        if (responseCache != null && ResponseCache.isCacheable(exchange.getMethod(), target)) {
+            final var request = newUpstreamRequest(exchange, target, token);
+            responseCache.serve(key(token, request), request, exchange);
+            return;
+        }
+
+        final HttpResponse<InputStream> response;
+        try {
+            response = httpClient.send(newUpstreamRequest(exchange, target, token),
+                    HttpResponse.BodyHandlers.ofInputStream());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted while calling " + target);
+        } catch (IOException e) {
+            respondWith(exchange, 502, "Failed to reach " + target.getHost());
+            return;
+        }
+        sendResponse(exchange, response);
+    }
+
+    /**
+     * Get the number of upstream status streams shared by the clients.
+     *
+     * @return The number of upstream status streams.
+     */
+    public int getStatusStreamCount() {
+        return statusStreamHub != null ? statusStreamHub.getUpstreamCount() : 0;
+    }
+
+    /**
+     * Get the number of clients reading a shared status stream.
+     *
+     * @return The number of status stream subscribers.
+     */
+    public int getStatusStreamSubscriberCount() {
+        return statusStreamHub != null ? statusStreamHub.getSubscriberCount() : 0;
+    }
+
+    /**
+     * Get the number of status and result calls answered from the cache or from an identical call
+     * in flight.
+     *
+     * @return The number of cache hits.
+     */
+    public long getCacheHitCount() {
+        return responseCache != null ? responseCache.getHitCount() : 0;
+    }
+
+    /**
+     * Get the number of status and result calls sent upstream.
+     *
+     * @return The number of cache misses.
+     */
+    public long getCacheMissCount() {
+        return responseCache != null ? responseCache.getMissCount() : 0;
+    }
+
+    // Shared streams and cached responses are partitioned by credentials.
+    private static String key(String token, HttpRequest request) {
+        return token + " " + request.uri();
+    }
+
+    @Nullable
+    private String resolveToken(ProxyExchange exchange) {
+        final var token = exchange.getHeader(HEADER_TOKEN);
+        if (token != null && !token.isEmpty()) {
+            return token;
+        }
+        final var authorization = exchange.getHeader("authorization");
+        if (authorization != null && !authorization.isEmpty()) {
+            // The Java clients send "Key <key>", the others "Bearer <key>".
+            final int space = authorization.indexOf(' ');
+            return space < 0 ? authorization : authorization.substring(space + 1).trim();
+        }
+        return apiKeyResolver.get();
+    }
+
+    private HttpRequest newUpstreamRequest(ProxyExchange exchange, URI target, String token) throws IOException {
+        final var builder = HttpRequest.newBuilder(resolve(target));
+        for (final var name : exchange.getHeaderNames()) {
+            final var key = name.toLowerCase(Locale.ROOT);
+            if (key.startsWith("x-sunra-") && !OVERRIDDEN_HEADERS.contains(key)) {
+                final var value = exchange.getHeader(name);
+                if (value != null) {
+                    builder.header(key, value);
+                }
+            }
+        }
+        builder.setHeader("authorization", "Bearer " + token)
+                .setHeader(HEADER_TOKEN, token)
+                .setHeader("accept", headerOrDefault(exchange, "accept", "application/json"))
+                .setHeader("content-type", headerOrDefault(exchange, "content-type", "application/json"))
+                .setHeader(HEADER_CLIENT_PROXY, "sunra-server-proxy-java/" + exchange.getId());
+        final var userAgent = exchange.getHeader("user-agent");
+        if (userAgent != null) {
+            builder.setHeader("user-agent", userAgent);
+        }
+
+        final var method = exchange.getMethod().toUpperCase(Locale.ROOT);
+        final long contentLength = exchange.getContentLength();
+        if (method.equals("GET") || method.equals("HEAD") || contentLength == 0) {
+            return builder.method(method, HttpRequest.BodyPublishers.noBody()).build();
+        }
+        final var body = exchange.getRequestBody();
+        final var publisher = HttpRequest.BodyPublishers.ofInputStream(() -> body);
+        return builder.method(method, contentLength > 0
+                        ? HttpRequest.BodyPublishers.fromPublisher(publisher, contentLength)
+                        : publisher)
+                .build();
+    }
+
+    private URI resolve(URI target) {
+        if (upstreamUrl == null) {
+            return target;
+        }
+        final var url = new StringBuilder()
+                .append(upstreamUrl.getScheme()).append("://").append(upstreamUrl.getRawAuthority())
+                .append(target.getRawPath());
+        if (target.getRawQuery() != null) {
+            url.append('?').append(target.getRawQuery());
+        }
+        return URI.create(url.toString());
+    }
+
+    private static void sendResponse(ProxyExchange exchange, HttpResponse<InputStream> response) throws IOException {
+        try (InputStream in = response.body()) {
+            final var headers = responseHeaders(response.headers());
+            final int status = response.statusCode();
+            final boolean empty = status == 204 || status == 304 || response.request().method().equals("HEAD");
+            final long contentLength = empty
+                    ? 0
+                    : response.headers().firstValueAsLong("content-length").orElse(-1);
+            exchange.sendHeaders(status, headers, contentLength);
+            if (contentLength == 0) {
+                return;
+            }
+            final boolean eventStream = response.headers()
+                    .firstValue("content-type")
+                    .map(type -> type.startsWith("text/event-stream"))
+                    .orElse(false);
+            try (OutputStream out = exchange.getResponseBody()) {
+                final var buffer = new byte[BUFFER_SIZE];
+                int read;
+                while ((read = in.read(buffer)) != -1) {
+                    out.write(buffer, 0, read);
+                    if (eventStream) {
+                        out.flush();
+                    }
+                }
+            }
+        }
+    }
+
+    static Map<String, List<String>> responseHeaders(HttpHeaders upstreamHeaders) {
+        final var headers = new LinkedHashMap<String, List<String>>();
+        upstreamHeaders.map().forEach((name, values) -> {
+            final var key = name.toLowerCase(Locale.ROOT);
+            if (!key.startsWith(":") && !EXCLUDED_HEADERS.contains(key)) {
+                headers.put(name, values);
+            }
+        });
+        return headers;
+    }
+
+    static void respondWith(ProxyExchange exchange, int status, String message) throws IOException {
+        final var body = ("\"" + message.replace("\\", "\\\\").replace("\"", "\\\"") + "\"")
+                .getBytes(StandardCharsets.UTF_8);
+        exchange.sendHeaders(status, Map.of("content-type", List.of("application/json")), body.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(body);
+        }
+    }
+
+    private static String headerOrDefault(ProxyExchange exchange, String name, String defaultValue) {
+        final var value = exchange.getHeader(name);
+        return value == null || value.isEmpty() ? defaultValue : value;
+    }
+
+    private static HttpClient defaultHttpClient() {
+        final var builder = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_2)
+                .followRedirects(HttpClient.Redirect.NORMAL)
+                .connectTimeout(Duration.ofSeconds(10));
+        final var httpsProxy = System.getenv("HTTPS_PROXY");
+        if (httpsProxy != null && !httpsProxy.isEmpty()) {
+            final var proxy = URI.create(httpsProxy);
+            builder.proxy(ProxySelector.of(
+                    new InetSocketAddress(proxy.getHost(), proxy.getPort() < 0 ? 80 : proxy.getPort())));
+        }
+        return builder.build();
+    }
+
+    public static final class Builder {
+        private HttpClient httpClient;
+        private Supplier<String> apiKeyResolver = () -> System.getenv("SUNRA_KEY");
+        private Predicate<URI> targetFilter = target -> SUNRA_HOST.matcher(target.getHost()).find();
+        private URI upstreamUrl;
+        private boolean statusStreamFanOut = true;
+        private int statusStreamBufferSize = 64;
+        private boolean responseCache = true;
+        private Duration statusCacheTtl = Duration.ofMillis(500);
+        private long cacheMaxBytes = 64 * 1024 * 1024;
+
+        private Builder() {}
+
+        /**
+         * Set the upstream client, e.g. to configure its executor, SSL context or proxy. By
+         * default a client speaking HTTP/2, through {@code HTTPS_PROXY} if set, is created.
+         *
+         * @param httpClient The upstream client.
+         * @return The builder instance.
+         */
+        public Builder withHttpClient(@Nonnull HttpClient httpClient) {
+            this.httpClient = httpClient;
+            return this;
+        }
+
+        /**
+         * Set how the server API key is resolved when the request has no credentials of its own,
+         * e.g. a {@code CredentialsResolver} of the Java client. Defaults to {@code SUNRA_KEY}.
+         *
+         * @param apiKeyResolver The API key resolver.
+         * @return The builder instance.
+         */
+        public Builder withApiKeyResolver(@Nonnull Supplier<String> apiKeyResolver) {
+            this.apiKeyResolver = apiKeyResolver;
+            return this;
+        }
+
+        /**
+         * Set which target URLs may be called. Defaults to the Sunra hosts, as the server
+         * credentials are sent along.
+         *
+         * @param targetFilter The filter of target URLs.
+         * @return The builder instance.
+         */
+        public Builder withTargetFilter(@Nonnull Predicate<URI> targetFilter) {
+            this.targetFilter = targetFilter;
+            return this;
+        }
+
+        /**
+         * Send the requests to the given base URL instead of the host of the target URL, keeping
+         * the path and query of the target, e.g. to reach a regional endpoint or a test server.
+         *
+         * @param upstreamUrl The base URL, or null to call the target URL.
+         * @return The builder instance.
+         */
+        public Builder withUpstreamUrl(@Nullable String upstreamUrl) {
+            this.upstreamUrl = upstreamUrl != null ? URI.create(upstreamUrl) : null;
+            return this;
+        }
+
+        /**
+         * Set whether clients watching the same request with the same credentials share one
+         * upstream status stream, enabled by default. Clients joining late are sent the latest
+         * status first.
+         *
+         * @param statusStreamFanOut Whether to share status streams.
+         * @return The builder instance.
+         */
+        public Builder withStatusStreamFanOut(boolean statusStreamFanOut) {
+            this.statusStreamFanOut = statusStreamFanOut;
+            return this;
+        }
+
+        /**
+         * Set how many events are buffered for a client of a shared status stream. A client
+         * falling further behind loses its oldest events.
+         *
+         * @param statusStreamBufferSize The number of events buffered per client.
+         * @return The builder instance.
+         */
+        public Builder withStatusStreamBufferSize(int statusStreamBufferSize) {
+            if (statusStreamBufferSize < 1) {
+                throw new IllegalArgumentException("statusStreamBufferSize must be positive");
+            }
+            this.statusStreamBufferSize = statusStreamBufferSize;
+            return this;
+        }
+
+        /**
+         * Set whether status and result calls are cached and identical calls in flight merged,
+         * enabled by default.
+         *
+         * @param responseCache Whether to cache status and result calls.
+         * @return The builder instance.
+         */
+        public Builder withResponseCache(boolean responseCache) {
+            this.responseCache = responseCache;
+            return this;
+        }
+
+        /**
+         * Set how long the status of a request still running is cached. Zero only merges
+         * identical calls in flight. The status of a request that has ended is cached like its
+         * result.
+         *
+         * @param statusCacheTtl How long to cache a running status.
+         * @return The builder instance.
+         */
+        public Builder withStatusCacheTtl(@Nonnull Duration statusCacheTtl) {
+            if (statusCacheTtl.isNegative()) {
+                throw new IllegalArgumentException("statusCacheTtl must not be negative");
+            }
+            this.statusCacheTtl = statusCacheTtl;
+            return this;
+        }
+
+        /**
+         * Set the total size of the cached response bodies, above which the least recently used
+         * are evicted.
+         *
+         * @param cacheMaxBytes The maximum size in bytes.
+         * @return The builder instance.
+         */
+        public Builder withCacheMaxBytes(long cacheMaxBytes) {
+            if (cacheMaxBytes < 0) {
+                throw new IllegalArgumentException("cacheMaxBytes must not be negative");
+            }
+            this.cacheMaxBytes = cacheMaxBytes;
+            return this;
+        }
+
+        /**
+         * Build the proxy.
+         *
+         * @return The proxy.
+         */
+        public SunraProxy build() {
+            return new SunraProxy(this);
+        }
+    }
+}
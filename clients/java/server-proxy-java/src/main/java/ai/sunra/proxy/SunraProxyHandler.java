@@ -0,0 +1,131 @@
+package ai.sunra.proxy;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpHandler;
+import com.sun.net.httpserver.HttpServer;
+import jakarta.annotation.Nonnull;
+import jakarta.annotation.Nullable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executor;
+
+/**
+ * Serves a {@link SunraProxy} from the JDK {@link HttpServer}.
+ *
+ * <pre>
+ * var server = HttpServer.create(new InetSocketAddress(8080), 0);
+ * server.createContext(SunraProxy.DEFAULT_ROUTE, new SunraProxyHandler(SunraProxy.builder().build()));
+ * server.setExecutor(Executors.newCachedThreadPool());
+ * server.start();
+ * </pre>
+ */
+public class SunraProxyHandler implements HttpHandler {
+
+    private final SunraProxy proxy;
+
+    public SunraProxyHandler(@Nonnull SunraProxy proxy) {
+        this.proxy = proxy;
+    }
+
+    /**
+     * Start a server proxying requests on {@link SunraProxy#DEFAULT_ROUTE}.
+     *
+     * @param proxy The proxy.
+     * @param address The address to listen on.
+     * @param executor The executor handling the exchanges, each one blocks a thread until done.
+     * @return The started server.
+     */
+    @Nonnull
+    public static HttpServer start(@Nonnull SunraProxy proxy, @Nonnull InetSocketAddress address,
+            @Nonnull Executor executor) throws IOException {
+        final var server = HttpServer.create(address, 0);
+        server.createContext(SunraProxy.DEFAULT_ROUTE, new SunraProxyHandler(proxy));
+        server.setExecutor(executor);
+        server.start();
+        return server;
+    }
+
+    @Override
+    public void handle(HttpExchange exchange) throws IOException {
+        try {
+            proxy.handle(new Exchange(exchange));
+        } finally {
+            exchange.close();
+        }
+    }
+
+    private static final class Exchange implements ProxyExchange {
+        private final HttpExchange exchange;
+
+        Exchange(HttpExchange exchange) {
+            this.exchange = exchange;
+        }
+
+        @Nonnull
+        @Override
+        public String getId() {
+            return "httpserver";
+        }
+
+        @Nonnull
+        @Override
+        public String getMethod() {
+            return exchange.getRequestMethod();
+        }
+
+        @Nonnull
+        @Override
+        public Collection<String> getHeaderNames() {
+            return exchange.getRequestHeaders().keySet();
+        }
+
+        @Nullable
+        @Override
+        public String getHeader(@Nonnull String name) {
+            return exchange.getRequestHeaders().getFirst(name);
+        }
+
+        @Override
+        public long getContentLength() {
+            final var length = exchange.getRequestHeaders().getFirst("content-length");
+            if (length == null) {
+                return -1;
+            }
+            try {
+                return Long.parseLong(length.trim());
+            } catch (NumberFormatException e) {
+                return -1;
+            }
+        }
+
+        @Nonnull
+        @Override
+        public InputStream getRequestBody() {
+            return exchange.getRequestBody();
+        }
+
+        @Override
+        public void sendHeaders(int status, @Nonnull Map<String, List<String>> headers, long contentLength)
+                throws IOException {
+            // The server sets its own date header.
+            headers.forEach((name, values) -> {
+                if (!name.equalsIgnoreCase("date")) {
+                    exchange.getResponseHeaders().put(name, values);
+                }
+            });
+            // The server takes -1 for no body and 0 for a chunked one.
+            exchange.sendResponseHeaders(status, contentLength == 0 ? -1 : contentLength < 0 ? 0 : contentLength);
+        }
+
+        @Nonnull
+        @Override
+        public OutputStream getResponseBody() {
+            return exchange.getResponseBody();
+        }
+    }
+}
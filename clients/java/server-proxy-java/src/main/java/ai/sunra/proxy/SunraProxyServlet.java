@@ -0,0 +1,99 @@
+package ai.sunra.proxy;
+
+import jakarta.annotation.Nonnull;
+import jakarta.annotation.Nullable;
+import jakarta.servlet.http.HttpServlet;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Serves a {@link SunraProxy} from a Jakarta Servlet container, usually mapped to
+ * {@link SunraProxy#DEFAULT_ROUTE}. The no-argument constructor, used when the servlet is declared
+ * in {@code web.xml}, proxies with the default settings.
+ */
+public class SunraProxyServlet extends HttpServlet {
+
+    private static final long serialVersionUID = 1L;
+
+    private final transient SunraProxy proxy;
+
+    public SunraProxyServlet() {
+        this(SunraProxy.builder().build());
+    }
+
+    public SunraProxyServlet(@Nonnull SunraProxy proxy) {
+        this.proxy = proxy;
+    }
+
+    @Override
+    protected void service(HttpServletRequest request, HttpServletResponse response) throws IOException {
+        proxy.handle(new Exchange(request, response));
+    }
+
+    private static final class Exchange implements ProxyExchange {
+        private final HttpServletRequest request;
+        private final HttpServletResponse response;
+
+        Exchange(HttpServletRequest request, HttpServletResponse response) {
+            this.request = request;
+            this.response = response;
+        }
+
+        @Nonnull
+        @Override
+        public String getId() {
+            return "servlet";
+        }
+
+        @Nonnull
+        @Override
+        public String getMethod() {
+            return request.getMethod();
+        }
+
+        @Nonnull
+        @Override
+        public Collection<String> getHeaderNames() {
+            return Collections.list(request.getHeaderNames());
+        }
+
+        @Nullable
+        @Override
+        public String getHeader(@Nonnull String name) {
+            return request.getHeader(name);
+        }
+
+        @Override
+        public long getContentLength() {
+            return request.getContentLengthLong();
+        }
+
+        @Nonnull
+        @Override
+        public InputStream getRequestBody() throws IOException {
+            return request.getInputStream();
+        }
+
+        @Override
+        public void sendHeaders(int status, @Nonnull Map<String, List<String>> headers, long contentLength) {
+            response.setStatus(status);
+            headers.forEach((name, values) -> values.forEach(value -> response.addHeader(name, value)));
+            if (contentLength >= 0) {
+                response.setContentLengthLong(contentLength);
+            }
+        }
+
+        @Nonnull
+        @Override
+        public OutputStream getResponseBody() throws IOException {
+            return response.getOutputStream();
+        }
+    }
+}
@@ -0,0 +1,68 @@
+package ai.sunra.proxy;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+
+public class StatusStreamHubTest {
+
+    private static List<String> read(String stream) throws IOException {
+        final List<String> events = new ArrayList<>();
+        StatusStreamHub.readEvents(
+                new ByteArrayInputStream(stream.getBytes(StandardCharsets.UTF_8)),
+                (event, data) -> events.add((data ? "" : "#") + new String(event, StandardCharsets.UTF_8)));
+        return events;
+    }
+
+    @Test
+    void testLineFeeds() throws IOException {
+        assertEquals(List.of("data: a\n\n", "id: 2\ndata: b\n\n"), read("data: a\n\nid: 2\ndata: b\n\n"));
+    }
+
+    @Test
+    void testCarriageReturns() throws IOException {
+        assertEquals(List.of("data: a\n\n", "id: 2\ndata: b\n\n"), read("data: a\r\rid: 2\rdata: b\r\r"));
+    }
+
+    @Test
+    void testCarriageReturnLineFeeds() throws IOException {
+        assertEquals(
+                List.of("data: a\n\n", "id: 2\ndata: b\n\n"), read("data: a\r\n\r\nid: 2\r\ndata: b\r\n\r\n"));
+    }
+
+    @Test
+    void testMixedLineEnds() throws IOException {
+        assertEquals(List.of("data: a\ndata: b\n\n", "data: c\n\n"), read("data: a\rdata: b\r\n\ndata: c\n\r\n"));
+    }
+
+    @Test
+    void testCommentsAreNotData() throws IOException {
+        assertEquals(List.of("#: keep-alive\n\n", "data: a\n\n"), read(": keep-alive\r\n\r\n\r\ndata: a\n\n"));
+    }
+
+    @Test
+    void testIncompleteEventIsDropped() throws IOException {
+        assertEquals(List.of("data: a\n\n"), read("data: a\n\ndata: b\n"));
+    }
+
+    @Test
+    void testRejectsOversizedEvent() {
+        final var line = "data: " + "x".repeat(1024) + "\n";
+        final var stream = "data: a\n\n" + line.repeat(StatusStreamHub.MAX_EVENT / line.length() + 1) + "\n";
+        final List<String> events = new ArrayList<>();
+
+        final var e = assertThrows(
+                IOException.class,
+                () -> StatusStreamHub.readEvents(
+                        new ByteArrayInputStream(stream.getBytes(StandardCharsets.UTF_8)),
+                        (event, data) -> events.add(new String(event, StandardCharsets.UTF_8))));
+
+        assertTrue(e.getMessage().contains(String.valueOf(StatusStreamHub.MAX_EVENT)), e.getMessage());
+        assertEquals(List.of("data: a\n\n"), events);
+    }
+}
@@ -0,0 +1,206 @@
+package ai.sunra.proxy;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import ai.sunra.client.ClientConfig;
+import ai.sunra.client.CredentialsResolver;
+import ai.sunra.client.SubscribeOptions;
+import ai.sunra.client.SunraClient;
+import ai.sunra.client.queue.QueueSubmitOptions;
+import ai.sunra.client.testing.FakeSunraServer;
+import ai.sunra.client.testing.LatencyDistribution;
+import com.google.gson.JsonObject;
+import com.sun.net.httpserver.Headers;
+import com.sun.net.httpserver.HttpServer;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+public class SunraProxyTest {
+
+    private FakeSunraServer upstream;
+    private SunraProxy proxy;
+    private ExecutorService executor;
+    private HttpServer server;
+    private String proxyUrl;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        upstream = FakeSunraServer.builder()
+                .withProcessingTime(LatencyDistribution.constant(Duration.ofMillis(500)))
+                .withRateLimit(1_000, Duration.ofMinutes(1))
+                .start();
+        executor = Executors.newCachedThreadPool();
+        proxy = SunraProxy.builder()
+                .withApiKeyResolver(() -> "server-key")
+                .withUpstreamUrl(upstream.getUrl())
+                .build();
+        server = SunraProxyHandler.start(proxy, new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), executor);
+        proxyUrl = "http://127.0.0.1:" + server.getAddress().getPort() + SunraProxy.DEFAULT_ROUTE;
+    }
+
+    @AfterEach
+    void tearDown() {
+        server.stop(0);
+        executor.shutdownNow();
+        upstream.close();
+    }
+
+    @Test
+    void testSubscribeThroughProxy() {
+        final var client = SunraClient.withConfig(ClientConfig.builder()
+                .withCredentials(CredentialsResolver.fromApiKey(null))
+                .withProxyUrl(proxyUrl)
+                .build());
+
+        final var output = client.subscribe(
+                "owner/app",
+                SubscribeOptions.<JsonObject>builder()
+                        .input(Map.of("prompt", "a cat"))
+                        .resultType(JsonObject.class)
+                        .build());
+
+        assertEquals("a cat", output.getData().get("prompt").getAsString());
+        assertTrue(upstream.getRequestCount() >= 2);
+    }
+
+    @Test
+    void testSharesStatusStreamBetweenClients() throws Exception {
+        final var client = SunraClient.withConfig(ClientConfig.builder()
+                .withCredentials(CredentialsResolver.fromApiKey(null))
+                .withProxyUrl(proxyUrl)
+                .build());
+        final var requestId = client.queue()
+                .submit("owner/app", QueueSubmitOptions.withInput(Map.of()))
+                .getRequestId();
+        final var request = HttpRequest.newBuilder(URI.create(proxyUrl))
+                .header(SunraProxy.HEADER_TARGET_URL,
+                        "https://api.sunra.ai/v1/queue/requests/" + requestId + "/status/stream")
+                .header("accept", "text/event-stream")
+                .GET()
+                .build();
+        final var http = HttpClient.newHttpClient();
+
+        final var first = http.sendAsync(request, HttpResponse.BodyHandlers.ofString());
+        final var second = http.sendAsync(request, HttpResponse.BodyHandlers.ofString());
+        final long deadline = System.nanoTime() + Duration.ofSeconds(5).toNanos();
+        while (proxy.getStatusStreamSubscriberCount() < 2 && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+        assertEquals(1, proxy.getStatusStreamCount());
+
+        assertTrue(first.get(10, TimeUnit.SECONDS).body().contains("COMPLETED"));
+        assertTrue(second.get(10, TimeUnit.SECONDS).body().contains("COMPLETED"));
+        assertEquals(0, proxy.getStatusStreamCount());
+    }
+
+    @Test
+    void testCachesCompletedResult() throws Exception {
+        final var client = SunraClient.withConfig(ClientConfig.builder()
+                .withCredentials(CredentialsResolver.fromApiKey(null))
+                .withProxyUrl(proxyUrl)
+                .build());
+        final var output = client.subscribe(
+                "owner/app",
+                SubscribeOptions.<JsonObject>builder()
+                        .input(Map.of("prompt", "a bird"))
+                        .resultType(JsonObject.class)
+                        .build());
+        final long upstreamCalls = upstream.getRequestCount();
+
+        final var response = HttpClient.newHttpClient().send(
+                HttpRequest.newBuilder(URI.create(proxyUrl))
+                        .header(SunraProxy.HEADER_TARGET_URL,
+                                "https://api.sunra.ai/v1/queue/requests/" + output.getRequestId())
+                        .GET()
+                        .build(),
+                HttpResponse.BodyHandlers.ofString());
+
+        assertEquals(200, response.statusCode());
+        assertEquals("hit", response.headers().firstValue(ResponseCache.HEADER_CACHE).orElse(null));
+        assertTrue(response.headers().firstValue("x-ratelimit-remaining").isEmpty());
+        assertTrue(response.body().contains("a bird"));
+        assertEquals(upstreamCalls, upstream.getRequestCount());
+    }
+
+    @Test
+    void testRejectsMissingTargetUrl() throws Exception {
+        final var response = HttpClient.newHttpClient().send(
+                HttpRequest.newBuilder(URI.create(proxyUrl)).GET().build(),
+                HttpResponse.BodyHandlers.ofString());
+
+        assertEquals(400, response.statusCode());
+        assertEquals(0, upstream.getRequestCount());
+    }
+
+    @Test
+    void testRejectsForeignTargetUrl() throws Exception {
+        final var response = HttpClient.newHttpClient().send(
+                HttpRequest.newBuilder(URI.create(proxyUrl))
+                        .header(SunraProxy.HEADER_TARGET_URL, "https://example.com/v1/queue/owner/app")
+                        .GET()
+                        .build(),
+                HttpResponse.BodyHandlers.ofString());
+
+        assertEquals(412, response.statusCode());
+        assertEquals(0, upstream.getRequestCount());
+    }
+
+    @Test
+    void testOverridesClientHeaders() throws Exception {
+        final var received = new AtomicReference<Headers>();
+        final var echo = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 0);
+        echo.createContext("/", exchange -> {
+            received.set(exchange.getRequestHeaders());
+            exchange.sendResponseHeaders(204, -1);
+            exchange.close();
+        });
+        echo.start();
+        final var echoProxy = SunraProxy.builder()
+                .withApiKeyResolver(() -> "server-key")
+                .withUpstreamUrl("http://127.0.0.1:" + echo.getAddress().getPort())
+                .build();
+        final var echoServer = SunraProxyHandler.start(
+                echoProxy, new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), executor);
+        try {
+            final var response = HttpClient.newHttpClient().send(
+                    HttpRequest.newBuilder(URI.create(
+                                    "http://127.0.0.1:" + echoServer.getAddress().getPort() + SunraProxy.DEFAULT_ROUTE))
+                            .header(SunraProxy.HEADER_TARGET_URL, "https://api.sunra.ai/v1/queue/requests/req-1/status")
+                            .header(SunraProxy.HEADER_CLIENT_PROXY, "spoofed")
+                            .header(SunraProxy.HEADER_TOKEN, "client-key")
+                            .header("x-sunra-custom", "kept")
+                            .header("accept", "application/json")
+                            .header("user-agent", "test-agent")
+                            .GET()
+                            .build(),
+                    HttpResponse.BodyHandlers.discarding());
+
+            assertEquals(204, response.statusCode());
+            final var headers = received.get();
+            assertEquals(1, headers.get(SunraProxy.HEADER_CLIENT_PROXY).size());
+            assertTrue(headers.getFirst(SunraProxy.HEADER_CLIENT_PROXY).startsWith("sunra-server-proxy-java/"));
+            assertEquals(List.of("client-key"), headers.get(SunraProxy.HEADER_TOKEN));
+            assertEquals(List.of("Bearer client-key"), headers.get("authorization"));
+            assertEquals(List.of("application/json"), headers.get("accept"));
+            assertEquals(List.of("test-agent"), headers.get("user-agent"));
+            assertEquals(List.of("kept"), headers.get("x-sunra-custom"));
+        } finally {
+            echoServer.stop(0);
+            echo.stop(0);
+        }
+    }
+}
@@ -1,3 +1,8 @@
+plugins {
+    // Provisions the Java 21 toolchain of the multi-release layer of the client when it is not installed.
+    id("org.gradle.toolchains.foojay-resolver-convention") version "0.8.0"
+}
+
 rootProject.name = "sunra-client"
 
 include(":client")
@@ -8,3 +13,18 @@ project(":client-async").name = "sunra-client-async"
 
 include(":client-kotlin")
 project(":client-kotlin").name = "sunra-client-kotlin"
+
+include(":client-otel")
+project(":client-otel").name = "sunra-client-otel"
+
+include(":client-benchmarks")
+project(":client-benchmarks").name = "sunra-client-benchmarks"
+
+include(":client-test-fixtures")
+project(":client-test-fixtures").name = "sunra-client-test-fixtures"
+
+include(":client-loadtest")
+project(":client-loadtest").name = "sunra-client-loadtest"
+
+include(":server-proxy-java")
+project(":server-proxy-java").name = "sunra-server-proxy"